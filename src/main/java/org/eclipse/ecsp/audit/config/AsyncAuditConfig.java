@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2024 - 2025 Harman International
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+
+package org.eclipse.ecsp.audit.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.eclipse.ecsp.audit.logger.AsyncAuditEventWriter;
+import org.eclipse.ecsp.audit.logger.AsyncAuditLogger;
+import org.eclipse.ecsp.audit.logger.AuditLogger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import javax.sql.DataSource;
+
+/**
+ * Asynchronous Audit Configuration - Replaces the synchronous audit logger when audit.async.enabled is true.
+ *
+ */
+@Configuration
+@ConditionalOnProperty(name = "audit.async.enabled", havingValue = "true")
+@EnableConfigurationProperties(AsyncAuditProperties.class)
+public class AsyncAuditConfig {
+
+    /**
+     * Writer draining the audit queue. Pending events are flushed when the application context closes.
+     *
+     * @param dataSource    tenant routing DataSource
+     * @param properties    asynchronous audit settings
+     * @param meterRegistry registry the writer metrics are published to
+     * @param schema        schema of the audit_log table
+     * @return asynchronous audit event writer
+     */
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public AsyncAuditEventWriter asyncAuditEventWriter(DataSource dataSource, AsyncAuditProperties properties,
+            MeterRegistry meterRegistry, @Value("${spring.jpa.properties.hibernate.default_schema:}") String schema) {
+        return new AsyncAuditEventWriter(new JdbcTemplate(dataSource), schema, properties, meterRegistry);
+    }
+
+    /**
+     * Audit logger handing events to the asynchronous writer, takes precedence over the default audit logger.
+     *
+     * @param asyncAuditEventWriter asynchronous audit event writer
+     * @return asynchronous audit logger
+     */
+    @Bean
+    @Primary
+    public AuditLogger asyncAuditLogger(AsyncAuditEventWriter asyncAuditEventWriter) {
+        return new AsyncAuditLogger(asyncAuditEventWriter);
+    }
+}
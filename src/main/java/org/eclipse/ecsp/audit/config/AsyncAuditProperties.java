@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2024 - 2025 Harman International
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+
+package org.eclipse.ecsp.audit.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.eclipse.ecsp.audit.enums.AuditOverflowPolicy;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import java.time.Duration;
+
+/**
+ * Asynchronous Audit Properties - Settings of the asynchronous audit pipeline, bound from audit.async.*.
+ *
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "audit.async")
+public class AsyncAuditProperties {
+
+    private static final int DEFAULT_QUEUE_CAPACITY = 10000;
+    private static final int DEFAULT_BATCH_SIZE = 200;
+    private static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 500;
+    private static final long DEFAULT_SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    /** Enables the asynchronous audit logger, the synchronous logger is used otherwise. */
+    private boolean enabled = false;
+
+    /** Maximum number of events waiting to be written. */
+    private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+
+    /** Maximum number of events written in one JDBC batch. */
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
+    /** Maximum time the writer waits for further events before writing a partial batch. */
+    private Duration flushInterval = Duration.ofMillis(DEFAULT_FLUSH_INTERVAL_MILLIS);
+
+    /** Behaviour when the queue is full. */
+    private AuditOverflowPolicy overflowPolicy = AuditOverflowPolicy.BLOCK;
+
+    /** File receiving queue overflow and failed batches under the SPILL policy. */
+    private String spillFile = System.getProperty("java.io.tmpdir") + "/uidam-audit-spill.ndjson";
+
+    /** Maximum time to flush the pending events on shutdown. */
+    private Duration shutdownTimeout = Duration.ofSeconds(DEFAULT_SHUTDOWN_TIMEOUT_SECONDS);
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2024 - 2025 Harman International
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+
+package org.eclipse.ecsp.audit.enums;
+
+/**
+ * Audit Overflow Policy - Behaviour of the asynchronous audit logger when its queue is full.
+ *
+ */
+public enum AuditOverflowPolicy {
+    
+    /** Caller waits until the queue has room. */
+    BLOCK,
+    
+    /** Event is discarded and counted. */
+    DROP,
+    
+    /** Event is appended to a local spill file and written once the writer restarts. */
+    SPILL
+}
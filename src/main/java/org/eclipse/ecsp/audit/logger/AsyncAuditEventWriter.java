@@ -0,0 +1,417 @@
+/*
+ * Copyright (c) 2024 - 2025 Harman International
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+
+package org.eclipse.ecsp.audit.logger;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.ecsp.audit.config.AsyncAuditProperties;
+import org.eclipse.ecsp.audit.entity.AuditEvent;
+import org.eclipse.ecsp.audit.enums.AuditEventResult;
+import org.eclipse.ecsp.audit.enums.AuditOverflowPolicy;
+import org.eclipse.ecsp.sql.multitenancy.TenantContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.StringUtils;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asynchronous Audit Event Writer - Bounded queue drained by a background thread in JDBC batches.
+ *
+ * <p>Key features:</p>
+ * <ul>
+ *   <li>Events are grouped per tenant and written with one JDBC batch per tenant DataSource</li>
+ *   <li>A full queue blocks the caller, drops the event or spills it to a local file, see
+ *       {@link AuditOverflowPolicy}</li>
+ *   <li>Spilled events are written when the writer starts, delivery is at least once</li>
+ *   <li>Pending events are flushed on shutdown, events submitted afterwards are written on the caller thread</li>
+ *   <li>Queue depth, batch size, batch latency and dropped events are published as metrics</li>
+ * </ul>
+ *
+ */
+@Slf4j
+public class AsyncAuditEventWriter {
+
+    static final String QUEUE_DEPTH_METRIC = "audit.async.queue.depth";
+    static final String BATCH_SIZE_METRIC = "audit.async.batch.size";
+    static final String BATCH_LATENCY_METRIC = "audit.async.batch.latency";
+    static final String DROPPED_METRIC = "audit.async.events.dropped";
+    static final String SPILLED_METRIC = "audit.async.events.spilled";
+
+    private static final String REASON_TAG = "reason";
+    private static final String TENANT_ID = "tenantId";
+    private static final String REPLAY_SUFFIX = ".replay";
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final TypeReference<Map<String, String>> SPILL_LINE_TYPE = new TypeReference<>() {
+    };
+    private static final String INSERT_SQL = "INSERT INTO %saudit_log (EVENT_TYPE, COMPONENT, RESULT, TIMESTAMP,"
+        + " TENANT_ID, ACTOR_ID, ACTOR_TYPE, TARGET_ID, TARGET_TYPE, SOURCE_IP_ADDRESS, CORRELATION_ID,"
+        + " ACTOR_CONTEXT, TARGET_CONTEXT, REQUEST_CONTEXT, AUTHENTICATION_CONTEXT, FAILURE_CODE, FAILURE_REASON,"
+        + " BEFORE_VALUE, AFTER_VALUE, ADDITIONAL_DATA, MESSAGE) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?,"
+        + " CAST(? AS JSONB), CAST(? AS JSONB), CAST(? AS JSONB), CAST(? AS JSONB), ?, ?,"
+        + " CAST(? AS JSONB), CAST(? AS JSONB), CAST(? AS JSONB), ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String insertSql;
+    private final AsyncAuditProperties properties;
+    private final BlockingQueue<PendingAuditEvent> queue;
+    private final Path spillPath;
+    private final Object spillLock = new Object();
+
+    private final Counter droppedOnOverflow;
+    private final Counter droppedOnWriteFailure;
+    private final Counter spilled;
+    private final DistributionSummary batchSize;
+    private final Timer batchLatency;
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    /**
+     * Constructor for AsyncAuditEventWriter.
+     *
+     * @param jdbcTemplate  template on the tenant routing DataSource
+     * @param schema        schema of the audit_log table, the connection default when empty
+     * @param properties    asynchronous audit settings
+     * @param meterRegistry registry the writer metrics are published to
+     */
+    public AsyncAuditEventWriter(JdbcTemplate jdbcTemplate, String schema, AsyncAuditProperties properties,
+                                 MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.insertSql = String.format(INSERT_SQL, StringUtils.hasText(schema) ? schema + "." : "");
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.spillPath = Paths.get(properties.getSpillFile());
+        Gauge.builder(QUEUE_DEPTH_METRIC, queue, BlockingQueue::size).register(meterRegistry);
+        this.droppedOnOverflow = Counter.builder(DROPPED_METRIC).tag(REASON_TAG, "overflow").register(meterRegistry);
+        this.droppedOnWriteFailure = Counter.builder(DROPPED_METRIC).tag(REASON_TAG, "write_failure")
+            .register(meterRegistry);
+        this.spilled = Counter.builder(SPILLED_METRIC).register(meterRegistry);
+        this.batchSize = DistributionSummary.builder(BATCH_SIZE_METRIC).register(meterRegistry);
+        this.batchLatency = Timer.builder(BATCH_LATENCY_METRIC).register(meterRegistry);
+    }
+
+    /**
+     * Starts the background writer. Events spilled by a previous run are written first.
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        writerThread = new Thread(this::drain, "audit-async-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        log.info("Asynchronous audit writer started: queueCapacity={}, batchSize={}, overflowPolicy={}",
+            properties.getQueueCapacity(), properties.getBatchSize(), properties.getOverflowPolicy());
+    }
+
+    /**
+     * Stops the background writer after flushing the pending events, waiting at most the shutdown timeout.
+     * With the SPILL policy events that could not be flushed in time are spilled.
+     */
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            writerThread.join(properties.getShutdownTimeout().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writerThread.isAlive() || !queue.isEmpty()) {
+            List<PendingAuditEvent> pending = new ArrayList<>();
+            queue.drainTo(pending);
+            log.warn("Asynchronous audit writer stopped with {} events pending", pending.size());
+            overflow(pending);
+        }
+        log.info("Asynchronous audit writer stopped");
+    }
+
+    /**
+     * Queues an audit event for the current tenant. Never throws, failures are logged and counted.
+     *
+     * @param event audit event to be written
+     */
+    public void submit(AuditEvent event) {
+        if (event.getTimestamp() == null) {
+            event.setTimestamp(Instant.now());
+        }
+        if (event.getResult() == null) {
+            event.setResult(AuditEventResult.SUCCESS);
+        }
+        PendingAuditEvent pending = new PendingAuditEvent(TenantContext.getCurrentTenant(), event);
+        if (!running) {
+            write(List.of(pending));
+            return;
+        }
+        if (properties.getOverflowPolicy() == AuditOverflowPolicy.BLOCK) {
+            try {
+                queue.put(pending);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.error("Interrupted while queueing audit event: eventType={}", event.getEventType());
+                droppedOnOverflow.increment();
+            }
+        } else if (!queue.offer(pending)) {
+            overflow(List.of(pending));
+        }
+    }
+
+    private void drain() {
+        replaySpillFile();
+        List<PendingAuditEvent> batch = new ArrayList<>(properties.getBatchSize());
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingAuditEvent first = queue.poll(properties.getFlushInterval().toMillis(),
+                    TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, properties.getBatchSize() - 1);
+                    write(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("Asynchronous audit writer interrupted, {} events pending", queue.size());
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<PendingAuditEvent> batch) {
+        Map<String, List<PendingAuditEvent>> eventsByTenant = new LinkedHashMap<>();
+        for (PendingAuditEvent pending : batch) {
+            eventsByTenant.computeIfAbsent(pending.tenantId(), key -> new ArrayList<>()).add(pending);
+        }
+        eventsByTenant.forEach(this::writeTenantBatch);
+    }
+
+    private void writeTenantBatch(String tenantId, List<PendingAuditEvent> events) {
+        String callerTenant = TenantContext.getCurrentTenant();
+        long startTime = System.nanoTime();
+        try {
+            // The tenant routing DataSource resolves the connection from the tenant context
+            setTenant(tenantId);
+            jdbcTemplate.batchUpdate(insertSql, events, events.size(), this::bind);
+            batchSize.record(events.size());
+            log.debug("Audit batch written: tenantId={}, size={}", tenantId, events.size());
+        } catch (RuntimeException e) {
+            log.error("Failed to write audit batch: tenantId={}, size={}", tenantId, events.size(), e);
+            if (properties.getOverflowPolicy() == AuditOverflowPolicy.SPILL) {
+                spill(events);
+            } else {
+                droppedOnWriteFailure.increment(events.size());
+            }
+        } finally {
+            batchLatency.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+            setTenant(callerTenant);
+        }
+    }
+
+    private void bind(PreparedStatement ps, PendingAuditEvent pending) throws SQLException {
+        AuditEvent event = pending.event();
+        int index = 1;
+        ps.setString(index++, event.getEventType());
+        ps.setString(index++, event.getComponent());
+        ps.setString(index++, event.getResult().name());
+        ps.setTimestamp(index++, Timestamp.from(event.getTimestamp()));
+        ps.setString(index++, event.getTenantId());
+        ps.setString(index++, event.getActorId());
+        ps.setString(index++, event.getActorType());
+        ps.setString(index++, event.getTargetId());
+        ps.setString(index++, event.getTargetType());
+        ps.setString(index++, event.getSourceIpAddress());
+        ps.setString(index++, event.getCorrelationId());
+        ps.setString(index++, event.getActorContext());
+        ps.setString(index++, event.getTargetContext());
+        ps.setString(index++, event.getRequestContext());
+        ps.setString(index++, event.getAuthenticationContext());
+        ps.setString(index++, event.getFailureCode());
+        ps.setString(index++, event.getFailureReason());
+        ps.setString(index++, event.getBeforeValue());
+        ps.setString(index++, event.getAfterValue());
+        ps.setString(index++, event.getAdditionalData());
+        ps.setString(index, event.getMessage());
+    }
+
+    private static void setTenant(String tenantId) {
+        if (tenantId == null) {
+            TenantContext.clear();
+        } else {
+            TenantContext.setCurrentTenant(tenantId);
+        }
+    }
+
+    private void overflow(List<PendingAuditEvent> events) {
+        if (properties.getOverflowPolicy() == AuditOverflowPolicy.SPILL) {
+            spill(events);
+        } else {
+            log.warn("Audit queue full, dropping {} events", events.size());
+            droppedOnOverflow.increment(events.size());
+        }
+    }
+
+    private void spill(List<PendingAuditEvent> events) {
+        synchronized (spillLock) {
+            try (BufferedWriter writer = Files.newBufferedWriter(spillPath, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (PendingAuditEvent pending : events) {
+                    writer.write(toSpillLine(pending));
+                    writer.newLine();
+                }
+                spilled.increment(events.size());
+            } catch (IOException e) {
+                log.error("Failed to spill {} audit events to {}", events.size(), spillPath, e);
+                droppedOnWriteFailure.increment(events.size());
+            }
+        }
+    }
+
+    private void replaySpillFile() {
+        Path replayPath = spillPath.resolveSibling(spillPath.getFileName() + REPLAY_SUFFIX);
+        try {
+            synchronized (spillLock) {
+                // A replay file left by an interrupted run is written before taking over the spill file
+                if (!Files.exists(replayPath)) {
+                    if (!Files.exists(spillPath)) {
+                        return;
+                    }
+                    Files.move(spillPath, replayPath);
+                }
+            }
+            int replayed = 0;
+            List<PendingAuditEvent> batch = new ArrayList<>(properties.getBatchSize());
+            try (BufferedReader reader = Files.newBufferedReader(replayPath, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (StringUtils.hasText(line)) {
+                        addSpilledEvent(batch, line);
+                    }
+                    if (batch.size() >= properties.getBatchSize()) {
+                        write(batch);
+                        replayed += batch.size();
+                        batch.clear();
+                    }
+                }
+            }
+            write(batch);
+            replayed += batch.size();
+            Files.delete(replayPath);
+            log.info("Replayed {} spilled audit events from {}", replayed, replayPath);
+        } catch (IOException e) {
+            log.error("Failed to replay spilled audit events from {}", replayPath, e);
+        }
+    }
+
+    private static void addSpilledEvent(List<PendingAuditEvent> batch, String line) {
+        try {
+            batch.add(fromSpillLine(line));
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.error("Skipping unreadable spilled audit event", e);
+        }
+    }
+
+    private static String toSpillLine(PendingAuditEvent pending) throws JsonProcessingException {
+        AuditEvent event = pending.event();
+        Map<String, String> line = new LinkedHashMap<>();
+        line.put(TENANT_ID, pending.tenantId());
+        line.put("eventType", event.getEventType());
+        line.put("component", event.getComponent());
+        line.put("result", event.getResult().name());
+        line.put("timestamp", event.getTimestamp().toString());
+        line.put("auditTenantId", event.getTenantId());
+        line.put("actorId", event.getActorId());
+        line.put("actorType", event.getActorType());
+        line.put("targetId", event.getTargetId());
+        line.put("targetType", event.getTargetType());
+        line.put("sourceIpAddress", event.getSourceIpAddress());
+        line.put("correlationId", event.getCorrelationId());
+        line.put("actorContext", event.getActorContext());
+        line.put("targetContext", event.getTargetContext());
+        line.put("requestContext", event.getRequestContext());
+        line.put("authenticationContext", event.getAuthenticationContext());
+        line.put("failureCode", event.getFailureCode());
+        line.put("failureReason", event.getFailureReason());
+        line.put("beforeValue", event.getBeforeValue());
+        line.put("afterValue", event.getAfterValue());
+        line.put("additionalData", event.getAdditionalData());
+        line.put("message", event.getMessage());
+        return OBJECT_MAPPER.writeValueAsString(line);
+    }
+
+    private static PendingAuditEvent fromSpillLine(String json) throws JsonProcessingException {
+        Map<String, String> line = OBJECT_MAPPER.readValue(json, SPILL_LINE_TYPE);
+        AuditEvent event = AuditEvent.builder()
+            .eventType(line.get("eventType"))
+            .component(line.get("component"))
+            .result(AuditEventResult.valueOf(line.get("result")))
+            .timestamp(Instant.parse(line.get("timestamp")))
+            .tenantId(line.get("auditTenantId"))
+            .actorId(line.get("actorId"))
+            .actorType(line.get("actorType"))
+            .targetId(line.get("targetId"))
+            .targetType(line.get("targetType"))
+            .sourceIpAddress(line.get("sourceIpAddress"))
+            .correlationId(line.get("correlationId"))
+            .actorContext(line.get("actorContext"))
+            .targetContext(line.get("targetContext"))
+            .requestContext(line.get("requestContext"))
+            .authenticationContext(line.get("authenticationContext"))
+            .failureCode(line.get("failureCode"))
+            .failureReason(line.get("failureReason"))
+            .beforeValue(line.get("beforeValue"))
+            .afterValue(line.get("afterValue"))
+            .additionalData(line.get("additionalData"))
+            .message(line.get("message"))
+            .build();
+        return new PendingAuditEvent(line.get(TENANT_ID), event);
+    }
+
+    /**
+     * Audit event together with the tenant it was logged for.
+     */
+    private record PendingAuditEvent(String tenantId, AuditEvent event) {
+    }
+}
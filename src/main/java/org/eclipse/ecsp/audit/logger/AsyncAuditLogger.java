@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2024 - 2025 Harman International
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+
+package org.eclipse.ecsp.audit.logger;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.ecsp.audit.context.ActorContext;
+import org.eclipse.ecsp.audit.context.AuthenticationContext;
+import org.eclipse.ecsp.audit.context.RequestContext;
+import org.eclipse.ecsp.audit.context.TargetContext;
+import org.eclipse.ecsp.audit.enums.AuditEventResult;
+
+/**
+ * Asynchronous Audit Logger Implementation.
+ * 
+ * <p>Key features:</p>
+ * <ul>
+ *   <li>Builds and masks the event on the caller thread and hands it to {@link AsyncAuditEventWriter}</li>
+ *   <li>No transaction or connection is used on the caller thread</li>
+ *   <li>Never throws exceptions - logs errors instead to avoid breaking main application flow</li>
+ * </ul>
+ *
+ * <p>Enabled with audit.async.enabled=true. Audit events are not written atomically with the audited change,
+ * setups that need this keep the default {@link DefaultAuditLogger}.</p>
+ *
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class AsyncAuditLogger implements AuditLogger {
+    
+    private final AsyncAuditEventWriter asyncAuditEventWriter;
+    
+    @Override
+    public void log(String eventType,
+                    String component,
+                    AuditEventResult result,
+                    String message,
+                    ActorContext actorContext,
+                    TargetContext targetContext,
+                    RequestContext requestContext,
+                    AuthenticationContext authContext) {
+        try {
+            asyncAuditEventWriter.submit(AuditEventFactory.create(eventType, component, result, message,
+                actorContext, targetContext, requestContext, authContext));
+        } catch (Exception e) {
+            log.error("Failed to queue audit log: eventType={}, component={}", eventType, component, e);
+        }
+    }
+    
+    @Override
+    public void log(String eventType,
+                    String component,
+                    AuditEventResult result,
+                    ActorContext actorContext,
+                    RequestContext requestContext) {
+        try {
+            asyncAuditEventWriter.submit(AuditEventFactory.create(eventType, component, result, null,
+                actorContext, null, requestContext, null));
+        } catch (Exception e) {
+            log.error("Failed to queue audit log: eventType={}, component={}", eventType, component, e);
+        }
+    }
+    
+    @Override
+    public void log(String eventType,
+                    String component,
+                    AuditEventResult result,
+                    String message,
+                    ActorContext actorContext,
+                    RequestContext requestContext) {
+        try {
+            asyncAuditEventWriter.submit(AuditEventFactory.create(eventType, component, result, message,
+                actorContext, null, requestContext, null));
+        } catch (Exception e) {
+            log.error("Failed to queue audit log with message: eventType={}", eventType, e);
+        }
+    }
+    
+    @Override
+    public void logFailure(String eventType,
+                          String component,
+                          String failureCode,
+                          String failureReason,
+                          ActorContext actorContext,
+                          RequestContext requestContext) {
+        try {
+            asyncAuditEventWriter.submit(AuditEventFactory.createFailure(eventType, component, failureCode,
+                failureReason, actorContext, requestContext));
+        } catch (Exception e) {
+            log.error("Failed to queue audit failure log: eventType={}, failureCode={}",
+                eventType, failureCode, e);
+        }
+    }
+    
+    @Override
+    public void logWithStateChange(String eventType,
+                                   String component,
+                                   AuditEventResult result,
+                                   String message,
+                                   ActorContext actorContext,
+                                   TargetContext targetContext,
+                                   RequestContext requestContext,
+                                   AuthenticationContext authContext,
+                                   String beforeValue,
+                                   String afterValue,
+                                   String additionalData) {
+        try {
+            asyncAuditEventWriter.submit(AuditEventFactory.createWithStateChange(eventType, component, result,
+                message, actorContext, targetContext, requestContext, authContext, beforeValue, afterValue,
+                additionalData));
+        } catch (Exception e) {
+            log.error("Failed to queue audit log with state change: eventType={}, component={}",
+                eventType, component, e);
+        }
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2024 - 2025 Harman International
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+
+package org.eclipse.ecsp.audit.logger;
+
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.ecsp.audit.context.ActorContext;
+import org.eclipse.ecsp.audit.context.AuthenticationContext;
+import org.eclipse.ecsp.audit.context.RequestContext;
+import org.eclipse.ecsp.audit.context.TargetContext;
+import org.eclipse.ecsp.audit.entity.AuditEvent;
+import org.eclipse.ecsp.audit.enums.AuditEventResult;
+import org.eclipse.ecsp.audit.util.PiiMasker;
+
+/**
+ * Builds audit events from the logger arguments.
+ *
+ * <p>Shared by the synchronous and the asynchronous audit logger so that both persist identical,
+ * PII masked events.</p>
+ *
+ */
+@Slf4j
+final class AuditEventFactory {
+
+    private AuditEventFactory() {
+    }
+
+    static AuditEvent create(String eventType,
+                             String component,
+                             AuditEventResult result,
+                             String message,
+                             ActorContext actorContext,
+                             TargetContext targetContext,
+                             RequestContext requestContext,
+                             AuthenticationContext authContext) {
+        return AuditEvent.builder()
+            .eventType(eventType)
+            .component(component)
+            .result(result)
+            .message(message)
+            .actorId(extractActorId(actorContext))
+            .actorType(extractActorType(actorContext))
+            .actorContext(maskAndSerialize(actorContext))
+            .targetId(extractTargetId(targetContext))
+            .targetType(extractTargetType(targetContext))
+            .targetContext(maskAndSerialize(targetContext))
+            .sourceIpAddress(extractSourceIp(requestContext))
+            .correlationId(extractCorrelationId(requestContext))
+            .requestContext(maskAndSerialize(requestContext))
+            .authenticationContext(maskAndSerialize(authContext))
+            .build();
+    }
+
+    static AuditEvent createFailure(String eventType,
+                                    String component,
+                                    String failureCode,
+                                    String failureReason,
+                                    ActorContext actorContext,
+                                    RequestContext requestContext) {
+        return AuditEvent.builder()
+            .eventType(eventType)
+            .component(component)
+            .result(AuditEventResult.FAILURE)
+            .failureCode(failureCode)
+            .failureReason(failureReason)
+            .actorId(extractActorId(actorContext))
+            .actorType(extractActorType(actorContext))
+            .actorContext(maskAndSerialize(actorContext))
+            .sourceIpAddress(extractSourceIp(requestContext))
+            .correlationId(extractCorrelationId(requestContext))
+            .requestContext(maskAndSerialize(requestContext))
+            .build();
+    }
+
+    static AuditEvent createWithStateChange(String eventType,
+                                            String component,
+                                            AuditEventResult result,
+                                            String message,
+                                            ActorContext actorContext,
+                                            TargetContext targetContext,
+                                            RequestContext requestContext,
+                                            AuthenticationContext authContext,
+                                            String beforeValue,
+                                            String afterValue,
+                                            String additionalData) {
+        AuditEvent event = create(eventType, component, result, message, actorContext, targetContext,
+            requestContext, authContext);
+        // Mask PII in before/after values if they contain JSON
+        event.setBeforeValue(maskJsonIfNeeded(beforeValue));
+        event.setAfterValue(maskJsonIfNeeded(afterValue));
+        event.setAdditionalData(maskJsonIfNeeded(additionalData));
+        return event;
+    }
+
+    // ========== Helper Methods ==========
+    
+    private static String maskAndSerialize(Object context) {
+        if (context == null) {
+            return null;
+        }
+        
+        if (context instanceof ActorContext) {
+            return PiiMasker.maskAndSerialize(((ActorContext) context).toMap());
+        } else if (context instanceof TargetContext) {
+            return PiiMasker.maskAndSerialize(((TargetContext) context).toMap());
+        } else if (context instanceof RequestContext) {
+            return PiiMasker.maskAndSerialize(((RequestContext) context).toMap());
+        } else if (context instanceof AuthenticationContext) {
+            return PiiMasker.maskAndSerialize(((AuthenticationContext) context).toMap());
+        }
+        
+        return null;
+    }
+    private static String extractActorId(ActorContext context) {
+        if (context == null || context.toMap() == null) {
+            return null;
+        }
+        Object actorId = context.toMap().get("actorId");
+        return actorId != null ? String.valueOf(actorId) : null;
+    }
+    
+    private static String extractActorType(ActorContext context) {
+        if (context == null || context.toMap() == null) {
+            return null;
+        }
+        Object actorType = context.toMap().get("actorType");
+        return actorType != null ? String.valueOf(actorType) : null;
+    }
+    
+    private static String extractTargetId(TargetContext context) {
+        if (context == null || context.toMap() == null) {
+            return null;
+        }
+        Object targetId = context.toMap().get("targetId");
+        return targetId != null ? String.valueOf(targetId) : null;
+    }
+    
+    private static String extractTargetType(TargetContext context) {
+        if (context == null || context.toMap() == null) {
+            return null;
+        }
+        Object targetType = context.toMap().get("targetType");
+        return targetType != null ? String.valueOf(targetType) : null;
+    }
+    
+    private static String extractSourceIp(RequestContext context) {
+        if (context == null || context.toMap() == null) {
+            return null;
+        }
+        Object sourceIp = context.toMap().get("sourceIpAddress");
+        return sourceIp != null ? String.valueOf(sourceIp) : null;
+    }
+    
+    private static String extractCorrelationId(RequestContext context) {
+        if (context == null || context.toMap() == null) {
+            return null;
+        }
+        Object correlationId = context.toMap().get("correlationId");
+        return correlationId != null ? String.valueOf(correlationId) : null;
+    }
+    
+    /**
+     * Mask PII in JSON string if it's already in JSON format.
+     * If the input is already a JSON string, parse and mask it.
+     * Otherwise, return as-is.
+     */
+    private static String maskJsonIfNeeded(String jsonString) {
+        if (jsonString == null || jsonString.trim().isEmpty()) {
+            return null;
+        }
+        
+        // If it looks like JSON (starts with { or [), try to parse and mask
+        String trimmed = jsonString.trim();
+        if (trimmed.startsWith("{") || trimmed.startsWith("[")) {
+            try {
+                return PiiMasker.maskJson(jsonString);
+            } catch (Exception e) {
+                log.error("Failed to parse and mask JSON string, returning as-is", e);
+                return jsonString;
+            }
+        }
+        
+        return jsonString;
+    }
+}
@@ -15,6 +15,7 @@
  * SPDX-License-Identifier: Apache-2.0
  */
 
+
 package org.eclipse.ecsp.audit.logger;
 
 import lombok.RequiredArgsConstructor;
@@ -26,7 +27,6 @@ import org.eclipse.ecsp.audit.context.TargetContext;
 import org.eclipse.ecsp.audit.entity.AuditEvent;
 import org.eclipse.ecsp.audit.enums.AuditEventResult;
 import org.eclipse.ecsp.audit.repository.AuditRepository;
-import org.eclipse.ecsp.audit.util.PiiMasker;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
@@ -41,6 +41,8 @@ import org.springframework.transaction.annotation.Transactional;
  *   <li>Never throws exceptions - logs errors instead to avoid breaking main application flow</li>
  * </ul>
  *
+ * <p>This is the synchronous audit logger and remains in use unless {@link AsyncAuditLogger} is enabled.</p>
+ *
  */
 @Slf4j
 @Service
@@ -60,22 +62,8 @@ public class DefaultAuditLogger implements AuditLogger {
                     RequestContext requestContext,
                     AuthenticationContext authContext) {
         try {
-            AuditEvent event = AuditEvent.builder()
-                .eventType(eventType)
-                .component(component)
-                .result(result)
-                .message(message)
-                .actorId(extractActorId(actorContext))
-                .actorType(extractActorType(actorContext))
-                .actorContext(maskAndSerialize(actorContext))
-                .targetId(extractTargetId(targetContext))
-                .targetType(extractTargetType(targetContext))
-                .targetContext(maskAndSerialize(targetContext))
-                .sourceIpAddress(extractSourceIp(requestContext))
-                .correlationId(extractCorrelationId(requestContext))
-                .requestContext(maskAndSerialize(requestContext))
-                .authenticationContext(maskAndSerialize(authContext))
-                .build();
+            AuditEvent event = AuditEventFactory.create(eventType, component, result, message, actorContext,
+                targetContext, requestContext, authContext);
             
             auditRepository.save(event);
             
@@ -96,22 +84,8 @@ public class DefaultAuditLogger implements AuditLogger {
                     ActorContext actorContext,
                     RequestContext requestContext) {
         try {
-            AuditEvent event = AuditEvent.builder()
-                .eventType(eventType)
-                .component(component)
-                .result(result)
-                .message(null)
-                .actorId(extractActorId(actorContext))
-                .actorType(extractActorType(actorContext))
-                .actorContext(maskAndSerialize(actorContext))
-                .targetId(null)
-                .targetType(null)
-                .targetContext(null)
-                .sourceIpAddress(extractSourceIp(requestContext))
-                .correlationId(extractCorrelationId(requestContext))
-                .requestContext(maskAndSerialize(requestContext))
-                .authenticationContext(null)
-                .build();
+            AuditEvent event = AuditEventFactory.create(eventType, component, result, null, actorContext,
+                null, requestContext, null);
             
             auditRepository.save(event);
             
@@ -133,18 +107,8 @@ public class DefaultAuditLogger implements AuditLogger {
                     ActorContext actorContext,
                     RequestContext requestContext) {
         try {
-            AuditEvent event = AuditEvent.builder()
-                .eventType(eventType)
-                .component(component)
-                .result(result)
-                .message(message)
-                .actorId(extractActorId(actorContext))
-                .actorType(extractActorType(actorContext))
-                .actorContext(maskAndSerialize(actorContext))
-                .sourceIpAddress(extractSourceIp(requestContext))
-                .correlationId(extractCorrelationId(requestContext))
-                .requestContext(maskAndSerialize(requestContext))
-                .build();
+            AuditEvent event = AuditEventFactory.create(eventType, component, result, message, actorContext,
+                null, requestContext, null);
             
             auditRepository.save(event);
             
@@ -166,19 +130,8 @@ public class DefaultAuditLogger implements AuditLogger {
                           ActorContext actorContext,
                           RequestContext requestContext) {
         try {
-            AuditEvent event = AuditEvent.builder()
-                .eventType(eventType)
-                .component(component)
-                .result(AuditEventResult.FAILURE)
-                .failureCode(failureCode)
-                .failureReason(failureReason)
-                .actorId(extractActorId(actorContext))
-                .actorType(extractActorType(actorContext))
-                .actorContext(maskAndSerialize(actorContext))
-                .sourceIpAddress(extractSourceIp(requestContext))
-                .correlationId(extractCorrelationId(requestContext))
-                .requestContext(maskAndSerialize(requestContext))
-                .build();
+            AuditEvent event = AuditEventFactory.createFailure(eventType, component, failureCode, failureReason,
+                actorContext, requestContext);
             
             auditRepository.save(event);
             
@@ -205,30 +158,8 @@ public class DefaultAuditLogger implements AuditLogger {
                                    String afterValue,
                                    String additionalData) {
         try {
-            // Mask PII in before/after values if they contain JSON
-            String maskedBeforeValue = maskJsonIfNeeded(beforeValue);
-            String maskedAfterValue = maskJsonIfNeeded(afterValue);
-            String maskedAdditionalData = maskJsonIfNeeded(additionalData);
-            
-            AuditEvent event = AuditEvent.builder()
-                .eventType(eventType)
-                .component(component)
-                .result(result)
-                .message(message)
-                .actorId(extractActorId(actorContext))
-                .actorType(extractActorType(actorContext))
-                .actorContext(maskAndSerialize(actorContext))
-                .targetId(extractTargetId(targetContext))
-                .targetType(extractTargetType(targetContext))
-                .targetContext(maskAndSerialize(targetContext))
-                .sourceIpAddress(extractSourceIp(requestContext))
-                .correlationId(extractCorrelationId(requestContext))
-                .requestContext(maskAndSerialize(requestContext))
-                .authenticationContext(maskAndSerialize(authContext))
-                .beforeValue(maskedBeforeValue)
-                .afterValue(maskedAfterValue)
-                .additionalData(maskedAdditionalData)
-                .build();
+            AuditEvent event = AuditEventFactory.createWithStateChange(eventType, component, result, message,
+                actorContext, targetContext, requestContext, authContext, beforeValue, afterValue, additionalData);
             
             auditRepository.save(event);
             
@@ -240,96 +171,4 @@ public class DefaultAuditLogger implements AuditLogger {
                 eventType, component, e);
         }
     }
-    
-    // ========== Helper Methods ==========
-    
-    private String maskAndSerialize(Object context) {
-        if (context == null) {
-            return null;
-        }
-        
-        if (context instanceof ActorContext) {
-            return PiiMasker.maskAndSerialize(((ActorContext) context).toMap());
-        } else if (context instanceof TargetContext) {
-            return PiiMasker.maskAndSerialize(((TargetContext) context).toMap());
-        } else if (context instanceof RequestContext) {
-            return PiiMasker.maskAndSerialize(((RequestContext) context).toMap());
-        } else if (context instanceof AuthenticationContext) {
-            return PiiMasker.maskAndSerialize(((AuthenticationContext) context).toMap());
-        }
-        
-        return null;
-    }
-    
-    private String extractActorId(ActorContext context) {
-        if (context == null || context.toMap() == null) {
-            return null;
-        }
-        Object actorId = context.toMap().get("actorId");
-        return actorId != null ? String.valueOf(actorId) : null;
-    }
-    
-    private String extractActorType(ActorContext context) {
-        if (context == null || context.toMap() == null) {
-            return null;
-        }
-        Object actorType = context.toMap().get("actorType");
-        return actorType != null ? String.valueOf(actorType) : null;
-    }
-    
-    private String extractTargetId(TargetContext context) {
-        if (context == null || context.toMap() == null) {
-            return null;
-        }
-        Object targetId = context.toMap().get("targetId");
-        return targetId != null ? String.valueOf(targetId) : null;
-    }
-    
-    private String extractTargetType(TargetContext context) {
-        if (context == null || context.toMap() == null) {
-            return null;
-        }
-        Object targetType = context.toMap().get("targetType");
-        return targetType != null ? String.valueOf(targetType) : null;
-    }
-    
-    private String extractSourceIp(RequestContext context) {
-        if (context == null || context.toMap() == null) {
-            return null;
-        }
-        Object sourceIp = context.toMap().get("sourceIpAddress");
-        return sourceIp != null ? String.valueOf(sourceIp) : null;
-    }
-    
-    private String extractCorrelationId(RequestContext context) {
-        if (context == null || context.toMap() == null) {
-            return null;
-        }
-        Object correlationId = context.toMap().get("correlationId");
-        return correlationId != null ? String.valueOf(correlationId) : null;
-    }
-    
-    /**
-     * Mask PII in JSON string if it's already in JSON format.
-     * If the input is already a JSON string, parse and mask it.
-     * Otherwise, return as-is.
-     */
-    private String maskJsonIfNeeded(String jsonString) {
-        if (jsonString == null || jsonString.trim().isEmpty()) {
-            return null;
-        }
-        
-        // If it looks like JSON (starts with { or [), try to parse and mask
-        String trimmed = jsonString.trim();
-        if (trimmed.startsWith("{") || trimmed.startsWith("[")) {
-            try {
-                return PiiMasker.maskJson(jsonString);
-            } catch (Exception e) {
-                log.error("Failed to parse and mask JSON string, returning as-is", e);
-                return jsonString;
-            }
-        }
-        
-        return jsonString;
-    }
 }
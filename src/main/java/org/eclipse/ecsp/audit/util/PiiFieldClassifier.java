@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2024 - 2025 Harman International
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+
+package org.eclipse.ecsp.audit.util;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Classifies field names for PII masking.
+ *
+ * <p>All needles are compiled once into an Aho-Corasick automaton over the lowercased needles, so a field name is
+ * classified with a single pass over its characters instead of one substring search per needle. Results are
+ * memoized per field name up to a fixed number of distinct names, since audit payloads reuse a small set of keys.</p>
+ */
+final class PiiFieldClassifier {
+
+    /**
+     * Masking applied to a field.
+     */
+    enum FieldType {
+        NONE,
+        FULL,
+        EMAIL,
+        PHONE,
+        USERNAME,
+        VIN,
+        PARTIAL;
+
+        boolean isPartial() {
+            return this != NONE && this != FULL;
+        }
+    }
+
+    private static final int FULL_MASK = 1;
+    private static final int PARTIAL_MASK = 1 << 1;
+    private static final int EMAIL = 1 << 2;
+    private static final int PHONE = 1 << 3;
+    private static final int USERNAME = 1 << 4;
+    private static final int VIN = 1 << 5;
+
+    // Needles that select the partial masking strategy of a partially masked field
+    private static final Map<String, Integer> STRATEGY_NEEDLES = Map.of(
+        "email", EMAIL,
+        "phone", PHONE,
+        "mobile", PHONE,
+        "username", USERNAME,
+        "accountname", USERNAME,
+        "vin", VIN,
+        "vehicleidentification", VIN
+    );
+
+    private static final int ALPHABET_SIZE = 128;
+    private static final int ROOT = 0;
+
+    private final int[][] transitions;
+    private final int[] outputs;
+    private final Map<String, FieldType> classifications = new ConcurrentHashMap<>();
+    private final int cacheSize;
+
+    /**
+     * Constructor for PiiFieldClassifier.
+     *
+     * @param fullMaskFields    needles of the fields that are fully masked
+     * @param partialMaskFields needles of the fields that are partially masked
+     * @param cacheSize         maximum number of distinct field names kept in the memo cache
+     */
+    PiiFieldClassifier(Collection<String> fullMaskFields, Collection<String> partialMaskFields, int cacheSize) {
+        this.cacheSize = cacheSize;
+        int maxStates = 1 + length(fullMaskFields) + length(partialMaskFields) + length(STRATEGY_NEEDLES.keySet());
+        int[][] trie = new int[maxStates][ALPHABET_SIZE];
+        int[] flags = new int[maxStates];
+        int states = 1;
+        for (String field : fullMaskFields) {
+            states = addNeedle(trie, flags, states, field, FULL_MASK);
+        }
+        for (String field : partialMaskFields) {
+            states = addNeedle(trie, flags, states, field, PARTIAL_MASK);
+        }
+        for (Map.Entry<String, Integer> entry : STRATEGY_NEEDLES.entrySet()) {
+            states = addNeedle(trie, flags, states, entry.getKey(), entry.getValue());
+        }
+        this.transitions = Arrays.copyOf(trie, states);
+        this.outputs = Arrays.copyOf(flags, states);
+        buildFailureTransitions();
+    }
+
+    /**
+     * Classify a field name.
+     *
+     * @param fieldName field name to classify
+     * @return masking applied to the field
+     */
+    FieldType classify(String fieldName) {
+        if (fieldName == null) {
+            return FieldType.NONE;
+        }
+        FieldType type = classifications.get(fieldName);
+        if (type == null) {
+            type = toFieldType(match(fieldName.toLowerCase()));
+            if (classifications.size() < cacheSize) {
+                classifications.putIfAbsent(fieldName, type);
+            }
+        }
+        return type;
+    }
+
+    /**
+     * Classify a field name without using the memo cache.
+     *
+     * @param fieldName field name to classify
+     * @return masking applied to the field
+     */
+    FieldType classifyUncached(String fieldName) {
+        return fieldName == null ? FieldType.NONE : toFieldType(match(fieldName.toLowerCase()));
+    }
+
+    private int match(String lowerFieldName) {
+        int state = ROOT;
+        int found = 0;
+        for (int i = 0; i < lowerFieldName.length(); i++) {
+            char c = lowerFieldName.charAt(i);
+            // Needles are ASCII only, so any other character can not be part of a match
+            state = c < ALPHABET_SIZE ? transitions[state][c] : ROOT;
+            found |= outputs[state];
+        }
+        return found;
+    }
+
+    private static FieldType toFieldType(int found) {
+        if ((found & FULL_MASK) != 0) {
+            return FieldType.FULL;
+        }
+        if ((found & PARTIAL_MASK) == 0) {
+            return FieldType.NONE;
+        }
+        if ((found & EMAIL) != 0) {
+            return FieldType.EMAIL;
+        }
+        if ((found & PHONE) != 0) {
+            return FieldType.PHONE;
+        }
+        if ((found & USERNAME) != 0) {
+            return FieldType.USERNAME;
+        }
+        if ((found & VIN) != 0) {
+            return FieldType.VIN;
+        }
+        return FieldType.PARTIAL;
+    }
+
+    private static int addNeedle(int[][] trie, int[] flags, int states, String needle, int flag) {
+        String lowerNeedle = needle.toLowerCase(Locale.ROOT);
+        int state = ROOT;
+        int nextState = states;
+        for (int i = 0; i < lowerNeedle.length(); i++) {
+            char c = lowerNeedle.charAt(i);
+            if (c >= ALPHABET_SIZE) {
+                throw new IllegalArgumentException("PII field needles must be ASCII: " + needle);
+            }
+            if (trie[state][c] == ROOT) {
+                trie[state][c] = nextState++;
+            }
+            state = trie[state][c];
+        }
+        flags[state] |= flag;
+        return nextState;
+    }
+
+    /**
+     * Turns the trie into a deterministic automaton. Missing transitions are resolved through the failure link
+     * of each state, and each state inherits the flags of its failure state, in breadth first order so that
+     * failure states are always complete before they are used.
+     */
+    private void buildFailureTransitions() {
+        int[] failure = new int[transitions.length];
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int c = 0; c < ALPHABET_SIZE; c++) {
+            if (transitions[ROOT][c] != ROOT) {
+                queue.add(transitions[ROOT][c]);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            outputs[state] |= outputs[failure[state]];
+            for (int c = 0; c < ALPHABET_SIZE; c++) {
+                int next = transitions[state][c];
+                if (next != ROOT) {
+                    failure[next] = transitions[failure[state]][c];
+                    queue.add(next);
+                } else {
+                    transitions[state][c] = transitions[failure[state]][c];
+                }
+            }
+        }
+    }
+
+    private static int length(Collection<String> needles) {
+        return needles.stream().mapToInt(String::length).sum();
+    }
+}
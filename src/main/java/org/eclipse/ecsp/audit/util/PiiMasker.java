@@ -17,14 +17,21 @@
 
 package org.eclipse.ecsp.audit.util;
 
+import com.fasterxml.jackson.core.JsonGenerationException;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import lombok.extern.slf4j.Slf4j;
+import org.eclipse.ecsp.audit.util.PiiFieldClassifier.FieldType;
+import java.io.IOException;
+import java.io.StringWriter;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * PII Masker Utility - Masks PII fields in JSON before database storage.
@@ -55,12 +62,13 @@ public final class PiiMasker {
     private static final int USERNAME_MIN_LENGTH = 4;
     private static final int PHONE_VISIBLE_LAST = 4;
     private static final int VIN_VISIBLE_LAST = 4;
+    private static final int FIELD_CLASSIFICATION_CACHE_SIZE = 1024;
     
     /**
      * Fields that should be FULLY masked (no visible characters).
      * These are security-critical credentials that should never be partially visible.
      */
-    private static final List<String> FULL_MASK_FIELDS = Arrays.asList(
+    static final List<String> FULL_MASK_FIELDS = Arrays.asList(
         "password",
         "pwd",
         "pass",
@@ -84,7 +92,7 @@ public final class PiiMasker {
      * Fields that should be PARTIALLY masked (show last 4 characters).
      * These fields help with identification/debugging while protecting privacy.
      */
-    private static final List<String> PARTIAL_MASK_FIELDS = Arrays.asList(
+    static final List<String> PARTIAL_MASK_FIELDS = Arrays.asList(
         // User Identity
         "username",
         "email",
@@ -112,7 +120,7 @@ public final class PiiMasker {
      * Fields that should be FULLY masked (complete removal).
      * These are highly sensitive personal data fields.
      */
-    private static final List<String> SENSITIVE_PERSONAL_FIELDS = Arrays.asList(
+    static final List<String> SENSITIVE_PERSONAL_FIELDS = Arrays.asList(
         "firstName",
         "lastName",
         "fullName",
@@ -127,6 +135,10 @@ public final class PiiMasker {
         "birthDate"
     );
     
+    private static final PiiFieldClassifier FIELD_CLASSIFIER = new PiiFieldClassifier(
+        Stream.concat(FULL_MASK_FIELDS.stream(), SENSITIVE_PERSONAL_FIELDS.stream()).toList(),
+        PARTIAL_MASK_FIELDS, FIELD_CLASSIFICATION_CACHE_SIZE);
+    
     private PiiMasker() {
         // Utility class
     }
@@ -155,6 +167,10 @@ public final class PiiMasker {
     /**
      * Mask PII fields in a Map and convert to JSON string.
      *
+     * <p>The map is written straight to the JSON output and masked while it is written, without building an
+     * intermediate tree. Values that are not maps, collections or scalars are converted to a tree first, so that
+     * the output is the same as masking the tree of the whole map.</p>
+     *
      * @param map Map to mask and convert
      * @return masked JSON string, or null if input is null
      */
@@ -163,6 +179,28 @@ public final class PiiMasker {
             return null;
         }
         
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = OBJECT_MAPPER.createGenerator(writer)) {
+            writeMaskedObject(generator, map);
+        } catch (Exception e) {
+            log.error("Failed to mask and serialize map: {}", e.getMessage());
+            return null;
+        }
+        return writer.toString();
+    }
+    
+    /**
+     * Mask PII fields in a Map and convert to JSON string through an intermediate tree.
+     * Reference implementation of {@link #maskAndSerialize(Map)}.
+     *
+     * @param map Map to mask and convert
+     * @return masked JSON string, or null if input is null
+     */
+    static String maskAndSerializeTree(Map<String, Object> map) {
+        if (map == null || map.isEmpty()) {
+            return null;
+        }
+        
         try {
             JsonNode node = OBJECT_MAPPER.valueToTree(map);
             maskNode(node);
@@ -173,6 +211,90 @@ public final class PiiMasker {
         }
     }
     
+    /**
+     * Write a map as a JSON object, masking PII fields.
+     *
+     * @param generator JSON generator to write to
+     * @param map map to write
+     * @throws IOException if writing fails
+     */
+    private static void writeMaskedObject(JsonGenerator generator, Map<?, ?> map) throws IOException {
+        generator.writeStartObject();
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            if (entry.getKey() == null) {
+                throw new JsonGenerationException("Null key for a Map not allowed in JSON", generator);
+            }
+            String fieldName = String.valueOf(entry.getKey());
+            Object value = entry.getValue();
+            FieldType fieldType = FIELD_CLASSIFIER.classify(fieldName);
+            generator.writeFieldName(fieldName);
+            
+            if (fieldType == FieldType.FULL) {
+                generator.writeString(MASK_VALUE);
+            } else if (fieldType.isPartial() && value instanceof String text) {
+                generator.writeString(applyPartialMask(fieldType, text));
+            } else if (value instanceof Map<?, ?> nested) {
+                writeMaskedObject(generator, nested);
+            } else if (value instanceof Collection<?> elements) {
+                writeMaskedArray(generator, elements);
+            } else if (isScalar(value)) {
+                generator.writeObject(value);
+            } else {
+                writeMaskedTree(generator, fieldType, OBJECT_MAPPER.valueToTree(value));
+            }
+        }
+        generator.writeEndObject();
+    }
+    
+    /**
+     * Write a collection as a JSON array, masking PII fields of the objects it contains.
+     *
+     * @param generator JSON generator to write to
+     * @param elements elements to write
+     * @throws IOException if writing fails
+     */
+    private static void writeMaskedArray(JsonGenerator generator, Collection<?> elements) throws IOException {
+        generator.writeStartArray();
+        for (Object element : elements) {
+            if (element instanceof Map<?, ?> nested) {
+                writeMaskedObject(generator, nested);
+            } else if (isScalar(element)) {
+                generator.writeObject(element);
+            } else {
+                JsonNode node = OBJECT_MAPPER.valueToTree(element);
+                maskNode(node);
+                generator.writeTree(node);
+            }
+        }
+        generator.writeEndArray();
+    }
+    
+    /**
+     * Write a value that has been converted to a tree, masking it the same way as a field of a masked object.
+     *
+     * @param generator JSON generator to write to
+     * @param fieldType classification of the field holding the value
+     * @param node value as a tree
+     * @throws IOException if writing fails
+     */
+    private static void writeMaskedTree(JsonGenerator generator, FieldType fieldType, JsonNode node)
+            throws IOException {
+        if (fieldType.isPartial() && node.isTextual()) {
+            generator.writeString(applyPartialMask(fieldType, node.asText()));
+            return;
+        }
+        if (node.isObject()) {
+            maskNode(node);
+        } else if (node.isArray()) {
+            node.forEach(PiiMasker::maskNode);
+        }
+        generator.writeTree(node);
+    }
+    
+    private static boolean isScalar(Object value) {
+        return value == null || value instanceof String || value instanceof Number || value instanceof Boolean;
+    }
+    
     /**
      * Recursively mask PII fields in a JSON node.
      *
@@ -189,10 +311,11 @@ public final class PiiMasker {
             JsonNode value = entry.getValue();
             
             // Determine masking strategy
-            if (shouldFullyMask(fieldName)) {
+            FieldType fieldType = FIELD_CLASSIFIER.classify(fieldName);
+            if (fieldType == FieldType.FULL) {
                 objectNode.put(fieldName, MASK_VALUE);
-            } else if (shouldPartiallyMask(fieldName) && value.isTextual()) {
-                String maskedValue = applyPartialMask(fieldName, value.asText());
+            } else if (fieldType.isPartial() && value.isTextual()) {
+                String maskedValue = applyPartialMask(fieldType, value.asText());
                 objectNode.put(fieldName, maskedValue);
             } else if (value.isObject()) {
                 // Recursively mask nested objects
@@ -208,39 +331,27 @@ public final class PiiMasker {
      * Apply partial masking to a value based on field type.
      * Uses industry-standard masking strategies for different field types.
      *
-     * @param fieldName field name to determine masking strategy
+     * @param fieldType field type to determine masking strategy
      * @param value original value
      * @return partially masked value
      */
-    private static String applyPartialMask(String fieldName, String value) {
+    private static String applyPartialMask(FieldType fieldType, String value) {
         if (value == null || value.isEmpty()) {
             return MASK_VALUE;
         }
         
-        String lowerFieldName = fieldName.toLowerCase();
-        
-        // Email masking: show first 2-3 chars + full domain (te***@example.com)
-        if (lowerFieldName.contains("email")) {
-            return maskEmail(value);
-        }
-        
-        // Phone masking: show last 4 digits only (******7890)
-        if (lowerFieldName.contains("phone") || lowerFieldName.contains("mobile")) {
-            return maskPhone(value);
-        }
-        
-        // Username masking: show first 2 + last 2 chars (jo***th)
-        if (lowerFieldName.contains("username") || lowerFieldName.contains("accountname")) {
-            return maskUsername(value);
-        }
-        
-        // VIN masking: show last 4 chars (******2345)
-        if (lowerFieldName.contains("vin") || lowerFieldName.contains("vehicleidentification")) {
-            return maskVin(value);
-        }
-        
-        // Default: show last 4 characters for other identification fields
-        return maskDefault(value);
+        return switch (fieldType) {
+            // Email masking: show first 2-3 chars + full domain (te***@example.com)
+            case EMAIL -> maskEmail(value);
+            // Phone masking: show last 4 digits only (******7890)
+            case PHONE -> maskPhone(value);
+            // Username masking: show first 2 + last 2 chars (jo***th)
+            case USERNAME -> maskUsername(value);
+            // VIN masking: show last 4 chars (******2345)
+            case VIN -> maskVin(value);
+            // Default: show last 4 characters for other identification fields
+            default -> maskDefault(value);
+        };
     }
     
     /**
@@ -339,38 +450,4 @@ public final class PiiMasker {
         String visiblePart = value.substring(value.length() - PARTIAL_MASK_VISIBLE_CHARS);
         return PARTIAL_MASK_PREFIX + visiblePart;
     }
-    
-    /**
-     * Check if a field should be fully masked (no visible characters).
-     *
-     * @param fieldName field name to check
-     * @return true if field should be fully masked
-     */
-    private static boolean shouldFullyMask(String fieldName) {
-        if (fieldName == null) {
-            return false;
-        }
-        
-        String lowerFieldName = fieldName.toLowerCase();
-        return FULL_MASK_FIELDS.stream()
-            .anyMatch(field -> lowerFieldName.contains(field.toLowerCase()))
-            || SENSITIVE_PERSONAL_FIELDS.stream()
-            .anyMatch(field -> lowerFieldName.contains(field.toLowerCase()));
-    }
-    
-    /**
-     * Check if a field should be partially masked (show last 4 characters).
-     *
-     * @param fieldName field name to check
-     * @return true if field should be partially masked
-     */
-    private static boolean shouldPartiallyMask(String fieldName) {
-        if (fieldName == null) {
-            return false;
-        }
-        
-        String lowerFieldName = fieldName.toLowerCase();
-        return PARTIAL_MASK_FIELDS.stream()
-            .anyMatch(field -> lowerFieldName.contains(field.toLowerCase()));
-    }
 }
@@ -55,7 +55,31 @@ public enum UidamMetrics {
     TOTAL_DELETED_USERS("total.deleted.users",
             "Total deleted users"),
     TOTAL_UPDATED_USERS("total.updated.users",
-            "Total updated users");
+            "Total updated users"),
+    DELETED_USERS_PER_REQUEST("deleted.users.per.request",
+            "Number of users deleted by a single delete users request"),
+    ROLE_CATALOG_CACHE_HIT("role.catalog.cache.hit",
+            "Role catalog cache hits"),
+    ROLE_CATALOG_CACHE_MISS("role.catalog.cache.miss",
+            "Role catalog cache misses"),
+    USER_LOGIN_CONTEXT_LATENCY("user.login.context.latency",
+            "Latency of the user lookup by username used on login"),
+    NOTIFICATION_TEMPLATE_COMPILE("notification.template.compile",
+            "Notification text templates compiled"),
+    NOTIFICATION_TEMPLATE_CACHE_HIT("notification.template.cache.hit",
+            "Notification text templates served from the compiled template cache"),
+    NOTIFICATION_OUTBOX_QUEUED("notification.outbox.queued",
+            "Notifications written to the notification outbox"),
+    NOTIFICATION_OUTBOX_SENT("notification.outbox.sent",
+            "Notifications delivered from the notification outbox"),
+    NOTIFICATION_OUTBOX_RETRIED("notification.outbox.retried",
+            "Failed notification deliveries scheduled for a retry"),
+    NOTIFICATION_OUTBOX_FAILED("notification.outbox.failed",
+            "Notifications given up after the maximum number of delivery attempts"),
+    NOTIFICATION_OUTBOX_RATE_LIMITED("notification.outbox.rate.limited",
+            "Polling cycles in which the notification delivery rate limit of a tenant was exhausted"),
+    NOTIFICATION_OUTBOX_DELIVERY_DELAY("notification.outbox.delivery.delay",
+            "Time between queueing and delivery of a notification");
 
     private final String metricName;
     private final String description;
@@ -19,39 +19,145 @@
 package org.eclipse.ecsp.uidam.common.metrics;
 
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.eclipse.ecsp.sql.multitenancy.TenantContext;
 import org.springframework.stereotype.Component;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 /**
  * Service for handling UIDAM metrics.
+ *
+ * <p>Meters are registered once per metric, tenant and tag set, and the registered handles are cached, so that
+ * recording a value does not go through the meter builder and the registry lookup again.</p>
  */
 @Component
 @RequiredArgsConstructor
 public class UidamMetricsService {
 
+    private static final double MEDIAN = 0.5;
+    private static final double P99 = 0.99;
+    private static final List<String> NO_TAGS = List.of();
+
     private final MeterRegistry meterRegistry;
 
+    private final Map<MeterKey, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<MeterKey, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<MeterKey, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
     /**
      * Increment the counter for the given metric information.
      *
      * @param metricInfo the metric information
      */
     public void incrementCounter(@NonNull MetricInfo metricInfo) {
+        incrementCounter(metricInfo, 1);
+    }
+
+    /**
+     * Increment the counter for the given metric information by the given amount, for example once for all the
+     * users of a bulk operation.
+     *
+     * @param metricInfo the metric information
+     * @param amount     the amount to be added to the counter
+     */
+    public void incrementCounter(@NonNull MetricInfo metricInfo, long amount) {
+        MeterKey key = meterKey(metricInfo);
+        getOrRegister(counters, key, meterKey -> Counter.builder(meterKey.metric().getMetricName())
+                .description(meterKey.metric().getDescription())
+                .tags(meterKey.meterTags())
+                .register(meterRegistry))
+            .increment(amount);
+    }
+
+    /**
+     * Record the given duration on the timer for the given metric information. The timer publishes the median
+     * and the 99th percentile.
+     *
+     * @param metricInfo the metric information
+     * @param duration   the duration to be recorded
+     */
+    public void recordTime(@NonNull MetricInfo metricInfo, @NonNull Duration duration) {
+        timer(meterKey(metricInfo)).record(duration);
+    }
+
+    /**
+     * Run the given action and record its duration on the timer for the given metric information, also when the
+     * action fails.
+     *
+     * @param metricInfo the metric information
+     * @param action     the action to be timed
+     * @param <T>        the result type of the action
+     * @return the result of the action
+     */
+    public <T> T recordTime(@NonNull MetricInfo metricInfo, @NonNull Supplier<T> action) {
+        Timer timer = timer(meterKey(metricInfo));
+        long startTime = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            timer.record(Duration.ofNanos(System.nanoTime() - startTime));
+        }
+    }
+
+    /**
+     * Record the given amount on the distribution summary for the given metric information, for example the
+     * number of users of a bulk operation. The summary publishes the median and the 99th percentile.
+     *
+     * @param metricInfo the metric information
+     * @param amount     the amount to be recorded
+     */
+    public void recordAmount(@NonNull MetricInfo metricInfo, double amount) {
+        MeterKey key = meterKey(metricInfo);
+        getOrRegister(summaries, key, meterKey -> DistributionSummary.builder(meterKey.metric().getMetricName())
+                .description(meterKey.metric().getDescription())
+                .tags(meterKey.meterTags())
+                .publishPercentiles(MEDIAN, P99)
+                .register(meterRegistry))
+            .record(amount);
+    }
+
+    private Timer timer(MeterKey key) {
+        return getOrRegister(timers, key, meterKey -> Timer.builder(meterKey.metric().getMetricName())
+                .description(meterKey.metric().getDescription())
+                .tags(meterKey.meterTags())
+                .publishPercentiles(MEDIAN, P99)
+                .register(meterRegistry));
+    }
+
+    private static MeterKey meterKey(MetricInfo metricInfo) {
+        UidamMetrics metric = Objects.requireNonNull(metricInfo.getUidamMetrics(), "Uidam metric must not be null");
+        Stream<String> tags = metricInfo.getTags();
+        return new MeterKey(metric, TenantContext.getCurrentTenant(), tags == null ? NO_TAGS : tags.toList());
+    }
+
+    private static <M> M getOrRegister(Map<MeterKey, M> meters, MeterKey key, Function<MeterKey, M> register) {
+        // Plain lookup first, registered meters are read far more often than they are created.
+        M meter = meters.get(key);
+        return meter != null ? meter : meters.computeIfAbsent(key, register);
+    }
+
+    /**
+     * Identity of a registered meter: the metric, the tenant it is recorded for and the additional tags.
+     */
+    private record MeterKey(UidamMetrics metric, String tenantId, List<String> tags) {
 
-        Objects.requireNonNull(metricInfo.getUidamMetrics(), "Uidam metric must not be null");
-        String[] tags = Optional.ofNullable(metricInfo.getTags()).orElse(Stream.empty()).toArray(String[]::new);
-        Counter.builder(metricInfo.getUidamMetrics().getMetricName())
-                .description(metricInfo.getUidamMetrics().getDescription())
-                .tag(UidamMetricsConstants.TAG_NAME_APPLICATION, UidamMetricsConstants.TAG_VALUE_APPLICATION)
-                .tag(UidamMetricsConstants.TAG_NAME_TENANT_ID, TenantContext.getCurrentTenant())
-                .tag(UidamMetricsConstants.TAG_NAME_API_VERSION, UidamMetricsConstants.DEFAULT_API_VERSION)
-                .tags(tags)
-                .register(meterRegistry).increment();
+        Tags meterTags() {
+            return Tags.of(UidamMetricsConstants.TAG_NAME_APPLICATION, UidamMetricsConstants.TAG_VALUE_APPLICATION,
+                    UidamMetricsConstants.TAG_NAME_TENANT_ID, tenantId,
+                    UidamMetricsConstants.TAG_NAME_API_VERSION, UidamMetricsConstants.DEFAULT_API_VERSION)
+                .and(tags.toArray(String[]::new));
+        }
     }
 }
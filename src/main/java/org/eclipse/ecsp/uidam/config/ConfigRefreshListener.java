@@ -33,8 +33,12 @@ package org.eclipse.ecsp.uidam.config;
 import jakarta.annotation.PostConstruct;
 import org.eclipse.ecsp.sql.multitenancy.TenantAwareDataSource;
 import org.eclipse.ecsp.sql.multitenancy.TenantDatabaseProperties;
+import org.eclipse.ecsp.uidam.usermanagement.cache.TenantDefaultAccountCache;
+import org.eclipse.ecsp.uidam.usermanagement.cache.UserColumnMetadataCache;
 import org.eclipse.ecsp.uidam.usermanagement.config.LiquibaseConfig;
+import org.eclipse.ecsp.uidam.usermanagement.config.TenantAwareJavaMailSenderFactory;
 import org.eclipse.ecsp.uidam.usermanagement.config.TenantDefaultPropertiesProcessor;
+import org.eclipse.ecsp.uidam.usermanagement.notification.parser.impl.MustacheTemplateParserImpl;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -97,6 +101,18 @@ public class ConfigRefreshListener implements ApplicationListener<EnvironmentCha
     @Autowired
     private LiquibaseConfig liquibaseConfig;
 
+    @Autowired
+    private MustacheTemplateParserImpl mustacheTemplateParser;
+
+    @Autowired
+    private TenantAwareJavaMailSenderFactory mailSenderFactory;
+
+    @Autowired
+    private UserColumnMetadataCache userColumnMetadataCache;
+
+    @Autowired
+    private TenantDefaultAccountCache tenantDefaultAccountCache;
+
     /**
      * Initializes the property cache with current values on application startup.
      * This ensures that the first refresh event will have accurate "old" values to compare against.
@@ -357,6 +373,8 @@ public class ConfigRefreshListener implements ApplicationListener<EnvironmentCha
             LOGGER.info("Initializing schema for tenant: {}", tenantId);
             liquibaseConfig.initializeTenantSchema(tenantId);
             LOGGER.info("Successfully initialized schema for tenant: {}", tenantId);
+            // Column types read before the migration may be stale
+            userColumnMetadataCache.clearCache(tenantId);
         } catch (Exception e) {
             LOGGER.error("Failed to add tenant data source for tenant: {}", tenantId, e);
         }
@@ -450,6 +468,10 @@ public class ConfigRefreshListener implements ApplicationListener<EnvironmentCha
         } catch (Exception e) {
             LOGGER.error("Failed to refresh tenant data sources for removed tenant: {}", tenantId, e);
         }
+        mustacheTemplateParser.clearCache(tenantId);
+        mailSenderFactory.clearCache(tenantId);
+        userColumnMetadataCache.clearCache(tenantId);
+        tenantDefaultAccountCache.clearCache(tenantId);
         
         // PLACEHOLDER: Add additional custom logic for tenant removal
         // Examples:
@@ -723,6 +745,12 @@ public class ConfigRefreshListener implements ApplicationListener<EnvironmentCha
                        tenantId, 
                        String.join(", ", changedTenantProperties));
         }
+        // Template, SMTP, database and default account settings of the tenant may have changed, all are created
+        // again on next use
+        mustacheTemplateParser.clearCache(tenantId);
+        mailSenderFactory.clearCache(tenantId);
+        userColumnMetadataCache.clearCache(tenantId);
+        tenantDefaultAccountCache.clearCache(tenantId);
         
         try {
             // Check if any database-related properties changed
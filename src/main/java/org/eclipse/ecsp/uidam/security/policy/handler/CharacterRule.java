@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2023 - 2024 Harman International
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package org.eclipse.ecsp.uidam.security.policy.handler;
+
+import java.util.BitSet;
+import java.util.function.Predicate;
+
+/**
+ * Password policy check that only depends on the character classes of the password.
+ *
+ * @param predicate         test on the character counts of the password, true if the password complies
+ * @param errorMessage      message reported when the password does not comply
+ * @param specialCharacters code points counted as special characters, or null if the rule does not count them
+ */
+public record CharacterRule(Predicate<CharacterCounts> predicate, String errorMessage, BitSet specialCharacters) {
+
+    /**
+     * Character counts of a password, collected in a single pass over its code points.
+     *
+     * @param length    number of code points
+     * @param upperCase number of upper case letters
+     * @param lowerCase number of lower case letters
+     * @param digits    number of digits
+     * @param special   number of special characters
+     */
+    public record CharacterCounts(int length, int upperCase, int lowerCase, int digits, int special) {
+
+        /**
+         * Counts the character classes of the password.
+         *
+         * @param password          password, counted as empty if null
+         * @param specialCharacters code points counted as special characters, may be null
+         * @return character counts
+         */
+        public static CharacterCounts of(String password, BitSet specialCharacters) {
+            int length = 0;
+            int upperCase = 0;
+            int lowerCase = 0;
+            int digits = 0;
+            int special = 0;
+            int index = 0;
+            int end = password == null ? 0 : password.length();
+            while (index < end) {
+                int codePoint = password.codePointAt(index);
+                index += Character.charCount(codePoint);
+                length++;
+                if (Character.isUpperCase(codePoint)) {
+                    upperCase++;
+                } else if (Character.isLowerCase(codePoint)) {
+                    lowerCase++;
+                } else if (Character.isDigit(codePoint)) {
+                    digits++;
+                }
+                if (specialCharacters != null && specialCharacters.get(codePoint)) {
+                    special++;
+                }
+            }
+            return new CharacterCounts(length, upperCase, lowerCase, digits, special);
+        }
+    }
+}
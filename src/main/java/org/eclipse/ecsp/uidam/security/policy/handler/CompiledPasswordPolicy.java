@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2023 - 2024 Harman International
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package org.eclipse.ecsp.uidam.security.policy.handler;
+
+import org.eclipse.ecsp.uidam.security.policy.handler.CharacterRule.CharacterCounts;
+import org.eclipse.ecsp.uidam.security.policy.handler.PasswordValidationService.PasswordValidationInput;
+import org.eclipse.ecsp.uidam.security.policy.handler.PasswordValidationService.ValidationResult;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Immutable password policy of a tenant, compiled from its handlers in priority order.
+ *
+ * <p>The size, complexity and special character rules are evaluated together from one pass over the code points
+ * of the password, while the other handlers are invoked one after the other. Validation reports every violated
+ * policy instead of stopping at the first one. A compiled policy holds no per call state and can be used by
+ * concurrent requests.</p>
+ */
+public final class CompiledPasswordPolicy {
+
+    private final Pipeline newUserPipeline;
+    private final Pipeline existingUserPipeline;
+    private final Pipeline expiryPipeline;
+    private final BitSet specialCharacters;
+    private final int handlerCount;
+    private final Instant expiresAt;
+
+    private CompiledPasswordPolicy(List<PasswordPolicyHandler> handlers, Instant expiresAt) {
+        BitSet special = null;
+        List<PolicyStep> allSteps = new ArrayList<>(handlers.size());
+        List<PolicyStep> newUserSteps = new ArrayList<>(handlers.size());
+        List<PolicyStep> expirySteps = new ArrayList<>(1);
+        for (PasswordPolicyHandler handler : handlers) {
+            Optional<CharacterRule> rule = handler.characterRule();
+            PolicyStep step;
+            if (rule.isPresent()) {
+                step = new CharacterStep(rule.get());
+                if (rule.get().specialCharacters() != null) {
+                    special = special == null ? new BitSet() : special;
+                    special.or(rule.get().specialCharacters());
+                }
+            } else {
+                step = new HandlerStep(handler);
+            }
+            allSteps.add(step);
+            if (handler instanceof ExpirationPolicyHandler) {
+                expirySteps.add(step);
+            } else if (!(handler instanceof LastUpdateValidationPolicyHandler)) {
+                newUserSteps.add(step);
+            }
+        }
+        this.newUserPipeline = new Pipeline(newUserSteps);
+        this.existingUserPipeline = new Pipeline(allSteps);
+        this.expiryPipeline = new Pipeline(expirySteps);
+        this.specialCharacters = special;
+        this.handlerCount = handlers.size();
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * Compiles the handlers of a tenant.
+     *
+     * @param handlers  handlers in priority order
+     * @param expiresAt time after which the policy has to be compiled again
+     * @return compiled policy
+     */
+    public static CompiledPasswordPolicy compile(List<PasswordPolicyHandler> handlers, Instant expiresAt) {
+        return new CompiledPasswordPolicy(handlers, expiresAt);
+    }
+
+    /**
+     * Validates the password of a new user. Expiry and last update policies do not apply.
+     *
+     * @param password password
+     * @param username username
+     * @return validation result with all violations
+     */
+    public ValidationResult validateNewUser(String password, String username) {
+        return newUserPipeline.validate(new PasswordValidationInput(username, password, null), specialCharacters);
+    }
+
+    /**
+     * Validates a new password of an existing user against all policies.
+     *
+     * @param password       password
+     * @param username       username
+     * @param lastUpdateTime time of the last password change
+     * @return validation result with all violations
+     */
+    public ValidationResult validateExistingUser(String password, String username, Timestamp lastUpdateTime) {
+        return existingUserPipeline.validate(new PasswordValidationInput(username, password, lastUpdateTime),
+            specialCharacters);
+    }
+
+    /**
+     * Validates that the password of a user has not expired.
+     *
+     * @param username username
+     * @return validation result
+     */
+    public ValidationResult validateExpiry(String username) {
+        return expiryPipeline.validate(new PasswordValidationInput(username, null, null), specialCharacters);
+    }
+
+    public int getHandlerCount() {
+        return handlerCount;
+    }
+
+    boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+
+    /**
+     * Steps of one kind of validation. Character counts are only collected if one of the steps needs them.
+     */
+    private record Pipeline(List<PolicyStep> steps, boolean countsCharacters) {
+
+        Pipeline(List<PolicyStep> steps) {
+            this(List.copyOf(steps), steps.stream().anyMatch(CharacterStep.class::isInstance));
+        }
+
+        ValidationResult validate(PasswordValidationInput input, BitSet specialCharacters) {
+            if (steps.isEmpty()) {
+                return new ValidationResult(true, null);
+            }
+            CharacterCounts counts = countsCharacters ? CharacterCounts.of(input.password(), specialCharacters)
+                : null;
+            List<String> violations = null;
+            for (PolicyStep step : steps) {
+                String violation = step.check(input, counts);
+                if (violation != null) {
+                    violations = violations == null ? new ArrayList<>() : violations;
+                    violations.add(violation);
+                }
+            }
+            return violations == null ? new ValidationResult(true, null) : ValidationResult.invalid(violations);
+        }
+    }
+
+    /**
+     * Single policy check.
+     */
+    private interface PolicyStep {
+
+        /**
+         * Checks the input.
+         *
+         * @param input  validation input
+         * @param counts character counts of the password, null if the pipeline has no character rule
+         * @return the violation, or null if the input complies
+         */
+        String check(PasswordValidationInput input, CharacterCounts counts);
+    }
+
+    private record CharacterStep(CharacterRule rule) implements PolicyStep {
+
+        @Override
+        public String check(PasswordValidationInput input, CharacterCounts counts) {
+            return rule.predicate().test(counts) ? null : rule.errorMessage();
+        }
+    }
+
+    private record HandlerStep(PasswordPolicyHandler handler) implements PolicyStep {
+
+        @Override
+        public String check(PasswordValidationInput input, CharacterCounts counts) {
+            return handler.handle(input) ? null : handler.getErrorMessage();
+        }
+    }
+}
@@ -22,6 +22,7 @@ import org.eclipse.ecsp.uidam.security.policy.handler.PasswordValidationService.
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * ComplexityPolicyHandler is a concrete implementation of the PasswordPolicyHandler that enforces password complexity
@@ -75,6 +76,12 @@ public class ComplexityPolicyHandler extends PasswordPolicyHandler {
         return upper >= minUppercase && lower >= minLowercase && digits >= minDigits;
     }
 
+    @Override
+    protected Optional<CharacterRule> characterRule() {
+        return Optional.of(new CharacterRule(counts -> counts.upperCase() >= minUppercase
+            && counts.lowerCase() >= minLowercase && counts.digits() >= minDigits, getErrorMessage(), null));
+    }
+
     /**
      * Returns the error message to be displayed when the password does not meet the complexity requirements.
      *
@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2023 - 2024 Harman International
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package org.eclipse.ecsp.uidam.security.policy.handler;
+
+import io.netty.channel.ChannelOption;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import java.io.Serial;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Looks up SHA-1 password digests in the known breaches, shared by the compromised password handlers of all tenants.
+ *
+ * <p>An optional local breach corpus is checked first without any network access. Otherwise the k-anonymity range
+ * of the digest prefix is requested from the Pwned Passwords API through a pooled client with timeouts, and the parsed
+ * range is kept in a least recently used cache until its ttl expires. Installations without internet access can
+ * disable the remote lookup and rely on the corpus alone.</p>
+ */
+@Component
+public class CompromisedPasswordLookup {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CompromisedPasswordLookup.class);
+    private static final String CONNECTION_PROVIDER_NAME = "pwned-passwords";
+    private static final String ADD_PADDING_HEADER = "Add-Padding";
+    private static final int MAX_CONNECTIONS = 20;
+
+    private final WebClient webClient;
+    private final boolean remoteEnabled;
+    private final Duration responseTimeout;
+    private final Duration cacheTtl;
+    private final RangeCache rangeCache;
+    private final Sha1DigestSet corpus;
+
+    /**
+     * Constructor for CompromisedPasswordLookup.
+     *
+     * @param apiUrl                 range endpoint of the Pwned Passwords API
+     * @param remoteEnabled          whether ranges are requested from the API when the corpus does not contain a digest
+     * @param connectTimeoutMillis   connect timeout of the API client
+     * @param responseTimeoutMillis  response timeout of the API client
+     * @param cacheMaxSize           maximum number of cached ranges
+     * @param cacheTtl               maximum age of a cached range
+     * @param corpusPath             path of the local breach corpus, none if empty
+     */
+    public CompromisedPasswordLookup(
+            @Value("${security.password.compromised.api-url:https://api.pwnedpasswords.com/range/}") String apiUrl,
+            @Value("${security.password.compromised.remote-enabled:true}") boolean remoteEnabled,
+            @Value("${security.password.compromised.connect-timeout-millis:1000}") int connectTimeoutMillis,
+            @Value("${security.password.compromised.response-timeout-millis:2000}") long responseTimeoutMillis,
+            @Value("${security.password.compromised.cache.max-size:1000}") int cacheMaxSize,
+            @Value("${security.password.compromised.cache.ttl:1h}") Duration cacheTtl,
+            @Value("${security.password.compromised.corpus-path:}") String corpusPath) {
+        this(createWebClient(apiUrl, connectTimeoutMillis, Duration.ofMillis(responseTimeoutMillis)), remoteEnabled,
+            Duration.ofMillis(responseTimeoutMillis), cacheMaxSize, cacheTtl,
+            StringUtils.isBlank(corpusPath) ? null : loadCorpus(Path.of(corpusPath)));
+    }
+
+    CompromisedPasswordLookup(WebClient webClient, boolean remoteEnabled, Duration responseTimeout, int cacheMaxSize,
+                              Duration cacheTtl, Sha1DigestSet corpus) {
+        this.webClient = webClient;
+        this.remoteEnabled = remoteEnabled;
+        this.responseTimeout = responseTimeout;
+        this.cacheTtl = cacheTtl;
+        this.rangeCache = new RangeCache(cacheMaxSize);
+        this.corpus = corpus;
+    }
+
+    /**
+     * Checks if the digest is part of a known breach.
+     *
+     * @param passwordHash upper case hex SHA-1 digest of the password
+     * @param prefixLength number of hex characters sent to the API
+     * @return true if the password is compromised, false if it is not known or the API is not reachable
+     */
+    public boolean isCompromised(String passwordHash, int prefixLength) {
+        byte[] digest = HexFormat.of().parseHex(passwordHash);
+        if (corpus != null && corpus.contains(digest)) {
+            return true;
+        }
+        if (!remoteEnabled) {
+            return false;
+        }
+        Sha1DigestSet range = getRange(passwordHash.substring(0, prefixLength));
+        return range != null && range.contains(digest);
+    }
+
+    private Sha1DigestSet getRange(String prefix) {
+        Instant now = Instant.now();
+        CachedRange cached;
+        synchronized (rangeCache) {
+            cached = rangeCache.get(prefix);
+        }
+        if (cached != null && cached.expiresAt().isAfter(now)) {
+            return cached.digests();
+        }
+        String body = fetchRange(prefix);
+        if (body == null) {
+            return null;
+        }
+        Sha1DigestSet range = Sha1DigestSet.parseRange(prefix, body);
+        synchronized (rangeCache) {
+            rangeCache.put(prefix, new CachedRange(range, now.plus(cacheTtl)));
+        }
+        return range;
+    }
+
+    /**
+     * Requests the range of the prefix. Failures are not cached, so that the next validation retries.
+     *
+     * @param prefix hex digest prefix
+     * @return response body, or null if the API could not be called
+     */
+    protected String fetchRange(String prefix) {
+        try {
+            return webClient.get().uri(prefix).accept(MediaType.TEXT_PLAIN).header(ADD_PADDING_HEADER, "true")
+                .retrieve().bodyToMono(String.class).block(responseTimeout);
+        } catch (Exception ex) {
+            LOGGER.error("Error while calling Pwned Passwords API: {}", ex.getMessage(), ex);
+            return null;
+        }
+    }
+
+    private static WebClient createWebClient(String apiUrl, int connectTimeoutMillis, Duration responseTimeout) {
+        ConnectionProvider provider = ConnectionProvider.builder(CONNECTION_PROVIDER_NAME)
+            .maxConnections(MAX_CONNECTIONS).build();
+        HttpClient httpClient = HttpClient.create(provider)
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMillis)
+            .responseTimeout(responseTimeout);
+        return WebClient.builder().baseUrl(apiUrl).clientConnector(new ReactorClientHttpConnector(httpClient))
+            .filter(CompromisedPasswordPolicyHandler.logRequest())
+            .filter(CompromisedPasswordPolicyHandler.logResponse())
+            .build();
+    }
+
+    private static Sha1DigestSet loadCorpus(Path corpusPath) {
+        Sha1DigestSet corpus = Sha1DigestSet.map(corpusPath);
+        LOGGER.info("Loaded breach corpus {} with {} digests", corpusPath, corpus.size());
+        return corpus;
+    }
+
+    /**
+     * Parsed range and the time it has to be requested again.
+     */
+    private record CachedRange(Sha1DigestSet digests, Instant expiresAt) {
+    }
+
+    /**
+     * Ranges by prefix, evicting the least recently used range when full. Not thread safe, access is synchronized on
+     * the cache instance.
+     */
+    private static final class RangeCache extends LinkedHashMap<String, CachedRange> {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+        private static final int INITIAL_CAPACITY = 16;
+        private static final float LOAD_FACTOR = 0.75f;
+
+        private final int maxSize;
+
+        RangeCache(int maxSize) {
+            super(INITIAL_CAPACITY, LOAD_FACTOR, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedRange> eldest) {
+            return size() > maxSize;
+        }
+    }
+}
@@ -22,9 +22,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.eclipse.ecsp.uidam.security.policy.handler.PasswordValidationService.PasswordValidationInput;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.http.MediaType;
 import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
-import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
@@ -34,17 +32,25 @@ import java.util.Map;
 
 /**
  * This class is used to check if a password has been compromised using the Pwned Passwords API. It hashes the password
- * and checks if the hash exists in the database of compromised passwords.
+ * and checks if the hash exists in the database of compromised passwords, through the shared
+ * {@link CompromisedPasswordLookup} that checks the local breach corpus and cached ranges first.
  */
 public class CompromisedPasswordPolicyHandler extends PasswordPolicyHandler {
     private static final Logger LOGGER = LoggerFactory.getLogger(CompromisedPasswordPolicyHandler.class);
     private static final int INT_5 = 5;
-    private MessageDigest messageDigest;
-    private static final String PWNED_PASSWORD_URL = "https://api.pwnedpasswords.com/range/";
     private int passwordHashSubStringLength;
+    private final CompromisedPasswordLookup compromisedPasswordLookup;
 
-    public CompromisedPasswordPolicyHandler(Map<String, Object> rules) {
+    /**
+     * Constructor to initialize CompromisedPasswordPolicyHandler with rules.
+     *
+     * @param rules The rules for compromised password validation.
+     * @param compromisedPasswordLookup The shared lookup of breached password digests.
+     */
+    public CompromisedPasswordPolicyHandler(Map<String, Object> rules,
+            CompromisedPasswordLookup compromisedPasswordLookup) {
         this.passwordHashSubStringLength = toInt(rules.get("passwordHashSubStringLength"), INT_5);
+        this.compromisedPasswordLookup = compromisedPasswordLookup;
     }
 
     /**
@@ -92,31 +98,17 @@ public class CompromisedPasswordPolicyHandler extends PasswordPolicyHandler {
     }
 
     /**
-     * This method is used to check if the password is compromised using the Pwned Passwords API.
+     * This method is used to check if the password is compromised using the local breach corpus or the Pwned
+     * Passwords API.
      *
      * @param password The password to check.
      * @return true if the password is compromised, false otherwise.
      * @throws NoSuchAlgorithmException exception.
      */
     protected boolean isPasswordCompromised(String password) throws NoSuchAlgorithmException {
-
-        WebClient webClient = WebClient.builder().baseUrl(PWNED_PASSWORD_URL).filter(logRequest()).filter(logResponse())
-                .build();
         String passwordHash = toHash(password);
-        String response = null;
-        String body = null;
-        String url = (StringUtils.isNotEmpty(passwordHash) ? passwordHash.substring(0, passwordHashSubStringLength)
-                : "");
-        try {
-            response = webClient.get().uri(url).accept(MediaType.APPLICATION_JSON).retrieve().bodyToMono(String.class)
-                    .block();
-        } catch (Exception ex) {
-            LOGGER.error("Error while calling Pwned Passwords API: {}", ex.getMessage(), ex);
-        }
-        if (response != null) {
-            body = response;
-        }
-        return body != null && body.contains(passwordHash.substring(passwordHashSubStringLength));
+        return StringUtils.isNotEmpty(passwordHash)
+            && compromisedPasswordLookup.isCompromised(passwordHash, passwordHashSubStringLength);
     }
 
     /**
@@ -127,12 +119,9 @@ public class CompromisedPasswordPolicyHandler extends PasswordPolicyHandler {
      * @throws NoSuchAlgorithmException if SHA-1 algorithm is not available
      */
     protected MessageDigest getMessageDigest() throws NoSuchAlgorithmException {
-        if (messageDigest == null) {
-            // SHA-1 is required by Pwned Passwords API - cannot use stronger algorithm
-            messageDigest = MessageDigest.getInstance("SHA-1"); // NOSONAR - Required by external API
-        }
-        return messageDigest;
-
+        // A new instance per call, since the handler is shared by concurrent validations
+        // SHA-1 is required by Pwned Passwords API - cannot use stronger algorithm
+        return MessageDigest.getInstance("SHA-1"); // NOSONAR - Required by external API
     }
 
     /**
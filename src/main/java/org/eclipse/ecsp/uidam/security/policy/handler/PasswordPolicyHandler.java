@@ -20,6 +20,7 @@ package org.eclipse.ecsp.uidam.security.policy.handler;
 
 import org.eclipse.ecsp.uidam.security.policy.handler.PasswordValidationService.PasswordValidationInput;
 import java.util.HashSet;
+import java.util.Optional;
 import java.util.Set;
 
 /**
@@ -34,9 +35,10 @@ public abstract class PasswordPolicyHandler {
     protected PasswordPolicyHandler next;
 
     /**
-     * Error message to be used when a password policy violation occurs.
+     * Error message to be used when a password policy violation occurs. Handlers are shared by all requests of a
+     * tenant, so the message is kept per thread and read right after the validation that set it.
      */
-    private String errorMessage;
+    private final ThreadLocal<String> errorMessage = new ThreadLocal<>();
 
     /**
      * Retrieves the error message associated with this handler.
@@ -44,7 +46,7 @@ public abstract class PasswordPolicyHandler {
      * @return the error message.
      */
     protected String getErrorMessage() {
-        return errorMessage;
+        return errorMessage.get();
     }
 
     /**
@@ -53,7 +55,17 @@ public abstract class PasswordPolicyHandler {
      * @param errorMessage the error message to set.
      */
     protected void setErrorMessage(String errorMessage) {
-        this.errorMessage = errorMessage;
+        this.errorMessage.set(errorMessage);
+    }
+
+    /**
+     * Returns the character rule of this handler when its check only depends on the character classes of the
+     * password, so that it can be evaluated in the single pass over the password of a {@link CompiledPasswordPolicy}.
+     *
+     * @return the character rule, or empty if the handler has to be invoked on its own.
+     */
+    protected Optional<CharacterRule> characterRule() {
+        return Optional.empty();
     }
 
     /**
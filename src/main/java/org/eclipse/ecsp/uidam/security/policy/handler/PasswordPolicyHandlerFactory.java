@@ -41,19 +41,24 @@ public class PasswordPolicyHandlerFactory {
 
     private final PasswordHistoryRepository passwordHistoryRepository;
     private final TenantConfigurationService tenantConfigurationService;
+    private final CompromisedPasswordLookup compromisedPasswordLookup;
 
     /**
      * Constructor for PasswordPolicyHandlerFactory.
      *
      * @param passwordHistoryRepository Repository for password history.
      * @param tenantConfigurationService Tenant configuration service.
+     * @param compromisedPasswordLookup Shared lookup of breached password digests.
      */
     public PasswordPolicyHandlerFactory(PasswordHistoryRepository passwordHistoryRepository,
-            TenantConfigurationService tenantConfigurationService) {
+            TenantConfigurationService tenantConfigurationService,
+            CompromisedPasswordLookup compromisedPasswordLookup) {
         this.passwordHistoryRepository = Objects.requireNonNull(passwordHistoryRepository,
                 "passwordHistoryRepository must not be null");
         this.tenantConfigurationService = Objects.requireNonNull(tenantConfigurationService,
                 "tenantConfigurationService must not be null");
+        this.compromisedPasswordLookup = Objects.requireNonNull(compromisedPasswordLookup,
+                "compromisedPasswordLookup must not be null");
     }
     
     /**
@@ -68,7 +73,8 @@ public class PasswordPolicyHandlerFactory {
         Map<String, Object> rules = policy.getValidationRules();
 
         return Stream.of(PolicyType.values()).filter(type -> type.key.equals(policy.getKey())).findFirst()
-                .map(type -> type.createHandler(rules, passwordHistoryRepository, tenantConfigurationService))
+                .map(type -> type.createHandler(rules, passwordHistoryRepository, tenantConfigurationService,
+                        compromisedPasswordLookup))
                 .orElseThrow(() -> new IllegalArgumentException("Unknown policy key: " + policy.getKey()));
     }
 
@@ -80,28 +86,28 @@ public class PasswordPolicyHandlerFactory {
         SIZE("size") {
             @Override
             PasswordPolicyHandler createHandler(Map<String, Object> rules, PasswordHistoryRepository repository,
-                    TenantConfigurationService tenantConfigurationService) {
+                    TenantConfigurationService tenantConfigurationService, CompromisedPasswordLookup lookup) {
                 return new SizePolicyHandler(rules);
             }
         },
         SPECIAL_CHARS("specialChars") {
             @Override
             PasswordPolicyHandler createHandler(Map<String, Object> rules, PasswordHistoryRepository repository,
-                    TenantConfigurationService tenantConfigurationService) {
+                    TenantConfigurationService tenantConfigurationService, CompromisedPasswordLookup lookup) {
                 return new SpecialCharacterPolicyHandler(rules);
             }
         },
         COMPLEXITY("complexity") {
             @Override
             PasswordPolicyHandler createHandler(Map<String, Object> rules, PasswordHistoryRepository repository,
-                    TenantConfigurationService tenantConfigurationService) {
+                    TenantConfigurationService tenantConfigurationService, CompromisedPasswordLookup lookup) {
                 return new ComplexityPolicyHandler(rules);
             }
         },
         EXPIRATION("expiration") {
             @Override
             PasswordPolicyHandler createHandler(Map<String, Object> rules, PasswordHistoryRepository repository,
-                    TenantConfigurationService tenantConfigurationService) {
+                    TenantConfigurationService tenantConfigurationService, CompromisedPasswordLookup lookup) {
                 return new ExpirationPolicyHandler(rules, repository,
                         tenantConfigurationService.getTenantProperties().getPasswordEncoder());
             }
@@ -109,22 +115,22 @@ public class PasswordPolicyHandlerFactory {
         USERNAME_SEQUENCE_EXCLUSION("usernameSequenceExclusion") {
             @Override
             PasswordPolicyHandler createHandler(Map<String, Object> rules, PasswordHistoryRepository repository,
-                    TenantConfigurationService tenantConfigurationService) {
+                    TenantConfigurationService tenantConfigurationService, CompromisedPasswordLookup lookup) {
                 return new UsernameExclusionPolicyHandler(rules);
             }
         },
         PASSWORD_LAST_UPDATE_VALIDATION("passwordLastUpdateValidation") {
             @Override
             PasswordPolicyHandler createHandler(Map<String, Object> rules, PasswordHistoryRepository repository,
-                    TenantConfigurationService tenantConfigurationService) {
+                    TenantConfigurationService tenantConfigurationService, CompromisedPasswordLookup lookup) {
                 return new LastUpdateValidationPolicyHandler(rules);
             }
         },
         COMPROMISED_PASSWORD("CompromisedPassword") {
             @Override
             PasswordPolicyHandler createHandler(Map<String, Object> rules, PasswordHistoryRepository repository,
-                    TenantConfigurationService tenantConfigurationService) {
-                return new CompromisedPasswordPolicyHandler(rules);
+                    TenantConfigurationService tenantConfigurationService, CompromisedPasswordLookup lookup) {
+                return new CompromisedPasswordPolicyHandler(rules, lookup);
             }
         };
 
@@ -135,6 +141,6 @@ public class PasswordPolicyHandlerFactory {
         }
 
         abstract PasswordPolicyHandler createHandler(Map<String, Object> rules, PasswordHistoryRepository repository,
-                TenantConfigurationService tenantConfigurationService);
+                TenantConfigurationService tenantConfigurationService, CompromisedPasswordLookup lookup);
     }
 }
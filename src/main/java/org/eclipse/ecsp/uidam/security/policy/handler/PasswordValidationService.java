@@ -18,118 +18,107 @@
 
 package org.eclipse.ecsp.uidam.security.policy.handler;
 
-import jakarta.annotation.PostConstruct;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.eclipse.ecsp.sql.multitenancy.TenantContext;
 import org.eclipse.ecsp.uidam.security.policy.repo.PasswordPolicy;
 import org.eclipse.ecsp.uidam.security.policy.repo.PasswordPolicyRepository;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import java.sql.Timestamp;
-import java.util.LinkedList;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Service for validating passwords against a set of policies. This service loads password policies from the database
  * and applies them to validate passwords.
+ *
+ * <p>The required policies of each tenant are compiled into an immutable {@link CompiledPasswordPolicy}, which is
+ * replaced as a whole when the policies are updated or after the configured ttl, so that updates made through
+ * another replica are picked up within a bounded time.</p>
  */
 @Service
 public class PasswordValidationService {
 
     private static final Log LOGGER = LogFactory.getLog(PasswordValidationService.class);
+    /**
+     * Cache key of the policy used when no tenant is set.
+     */
+    private static final String NO_TENANT = "";
+
+    private final Map<String, CompiledPasswordPolicy> policies = new ConcurrentHashMap<>();
+    private final Map<String, Long> generations = new ConcurrentHashMap<>();
+
     private final PasswordPolicyRepository passwordPolicyRepository;
     private final PasswordPolicyHandlerFactory handlerFactory;
-
-    private List<PasswordPolicyHandler> handlers;
-    private Timestamp lastUpdateDate;
+    private final Duration ttl;
 
     /**
      * Constructor for PasswordValidationService.
      *
      * @param passwordPolicyRepository The repository for password policies.
      * @param handlerFactory The factory for creating password policy handlers.
+     * @param ttl Maximum age of a compiled policy.
      */
     public PasswordValidationService(PasswordPolicyRepository passwordPolicyRepository,
-            PasswordPolicyHandlerFactory handlerFactory) {
+            PasswordPolicyHandlerFactory handlerFactory,
+            @Value("${security.password.policy.cache.ttl:60s}") Duration ttl) {
         this.passwordPolicyRepository = passwordPolicyRepository;
         this.handlerFactory = handlerFactory;
-        this.lastUpdateDate = null; // Initialize with null to ensure the first refresh happens
+        this.ttl = ttl;
     }
 
-
     /**
-     * Initializes the password validation service by loading the policies from the database.
+     * Compiles the password policies of the current tenant from the database and swaps them in. This method is
+     * called on first use and can also be called manually to refresh policies.
+     *
+     * @return the compiled policy.
      */
-    @PostConstruct
-    public void loadPolicies() {
-        //refreshPolicies(); DOTO Uncomment when ready to use
+    public CompiledPasswordPolicy refreshPolicies() {
+        String tenantKey = tenantKey();
+        long generation = generations.getOrDefault(tenantKey, 0L);
+        CompiledPasswordPolicy policy = compile();
+        // Keep the compiled policy only if no invalidation happened while it was being loaded.
+        policies.compute(tenantKey, (key, existing) ->
+            generations.getOrDefault(tenantKey, 0L) == generation ? policy : existing);
+        return policy;
     }
 
     /**
-     * Refreshes the password policies from the database and sets up the handlers. This method is called during
-     * application startup and can also be called manually to refresh policies.
+     * Drops the compiled policy of the current tenant. When called inside a transaction the policy is dropped again
+     * after commit, so that a compilation racing with the transaction can not keep the old policies.
      */
-    public void refreshPolicies() {
-        LOGGER.debug("Refreshing password policies from the database.");
-        try {
-            Optional<List<PasswordPolicy>> policies = passwordPolicyRepository
-                    .findAllByRequiredTrueOrderByPriorityAsc();
-            if (policies.isEmpty()) {
-                handlers = new LinkedList<>();
-                return;
-            }
-            // Clear existing handlers
-            handlers = new LinkedList<>();
-
-            for (PasswordPolicy policy : policies.get()) {
-                PasswordPolicyHandler handler = handlerFactory.createHandler(policy);
-                handlers.add(handler);
-            }
-
-        } finally {
-            // Always unlock the write lock in a finally block to ensure it gets released
-            LOGGER.debug("Password policies refreshed successfully,with " + handlers.size() + " handlers loaded.");
+    public void invalidate() {
+        String tenantKey = tenantKey();
+        evict(tenantKey);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(tenantKey);
+                }
+            });
         }
     }
 
-    /**
-     * Periodically checks for updates in the password policies.
-     */
-    @Scheduled(fixedDelayString = "${security.password.policy.check-interval:60s}")
-    public void checkForPolicyUpdates() {
-        //DOTO Uncomment when ready to use
-        /*Timestamp latestUpdateDate = passwordPolicyRepository.findLatestUpdateDate();
-        if (latestUpdateDate != null && (lastUpdateDate == null || latestUpdateDate.after(lastUpdateDate))) {
-            LOGGER.debug("Detected changes in password policies. Refreshing policies.");
-            refreshPolicies();
-            lastUpdateDate = latestUpdateDate; // Update the last known update date
-        }*/
-    }
-
     /**
      * Validates the password for a new user.
      *
      * @param password The password to validate.
      * @param username The username of the user.
-     * @return ValidationResult indicating whether the password is valid and any error message.
+     * @return ValidationResult indicating whether the password is valid and all violations.
      */
     public ValidationResult validatePassword(String password, String username) {
         // Password validation for new user.
         LOGGER.info("Validating password for new user: " + username);
-        if (handlers == null) {
-            refreshPolicies(); // Ensure policies are loaded
-        }
-
-        if (handlers == null || handlers.isEmpty()) {
-            return new ValidationResult(true, null); // No policies to validate
-        }
-        return handlers.stream()
-                .filter(handler -> !(handler instanceof ExpirationPolicyHandler)
-                        && !(handler instanceof LastUpdateValidationPolicyHandler))
-                .filter(handler -> !handler.handle(new PasswordValidationInput(username, password, null)))
-                .findFirst().map(handler -> new ValidationResult(false, handler.getErrorMessage()))
-                .orElse(new ValidationResult(true, null)); // All handlers passed
+        return currentPolicy().validateNewUser(password, username);
     }
 
     /**
@@ -138,18 +127,12 @@ public class PasswordValidationService {
      * @param password The password to validate.
      * @param username The username of the user.
      * @param lastUpdateTime The last update time of the password.
-     * @return ValidationResult indicating whether the password is valid and any error message.
+     * @return ValidationResult indicating whether the password is valid and all violations.
      */
     public ValidationResult validatePassword(String password, String username, Timestamp lastUpdateTime) {
         // Password validation for existing user.(update password)
         LOGGER.info("Validating password for existing user: " + username);
-        if (handlers.isEmpty()) {
-            return new ValidationResult(true, null); // No policies to validate
-        }
-        return handlers.stream()
-                .filter(handler -> !handler.handle(new PasswordValidationInput(username, password, lastUpdateTime)))
-                .findFirst().map(handler -> new ValidationResult(false, handler.getErrorMessage()))
-                .orElse(new ValidationResult(true, null)); // All handlers passed
+        return currentPolicy().validateExistingUser(password, username, lastUpdateTime);
     }
 
     /**
@@ -160,22 +143,69 @@ public class PasswordValidationService {
      */
     public ValidationResult validateUserPasswordExpiry(String username) {
         LOGGER.info("Validating password expiry for user: " + username);
-        if (handlers.isEmpty()) {
-            return new ValidationResult(true, null); // No policies to validate
+        return currentPolicy().validateExpiry(username);
+    }
+
+    private CompiledPasswordPolicy currentPolicy() {
+        CompiledPasswordPolicy policy = policies.get(tenantKey());
+        if (policy != null && !policy.isExpired(Instant.now())) {
+            return policy;
         }
-        return handlers.stream().filter(ExpirationPolicyHandler.class::isInstance)
-                .filter(handler -> !handler.handle(new PasswordValidationInput(username, null, null))).findFirst()
-                .map(handler -> new ValidationResult(false, handler.getErrorMessage()))
-                .orElse(new ValidationResult(true, null)); // All handlers passed
+        return refreshPolicies();
+    }
+
+    private CompiledPasswordPolicy compile() {
+        LOGGER.debug("Refreshing password policies from the database.");
+        List<PasswordPolicyHandler> handlers = new ArrayList<>();
+        passwordPolicyRepository.findAllByRequiredTrueOrderByPriorityAsc().ifPresent(passwordPolicies -> {
+            for (PasswordPolicy policy : passwordPolicies) {
+                handlers.add(handlerFactory.createHandler(policy));
+            }
+        });
+        LOGGER.debug("Password policies refreshed successfully,with " + handlers.size() + " handlers loaded.");
+        return CompiledPasswordPolicy.compile(handlers, Instant.now().plus(ttl));
+    }
+
+    private void evict(String tenantKey) {
+        generations.merge(tenantKey, 1L, Long::sum);
+        policies.remove(tenantKey);
+        LOGGER.debug("Password policies invalidated for tenant " + tenantKey);
+    }
+
+    private static String tenantKey() {
+        String tenantId = TenantContext.getCurrentTenant();
+        return tenantId == null ? NO_TENANT : tenantId;
     }
 
     /**
      * Result of password validation indicating whether the password is valid and any error message.
      *
      * @param isValid true if the password is valid, false otherwise
-     * @param errorMessage the error message if validation failed, null otherwise
+     * @param errorMessage the error message if validation failed, null otherwise. Joins all violations.
+     * @param violations the message of every violated policy, in policy priority order
      */
-    public record ValidationResult(boolean isValid, String errorMessage) {
+    public record ValidationResult(boolean isValid, String errorMessage, List<String> violations) {
+
+        /**
+         * Creates a result with at most one violation.
+         *
+         * @param isValid true if the password is valid, false otherwise
+         * @param errorMessage the error message if validation failed, null otherwise
+         */
+        public ValidationResult(boolean isValid, String errorMessage) {
+            this(isValid, errorMessage, errorMessage == null ? List.of() : List.of(errorMessage));
+        }
+
+        /**
+         * Creates a failed result from the messages of the violated policies.
+         *
+         * @param violations violation messages
+         * @return failed result
+         */
+        public static ValidationResult invalid(List<String> violations) {
+            return new ValidationResult(false, String.join(" ", violations),
+                Collections.unmodifiableList(new ArrayList<>(violations)));
+        }
     }
 
     /**
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2023 - 2024 Harman International
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package org.eclipse.ecsp.uidam.security.policy.handler;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Immutable set of SHA-1 digests, stored as consecutive 20 byte records in ascending unsigned order and searched
+ * with a binary search, so that lookups neither allocate per record nor depend on the size of the set.
+ *
+ * <p>A set is either memory mapped from a local breach corpus file, or parsed from a range response of the
+ * Pwned Passwords API. A corpus file is the concatenation of the sorted binary digests, for example created from
+ * the downloaded hash list with {@code cut -d: -f1 hashes.txt | LC_ALL=C sort | xxd -r -p > corpus.bin}.</p>
+ */
+public final class Sha1DigestSet {
+
+    /**
+     * Length in bytes of a SHA-1 digest.
+     */
+    public static final int DIGEST_LENGTH = 20;
+    private static final int HEX_DIGEST_LENGTH = DIGEST_LENGTH * 2;
+    private static final long RECORDS_PER_SEGMENT = Integer.MAX_VALUE / DIGEST_LENGTH;
+    private static final char COUNT_SEPARATOR = ':';
+    private static final String PADDING_COUNT = "0";
+
+    private final ByteBuffer[] segments;
+    private final long size;
+
+    private Sha1DigestSet(ByteBuffer[] segments, long size) {
+        this.segments = segments;
+        this.size = size;
+    }
+
+    /**
+     * Memory maps a breach corpus file. The file is mapped in segments, so it may hold more records than fit into a
+     * single buffer.
+     *
+     * @param file corpus file of sorted 20 byte digests
+     * @return the digest set backed by the file
+     * @throws IllegalArgumentException if the file length is not a multiple of the digest length
+     * @throws UncheckedIOException if the file can not be mapped
+     */
+    public static Sha1DigestSet map(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length % DIGEST_LENGTH != 0) {
+                throw new IllegalArgumentException("Breach corpus " + file + " is not a sequence of "
+                    + DIGEST_LENGTH + " byte SHA-1 digests");
+            }
+            long records = length / DIGEST_LENGTH;
+            int segmentCount = (int) ((records + RECORDS_PER_SEGMENT - 1) / RECORDS_PER_SEGMENT);
+            ByteBuffer[] segments = new ByteBuffer[segmentCount];
+            for (int i = 0; i < segmentCount; i++) {
+                long position = i * RECORDS_PER_SEGMENT * DIGEST_LENGTH;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                    Math.min(RECORDS_PER_SEGMENT * DIGEST_LENGTH, length - position));
+            }
+            return new Sha1DigestSet(segments, records);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to map breach corpus " + file, e);
+        }
+    }
+
+    /**
+     * Parses a range response of the Pwned Passwords API, one {@code SUFFIX:COUNT} line per digest starting with the
+     * given prefix. Padding lines with a count of zero and lines that do not complete a SHA-1 digest are skipped.
+     *
+     * @param prefix upper case hex prefix the range was requested for
+     * @param body   response body
+     * @return the digests of the range
+     */
+    public static Sha1DigestSet parseRange(String prefix, String body) {
+        List<byte[]> digests = new ArrayList<>();
+        HexFormat hex = HexFormat.of();
+        body.lines().forEach(line -> {
+            int separator = line.indexOf(COUNT_SEPARATOR);
+            String suffix = (separator < 0 ? line : line.substring(0, separator)).trim();
+            String count = separator < 0 ? null : line.substring(separator + 1).trim();
+            String digest = prefix + suffix;
+            if (digest.length() == HEX_DIGEST_LENGTH && digest.chars().allMatch(HexFormat::isHexDigit)
+                    && !PADDING_COUNT.equals(count)) {
+                digests.add(hex.parseHex(digest));
+            }
+        });
+        digests.sort(Arrays::compareUnsigned);
+        ByteBuffer buffer = ByteBuffer.allocate(digests.size() * DIGEST_LENGTH);
+        digests.forEach(buffer::put);
+        return new Sha1DigestSet(new ByteBuffer[] {buffer}, digests.size());
+    }
+
+    /**
+     * Checks if the set contains the digest.
+     *
+     * @param digest 20 byte SHA-1 digest
+     * @return true if the digest is part of the set
+     */
+    public boolean contains(byte[] digest) {
+        byte[] record = new byte[DIGEST_LENGTH];
+        long low = 0;
+        long high = size - 1;
+        while (low <= high) {
+            long middle = (low + high) >>> 1;
+            segments[(int) (middle / RECORDS_PER_SEGMENT)]
+                .get((int) (middle % RECORDS_PER_SEGMENT) * DIGEST_LENGTH, record);
+            int comparison = Arrays.compareUnsigned(record, digest);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of digests in the set.
+     *
+     * @return number of digests
+     */
+    public long size() {
+        return size;
+    }
+}
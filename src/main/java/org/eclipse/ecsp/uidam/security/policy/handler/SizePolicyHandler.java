@@ -22,6 +22,7 @@ import org.eclipse.ecsp.uidam.security.policy.handler.PasswordValidationService.
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.util.Map;
+import java.util.Optional;
 
 
 /**
@@ -60,6 +61,12 @@ public class SizePolicyHandler extends PasswordPolicyHandler {
         return password.length() >= minLength && password.length() <= maxLength;
     }
 
+    @Override
+    protected Optional<CharacterRule> characterRule() {
+        return Optional.of(new CharacterRule(counts -> counts.length() >= minLength && counts.length() <= maxLength,
+            getErrorMessage(), null));
+    }
+
     /**
      * Returns the error message if the password length is invalid.
      *
@@ -21,7 +21,9 @@ package org.eclipse.ecsp.uidam.security.policy.handler;
 import org.eclipse.ecsp.uidam.security.policy.handler.PasswordValidationService.PasswordValidationInput;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import java.util.BitSet;
 import java.util.Map;
+import java.util.Optional;
 
 
 /**
@@ -66,6 +68,15 @@ public class SpecialCharacterPolicyHandler extends PasswordPolicyHandler {
         return specialCount >= minSpecialChars;
     }
 
+    @Override
+    protected Optional<CharacterRule> characterRule() {
+        BitSet specialCharacters = new BitSet();
+        allowed.codePoints().filter(codePoint -> excluded.indexOf(codePoint) == INT_MINUS_ONE)
+            .forEach(specialCharacters::set);
+        return Optional.of(new CharacterRule(counts -> counts.special() >= minSpecialChars, getErrorMessage(),
+            specialCharacters));
+    }
+
     @Override
     protected String getErrorMessage() {
         return String.format(
@@ -21,19 +21,32 @@ package org.eclipse.ecsp.uidam.security.policy.handler;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.eclipse.ecsp.uidam.security.policy.handler.PasswordValidationService.PasswordValidationInput;
+import java.util.Arrays;
+import java.util.Locale;
 import java.util.Map;
 
 /**
  * This class is used to validate password against username. It checks if the password contains a sequence of characters
  * from the username.
+ *
+ * <p>The check is done in linear time with a rolling hash: the hashes of all sequences of the password are indexed
+ * once, and the sequences of the username are then looked up while rolling over it, so that long federated usernames
+ * do not multiply the cost by the password length.</p>
  */
 public class UsernameExclusionPolicyHandler extends PasswordPolicyHandler {
 
     private static final int INT_3 = 3;
+    private static final long HASH_BASE = 1_000_003L;
+    private static final long HASH_MIX = 0x9E3779B97F4A7C15L;
+    private static final int NO_POSITION = -1;
 
     private static final Log LOGGER = LogFactory.getLog(UsernameExclusionPolicyHandler.class);
 
     private final int noOfCharsSeqinUserField;
+    /**
+     * Weight of the first character of a sequence in its hash, removed when the sequence rolls forward.
+     */
+    private final long leadingCharWeight;
 
     /**
      * Constructor to initialize the handler with rules.
@@ -42,6 +55,11 @@ public class UsernameExclusionPolicyHandler extends PasswordPolicyHandler {
      */
     public UsernameExclusionPolicyHandler(Map<String, Object> rules) {
         this.noOfCharsSeqinUserField = toInt(rules.get("noOfCharsSeqinUserField"), INT_3);
+        long weight = 1;
+        for (int i = 1; i < noOfCharsSeqinUserField; i++) {
+            weight *= HASH_BASE;
+        }
+        this.leadingCharWeight = weight;
     }
 
     /**
@@ -53,7 +71,9 @@ public class UsernameExclusionPolicyHandler extends PasswordPolicyHandler {
      */
     @Override
     protected boolean doHandle(PasswordValidationInput input) {
-        LOGGER.debug("Validating password against username exclusion policy,for user: " + input.username());
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Validating password against username exclusion policy,for user: " + input.username());
+        }
         String password = input.password();
         String username = input.username();
         if (username == null || username.length() < noOfCharsSeqinUserField) {
@@ -63,17 +83,96 @@ public class UsernameExclusionPolicyHandler extends PasswordPolicyHandler {
             return true; // No validation needed if username is null or too short
         }
 
-        for (int i = 0; i <= username.length() - noOfCharsSeqinUserField; i++) {
-            String sequence = username.substring(i, i + noOfCharsSeqinUserField);
-            if (password.toLowerCase().contains(sequence.toLowerCase())) {
-                String errorMessage = "Password must not contain a sequence of " + noOfCharsSeqinUserField
-                        + " characters from the username.";
-                setErrorMessage(errorMessage);
-                LOGGER.warn(errorMessage);
+        if (containsUsernameSequence(password, username)) {
+            String errorMessage = "Password must not contain a sequence of " + noOfCharsSeqinUserField
+                    + " characters from the username.";
+            setErrorMessage(errorMessage);
+            LOGGER.warn(errorMessage);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Checks, ignoring case, if any sequence of {@code noOfCharsSeqinUserField} characters of the username is part of
+     * the password.
+     *
+     * @param password password
+     * @param username username, at least as long as a sequence
+     * @return true if the password contains a sequence of the username
+     */
+    boolean containsUsernameSequence(String password, String username) {
+        int length = noOfCharsSeqinUserField;
+        if (length <= 0) {
+            return true;
+        }
+        if (password == null || password.length() < length) {
+            return false;
+        }
+        String lowerPassword = password.toLowerCase(Locale.ROOT);
+        String lowerUsername = username.toLowerCase(Locale.ROOT);
+        int windows = lowerPassword.length() - length + 1;
+        // Open addressing table of the password sequence hashes, sized to stay at most half full.
+        int mask = Integer.highestOneBit(Math.max(1, windows * 2 - 1)) * 2 - 1;
+        long[] hashes = new long[mask + 1];
+        int[] positions = new int[mask + 1];
+        Arrays.fill(positions, NO_POSITION);
+        long hash = hashOf(lowerPassword, length);
+        for (int start = 0; ; start++) {
+            int slot = slot(hash, mask);
+            while (positions[slot] != NO_POSITION && hashes[slot] != hash) {
+                slot = (slot + 1) & mask;
+            }
+            if (positions[slot] == NO_POSITION) {
+                hashes[slot] = hash;
+                positions[slot] = start;
+            }
+            if (start + 1 == windows) {
+                break;
+            }
+            hash = roll(hash, lowerPassword.charAt(start), lowerPassword.charAt(start + length));
+        }
+
+        hash = hashOf(lowerUsername, length);
+        for (int start = 0; ; start++) {
+            if (matches(lowerPassword, lowerUsername, start, hash, hashes, positions, mask)) {
+                return true;
+            }
+            if (start + length == lowerUsername.length()) {
                 return false;
             }
+            hash = roll(hash, lowerUsername.charAt(start), lowerUsername.charAt(start + length));
         }
-        return true;
     }
 
+    private boolean matches(String lowerPassword, String lowerUsername, int start, long hash, long[] hashes,
+            int[] positions, int mask) {
+        int slot = slot(hash, mask);
+        while (positions[slot] != NO_POSITION) {
+            if (hashes[slot] == hash) {
+                // Equal hashes are confirmed on the characters, and a collision falls back to a plain search.
+                return lowerPassword.regionMatches(positions[slot], lowerUsername, start, noOfCharsSeqinUserField)
+                    || lowerPassword.contains(lowerUsername.substring(start, start + noOfCharsSeqinUserField));
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    private long roll(long hash, char removed, char added) {
+        return (hash - removed * leadingCharWeight) * HASH_BASE + added;
+    }
+
+    private static long hashOf(String value, int length) {
+        long hash = 0;
+        for (int i = 0; i < length; i++) {
+            hash = hash * HASH_BASE + value.charAt(i);
+        }
+        return hash;
+    }
+
+    private static int slot(long hash, int mask) {
+        long mixed = hash * HASH_MIX;
+        return (int) (mixed ^ (mixed >>> Integer.SIZE)) & mask;
+    }
 }
@@ -26,6 +26,7 @@ import com.github.fge.jsonpatch.JsonPatch;
 import com.github.fge.jsonpatch.JsonPatchException;
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.ecsp.uidam.security.policy.exception.PasswordPolicyException;
+import org.eclipse.ecsp.uidam.security.policy.handler.PasswordValidationService;
 import org.eclipse.ecsp.uidam.security.policy.repo.PasswordPolicy;
 import org.eclipse.ecsp.uidam.security.policy.repo.PasswordPolicyRepository;
 import org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants;
@@ -79,6 +80,7 @@ public class PasswordPolicyService {
     private final PasswordPolicyRepository passwordPolicyRepository;
     private final ObjectMapper objectMapper;
     private final UsersService usersService;
+    private final PasswordValidationService passwordValidationService;
 
     /**
      * Constructor for PasswordPolicyService.
@@ -86,13 +88,16 @@ public class PasswordPolicyService {
      * @param passwordPolicyRepository The repository for password policies.
      * @param objectMapper The ObjectMapper for JSON operations.
      * @param usersService The service for user management.
+     * @param passwordValidationService The service validating passwords against the compiled policies.
      */
     public PasswordPolicyService(PasswordPolicyRepository passwordPolicyRepository, 
             ObjectMapper objectMapper,
-            UsersService usersService) {
+            UsersService usersService,
+            PasswordValidationService passwordValidationService) {
         this.passwordPolicyRepository = passwordPolicyRepository;
         this.objectMapper = objectMapper;
         this.usersService = usersService;
+        this.passwordValidationService = passwordValidationService;
     }
 
     /**
@@ -171,6 +176,7 @@ public class PasswordPolicyService {
             }
         });
         passwordPolicyRepository.saveAll(updatedPolicies);
+        passwordValidationService.invalidate();
         log.info("Updated password policies successfully.");
         return updatedPolicies;
     }
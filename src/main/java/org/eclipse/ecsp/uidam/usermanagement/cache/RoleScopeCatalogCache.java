@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2023 - 2024 Harman International
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package org.eclipse.ecsp.uidam.usermanagement.cache;
+
+import org.eclipse.ecsp.sql.multitenancy.TenantContext;
+import org.eclipse.ecsp.uidam.common.metrics.MetricInfo;
+import org.eclipse.ecsp.uidam.common.metrics.UidamMetrics;
+import org.eclipse.ecsp.uidam.common.metrics.UidamMetricsService;
+import org.eclipse.ecsp.uidam.usermanagement.auth.response.dto.RoleCreateResponse;
+import org.eclipse.ecsp.uidam.usermanagement.auth.response.dto.Scope;
+import org.eclipse.ecsp.uidam.usermanagement.entity.RoleScopeMappingEntity;
+import org.eclipse.ecsp.uidam.usermanagement.entity.RolesEntity;
+import org.eclipse.ecsp.uidam.usermanagement.mapper.ScopeMapper;
+import org.eclipse.ecsp.uidam.usermanagement.repository.RolesRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * In-process catalog of the non deleted roles of a tenant and the scopes mapped to them.
+ *
+ * <p>Each tenant holds an immutable snapshot that is loaded with a single query, shared by concurrent callers, and
+ * replaced as a whole. Role and
+ * scope changes invalidate the snapshot of the current tenant, and every snapshot expires after the configured ttl
+ * so that changes made through another replica are picked up within a bounded time.</p>
+ */
+@Component
+public class RoleScopeCatalogCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RoleScopeCatalogCache.class);
+    private static final MetricInfo CACHE_HIT_METRIC = MetricInfo.builder()
+        .uidamMetrics(UidamMetrics.ROLE_CATALOG_CACHE_HIT).build();
+    private static final MetricInfo CACHE_MISS_METRIC = MetricInfo.builder()
+        .uidamMetrics(UidamMetrics.ROLE_CATALOG_CACHE_MISS).build();
+
+    private final Map<String, CompletableFuture<RoleScopeCatalog>> catalogs = new ConcurrentHashMap<>();
+
+    private final RolesRepository rolesRepository;
+    private final UidamMetricsService uidamMetricsService;
+    private final Duration ttl;
+
+    /**
+     * Constructor for RoleScopeCatalogCache.
+     *
+     * @param rolesRepository     repository used to load the catalog
+     * @param uidamMetricsService service used to publish hit and miss counters
+     * @param ttl                 maximum age of a catalog snapshot
+     */
+    public RoleScopeCatalogCache(RolesRepository rolesRepository, UidamMetricsService uidamMetricsService,
+                                 @Value("${role.catalog.cache.ttl:60s}") Duration ttl) {
+        this.rolesRepository = rolesRepository;
+        this.uidamMetricsService = uidamMetricsService;
+        this.ttl = ttl;
+    }
+
+    /**
+     * Returns the roles for the given ids. The lookup is a miss when any of the ids is not part of the catalog,
+     * for example a deleted role, so that the caller can fall back to the database.
+     *
+     * @param roleIds role ids to be fetched
+     * @return roles for all the given ids, or empty when the catalog can not answer the lookup
+     */
+    public Optional<List<RoleCreateResponse>> findRolesByIds(Set<BigInteger> roleIds) {
+        Optional<RoleScopeCatalog> catalog = currentCatalog();
+        if (catalog.isEmpty() || roleIds == null || roleIds.isEmpty()
+                || !catalog.get().rolesById().keySet().containsAll(roleIds)) {
+            recordLookup(false);
+            return Optional.empty();
+        }
+        recordLookup(true);
+        return Optional.of(roleIds.stream().map(catalog.get().rolesById()::get)
+            .sorted(Comparator.comparing(RoleEntry::id)).map(RoleEntry::toResponse).toList());
+    }
+
+    /**
+     * Returns a page of the roles with the given names. Names that are not part of the catalog do not belong to
+     * any non deleted role and are skipped.
+     *
+     * @param roleNames  role names to be fetched, all roles when empty
+     * @param pageNumber page number
+     * @param pageSize   records per page
+     * @return page of roles, or empty when the catalog is not available
+     */
+    public Optional<List<RoleCreateResponse>> findRolesByNames(Set<String> roleNames, int pageNumber, int pageSize) {
+        Optional<RoleScopeCatalog> catalog = currentCatalog();
+        if (catalog.isEmpty()) {
+            recordLookup(false);
+            return Optional.empty();
+        }
+        recordLookup(true);
+        List<RoleEntry> roles = roleNames == null || roleNames.isEmpty()
+            ? new ArrayList<>(catalog.get().rolesById().values())
+            : roleNames.stream().map(catalog.get().roleIdsByName()::get).filter(id -> id != null)
+                .map(catalog.get().rolesById()::get).collect(Collectors.toCollection(ArrayList::new));
+        return Optional.of(roles.stream().sorted(Comparator.comparing(RoleEntry::id))
+            .skip((long) pageNumber * pageSize).limit(pageSize).map(RoleEntry::toResponse).toList());
+    }
+
+    /**
+     * Drops the catalog of the current tenant. When called inside a transaction the catalog is dropped again
+     * after commit, so that a reload racing with the transaction can not keep the old state.
+     */
+    public void invalidate() {
+        String tenantId = TenantContext.getCurrentTenant();
+        if (tenantId == null) {
+            return;
+        }
+        evict(tenantId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(tenantId);
+                }
+            });
+        }
+    }
+
+    private void evict(String tenantId) {
+        // A load still in flight completes for the callers waiting on it, but is no longer served to later callers
+        catalogs.remove(tenantId);
+        LOGGER.debug("Role catalog invalidated for tenant {}", tenantId);
+    }
+
+    private Optional<RoleScopeCatalog> currentCatalog() {
+        String tenantId = TenantContext.getCurrentTenant();
+        if (tenantId == null) {
+            return Optional.empty();
+        }
+        // Concurrent callers of a tenant share one pending load instead of each querying the catalog
+        CompletableFuture<RoleScopeCatalog> pending = new CompletableFuture<>();
+        CompletableFuture<RoleScopeCatalog> catalog = catalogs.compute(tenantId, (key, existing) ->
+            existing == null || isExpired(existing) ? pending : existing);
+        if (catalog == pending) {
+            try {
+                pending.complete(load());
+            } catch (RuntimeException e) {
+                catalogs.remove(tenantId, pending);
+                pending.completeExceptionally(e);
+                throw e;
+            }
+        }
+        try {
+            return Optional.of(catalog.join());
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private static boolean isExpired(CompletableFuture<RoleScopeCatalog> catalog) {
+        return catalog.isDone() && !catalog.join().expiresAt().isAfter(Instant.now());
+    }
+
+    private RoleScopeCatalog load() {
+        List<RolesEntity> rolesEntities = rolesRepository.findAllByIsDeleted(false);
+        Map<BigInteger, RoleEntry> rolesById = new HashMap<>();
+        Map<String, BigInteger> roleIdsByName = new HashMap<>();
+        if (rolesEntities != null) {
+            for (RolesEntity role : rolesEntities) {
+                List<Scope> scopes = ScopeMapper.MAPPER.mapToScope(role.getRoleScopeMapping().stream()
+                    .map(RoleScopeMappingEntity::getScope).toList());
+                rolesById.put(role.getId(), new RoleEntry(role.getId(), role.getName(), role.getDescription(),
+                    List.copyOf(scopes)));
+                roleIdsByName.put(role.getName(), role.getId());
+            }
+        }
+        LOGGER.debug("Loaded role catalog with {} roles", rolesById.size());
+        return new RoleScopeCatalog(Map.copyOf(rolesById), Map.copyOf(roleIdsByName), Instant.now().plus(ttl));
+    }
+
+    private void recordLookup(boolean hit) {
+        uidamMetricsService.incrementCounter(hit ? CACHE_HIT_METRIC : CACHE_MISS_METRIC);
+    }
+
+    /**
+     * Immutable catalog snapshot of a tenant.
+     */
+    private record RoleScopeCatalog(Map<BigInteger, RoleEntry> rolesById, Map<String, BigInteger> roleIdsByName,
+                                    Instant expiresAt) {
+    }
+
+    /**
+     * Immutable role entry. Responses are built as fresh copies since the response dtos are mutable.
+     */
+    private record RoleEntry(BigInteger id, String name, String description, List<Scope> scopes) {
+
+        RoleCreateResponse toResponse() {
+            List<Scope> scopeCopies = scopes.stream().map(scope -> new Scope(scope.getId(), scope.getName(),
+                scope.getDescription(), scope.isAdministrative(), scope.isPredefined())).toList();
+            return new RoleCreateResponse(id, name, description, null, new ArrayList<>(scopeCopies));
+        }
+    }
+}
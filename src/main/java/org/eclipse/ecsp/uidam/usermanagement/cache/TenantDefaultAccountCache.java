@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2023 - 2024 Harman International
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package org.eclipse.ecsp.uidam.usermanagement.cache;
+
+import org.eclipse.ecsp.sql.multitenancy.TenantContext;
+import org.eclipse.ecsp.uidam.accountmanagement.entity.AccountEntity;
+import org.eclipse.ecsp.uidam.accountmanagement.repository.AccountRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import java.math.BigInteger;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of the ids of the tenant default accounts.
+ *
+ * <p>The default account is created with the tenant and can neither be renamed nor deleted, so its id is looked up
+ * once per tenant and account name. The ids of a tenant are kept until its configuration is refreshed or the tenant
+ * is removed, see {@link #clearCache(String)}. Without a tenant in context nothing is cached.</p>
+ */
+@Component
+public class TenantDefaultAccountCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TenantDefaultAccountCache.class);
+
+    private final Map<String, Map<String, BigInteger>> accountIds = new ConcurrentHashMap<>();
+
+    private final AccountRepository accountRepository;
+
+    /**
+     * Constructor for TenantDefaultAccountCache.
+     *
+     * @param accountRepository repository used to look up the account
+     */
+    public TenantDefaultAccountCache(AccountRepository accountRepository) {
+        this.accountRepository = accountRepository;
+    }
+
+    /**
+     * Returns the id of the default account of the tenant in context.
+     *
+     * @param accountName name of the tenant default account
+     * @return id of the account, null if it is not present
+     */
+    public BigInteger getAccountId(String accountName) {
+        String tenantId = TenantContext.getCurrentTenant();
+        if (tenantId == null) {
+            return loadAccountId(accountName);
+        }
+        Map<String, BigInteger> tenantAccountIds = accountIds.computeIfAbsent(tenantId,
+            key -> new ConcurrentHashMap<>());
+        BigInteger accountId = tenantAccountIds.get(accountName);
+        if (accountId == null) {
+            accountId = loadAccountId(accountName);
+            if (accountId != null) {
+                tenantAccountIds.put(accountName, accountId);
+            }
+        }
+        return accountId;
+    }
+
+    /**
+     * Drops the account ids of the given tenant, to be called once its configuration or database may have changed.
+     *
+     * @param tenantId the tenant ID
+     */
+    public void clearCache(String tenantId) {
+        accountIds.remove(tenantId);
+        LOGGER.info("Cleared tenant default account cache for tenant: {}", tenantId);
+    }
+
+    private BigInteger loadAccountId(String accountName) {
+        return accountRepository.findByAccountName(accountName).map(AccountEntity::getId).orElse(null);
+    }
+}
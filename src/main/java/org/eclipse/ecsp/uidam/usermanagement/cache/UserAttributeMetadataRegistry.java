@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2023 - 2024 Harman International
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package org.eclipse.ecsp.uidam.usermanagement.cache;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.eclipse.ecsp.sql.multitenancy.TenantContext;
+import org.eclipse.ecsp.uidam.usermanagement.entity.UserAttributeEntity;
+import org.eclipse.ecsp.uidam.usermanagement.repository.UserAttributeRepository;
+import org.eclipse.ecsp.uidam.usermanagement.utilities.ObjectConverter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * In-process registry of the additional user attribute metadata of a tenant.
+ *
+ * <p>Each tenant holds an immutable snapshot with the attributes by name and by id and a value converter per
+ * attribute, loaded with a single query and replaced as a whole. Metadata writes invalidate the snapshot of the
+ * current tenant, and every snapshot expires after the configured ttl so that changes made through another replica
+ * are picked up within a bounded time. Without a tenant in context nothing is cached.</p>
+ *
+ * <p>The cached entities are shared between requests and must be treated as read only.</p>
+ */
+@Component
+public class UserAttributeMetadataRegistry {
+
+    /**
+     * Java type of the values of an attribute, by the database type name of the attribute.
+     */
+    public static final Map<String, Class<?>> DATA_TYPE_MAP = Map.ofEntries(Map.entry("varchar", String.class),
+        Map.entry("bool", Boolean.class), Map.entry("bit", Boolean.class), Map.entry("int8", Long.class),
+        Map.entry("bigserial", Long.class), Map.entry("oid", Long.class), Map.entry("bytea", Byte.class),
+        Map.entry("char", String.class), Map.entry("bpchar", String.class), Map.entry("numeric", BigDecimal.class),
+        Map.entry("int4", Integer.class), Map.entry("serial", Integer.class), Map.entry("int2", Short.class),
+        Map.entry("float4", Float.class), Map.entry("float8", Double.class), Map.entry("money", Double.class),
+        Map.entry("name", String.class), Map.entry("text", String.class), Map.entry("date", Date.class),
+        Map.entry("time", Time.class), Map.entry("timetz", Time.class), Map.entry("timestamp", Timestamp.class),
+        Map.entry("_abc", List.class), Map.entry("uuid", UUID.class), Map.entry("json", String.class),
+        Map.entry("jsonb", JsonNode.class));
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UserAttributeMetadataRegistry.class);
+
+    private final Map<String, AttributeCatalog> catalogs = new ConcurrentHashMap<>();
+    private final Map<String, Long> generations = new ConcurrentHashMap<>();
+
+    private final UserAttributeRepository userAttributeRepository;
+    private final Duration ttl;
+
+    /**
+     * Constructor for UserAttributeMetadataRegistry.
+     *
+     * @param userAttributeRepository repository used to load the attribute metadata
+     * @param ttl                     maximum age of a metadata snapshot
+     */
+    public UserAttributeMetadataRegistry(UserAttributeRepository userAttributeRepository,
+                                         @Value("${user.attribute.metadata.cache.ttl:60s}") Duration ttl) {
+        this.userAttributeRepository = userAttributeRepository;
+        this.ttl = ttl;
+    }
+
+    /**
+     * Returns the metadata of all the additional attributes.
+     *
+     * @return attribute metadata
+     */
+    public List<UserAttributeEntity> getAttributes() {
+        return currentCatalog().attributes();
+    }
+
+    /**
+     * Returns the metadata of the additional attributes keyed by lower cased attribute name.
+     *
+     * @return attribute metadata by name
+     */
+    public Map<String, UserAttributeEntity> getAttributesByName() {
+        return currentCatalog().attributesByName();
+    }
+
+    /**
+     * Returns the metadata of the attributes with the given ids. The metadata is reloaded once when any of the ids
+     * is unknown, since the attribute may have been added through another replica.
+     *
+     * @param attributeIds attribute ids
+     * @return metadata of the known attributes among the given ids
+     */
+    public List<UserAttributeEntity> findAllById(Collection<BigInteger> attributeIds) {
+        AttributeCatalog catalog = currentCatalog();
+        if (!catalog.attributesById().keySet().containsAll(attributeIds)) {
+            LOGGER.debug("Unknown attribute id requested, reloading user attribute metadata");
+            evict(TenantContext.getCurrentTenant());
+            catalog = currentCatalog();
+        }
+        Map<BigInteger, UserAttributeEntity> attributesById = catalog.attributesById();
+        return attributeIds.stream().distinct().map(attributesById::get).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * Converts a stored attribute value to the java type of the attribute.
+     *
+     * @param attribute attribute metadata
+     * @param value     value as stored
+     * @return value of the java type of the attribute
+     */
+    public Object convert(UserAttributeEntity attribute, String value) {
+        Function<String, Object> converter = attribute.getId() == null ? null
+            : currentCatalog().converters().get(attribute.getId());
+        return (converter != null ? converter : converterFor(attribute)).apply(value);
+    }
+
+    /**
+     * Drops the metadata of the current tenant. When called inside a transaction the metadata is dropped again
+     * after commit, so that a reload racing with the transaction can not keep the old state.
+     */
+    public void invalidate() {
+        String tenantId = TenantContext.getCurrentTenant();
+        if (tenantId == null) {
+            return;
+        }
+        evict(tenantId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(tenantId);
+                }
+            });
+        }
+    }
+
+    private void evict(String tenantId) {
+        if (tenantId == null) {
+            return;
+        }
+        generations.merge(tenantId, 1L, Long::sum);
+        catalogs.remove(tenantId);
+        LOGGER.debug("User attribute metadata invalidated for tenant {}", tenantId);
+    }
+
+    private AttributeCatalog currentCatalog() {
+        String tenantId = TenantContext.getCurrentTenant();
+        if (tenantId == null) {
+            return load();
+        }
+        AttributeCatalog catalog = catalogs.get(tenantId);
+        if (catalog != null && catalog.expiresAt().isAfter(Instant.now())) {
+            return catalog;
+        }
+        long generation = generations.getOrDefault(tenantId, 0L);
+        AttributeCatalog loaded = load();
+        // Keep the loaded snapshot only if no invalidation happened while it was being read.
+        catalogs.compute(tenantId, (key, existing) ->
+            generations.getOrDefault(tenantId, 0L) == generation ? loaded : existing);
+        return loaded;
+    }
+
+    private AttributeCatalog load() {
+        List<UserAttributeEntity> attributes = userAttributeRepository.findAll();
+        Map<String, UserAttributeEntity> attributesByName = new HashMap<>();
+        Map<BigInteger, UserAttributeEntity> attributesById = new HashMap<>();
+        Map<BigInteger, Function<String, Object>> converters = new HashMap<>();
+        if (attributes == null) {
+            attributes = List.of();
+        }
+        for (UserAttributeEntity attribute : attributes) {
+            attributesByName.put(attribute.getName().toLowerCase(Locale.ROOT), attribute);
+            if (attribute.getId() != null) {
+                attributesById.put(attribute.getId(), attribute);
+                converters.put(attribute.getId(), converterFor(attribute));
+            }
+        }
+        LOGGER.debug("Loaded user attribute metadata with {} attributes", attributes.size());
+        return new AttributeCatalog(List.copyOf(attributes), Map.copyOf(attributesByName), Map.copyOf(attributesById),
+            Map.copyOf(converters), Instant.now().plus(ttl));
+    }
+
+    private static Function<String, Object> converterFor(UserAttributeEntity attribute) {
+        if ("bit".equalsIgnoreCase(attribute.getTypes())) {
+            return Integer::valueOf;
+        }
+        Class<?> dataType = DATA_TYPE_MAP.get(attribute.getTypes());
+        return value -> ObjectConverter.convert(value, dataType);
+    }
+
+    /**
+     * Immutable metadata snapshot of a tenant.
+     */
+    private record AttributeCatalog(List<UserAttributeEntity> attributes,
+                                    Map<String, UserAttributeEntity> attributesByName,
+                                    Map<BigInteger, UserAttributeEntity> attributesById,
+                                    Map<BigInteger, Function<String, Object>> converters, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2023 - 2024 Harman International
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package org.eclipse.ecsp.uidam.usermanagement.cache;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.apache.commons.lang3.ArrayUtils;
+import org.eclipse.ecsp.sql.multitenancy.TenantContext;
+import org.eclipse.ecsp.uidam.usermanagement.dao.UserManagementDao;
+import org.eclipse.ecsp.uidam.usermanagement.entity.UserAccountRoleMappingEntity;
+import org.eclipse.ecsp.uidam.usermanagement.entity.UserAddressEntity;
+import org.eclipse.ecsp.uidam.usermanagement.entity.UserEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.USER_ACCOUNT_ROLE_MAPPING_TABLE_NAME;
+import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.USER_ADDRESS_ENTITY_TABLE_NAME;
+import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.USER_ENTITY_TABLE_NAME;
+
+/**
+ * Cache of the metadata of the non-dynamic user fields.
+ *
+ * <p>The fields of the user entities are reflected once. The database column types are read from
+ * information_schema once per tenant and kept until the tenant schema may have changed, that is after a Liquibase
+ * migration or a refresh of the tenant configuration, see {@link #clearCache(String)}. Without a tenant in context
+ * nothing is cached.</p>
+ */
+@Component
+public class UserColumnMetadataCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UserColumnMetadataCache.class);
+    private static final List<Field> USER_FIELDS = List.of(ArrayUtils.addAll(ArrayUtils.addAll(
+        UserEntity.class.getDeclaredFields(), UserAddressEntity.class.getDeclaredFields()),
+        UserAccountRoleMappingEntity.class.getDeclaredFields()));
+
+    private final Map<String, Map<String, String>> columnDataTypes = new ConcurrentHashMap<>();
+    private final Map<String, Long> generations = new ConcurrentHashMap<>();
+
+    private final UserManagementDao userManagementDao;
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Constructor for UserColumnMetadataCache.
+     *
+     * @param userManagementDao dao used to read the column types
+     */
+    public UserColumnMetadataCache(UserManagementDao userManagementDao) {
+        this.userManagementDao = userManagementDao;
+    }
+
+    /**
+     * Returns the declared fields of the user, user address and user account role mapping entities.
+     *
+     * @return non-dynamic user fields
+     */
+    public List<Field> getUserFields() {
+        return USER_FIELDS;
+    }
+
+    /**
+     * Returns the database type of the columns of the user, user address and user account role mapping tables.
+     *
+     * @return map of column names and their respective data types
+     */
+    public Map<String, String> getColumnDataTypes() {
+        String tenantId = TenantContext.getCurrentTenant();
+        if (tenantId == null) {
+            return loadColumnDataTypes();
+        }
+        Map<String, String> cached = columnDataTypes.get(tenantId);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = generations.getOrDefault(tenantId, 0L);
+        Map<String, String> loaded = loadColumnDataTypes();
+        // Keep the loaded types only if the cache was not cleared while they were being read.
+        columnDataTypes.compute(tenantId, (key, existing) ->
+            generations.getOrDefault(tenantId, 0L) == generation ? loaded : existing);
+        return loaded;
+    }
+
+    /**
+     * Drops the column types of the given tenant, to be called once its schema may have changed.
+     *
+     * @param tenantId the tenant ID
+     */
+    public void clearCache(String tenantId) {
+        generations.merge(tenantId, 1L, Long::sum);
+        columnDataTypes.remove(tenantId);
+        LOGGER.info("Cleared user column metadata cache for tenant: {}", tenantId);
+    }
+
+    private Map<String, String> loadColumnDataTypes() {
+        Map<String, String> types = new HashMap<>();
+        types.putAll(userManagementDao.getColumnDataType(entityManager, USER_ENTITY_TABLE_NAME));
+        types.putAll(userManagementDao.getColumnDataType(entityManager, USER_ADDRESS_ENTITY_TABLE_NAME));
+        types.putAll(userManagementDao.getColumnDataType(entityManager, USER_ACCOUNT_ROLE_MAPPING_TABLE_NAME));
+        LOGGER.debug("Loaded {} user column types", types.size());
+        return Map.copyOf(types);
+    }
+}
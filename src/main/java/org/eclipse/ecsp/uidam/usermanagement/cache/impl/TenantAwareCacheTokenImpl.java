@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2023 - 2024 Harman International
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package org.eclipse.ecsp.uidam.usermanagement.cache.impl;
+
+import jakarta.annotation.PreDestroy;
+import org.eclipse.ecsp.sql.multitenancy.TenantContext;
+import org.eclipse.ecsp.uidam.usermanagement.authorization.dto.AccessTokenDetails;
+import org.eclipse.ecsp.uidam.usermanagement.cache.CacheTokenService;
+import org.eclipse.ecsp.uidam.usermanagement.service.UidamAuthTokenGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.SEC_60;
+
+/**
+ * Implementation of the CacheTokenService interface that keeps one access token per tenant.
+ *
+ * <p>A token is used until 60 seconds before it expires. Tokens of tenants that are in use are refreshed in the
+ * background ahead of that time, so callers only wait for a fetch when their tenant has no usable token. Concurrent
+ * fetches for the same tenant share a single request, and a failed fetch is retried with an exponential backoff.</p>
+ */
+@Service
+public class TenantAwareCacheTokenImpl implements CacheTokenService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TenantAwareCacheTokenImpl.class);
+
+    // Key of the token fetched without a tenant in context, since the map does not accept null keys
+    private static final String NO_TENANT = "";
+    private static final int REFRESH_THREADS = 2;
+    private static final int MAX_BACKOFF_DOUBLINGS = 20;
+
+    private final Map<String, TenantToken> tokens = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService refreshExecutor;
+    private final Duration refreshAhead;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+
+    @Autowired
+    @Lazy
+    UidamAuthTokenGenerator uidamAuthTokenGenerator;
+
+    /**
+     * Constructor for TenantAwareCacheTokenImpl.
+     *
+     * @param refreshAhead   time before a token stops being used at which it is refreshed in the background
+     * @param initialBackoff delay before retrying the first failed fetch, doubled on every further failure
+     * @param maxBackoff     maximum delay between retries of a failed fetch
+     */
+    public TenantAwareCacheTokenImpl(@Value("${uidam.auth.token.cache.refresh-ahead:30s}") Duration refreshAhead,
+                                     @Value("${uidam.auth.token.cache.initial-backoff:1s}") Duration initialBackoff,
+                                     @Value("${uidam.auth.token.cache.max-backoff:5m}") Duration maxBackoff) {
+        this.refreshAhead = refreshAhead;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        AtomicInteger threadCount = new AtomicInteger();
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(REFRESH_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "uidam-token-refresh-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+        this.refreshExecutor = executor;
+    }
+
+    /**
+     * Retrieves the access token of the current tenant from the cache. If the tenant has no usable token, a new
+     * token is fetched, or the fetch already in progress for the tenant is awaited.
+     *
+     * @return the access token as a String, or null if the token could not be fetched
+     */
+    @Override
+    public String getAccessToken() {
+        String tenantId = TenantContext.getCurrentTenant();
+        TenantToken token = tokens.computeIfAbsent(tenantId == null ? NO_TENANT : tenantId, key -> new TenantToken());
+        CompletableFuture<String> refresh;
+        synchronized (token) {
+            token.accessed = true;
+            Instant now = Instant.now();
+            if (token.accessToken != null && now.isBefore(token.usableUntil)) {
+                return token.accessToken;
+            }
+            if (now.isBefore(token.retryAt)) {
+                LOGGER.warn("Access Token fetch for tenant {} is backing off until {}", tenantId, token.retryAt);
+                return null;
+            }
+            LOGGER.info("Access Token not present in cache or expired for tenant {}, waiting for new Access Token",
+                tenantId);
+            refresh = startRefresh(tenantId, token);
+        }
+        try {
+            return refresh.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Stops the background refresh of the tokens.
+     */
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    /**
+     * Starts a fetch of the token of a tenant, unless one is already in progress. Must be called holding the lock
+     * of the tenant token.
+     *
+     * @param tenantId tenant of the token
+     * @param token    cached token of the tenant
+     * @return the fetch in progress
+     */
+    private CompletableFuture<String> startRefresh(String tenantId, TenantToken token) {
+        if (token.refresh == null) {
+            token.refresh = CompletableFuture.supplyAsync(() -> fetch(tenantId, token), refreshExecutor);
+        }
+        return token.refresh;
+    }
+
+    /**
+     * Fetches the token of a tenant with the tenant set in context, and stores it in the cache.
+     *
+     * @param tenantId tenant of the token
+     * @param token    cached token of the tenant
+     * @return the new access token, or null if the token could not be fetched
+     */
+    private String fetch(String tenantId, TenantToken token) {
+        if (tenantId != null) {
+            TenantContext.setCurrentTenant(tenantId);
+        }
+        try {
+            AccessTokenDetails accessTokenDetails = uidamAuthTokenGenerator.fetchUidamAuthToken();
+            if (accessTokenDetails == null || accessTokenDetails.getAccessToken() == null) {
+                LOGGER.error("Failed to fetch Access Token for tenant {}", tenantId);
+                onFailure(tenantId, token);
+                return null;
+            }
+            Instant expiresAt = Instant.now().plusSeconds(Long.parseLong(accessTokenDetails.getExpiresIn()));
+            onSuccess(tenantId, token, accessTokenDetails.getAccessToken(), expiresAt.minusSeconds(SEC_60));
+            return accessTokenDetails.getAccessToken();
+        } catch (RuntimeException e) {
+            LOGGER.error("Failed to fetch Access Token for tenant {}: {}", tenantId, e.getMessage());
+            onFailure(tenantId, token);
+            throw e;
+        } finally {
+            TenantContext.clear();
+        }
+    }
+
+    private void onSuccess(String tenantId, TenantToken token, String accessToken, Instant usableUntil) {
+        synchronized (token) {
+            token.accessToken = accessToken;
+            token.usableUntil = usableUntil;
+            token.failures = 0;
+            token.retryAt = Instant.MIN;
+            token.refresh = null;
+            token.accessed = false;
+            LOGGER.debug("Putting Access Token in cache for tenant {} with expiration time: {}", tenantId, usableUntil);
+            scheduleRefresh(tenantId, token, usableUntil.minus(refreshAhead));
+        }
+    }
+
+    private void onFailure(String tenantId, TenantToken token) {
+        synchronized (token) {
+            token.refresh = null;
+            token.failures++;
+            token.retryAt = Instant.now().plus(getBackoff(token.failures));
+            scheduleRefresh(tenantId, token, token.retryAt);
+        }
+    }
+
+    /**
+     * Schedules a background refresh of a token that is still usable at the given time. Must be called holding
+     * the lock of the tenant token.
+     */
+    private void scheduleRefresh(String tenantId, TenantToken token, Instant refreshAt) {
+        Instant now = Instant.now();
+        if (token.accessToken == null || !token.usableUntil.isAfter(now) || !refreshAt.isBefore(token.usableUntil)
+                || refreshExecutor.isShutdown()) {
+            return;
+        }
+        long delay = Math.max(0, Duration.between(now, refreshAt).toMillis());
+        refreshExecutor.schedule(() -> refreshInBackground(tenantId, token), delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Refreshes a token ahead of its expiry. Tokens that have not been read since they were fetched are left to
+     * expire, so that idle tenants do not keep fetching tokens.
+     */
+    private void refreshInBackground(String tenantId, TenantToken token) {
+        synchronized (token) {
+            if (!token.accessed) {
+                return;
+            }
+            LOGGER.info("Refreshing Access Token for tenant {} in background", tenantId);
+            startRefresh(tenantId, token);
+        }
+    }
+
+    private Duration getBackoff(int failures) {
+        Duration backoff = initialBackoff.multipliedBy(1L << Math.min(failures - 1, MAX_BACKOFF_DOUBLINGS));
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    }
+
+    /**
+     * Cached token of a tenant, guarded by its own lock.
+     */
+    private static final class TenantToken {
+        private String accessToken;
+        private Instant usableUntil = Instant.MIN;
+        private CompletableFuture<String> refresh;
+        private int failures;
+        private Instant retryAt = Instant.MIN;
+        private boolean accessed;
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2023 - 2024 Harman International
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package org.eclipse.ecsp.uidam.usermanagement.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import java.time.Duration;
+
+/**
+ * Notification Outbox Properties - Settings of the notification outbox, bound from notification.outbox.*.
+ *
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "notification.outbox")
+public class NotificationOutboxProperties {
+
+    private static final int DEFAULT_BATCH_SIZE = 100;
+    private static final int DEFAULT_CONCURRENCY = 8;
+    private static final int DEFAULT_MAX_ATTEMPTS = 6;
+    private static final long DEFAULT_INITIAL_BACKOFF_SECONDS = 30;
+    private static final long DEFAULT_MAX_BACKOFF_MINUTES = 60;
+    private static final long DEFAULT_CLAIM_TIMEOUT_MINUTES = 5;
+    private static final double DEFAULT_RATE_PER_SECOND = 20;
+
+    /** Writes notifications to the outbox for background delivery, they are sent on the calling thread otherwise. */
+    private boolean enabled = false;
+
+    /** Maximum number of notifications claimed per tenant in one polling cycle. */
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
+    /** Maximum number of notifications delivered concurrently. */
+    private int concurrency = DEFAULT_CONCURRENCY;
+
+    /** Delivery attempts after which a notification is marked as failed. */
+    private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+
+    /** Delay before the first retry, doubled for every further retry. */
+    private Duration initialBackoff = Duration.ofSeconds(DEFAULT_INITIAL_BACKOFF_SECONDS);
+
+    /** Upper bound of the delay between two retries. */
+    private Duration maxBackoff = Duration.ofMinutes(DEFAULT_MAX_BACKOFF_MINUTES);
+
+    /** Time after which a claimed notification that was neither sent nor failed becomes due again. */
+    private Duration claimTimeout = Duration.ofMinutes(DEFAULT_CLAIM_TIMEOUT_MINUTES);
+
+    /** Maximum number of notifications delivered per second and tenant. */
+    private double ratePerSecond = DEFAULT_RATE_PER_SECOND;
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2023 - 2024 Harman International
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package org.eclipse.ecsp.uidam.usermanagement.config;
+
+import jakarta.mail.Address;
+import jakarta.mail.AuthenticationFailedException;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JavaMailSender keeping a bounded pool of connected SMTP transports.
+ *
+ * <p>{@link JavaMailSenderImpl} opens and authenticates a new connection for every send call. This sender borrows a
+ * connected transport from the pool instead and returns it after the send, so that the EHLO, STARTTLS and AUTH
+ * handshake is paid once per connection rather than once per message. A pooled transport is checked with a NOOP
+ * before reuse, and transports idle for longer than the idle timeout are closed. All messages of one
+ * {@code send(MimeMessage...)} call are sent over the same connection.</p>
+ */
+@Slf4j
+public class PooledJavaMailSender extends JavaMailSenderImpl {
+
+    private static final String HEADER_MESSAGE_ID = "Message-ID";
+
+    private final Semaphore connections;
+    private final Duration idleTimeout;
+    private final Duration maxWait;
+    private final Deque<IdleTransport> idleTransports = new LinkedList<>();
+    private boolean closed;
+
+    /**
+     * Constructor for PooledJavaMailSender.
+     *
+     * @param maxConnections maximum number of SMTP connections open at the same time
+     * @param idleTimeout    time after which an unused connection is closed
+     * @param maxWait        maximum time a send waits for a free connection
+     */
+    public PooledJavaMailSender(int maxConnections, Duration idleTimeout, Duration maxWait) {
+        this.connections = new Semaphore(Math.max(1, maxConnections), true);
+        this.idleTimeout = idleTimeout;
+        this.maxWait = maxWait;
+    }
+
+    @Override
+    protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) throws MailException {
+        Map<Object, Exception> failedMessages = new LinkedHashMap<>();
+        acquireConnectionPermit();
+        Transport transport = null;
+        try {
+            transport = borrowTransport();
+            for (int i = 0; i < mimeMessages.length; i++) {
+                if (transport == null) {
+                    transport = reconnect(mimeMessages, originalMessages, i, failedMessages);
+                }
+                MimeMessage mimeMessage = mimeMessages[i];
+                try {
+                    if (mimeMessage.getSentDate() == null) {
+                        mimeMessage.setSentDate(new Date());
+                    }
+                    String messageId = mimeMessage.getMessageID();
+                    mimeMessage.saveChanges();
+                    if (messageId != null) {
+                        // Preserve explicitly specified message id...
+                        mimeMessage.setHeader(HEADER_MESSAGE_ID, messageId);
+                    }
+                    Address[] addresses = mimeMessage.getAllRecipients();
+                    transport.sendMessage(mimeMessage, addresses != null ? addresses : new Address[0]);
+                } catch (Exception ex) {
+                    failedMessages.put(originalMessages != null ? originalMessages[i] : mimeMessage, ex);
+                    if (!transport.isConnected()) {
+                        closeQuietly(transport);
+                        transport = null;
+                    }
+                }
+            }
+        } finally {
+            releaseTransport(transport);
+            connections.release();
+        }
+        if (!failedMessages.isEmpty()) {
+            throw new MailSendException(failedMessages);
+        }
+    }
+
+    /**
+     * Closes the pooled transports that have been idle for longer than the idle timeout.
+     *
+     * @return number of closed transports
+     */
+    public int closeIdleTransports() {
+        long idleSince = System.nanoTime() - idleTimeout.toNanos();
+        int closedTransports = 0;
+        synchronized (idleTransports) {
+            Iterator<IdleTransport> iterator = idleTransports.descendingIterator();
+            while (iterator.hasNext()) {
+                IdleTransport idle = iterator.next();
+                if (idle.idleSince() - idleSince > 0) {
+                    break;
+                }
+                iterator.remove();
+                closeQuietly(idle.transport());
+                closedTransports++;
+            }
+        }
+        return closedTransports;
+    }
+
+    /**
+     * Closes all pooled transports. Transports in use are closed when they are returned.
+     */
+    public void close() {
+        synchronized (idleTransports) {
+            closed = true;
+            idleTransports.forEach(idle -> closeQuietly(idle.transport()));
+            idleTransports.clear();
+        }
+    }
+
+    private void acquireConnectionPermit() {
+        try {
+            if (!connections.tryAcquire(maxWait.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new MailSendException("No mail server connection available within " + maxWait);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MailSendException("Interrupted while waiting for a mail server connection", e);
+        }
+    }
+
+    private Transport borrowTransport() {
+        while (true) {
+            IdleTransport idle;
+            synchronized (idleTransports) {
+                idle = idleTransports.pollFirst();
+            }
+            if (idle == null) {
+                return null;
+            }
+            // Most recently used transports are reused first, the check sends a NOOP to the server.
+            if (idle.transport().isConnected()) {
+                return idle.transport();
+            }
+            closeQuietly(idle.transport());
+        }
+    }
+
+    private Transport reconnect(MimeMessage[] mimeMessages, Object[] originalMessages, int index,
+                                Map<Object, Exception> failedMessages) {
+        try {
+            return connectTransport();
+        } catch (AuthenticationFailedException ex) {
+            throw new MailAuthenticationException(ex);
+        } catch (MessagingException | RuntimeException ex) {
+            // Effectively, all remaining messages failed...
+            for (int j = index; j < mimeMessages.length; j++) {
+                failedMessages.put(originalMessages != null ? originalMessages[j] : mimeMessages[j], ex);
+            }
+            throw new MailSendException("Mail server connection failed", ex, failedMessages);
+        }
+    }
+
+    private void releaseTransport(Transport transport) {
+        if (transport == null) {
+            return;
+        }
+        synchronized (idleTransports) {
+            // Checked under the pool lock, a transport returned while close() runs must not stay in the pool
+            if (!closed) {
+                idleTransports.addFirst(new IdleTransport(transport, System.nanoTime()));
+                return;
+            }
+        }
+        closeQuietly(transport);
+    }
+
+    private static void closeQuietly(Transport transport) {
+        try {
+            transport.close();
+        } catch (MessagingException ex) {
+            log.debug("Error closing mail server connection", ex);
+        }
+    }
+
+    /**
+     * Connected transport waiting in the pool.
+     */
+    private record IdleTransport(Transport transport, long idleSince) {
+    }
+}
@@ -18,15 +18,18 @@
 
 package org.eclipse.ecsp.uidam.usermanagement.config;
 
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.ecsp.sql.multitenancy.TenantContext;
 import org.eclipse.ecsp.uidam.usermanagement.config.tenantproperties.NotificationProperties;
 import org.eclipse.ecsp.uidam.usermanagement.config.tenantproperties.UserManagementTenantProperties;
 import org.eclipse.ecsp.uidam.usermanagement.service.TenantConfigurationService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
+import java.time.Duration;
 import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.ConcurrentHashMap;
@@ -39,6 +42,10 @@ import java.util.concurrent.ConcurrentHashMap;
  * SMTP configurations. It's always created (no conditional) to support multi-tenant
  * provider selection where different tenants can use different email providers.
  * 
+ * <p>Each tenant gets a {@link PooledJavaMailSender} keeping up to the configured number of authenticated SMTP
+ * connections open, so that consecutive notifications reuse a connection instead of repeating the handshake.
+ * Connections idle for longer than the idle timeout are closed periodically.
+ * 
  * <p>Relies on TenantResolutionFilter to set the correct tenant in TenantContext:
  * <ul>
  *   <li>Multi-tenancy enabled: TenantContext contains tenant from request</li>
@@ -53,10 +60,27 @@ import java.util.concurrent.ConcurrentHashMap;
 public class TenantAwareJavaMailSenderFactory {
 
     private final TenantConfigurationService tenantConfigurationService;
-    private final Map<String, JavaMailSender> mailSenderCache = new ConcurrentHashMap<>();
+    private final Map<String, PooledJavaMailSender> mailSenderCache = new ConcurrentHashMap<>();
+    private final int maxConnections;
+    private final Duration idleTimeout;
+    private final Duration maxWait;
 
-    public TenantAwareJavaMailSenderFactory(TenantConfigurationService tenantConfigurationService) {
+    /**
+     * Constructor for TenantAwareJavaMailSenderFactory.
+     *
+     * @param tenantConfigurationService service providing the tenant specific SMTP settings
+     * @param maxConnections             maximum number of SMTP connections per tenant
+     * @param idleTimeout                time after which an unused SMTP connection is closed
+     * @param maxWait                    maximum time a send waits for a free SMTP connection
+     */
+    public TenantAwareJavaMailSenderFactory(TenantConfigurationService tenantConfigurationService,
+            @Value("${notification.email.pool.max-connections:4}") int maxConnections,
+            @Value("${notification.email.pool.idle-timeout:60s}") Duration idleTimeout,
+            @Value("${notification.email.pool.max-wait:30s}") Duration maxWait) {
         this.tenantConfigurationService = tenantConfigurationService;
+        this.maxConnections = maxConnections;
+        this.idleTimeout = idleTimeout;
+        this.maxWait = maxWait;
     }
 
     /**
@@ -87,8 +111,8 @@ public class TenantAwareJavaMailSenderFactory {
      * @param tenantProperties the tenant properties containing email configuration
      * @return configured JavaMailSender
      */
-    private JavaMailSender createMailSender(UserManagementTenantProperties tenantProperties) {
-        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+    private PooledJavaMailSender createMailSender(UserManagementTenantProperties tenantProperties) {
+        PooledJavaMailSender mailSender = new PooledJavaMailSender(maxConnections, idleTimeout, maxWait);
 
         NotificationProperties notificationProps = tenantProperties.getNotification();
         if (notificationProps == null || notificationProps.getEmail() == null) {
@@ -139,15 +163,33 @@ public class TenantAwareJavaMailSenderFactory {
      * @param tenantId the tenant ID
      */
     public void clearCache(String tenantId) {
-        mailSenderCache.remove(tenantId);
+        PooledJavaMailSender mailSender = mailSenderCache.remove(tenantId);
+        if (mailSender != null) {
+            mailSender.close();
+        }
         log.info("Cleared JavaMailSender cache for tenant: {}", tenantId);
     }
 
     /**
      * Clear all cached mail senders.
      */
+    @PreDestroy
     public void clearAllCache() {
+        mailSenderCache.values().forEach(PooledJavaMailSender::close);
         mailSenderCache.clear();
         log.info("Cleared all JavaMailSender cache");
     }
+
+    /**
+     * Close the SMTP connections that have been idle for longer than the idle timeout.
+     */
+    @Scheduled(fixedDelayString = "${notification.email.pool.idle-check-interval:30s}")
+    public void closeIdleConnections() {
+        mailSenderCache.forEach((tenantId, mailSender) -> {
+            int closedConnections = mailSender.closeIdleTransports();
+            if (closedConnections > 0) {
+                log.debug("Closed {} idle SMTP connections for tenant: {}", closedConnections, tenantId);
+            }
+        });
+    }
 }
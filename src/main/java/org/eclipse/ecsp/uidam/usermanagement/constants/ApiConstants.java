@@ -177,9 +177,12 @@ public final class ApiConstants {
     public  static final int MIN_CONSECUTIVE_LETTERS_LENGTH = 2;
     public static final String SUMMARY_GET_USERS_BY_FILTER = "Retrieve users that match defined criteria";
     public static final String SUMMARY_DELETE_USERS_BY_FILTER = "Delete users that match defined criteria";
+    public static final String SUMMARY_EXPORT_USERS_BY_FILTER =
+        "Stream all users that match defined criteria as newline delimited json";
     public static final String SUMMARY_EMAIL_VERIFICATION_GET = "Get if user email was verified by user id";
     public static final String SUMMARY_EMAIL_VERIFY = "Verify email address via UUID";
     public static final String PATH_FILTER = "/filter";
+    public static final String PATH_EXPORT = "/export";
     public static final String DESCENDING = "DESC";
     public static final String ASCENDING = "ASC";
     public static final String PAGE_NUMBER = "pageNumber";
@@ -198,6 +201,11 @@ public final class ApiConstants {
         "Sort in ascending (ASC) or descending (DESC) order; default: descending";
     public static final String IGNORE_CASE_DESCRIPTION = "Ignore case, true or false";
     public static final String SEARCH_TYPE_DESCRIPTION = "Search type, CONTAINS, PREFIX or SUFFIX";
+    public static final String CURSOR = "cursor";
+    public static final String CURSOR_DESCRIPTION = "Continuation token for keyset paging; leave empty for the first "
+        + "page and pass the X-Next-Cursor response header of the previous page for the next one. "
+        + "Supported sortBy values are USER_NAMES, EMAILS and IDS. pageNumber is ignored when set";
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
     public static final String PAGE_NUMBER_DEFAULT = "0";
     public static final String PAGE_SIZE_DEFAULT = "20";
     public static final String SORT_BY_DEFAULT = "";
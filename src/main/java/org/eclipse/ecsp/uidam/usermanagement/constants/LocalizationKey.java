@@ -104,6 +104,8 @@ public interface LocalizationKey {
     String USER_ROLES_NOT_FOUND = "user.roles.not.found";
     String FIELD_CANNOT_BE_MODIFIED = "field.cannot.be.modified";
     String MISSING_CORRELATION_ID = "missing.correlation.id";
+    String INVALID_CURSOR = "invalid.cursor";
+    String INVALID_PAGE_SIZE = "invalid.page.size";
 
     //auth-management
     String PARSING_FAILURE = "parsing.failure";
@@ -63,10 +63,12 @@ import org.eclipse.ecsp.uidam.usermanagement.user.response.dto.UserDetailsRespon
 import org.eclipse.ecsp.uidam.usermanagement.user.response.dto.UserEventResponseDto;
 import org.eclipse.ecsp.uidam.usermanagement.user.response.dto.UserMetaDataResponse;
 import org.eclipse.ecsp.uidam.usermanagement.user.response.dto.UserResponseV1;
+import org.eclipse.ecsp.uidam.usermanagement.user.response.dto.UsersCursorPage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -89,6 +91,8 @@ import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.ACCOU
 import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.ACCOUNT_ROLE_ASSOCIATION;
 import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.ASCENDING;
 import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.ASSOCIATE_USERS_TO_ROLE_PATH;
+import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.CURSOR;
+import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.CURSOR_DESCRIPTION;
 import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.DESCENDING;
 import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.END_USER_TAG;
 import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.EXTERNAL_USER;
@@ -97,6 +101,7 @@ import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.ID;
 import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.IGNORE_CASE;
 import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.IGNORE_CASE_DESCRIPTION;
 import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.LOGGED_IN_USER_ID;
+import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.NEXT_CURSOR_HEADER;
 import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.PAGE_NUMBER;
 import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.PAGE_NUMBER_DEFAULT;
 import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.PAGE_NUMBER_DESCRIPTION;
@@ -460,6 +465,8 @@ public class UsersController {
      * @param sortOrder order results in asc or desc order.
      * @param ignoreCase make search case-sensitive/case-insensitive.
      * @param searchType define search type of field contains, starts or ends with a specific value.
+     * @param cursor keyset paging token, blank for the first page; the next token is returned in the
+     *               X-Next-Cursor header.
      * @param userGetFilter define filter criteria for each field.
      * @return List of UserResponse.
      * @throws ResourceNotFoundException exception to be thrown if no such users found.
@@ -491,12 +498,25 @@ public class UsersController {
         @RequestParam(name = SEARCH_TYPE, required = false)
         @Parameter(description = SEARCH_TYPE_DESCRIPTION, schema = @Schema(allowableValues = {"PREFIX", "SUFFIX",
             "CONTAINS"})) SearchType searchType,
+        @RequestParam(name = CURSOR, required = false)
+        @Parameter(description = CURSOR_DESCRIPTION) String cursor,
         @Valid 
         @RequestBody
         @Parameter(name = "Request payload", description = "Parameters and values by which to filter. "
             + "To get all users, leave empty.")
         UsersGetFilterV1 userGetFilter) throws ResourceNotFoundException {
         LOGGER.info("Get users request received, request: {}", userGetFilter);
+        if (cursor != null) {
+            UsersCursorPage page = usersService.getUsersByCursor(userGetFilter, cursor, pageSize,
+                sortBy == null ? null : sortBy.getField(), sortOrder.sortOrderLowerCase(),
+                ignoreCase == null ? false : ignoreCase.booleanValue(), searchType);
+            HttpHeaders responseHeaders = new HttpHeaders();
+            if (page.getNextCursor() != null) {
+                responseHeaders.add(NEXT_CURSOR_HEADER, page.getNextCursor());
+            }
+            return new ResponseEntity<>(page.getUsers().stream().map(UserResponseV1.class::cast).toList(),
+                responseHeaders, HttpStatus.OK);
+        }
         return new ResponseEntity<>(usersService
             .getUsers(userGetFilter, pageNumber, pageSize, sortBy == null ? null : sortBy.getField(),
                 sortOrder.sortOrderLowerCase(), ignoreCase == null ? false : ignoreCase.booleanValue(), searchType)
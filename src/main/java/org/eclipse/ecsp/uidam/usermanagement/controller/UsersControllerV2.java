@@ -31,6 +31,7 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
+import org.eclipse.ecsp.sql.multitenancy.TenantContext;
 import org.eclipse.ecsp.uidam.usermanagement.enums.SearchType;
 import org.eclipse.ecsp.uidam.usermanagement.enums.SortOrder;
 import org.eclipse.ecsp.uidam.usermanagement.exception.ResourceNotFoundException;
@@ -41,8 +42,10 @@ import org.eclipse.ecsp.uidam.usermanagement.user.request.dto.UserDtoV2;
 import org.eclipse.ecsp.uidam.usermanagement.user.request.dto.UserDtoViews;
 import org.eclipse.ecsp.uidam.usermanagement.user.request.dto.UsersGetFilterV2;
 import org.eclipse.ecsp.uidam.usermanagement.user.response.dto.UserResponseV2;
+import org.eclipse.ecsp.uidam.usermanagement.user.response.dto.UsersCursorPage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -56,9 +59,12 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import java.math.BigInteger;
 import java.util.List;
 import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.ASCENDING;
+import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.CURSOR;
+import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.CURSOR_DESCRIPTION;
 import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.DESCENDING;
 import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.HTTP_OK;
 import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.HTTP_SUCCESS;
@@ -66,12 +72,14 @@ import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.ID;
 import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.IGNORE_CASE;
 import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.IGNORE_CASE_DESCRIPTION;
 import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.LOGGED_IN_USER_ID;
+import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.NEXT_CURSOR_HEADER;
 import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.PAGE_NUMBER;
 import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.PAGE_NUMBER_DEFAULT;
 import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.PAGE_NUMBER_DESCRIPTION;
 import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.PAGE_SIZE;
 import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.PAGE_SIZE_DEFAULT;
 import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.PAGE_SIZE_DESCRIPTION;
+import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.PATH_EXPORT;
 import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.PATH_FILTER;
 import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.PATH_VARIABLE_ID;
 import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.SEARCH_TYPE;
@@ -85,6 +93,7 @@ import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.STRIN
 import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.SUCCESS;
 import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.SUMMARY_ADD_USER;
 import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.SUMMARY_EDIT_USER;
+import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.SUMMARY_EXPORT_USERS_BY_FILTER;
 import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.SUMMARY_GET_USER;
 import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.SUMMARY_GET_USERS_BY_FILTER;
 import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.USERS_TAG;
@@ -159,6 +168,8 @@ public class UsersControllerV2 {
      * @param sortOrder order results in asc or desc order.
      * @param ignoreCase make search case-sensitive/case-insensitive.
      * @param searchType define search type of field contains, starts or ends with a specific value.
+     * @param cursor keyset paging token, blank for the first page; the next token is returned in the
+     *               X-Next-Cursor header.
      * @param userGetFilter define filter criteria for each field.
      * @return List of UserResponse.
      * @throws ResourceNotFoundException exception to be thrown if no such users found.
@@ -191,17 +202,81 @@ public class UsersControllerV2 {
         @RequestParam(name = SEARCH_TYPE, required = false)
         @Parameter(description = SEARCH_TYPE_DESCRIPTION, schema = @Schema(allowableValues = {"PREFIX", "SUFFIX",
             "CONTAINS"})) SearchType searchType,
+        @RequestParam(name = CURSOR, required = false)
+        @Parameter(description = CURSOR_DESCRIPTION) String cursor,
         @Valid @RequestBody
         @Parameter(name = "Request payload", description = "Parameters and values by which to filter. "
             + "To get all users, leave empty.")
         UsersGetFilterV2 userGetFilter) throws ResourceNotFoundException {
         LOGGER.info("Get users request received, request: {}", userGetFilter);
+        if (cursor != null) {
+            UsersCursorPage page = usersService.getUsersByCursor(userGetFilter, cursor, pageSize,
+                sortBy == null ? null : sortBy.getField(), sortOrder.sortOrderLowerCase(),
+                ignoreCase == null ? false : ignoreCase.booleanValue(), searchType);
+            HttpHeaders responseHeaders = new HttpHeaders();
+            if (page.getNextCursor() != null) {
+                responseHeaders.add(NEXT_CURSOR_HEADER, page.getNextCursor());
+            }
+            return new ResponseEntity<>(page.getUsers().stream().map(UserResponseV2.class::cast).toList(),
+                responseHeaders, HttpStatus.OK);
+        }
         return new ResponseEntity<>(usersService
             .getUsers(userGetFilter, pageNumber, pageSize, sortBy == null ? null : sortBy.getField(),
                 sortOrder.sortOrderLowerCase(), ignoreCase == null ? false : ignoreCase.booleanValue(), searchType)
             .stream().map(UserResponseV2.class::cast).toList(), HttpStatus.OK);
     }
 
+    /**
+     * API to stream all users that match items in the defined list of parameters and values as newline delimited
+     * json. Unlike the filter api the users are not paged, and the response is written while the users are read.
+     *
+     * @param ignoreCase make search case-sensitive/case-insensitive.
+     * @param searchType define search type of field contains, starts or ends with a specific value.
+     * @param userGetFilter define filter criteria for each field.
+     * @return streaming body writing one UserResponseV2 per line.
+     */
+    @Operation(summary = "POST /v2/users/export - "
+        + SUMMARY_EXPORT_USERS_BY_FILTER,
+        tags = { USERS_TAG }, operationId = "exportUsers-v2",
+        description = "'Streams all users that match items in the defined list of parameters and values, "
+            + "one user per line.' List of parameters can contain dynamic attributes only if they were defined as "
+            + "'searchable'.",
+        responses = {
+            @ApiResponse(responseCode = HTTP_SUCCESS, description = SUCCESS,
+                content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                    schema = @Schema(implementation = UserResponseV2.class)))
+        })
+    @SecurityRequirement(name = "JwtAuthValidator", scopes = {VIEW_USERS_SCOPE, MANAGE_USERS_SCOPE})
+    @PostMapping(path = PATH_EXPORT, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+        @RequestParam(name = IGNORE_CASE, required = false)
+        @Parameter(description = IGNORE_CASE_DESCRIPTION, schema = @Schema(allowableValues = {"true", "false"}))
+        Boolean ignoreCase,
+        @RequestParam(name = SEARCH_TYPE, required = false)
+        @Parameter(description = SEARCH_TYPE_DESCRIPTION, schema = @Schema(allowableValues = {"PREFIX", "SUFFIX",
+            "CONTAINS"})) SearchType searchType,
+        @Valid @RequestBody
+        @Parameter(name = "Request payload", description = "Parameters and values by which to filter. "
+            + "To get all users, leave empty.")
+        UsersGetFilterV2 userGetFilter) {
+        LOGGER.info("Export users request received, request: {}", userGetFilter);
+        String tenantId = TenantContext.getCurrentTenant();
+        StreamingResponseBody body = outputStream -> {
+            // The body is written on an async thread, which does not carry the tenant of the request.
+            TenantContext.setCurrentTenant(tenantId);
+            try {
+                long exported = usersService.exportUsers(userGetFilter,
+                    ignoreCase == null ? false : ignoreCase.booleanValue(), searchType, outputStream);
+                LOGGER.info("Exported {} users", exported);
+            } catch (ResourceNotFoundException e) {
+                LOGGER.info("No users matched the export request: {}", e.getMessage());
+            } finally {
+                TenantContext.clear();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     /*
      * API to get a single user identified by its ID as per version 2.
      *
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2023 - 2024 Harman International
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package org.eclipse.ecsp.uidam.usermanagement.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.eclipse.ecsp.uidam.usermanagement.enums.NotificationOutboxStatus;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Notification waiting to be delivered. Rows are written in the transaction of the change that triggers the
+ * notification and are delivered afterwards by the notification outbox worker.
+ */
+@Entity
+@Table(name = "notification_outbox")
+@Getter
+@Setter
+@ToString(exclude = "data")
+@NoArgsConstructor
+public class NotificationOutboxEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "ID", nullable = false, updatable = false, columnDefinition = "NUMERIC(38) DEFAULT get_uuid()")
+    private BigInteger id;
+
+    @Column(name = "NOTIFICATION_ID", nullable = false)
+    private String notificationId;
+
+    @Column(name = "RECIPIENT_EMAIL", nullable = false)
+    private String recipientEmail;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "DATA", columnDefinition = "jsonb")
+    private Map<String, Object> data;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "STATUS", nullable = false)
+    private NotificationOutboxStatus status;
+
+    @Column(name = "ATTEMPTS", nullable = false)
+    private int attempts;
+
+    @Column(name = "NEXT_ATTEMPT_AT", nullable = false)
+    private Instant nextAttemptAt;
+
+    @Column(name = "LAST_ERROR")
+    private String lastError;
+
+    @Column(name = "CREATED_AT", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(name = "UPDATED_AT")
+    private Instant updatedAt;
+
+    /**
+     * Constructor for a notification that is due immediately.
+     *
+     * @param notificationId id of the notification config
+     * @param recipientEmail email address of the recipient
+     * @param data           placeholders of the notification payload
+     * @param createdAt      time the notification was requested
+     */
+    public NotificationOutboxEntity(String notificationId, String recipientEmail, Map<String, Object> data,
+                                    Instant createdAt) {
+        this.notificationId = notificationId;
+        this.recipientEmail = recipientEmail;
+        this.data = data;
+        this.status = NotificationOutboxStatus.PENDING;
+        this.nextAttemptAt = createdAt;
+        this.createdAt = createdAt;
+    }
+}
@@ -32,6 +32,9 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedEntityGraphs;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
@@ -41,6 +44,7 @@ import lombok.Setter;
 import lombok.ToString;
 import org.eclipse.ecsp.uidam.usermanagement.enums.Gender;
 import org.eclipse.ecsp.uidam.usermanagement.enums.UserStatus;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 import org.springframework.data.annotation.CreatedDate;
@@ -57,6 +61,10 @@ import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.USER_
 
 /**
  * User Data Entity.
+ *
+ * <p>Addresses and account role mappings are loaded lazily. Repository methods pick one of the named fetch plans
+ * below, and collections that are not part of the plan are loaded in batches for all the users of the persistence
+ * context. Only one of the two list associations can be fetched per statement.</p>
  */
 @Getter
 @Setter
@@ -65,7 +73,28 @@ import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.USER_
 @AllArgsConstructor
 @Entity
 @Table(name = USER_ENTITY_TABLE_NAME)
+@NamedEntityGraphs({
+    @NamedEntityGraph(name = UserEntity.LOGIN_CONTEXT_GRAPH,
+        attributeNodes = @NamedAttributeNode("accountRoleMapping")),
+    @NamedEntityGraph(name = UserEntity.FULL_PROFILE_GRAPH, attributeNodes = @NamedAttributeNode("userAddresses")),
+    @NamedEntityGraph(name = UserEntity.STATUS_ONLY_GRAPH)
+})
 public class UserEntity {
+    /**
+     * Fetch plan of the login and authorization paths, the user with its account role mappings.
+     */
+    public static final String LOGIN_CONTEXT_GRAPH = "UserEntity.loginContext";
+    /**
+     * Fetch plan of the user profile responses, the user with its addresses. The account role mappings follow
+     * with one batched statement.
+     */
+    public static final String FULL_PROFILE_GRAPH = "UserEntity.fullProfile";
+    /**
+     * Fetch plan of the status and lock handling, the user columns only.
+     */
+    public static final String STATUS_ONLY_GRAPH = "UserEntity.statusOnly";
+    private static final int COLLECTION_BATCH_SIZE = 50;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(nullable = false, updatable = false, columnDefinition = "NUMERIC(38) DEFAULT get_uuid()")
@@ -105,8 +134,10 @@ public class UserEntity {
     private LocalDate birthDate;
     @Column(name = "phone_no")
     private String phoneNumber;
-    @OneToMany(mappedBy = "userEntity", fetch = FetchType.EAGER, cascade = CascadeType.ALL, orphanRemoval = true)
+    @OneToMany(mappedBy = "userEntity", fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = COLLECTION_BATCH_SIZE)
     @JsonManagedReference
+    @ToString.Exclude
     private List<UserAddressEntity> userAddresses;
     @JdbcTypeCode(SqlTypes.JSON)
     @Column(name = "device_ids", columnDefinition = "jsonb", nullable = false)
@@ -119,7 +150,9 @@ public class UserEntity {
     private String identityProviderName;
     @Column(name = "created_by")
     private String createdBy = "system";
-    @OneToMany(mappedBy = "userId", fetch = FetchType.EAGER, cascade = CascadeType.ALL, orphanRemoval = true)
+    @OneToMany(mappedBy = "userId", fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = COLLECTION_BATCH_SIZE)
+    @ToString.Exclude
     private List<UserAccountRoleMappingEntity> accountRoleMapping = new ArrayList<>();
     @CreatedDate
     @Column(name = "create_date")
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2023 - 2024 Harman International
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package org.eclipse.ecsp.uidam.usermanagement.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import java.math.BigInteger;
+import java.time.Instant;
+
+/**
+ * Login state of a user, kept up to date with every login attempt so that the lockout decision does not need to
+ * scan the user events. The user events remain the history of the login attempts.
+ */
+@Entity
+@Table(name = "user_login_state")
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+public class UserLoginStateEntity {
+    @Id
+    @Column(name = "USER_ID")
+    private BigInteger userId;
+
+    @Column(name = "CONSECUTIVE_FAILURES")
+    private int consecutiveFailures;
+
+    @Column(name = "LAST_SUCCESS_AT")
+    private Instant lastSuccessAt;
+
+    @Column(name = "LAST_FAILURE_AT")
+    private Instant lastFailureAt;
+
+    /**
+     * Constructor for UserLoginStateEntity.
+     *
+     * @param userId              user id
+     * @param consecutiveFailures failed login attempts since the last successful login
+     * @param lastSuccessAt       time of the last successful login
+     * @param lastFailureAt       time of the last failed login
+     */
+    public UserLoginStateEntity(BigInteger userId, int consecutiveFailures, Instant lastSuccessAt,
+                                Instant lastFailureAt) {
+        this.userId = userId;
+        this.consecutiveFailures = consecutiveFailures;
+        this.lastSuccessAt = lastSuccessAt;
+        this.lastFailureAt = lastFailureAt;
+    }
+}
@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) 2023 - 2024 Harman International
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package org.eclipse.ecsp.uidam.usermanagement.enums;
+
+/**
+ * Delivery state of a notification in the notification outbox.
+ */
+public enum NotificationOutboxStatus {
+    /** Waiting for its first or next delivery attempt. */
+    PENDING,
+    /** Delivered to the notification channels. */
+    SENT,
+    /** Given up after the maximum number of delivery attempts. */
+    FAILED
+}
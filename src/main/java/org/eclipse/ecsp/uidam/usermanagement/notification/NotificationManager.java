@@ -27,6 +27,8 @@ import org.eclipse.ecsp.uidam.usermanagement.notification.strategy.NotificationS
 import org.eclipse.ecsp.uidam.usermanagement.user.request.dto.NotificationNonRegisteredUser;
 import org.springframework.stereotype.Component;
 import org.springframework.util.CollectionUtils;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -89,4 +91,41 @@ public class NotificationManager {
         }
         return isSent;
     }
+
+    /**
+     * send several notifications to users. Notifications of the same notificationId are handed to each channel at
+     * once, so that channels supporting batching can send them together.
+     *
+     * @param requests notification requests
+     * @return true if all the notifications were sent successfully otherwise false
+     */
+    public boolean sendNotifications(List<NotificationNonRegisteredUser> requests) {
+        Map<String, List<NotificationNonRegisteredUser>> requestsByNotificationId = new LinkedHashMap<>();
+        requests.forEach(request -> requestsByNotificationId
+                .computeIfAbsent(request.getNotificationId(), id -> new ArrayList<>()).add(request));
+        NotificationConfigResolver configResolver = configResolverFactory.getResolver();
+        boolean allSent = true;
+        for (Map.Entry<String, List<NotificationNonRegisteredUser>> entry : requestsByNotificationId.entrySet()) {
+            String notificationId = entry.getKey();
+            List<String> notificationChannels = configResolver.getNotificationChannels(notificationId);
+            if (CollectionUtils.isEmpty(notificationChannels)) {
+                log.error("Notification channels not available for notificationId: {}", notificationId);
+                throw new TemplateNotFoundException("Notification Config not found for notificationId: "
+                        + notificationId, null);
+            }
+            boolean isSent = false;
+            for (String channel : notificationChannels) {
+                if (strategyMap.containsKey(channel)) {
+                    log.info("sending {} {} notifications to channel: {}", entry.getValue().size(), notificationId,
+                            channel);
+                    isSent = strategyMap.get(channel).send(entry.getValue());
+                } else {
+                    log.warn("notification channel: {} not supported for notificationId: {}", channel,
+                            notificationId);
+                }
+            }
+            allSent &= isSent;
+        }
+        return allSent;
+    }
 }
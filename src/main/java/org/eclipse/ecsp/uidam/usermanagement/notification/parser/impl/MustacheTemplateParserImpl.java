@@ -30,17 +30,23 @@ import com.github.mustachejava.resolver.URIResolver;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.eclipse.ecsp.sql.multitenancy.TenantContext;
+import org.eclipse.ecsp.uidam.common.metrics.MetricInfo;
+import org.eclipse.ecsp.uidam.common.metrics.UidamMetrics;
+import org.eclipse.ecsp.uidam.common.metrics.UidamMetricsService;
 import org.eclipse.ecsp.uidam.usermanagement.config.tenantproperties.NotificationProperties.TemplateEngineProperties;
 import org.eclipse.ecsp.uidam.usermanagement.exception.TemplateManagerException;
 import org.eclipse.ecsp.uidam.usermanagement.exception.TemplateNotFoundException;
 import org.eclipse.ecsp.uidam.usermanagement.notification.parser.TemplateParser;
 import org.eclipse.ecsp.uidam.usermanagement.service.TenantConfigurationService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.stereotype.Component;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.io.Serial;
 import java.nio.file.Path;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -48,28 +54,48 @@ import java.util.concurrent.ConcurrentHashMap;
 /**
  * Implementation for {@link TemplateParser} uses Mustache template engine with tenant-specific configuration.
  * for more details please refer <a href="https://github.com/spullara/mustache.java/tree/main">Mustache Template Engine</a>
+ *
+ * <p>Text templates are compiled once per tenant and kept in a least recently used cache keyed by the template
+ * content, since the same subject and body texts are parsed for every recipient of a notification.</p>
  */
 @Slf4j
 @Component
 public class MustacheTemplateParserImpl implements TemplateParser {
 
+    private static final String STRING_TEMPLATE_NAME = "string-template";
+    private static final MetricInfo TEMPLATE_COMPILE_METRIC = MetricInfo.builder()
+            .uidamMetrics(UidamMetrics.NOTIFICATION_TEMPLATE_COMPILE).build();
+    private static final MetricInfo TEMPLATE_CACHE_HIT_METRIC = MetricInfo.builder()
+            .uidamMetrics(UidamMetrics.NOTIFICATION_TEMPLATE_CACHE_HIT).build();
+
     private final ResourceLoader resourceLoader;
     private final TenantConfigurationService tenantConfigurationService;
+    private final UidamMetricsService uidamMetricsService;
+    private final int maxCachedTemplates;
     
     // Cache of tenant-specific mustache factories: key = tenantId, value = MustacheFactory
     private final Map<String, MustacheFactory> tenantMustacheFactories = new ConcurrentHashMap<>();
 
+    // Cache of tenant-specific compiled text templates: key = tenantId, value = template content to compiled template
+    private final Map<String, CompiledTemplateCache> tenantCompiledTemplates = new ConcurrentHashMap<>();
+
     /**
      * Constructor to initialize mustache parser with tenant configuration service.
      *
      * @param tenantConfigurationService service to get tenant-specific configuration
      * @param resourceLoader resource loader for loading files
+     * @param uidamMetricsService service used to count template compilations and cache hits
+     * @param maxCachedTemplates maximum number of compiled text templates kept per tenant
      */
     public MustacheTemplateParserImpl(TenantConfigurationService tenantConfigurationService, 
-                                      ResourceLoader resourceLoader) {
+                                      ResourceLoader resourceLoader,
+                                      UidamMetricsService uidamMetricsService,
+                                      @Value("${notification.template.cache.max-size:256}") int maxCachedTemplates) {
         log.info("Initializing MustacheTemplateParser with tenant-specific configuration support");
         this.tenantConfigurationService = tenantConfigurationService;
         this.resourceLoader = resourceLoader;
+        this.uidamMetricsService = uidamMetricsService;
+        this.maxCachedTemplates = maxCachedTemplates;
         log.info("MustacheTemplateParser initialization completed");
     }
 
@@ -112,6 +138,46 @@ public class MustacheTemplateParserImpl implements TemplateParser {
         });
     }
 
+    /**
+     * Get the compiled text template of the current tenant from the cache, or compile and cache it.
+     *
+     * @param tenantId tenant identifier
+     * @param factory mustache factory of the tenant
+     * @param template template content
+     * @return compiled template
+     */
+    private Mustache getOrCompileText(String tenantId, MustacheFactory factory, String template) {
+        CompiledTemplateCache compiledTemplates = tenantCompiledTemplates.computeIfAbsent(tenantId,
+                tid -> new CompiledTemplateCache(maxCachedTemplates));
+        Mustache mustache;
+        synchronized (compiledTemplates) {
+            mustache = compiledTemplates.get(template);
+        }
+        if (mustache != null) {
+            uidamMetricsService.incrementCounter(TEMPLATE_CACHE_HIT_METRIC);
+            return mustache;
+        }
+        // Compiled outside the lock, a concurrent compilation of the same template only costs a second compile.
+        mustache = factory.compile(new StringReader(template), STRING_TEMPLATE_NAME);
+        uidamMetricsService.incrementCounter(TEMPLATE_COMPILE_METRIC);
+        synchronized (compiledTemplates) {
+            Mustache cached = compiledTemplates.putIfAbsent(template, mustache);
+            return cached != null ? cached : mustache;
+        }
+    }
+
+    /**
+     * Clear the mustache factory and the compiled templates of a tenant, so that they are created again from the
+     * current tenant configuration. Useful when configuration changes.
+     *
+     * @param tenantId the tenant ID
+     */
+    public void clearCache(String tenantId) {
+        tenantMustacheFactories.remove(tenantId);
+        tenantCompiledTemplates.remove(tenantId);
+        log.info("Cleared Mustache template cache for tenant: {}", tenantId);
+    }
+
     @Override
     public String parseText(String template, Map<String, Object> placeholderValues) {
         try {
@@ -120,7 +186,7 @@ public class MustacheTemplateParserImpl implements TemplateParser {
             MustacheFactory factory = getOrCreateMustacheFactory(tenantId);
             
             StringWriter stringWriter = new StringWriter();
-            Mustache mustache = factory.compile(new StringReader(template), "string-template");
+            Mustache mustache = getOrCompileText(tenantId, factory, template);
             mustache.execute(stringWriter, placeholderValues);
             log.debug("[mustache]: text processing completed");
             return stringWriter.toString();
@@ -186,4 +252,28 @@ public class MustacheTemplateParserImpl implements TemplateParser {
         }
         return null;
     }
+
+    /**
+     * Compiled text templates of a tenant, evicting the least recently used template when full. Not thread safe,
+     * access is synchronized on the cache instance.
+     */
+    private static final class CompiledTemplateCache extends LinkedHashMap<String, Mustache> {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+        private static final int INITIAL_CAPACITY = 16;
+        private static final float LOAD_FACTOR = 0.75f;
+
+        private final int maxSize;
+
+        CompiledTemplateCache(int maxSize) {
+            super(INITIAL_CAPACITY, LOAD_FACTOR, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Mustache> eldest) {
+            return size() > maxSize;
+        }
+    }
 }
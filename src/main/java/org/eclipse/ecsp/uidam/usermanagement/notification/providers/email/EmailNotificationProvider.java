@@ -19,10 +19,35 @@
 package org.eclipse.ecsp.uidam.usermanagement.notification.providers.email;
 
 import org.eclipse.ecsp.uidam.usermanagement.user.request.dto.NotificationNonRegisteredUser;
+import java.util.List;
 
 /**
  * interface for email providers.
  */
 public interface EmailNotificationProvider {
     boolean sendEmailNotification(NotificationNonRegisteredUser request);
+
+    /**
+     * Sends several notifications, one after the other unless the provider supports batching.
+     *
+     * @param requests notifications to be sent
+     * @return true if all notifications were sent
+     */
+    default boolean sendEmailNotifications(List<NotificationNonRegisteredUser> requests) {
+        boolean isSent = true;
+        for (NotificationNonRegisteredUser request : requests) {
+            isSent &= sendEmailNotification(request);
+        }
+        return isSent;
+    }
+
+    /**
+     * Returns the maximum number of recipients of one notification id and version that
+     * {@link #sendEmailNotifications(List)} sends in one request.
+     *
+     * @return recipients per request, 1 if the provider does not batch
+     */
+    default int getBatchSize() {
+        return 1;
+    }
 }
@@ -20,21 +20,34 @@ package org.eclipse.ecsp.uidam.usermanagement.notification.providers.email.impl;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.eclipse.ecsp.uidam.usermanagement.exception.ApplicationRuntimeException;
 import org.eclipse.ecsp.uidam.usermanagement.notification.providers.email.EmailNotificationProvider;
 import org.eclipse.ecsp.uidam.usermanagement.service.TenantConfigurationService;
+import org.eclipse.ecsp.uidam.usermanagement.user.request.dto.NonRegisteredUserData;
 import org.eclipse.ecsp.uidam.usermanagement.user.request.dto.NotificationNonRegisteredUser;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ReactorClientHttpRequestFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.DefaultResponseErrorHandler;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.REQUEST_ID;
 
@@ -44,6 +57,11 @@ import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.REQUE
  * <p>This provider delegates email sending to an external notification service.
  * It is tenant-aware and retrieves notification API URL from tenant-specific configuration.
  * 
+ * <p>Requests are serialized with a writer derived from the application {@link ObjectMapper} and sent by a
+ * {@link RestTemplate} owned by this provider, over a pool of keep-alive connections bounded per notification API
+ * host. In batch mode, {@link #sendEmailNotifications(List)} merges the recipients of several notifications into as
+ * few requests as the configured batch size allows.
+ * 
  * <p><b>Note:</b> This provider is no longer conditionally created based on global properties.
  * It's always available and selected at runtime via EmailNotificationProviderFactory
  * based on tenant configuration: tenants.profile.{tenantId}.notification.email.provider=ignite
@@ -55,19 +73,50 @@ import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.REQUE
 public class IgniteEmailNotificationProvider implements EmailNotificationProvider {
     private static final String LOG_PATTERN =
             "request method: {}, request URI: {}, request headers: {}, request body: {}";
+    private static final String CONNECTION_POOL_NAME = "ignite-notification";
     private  TenantConfigurationService tenantConfigurationService;
     private  RestTemplate restTemplate;
+    private final ObjectWriter requestWriter;
+    private final ConnectionProvider connectionProvider;
+    private final boolean batchEnabled;
+    private final int batchSize;
 
     /**
      * Constructor to initialize {@link IgniteEmailNotificationProvider}.
      *
      * @param tenantConfigurationService tenant configuration service
-     * @param restTemplate          for rest api call
+     * @param objectMapper          application object mapper used to serialize the requests
+     * @param maxConnectionsPerRoute maximum number of connections per notification API host
+     * @param maxIdleTime           time after which an unused connection is closed
+     * @param connectTimeoutMillis  connect timeout in milliseconds
+     * @param responseTimeout       maximum time to wait for the response of the notification API
+     * @param batchEnabled          whether notifications sharing a notification id are sent in one request
+     * @param batchSize             maximum number of recipients per request in batch mode
      */
     public IgniteEmailNotificationProvider(TenantConfigurationService tenantConfigurationService,
-                                           RestTemplate restTemplate) {
+            ObjectMapper objectMapper,
+            @Value("${notification.ignite.max-connections-per-route:20}") int maxConnectionsPerRoute,
+            @Value("${notification.ignite.max-idle-time:30s}") Duration maxIdleTime,
+            @Value("${httpclient.connect.timeout.millis:1000}") int connectTimeoutMillis,
+            @Value("${notification.ignite.response-timeout:30s}") Duration responseTimeout,
+            @Value("${notification.ignite.batch.enabled:false}") boolean batchEnabled,
+            @Value("${notification.ignite.batch.size:100}") int batchSize) {
         this.tenantConfigurationService = tenantConfigurationService;
-        this.restTemplate = restTemplate;
+        this.batchEnabled = batchEnabled;
+        this.batchSize = Math.max(1, batchSize);
+        this.requestWriter = objectMapper.writerFor(NotificationNonRegisteredUser.class);
+        // Reactor Netty keeps a separate pool per remote address, the limit therefore applies per route.
+        this.connectionProvider = ConnectionProvider.builder(CONNECTION_POOL_NAME)
+                .maxConnections(Math.max(1, maxConnectionsPerRoute))
+                .maxIdleTime(maxIdleTime)
+                .evictInBackground(maxIdleTime)
+                .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .keepAlive(true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMillis)
+                .responseTimeout(responseTimeout);
+        // Owned by this provider, the shared RestTemplate bean keeps its own transport
+        this.restTemplate = new RestTemplate(new ReactorClientHttpRequestFactory(httpClient));
         this.restTemplate.setErrorHandler(new DefaultResponseErrorHandler());
     }
 
@@ -82,7 +131,7 @@ public class IgniteEmailNotificationProvider implements EmailNotificationProvide
         try {
             request.setNotificationId(
                     tenantConfigurationService.getTenantProperties().getNotification().getNotificationId());
-            String requestPayload = new ObjectMapper().writeValueAsString(request);
+            String requestPayload = requestWriter.writeValueAsString(request);
             HttpHeaders headers = new HttpHeaders();
             headers.add(REQUEST_ID, UUID.randomUUID().toString());
             headers.add(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
@@ -105,4 +154,71 @@ public class IgniteEmailNotificationProvider implements EmailNotificationProvide
         }
         return true;
     }
+
+    /**
+     * Sends several notifications. In batch mode notifications with the same notification id and version are
+     * merged, and their recipients are sent in requests of up to the configured batch size.
+     *
+     * @param requests notifications to be sent
+     * @return true if all notifications were sent
+     */
+    @Override
+    public boolean sendEmailNotifications(List<NotificationNonRegisteredUser> requests) {
+        if (!batchEnabled) {
+            return EmailNotificationProvider.super.sendEmailNotifications(requests);
+        }
+        boolean isSent = true;
+        for (NotificationNonRegisteredUser batch : mergeRecipients(requests)) {
+            isSent &= sendEmailNotification(batch);
+        }
+        return isSent;
+    }
+
+    @Override
+    public int getBatchSize() {
+        return batchEnabled ? batchSize : 1;
+    }
+
+    private List<NotificationNonRegisteredUser> mergeRecipients(List<NotificationNonRegisteredUser> requests) {
+        Map<BatchKey, List<NonRegisteredUserData>> recipientsByNotification = new LinkedHashMap<>();
+        Map<BatchKey, NotificationNonRegisteredUser> firstRequests = new LinkedHashMap<>();
+        for (NotificationNonRegisteredUser request : requests) {
+            BatchKey key = new BatchKey(request.getNotificationId(), request.getVersion());
+            firstRequests.putIfAbsent(key, request);
+            recipientsByNotification.computeIfAbsent(key, k -> new ArrayList<>()).addAll(request.getRecipients());
+        }
+        List<NotificationNonRegisteredUser> batches = new ArrayList<>();
+        recipientsByNotification.forEach((key, recipients) -> {
+            NotificationNonRegisteredUser first = firstRequests.get(key);
+            for (int from = 0; from < recipients.size(); from += batchSize) {
+                NotificationNonRegisteredUser batch = new NotificationNonRegisteredUser();
+                batch.setNotificationId(first.getNotificationId());
+                batch.setVersion(first.getVersion());
+                batch.setRequestId(first.getRequestId());
+                batch.setSessionId(first.getSessionId());
+                batch.setRecipients(new ArrayList<>(
+                        recipients.subList(from, Math.min(from + batchSize, recipients.size()))));
+                batches.add(batch);
+            }
+        });
+        return batches;
+    }
+
+    RestTemplate getRestTemplate() {
+        return restTemplate;
+    }
+
+    /**
+     * Closes the pooled connections.
+     */
+    @PreDestroy
+    public void close() {
+        connectionProvider.dispose();
+    }
+
+    /**
+     * Notifications sharing notification id and version can be sent in one request.
+     */
+    private record BatchKey(String notificationId, String version) {
+    }
 }
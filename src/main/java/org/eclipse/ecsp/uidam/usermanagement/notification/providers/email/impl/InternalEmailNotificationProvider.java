@@ -38,11 +38,12 @@ import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Component;
 import org.springframework.util.CollectionUtils;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 /**
@@ -54,6 +55,8 @@ import java.util.stream.Collectors;
  * <p><b>Note:</b> This provider is no longer conditionally created based on global properties.
  * It's always available and selected at runtime via EmailNotificationProviderFactory
  * based on tenant configuration: tenants.profile.{tenantId}.notification.email.provider=internal
+ * 
+ * <p>The messages for all recipients of a request are sent in one batch over a single SMTP connection.
  *
  * @see org.eclipse.ecsp.uidam.usermanagement.notification.providers.email.EmailNotificationProviderFactory
  */
@@ -83,7 +86,6 @@ public class InternalEmailNotificationProvider implements EmailNotificationProvi
     //prepare AWS notification objects and send email notification
     @Override
     public boolean sendEmailNotification(NotificationNonRegisteredUser request) {
-        final AtomicBoolean isSent = new AtomicBoolean(false);
         //get notification config
         Objects.requireNonNull(request, "Notification Request should not be null");
         Objects.requireNonNull(request.getRecipients(),
@@ -91,6 +93,9 @@ public class InternalEmailNotificationProvider implements EmailNotificationProvi
         
         // Get the appropriate config resolver for the current tenant
         NotificationConfigResolver configResolver = configResolverFactory.getResolver();
+        // Get tenant-specific JavaMailSender
+        JavaMailSender javaMailSender = mailSenderFactory.getMailSender();
+        List<MimeMessage> messages = new ArrayList<>();
         
         request.getRecipients().forEach(recipient -> {
             Optional<EmailNotificationTemplateConfig> emailTemplate = configResolver.getEmailTemplate(
@@ -120,12 +125,10 @@ public class InternalEmailNotificationProvider implements EmailNotificationProvi
                         }
                     });
                 }
-                //send notification using spring mail
-                boolean result = sendEmail(template.getFrom(),
+                messages.add(createEmail(javaMailSender, template.getFrom(),
                         recipient.getEmail(),
                         (String) parsedEmailBodyMap.get("subject"),
-                        parseEmailBody, images);
-                isSent.set(result);
+                        parseEmailBody, images));
             } else {
                 log.error("Template not found for email notification: {}, cannot proceed further..",
                         request.getNotificationId());
@@ -134,18 +137,26 @@ public class InternalEmailNotificationProvider implements EmailNotificationProvi
                         request.getNotificationId()));
             }
         });
-        return isSent.get();
+        if (messages.isEmpty()) {
+            return false;
+        }
+        //send notification using spring mail
+        if (messages.size() == 1) {
+            javaMailSender.send(messages.get(0));
+        } else {
+            javaMailSender.send(messages.toArray(new MimeMessage[0]));
+        }
+        log.info("Successfully sent {} email notification(s) for {}", messages.size(), request.getNotificationId());
+        return true;
     }
 
-    private boolean sendEmail(String fromEmail,
-                              String toEmail,
-                              String subject,
-                              String body,
-                              Map<String, Resource> images) {
+    private MimeMessage createEmail(JavaMailSender javaMailSender,
+                                    String fromEmail,
+                                    String toEmail,
+                                    String subject,
+                                    String body,
+                                    Map<String, Resource> images) {
         try {
-            // Get tenant-specific JavaMailSender
-            JavaMailSender javaMailSender = mailSenderFactory.getMailSender();
-            
             MimeMessage mimeMsg = javaMailSender.createMimeMessage();
             MimeMessageHelper helper = new MimeMessageHelper(mimeMsg, MimeMessageHelper.MULTIPART_MODE_MIXED, "UTF-8");
             helper.setFrom(new InternetAddress(fromEmail));
@@ -157,13 +168,10 @@ public class InternalEmailNotificationProvider implements EmailNotificationProvi
                     helper.addInline(image.getKey(), image.getValue());
                 }
             }
-            javaMailSender.send(mimeMsg);
-            log.info("Successfully sent email notification to {}", toEmail);
+            return mimeMsg;
         } catch (MessagingException e) {
             log.error("Error occurred while sending email", e);
             throw new NotificationException("An Error occurred while sending email notification", e);
         }
-        // set sender email
-        return true;
     }
 }
@@ -19,6 +19,7 @@
 package org.eclipse.ecsp.uidam.usermanagement.notification.strategy;
 
 import org.eclipse.ecsp.uidam.usermanagement.user.request.dto.NotificationNonRegisteredUser;
+import java.util.List;
 
 /**
  * interface for notification strategy, impl should be unique notification channel.
@@ -26,5 +27,19 @@ import org.eclipse.ecsp.uidam.usermanagement.user.request.dto.NotificationNonReg
 public interface NotificationStrategy {
     boolean send(NotificationNonRegisteredUser request);
 
+    /**
+     * Sends several notifications of the channel, one after the other unless the channel supports batching.
+     *
+     * @param requests notifications to be sent
+     * @return true if all notifications were sent
+     */
+    default boolean send(List<NotificationNonRegisteredUser> requests) {
+        boolean isSent = true;
+        for (NotificationNonRegisteredUser request : requests) {
+            isSent &= send(request);
+        }
+        return isSent;
+    }
+
     String getStrategyName();
 }
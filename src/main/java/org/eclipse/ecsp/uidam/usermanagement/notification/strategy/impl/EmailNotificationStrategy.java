@@ -35,6 +35,7 @@ import org.eclipse.ecsp.uidam.usermanagement.user.request.dto.NotificationNonReg
 import org.springframework.stereotype.Component;
 import org.springframework.util.CollectionUtils;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -74,7 +75,27 @@ public class EmailNotificationStrategy implements NotificationStrategy {
 
     @Override
     public boolean send(final NotificationNonRegisteredUser request) {
-        //perform basic validation, if required and call provider
+        parseTemplates(request);
+        // Get tenant-specific provider and call notification provider
+        EmailNotificationProvider provider = this.emailNotificationProviderFactory.getProvider();
+        return provider.sendEmailNotification(request);
+    }
+
+    /**
+     * Parses the templates of all the notifications and hands them to the provider at once, so that a provider in
+     * batch mode can merge their recipients.
+     *
+     * @param requests notifications to be sent
+     * @return true if all notifications were sent
+     */
+    @Override
+    public boolean send(final List<NotificationNonRegisteredUser> requests) {
+        requests.forEach(this::parseTemplates);
+        return this.emailNotificationProviderFactory.getProvider().sendEmailNotifications(requests);
+    }
+
+    private void parseTemplates(final NotificationNonRegisteredUser request) {
+        //perform basic validation, if required
         Objects.requireNonNull(request, "Notification Request should not be null");
         Objects.requireNonNull(request.getRecipients(),
                 "recipient list should not be null, at least one recipient should be provided");
@@ -121,9 +142,6 @@ public class EmailNotificationStrategy implements NotificationStrategy {
                         request.getNotificationId()));
             }
         });
-        // Get tenant-specific provider and call notification provider
-        EmailNotificationProvider provider = this.emailNotificationProviderFactory.getProvider();
-        return provider.sendEmailNotification(request);
     }
 
     @Override
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2023 - 2024 Harman International
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package org.eclipse.ecsp.uidam.usermanagement.repository;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.eclipse.ecsp.uidam.usermanagement.entity.NotificationOutboxEntity;
+import org.eclipse.ecsp.uidam.usermanagement.enums.NotificationOutboxStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repository to do crud on the notification outbox.
+ */
+@Repository
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutboxEntity, BigInteger> {
+
+    /**
+     * Locks the due notifications with the given status, oldest first. Rows locked by another replica are skipped,
+     * so that concurrent workers claim disjoint batches.
+     *
+     * @param status   delivery status
+     * @param now      current time
+     * @param pageable maximum number of rows to lock
+     * @return locked notifications
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT o FROM NotificationOutboxEntity o WHERE o.status = :status AND o.nextAttemptAt <= :now"
+        + " ORDER BY o.nextAttemptAt")
+    List<NotificationOutboxEntity> findDueForUpdate(@Param("status") NotificationOutboxStatus status,
+                                                    @Param("now") Instant now, Pageable pageable);
+}
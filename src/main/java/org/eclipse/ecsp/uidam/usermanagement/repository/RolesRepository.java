@@ -20,6 +20,7 @@ package org.eclipse.ecsp.uidam.usermanagement.repository;
 
 import org.eclipse.ecsp.uidam.usermanagement.entity.RolesEntity;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -94,12 +95,24 @@ public interface RolesRepository extends JpaRepository<RolesEntity, BigInteger>,
      */
     List<RolesEntity> findByIsDeleted(Pageable pageable, boolean deleted);
 
+    /**
+     * Fetches all RolesEntity objects with the given deleted flag together with their scopes.
+     *
+     * @param deleted Flag based fetch, if role is deleted or not.
+     * @return The list of RolesEntity objects.
+     */
+    @EntityGraph(attributePaths = {"roleScopeMapping", "roleScopeMapping.scope"})
+    List<RolesEntity> findAllByIsDeleted(boolean deleted);
+
     /**
      * Fetches a list of RolesEntity objects where the id attribute matches any of the provided parameters.
+     * The role to scope mappings are fetched in the same query so that callers resolving a whole page of
+     * users do not trigger one lazy load per role.
      *
      * @param roleIds The set of role ids.
      * @return The list of RolesEntity objects.
      */
+    @EntityGraph(attributePaths = {"roleScopeMapping", "roleScopeMapping.scope"})
     List<RolesEntity> findByIdIn(Set<BigInteger> roleIds);
 
     /**
@@ -21,8 +21,11 @@ package org.eclipse.ecsp.uidam.usermanagement.repository;
 import org.eclipse.ecsp.uidam.usermanagement.entity.UserAttributeValueEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.math.BigInteger;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository to query additional attribute data from db.
@@ -34,4 +37,9 @@ public interface UserAttributeValueRepository extends JpaRepository<UserAttribut
     List<UserAttributeValueEntity> findAllByUserIdAndAttributeIdIn(BigInteger userId, List<BigInteger> attributeIds);
 
     UserAttributeValueEntity findByUserIdAndAttributeId(BigInteger userId, BigInteger attributeId);
+
+    @Query("SELECT v.value FROM UserAttributeValueEntity v, UserAttributeEntity a "
+        + "WHERE v.attributeId = a.id AND a.name = :attributeName AND v.userId = :userId")
+    Optional<String> findValueByUserIdAndAttributeName(@Param("userId") BigInteger userId,
+                                                       @Param("attributeName") String attributeName);
 }
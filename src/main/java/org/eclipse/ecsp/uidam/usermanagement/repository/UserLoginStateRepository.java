@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2023 - 2024 Harman International
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package org.eclipse.ecsp.uidam.usermanagement.repository;
+
+import org.eclipse.ecsp.uidam.usermanagement.entity.UserLoginStateEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.math.BigInteger;
+import java.time.Instant;
+
+/**
+ * Repository to do crud on the user login state. Login attempts are applied with single update statements so that
+ * concurrent attempts of the same user are not lost.
+ */
+@Repository
+public interface UserLoginStateRepository extends JpaRepository<UserLoginStateEntity, BigInteger> {
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE UserLoginStateEntity s SET s.consecutiveFailures = s.consecutiveFailures + 1,"
+        + " s.lastFailureAt = :failedAt WHERE s.userId = :userId")
+    int recordLoginFailure(@Param("userId") BigInteger userId, @Param("failedAt") Instant failedAt);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE UserLoginStateEntity s SET s.consecutiveFailures = 0,"
+        + " s.lastSuccessAt = :succeededAt WHERE s.userId = :userId")
+    int recordLoginSuccess(@Param("userId") BigInteger userId, @Param("succeededAt") Instant succeededAt);
+
+    /**
+     * Inserts the login state of a user unless a row already exists. A row seeded concurrently by another login
+     * attempt of the same user is left untouched and 0 is returned, so that the caller applies its attempt with an
+     * update instead. Unlike a failed insert, a skipped one does not abort the surrounding transaction.
+     *
+     * @param userId              user id
+     * @param consecutiveFailures failed login attempts since the last successful login
+     * @param lastSuccessAt       time of the last successful login
+     * @param lastFailureAt       time of the last failed login
+     * @return number of inserted rows
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "INSERT INTO {h-schema}user_login_state (USER_ID, CONSECUTIVE_FAILURES, LAST_SUCCESS_AT,"
+        + " LAST_FAILURE_AT) VALUES (:userId, :consecutiveFailures, :lastSuccessAt, :lastFailureAt)"
+        + " ON CONFLICT (USER_ID) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("userId") BigInteger userId, @Param("consecutiveFailures") int consecutiveFailures,
+                       @Param("lastSuccessAt") Instant lastSuccessAt, @Param("lastFailureAt") Instant lastFailureAt);
+}
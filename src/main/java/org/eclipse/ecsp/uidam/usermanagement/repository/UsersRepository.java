@@ -20,6 +20,7 @@ package org.eclipse.ecsp.uidam.usermanagement.repository;
 
 import org.eclipse.ecsp.uidam.usermanagement.entity.UserEntity;
 import org.eclipse.ecsp.uidam.usermanagement.enums.UserStatus;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
@@ -33,12 +34,30 @@ import java.util.UUID;
  * Repository to perform user CRUD operations.
  */
 public interface UsersRepository extends JpaRepository<UserEntity, BigInteger>, JpaSpecificationExecutor<UserEntity> {
+    /**
+     * Find a user by id with the full profile fetch plan, since the callers build the complete user response.
+     *
+     * @param userId the user id
+     * @param userStatus the user status to be excluded
+     * @return the user, or null if not found
+     */
+    @EntityGraph(UserEntity.FULL_PROFILE_GRAPH)
     UserEntity findByIdAndStatusNot(BigInteger userId, UserStatus userStatus);
 
     UserEntity findByIdAndStatus(BigInteger userId, UserStatus userStatus);
 
+    /**
+     * Find a user by username ignoring case. The account role mappings are fetched in the same statement since
+     * every caller, including the login path, resolves the roles of the user.
+     *
+     * @param userName the username
+     * @param userStatus the user status to be excluded
+     * @return the user, or null if not found
+     */
+    @EntityGraph(UserEntity.LOGIN_CONTEXT_GRAPH)
     UserEntity findByUserNameIgnoreCaseAndStatusNot(String userName, UserStatus userStatus);
 
+    @EntityGraph(UserEntity.FULL_PROFILE_GRAPH)
     List<UserEntity> findAllByIdInAndStatusNot(Set<BigInteger> ids, UserStatus userStatus);
 
     @Query("SELECT count(1) > 0 from UserEntity user "
@@ -58,6 +77,7 @@ public interface UsersRepository extends JpaRepository<UserEntity, BigInteger>,
      * @param lockTimestamp the timestamp to compare against
      * @return list of blocked users eligible for unlock based on temporary lock timestamp
      */
+    @EntityGraph(UserEntity.STATUS_ONLY_GRAPH)
     @Query("SELECT u FROM UserEntity u WHERE u.status = :status " 
         + "AND u.temporaryLockTimestamp IS NOT NULL " 
         + "AND u.temporaryLockTimestamp <= :lockTimestamp")
@@ -0,0 +1,266 @@
+/*
+ * Copyright (c) 2023 - 2024 Harman International
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package org.eclipse.ecsp.uidam.usermanagement.scheduler;
+
+import org.eclipse.ecsp.sql.multitenancy.TenantContext;
+import org.eclipse.ecsp.uidam.common.metrics.MetricInfo;
+import org.eclipse.ecsp.uidam.common.metrics.UidamMetrics;
+import org.eclipse.ecsp.uidam.common.metrics.UidamMetricsService;
+import org.eclipse.ecsp.uidam.usermanagement.config.NotificationOutboxProperties;
+import org.eclipse.ecsp.uidam.usermanagement.entity.NotificationOutboxEntity;
+import org.eclipse.ecsp.uidam.usermanagement.service.EmailNotificationService;
+import org.eclipse.ecsp.uidam.usermanagement.service.NotificationOutboxService;
+import org.eclipse.ecsp.uidam.usermanagement.user.request.dto.NonRegisteredUserData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Scheduler delivering the notifications of the notification outbox.
+ *
+ * <p>Every polling cycle claims the due notifications of each tenant and delivers them on virtual threads, with the
+ * number of deliveries in flight capped by the configured concurrency. The deliveries of a tenant are limited by a
+ * token bucket refilled at the configured rate, so that a burst of notifications does not overload the mail relay
+ * of the tenant. When the email provider of the tenant sends in batches, notifications sharing a notification id
+ * are delivered together, one provider request per batch.</p>
+ */
+@Component
+@ConditionalOnProperty(value = "notification.outbox.enabled", havingValue = "true")
+public class NotificationOutboxWorker {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NotificationOutboxWorker.class);
+    private static final MetricInfo RATE_LIMITED_METRIC = MetricInfo.builder()
+        .uidamMetrics(UidamMetrics.NOTIFICATION_OUTBOX_RATE_LIMITED).build();
+
+    private final NotificationOutboxService notificationOutboxService;
+    private final EmailNotificationService emailNotificationService;
+    private final NotificationOutboxProperties properties;
+    private final UidamMetricsService uidamMetricsService;
+    private final ConfigurableEnvironment environment;
+    private final Map<String, TokenBucket> rateLimits = new ConcurrentHashMap<>();
+
+    @Value("${tenant.multitenant.enabled:false}")
+    private boolean multiTenantEnabled;
+
+    @Value("${tenant.default:ecsp}")
+    private String defaultTenant;
+
+    /**
+     * Constructor for dependency injection.
+     */
+    public NotificationOutboxWorker(NotificationOutboxService notificationOutboxService,
+                                    EmailNotificationService emailNotificationService,
+                                    NotificationOutboxProperties properties,
+                                    UidamMetricsService uidamMetricsService,
+                                    ConfigurableEnvironment environment) {
+        this.notificationOutboxService = notificationOutboxService;
+        this.emailNotificationService = emailNotificationService;
+        this.properties = properties;
+        this.uidamMetricsService = uidamMetricsService;
+        this.environment = environment;
+    }
+
+    /**
+     * Scheduled method to deliver the due notifications.
+     * Processes all tenants if multi-tenancy is enabled, otherwise only default tenant.
+     */
+    @Scheduled(fixedDelayString = "${notification.outbox.poll-interval:5s}")
+    public void deliverDueNotifications() {
+        int totalSent = 0;
+        try {
+            if (multiTenantEnabled) {
+                String tenantIdsProperty = environment.getProperty("tenant.ids", "");
+                Set<String> tenantIds = tenantIdsProperty.isEmpty()
+                    ? Set.of()
+                    : Set.of(tenantIdsProperty.split(","));
+                for (String tenantId : tenantIds) {
+                    try {
+                        TenantContext.setCurrentTenant(tenantId);
+                        totalSent += deliverTenantNotifications(tenantId);
+                    } catch (Exception e) {
+                        LOGGER.error("Error delivering notifications of tenant: {}. Continuing with next tenant.",
+                            tenantId, e);
+                    } finally {
+                        TenantContext.clear();
+                    }
+                }
+            } else {
+                TenantContext.setCurrentTenant(defaultTenant);
+                try {
+                    totalSent = deliverTenantNotifications(defaultTenant);
+                } finally {
+                    TenantContext.clear();
+                }
+            }
+            if (totalSent > 0) {
+                LOGGER.info("Delivered {} notifications from the notification outbox", totalSent);
+            }
+        } catch (Exception e) {
+            LOGGER.error("Error in scheduled task: Deliver outbox notifications", e);
+        }
+    }
+
+    /**
+     * Claims and delivers the due notifications of a tenant, as far as the rate limit of the tenant allows.
+     *
+     * @param tenantId the tenant ID to process
+     * @return number of notifications delivered
+     */
+    protected int deliverTenantNotifications(String tenantId) {
+        TokenBucket rateLimit = rateLimits.computeIfAbsent(tenantId,
+            id -> new TokenBucket(properties.getRatePerSecond(), properties.getBatchSize()));
+        int permits = rateLimit.tryAcquire(properties.getBatchSize());
+        if (permits == 0) {
+            LOGGER.debug("Notification rate limit of tenant: {} exhausted", tenantId);
+            uidamMetricsService.incrementCounter(RATE_LIMITED_METRIC);
+            return 0;
+        }
+        List<NotificationOutboxEntity> notifications = notificationOutboxService.claimDue(permits);
+        rateLimit.release(permits - notifications.size());
+        if (notifications.isEmpty()) {
+            return 0;
+        }
+        LOGGER.debug("Delivering {} notifications of tenant: {}", notifications.size(), tenantId);
+
+        Semaphore concurrency = new Semaphore(Math.max(1, properties.getConcurrency()));
+        AtomicInteger sent = new AtomicInteger();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (List<NotificationOutboxEntity> batch : toBatches(notifications)) {
+                executor.execute(() -> sent.addAndGet(deliver(tenantId, batch, concurrency)));
+            }
+        }
+        return sent.get();
+    }
+
+    /**
+     * Groups the notifications into the batches the email provider of the tenant sends in one request, so that the
+     * outcome of a request applies to exactly the notifications it carried. Providers without batching get one
+     * notification per batch.
+     */
+    private List<List<NotificationOutboxEntity>> toBatches(List<NotificationOutboxEntity> notifications) {
+        int batchSize = emailNotificationService.getBatchSize();
+        if (batchSize <= 1) {
+            return notifications.stream().map(List::of).toList();
+        }
+        Map<String, List<NotificationOutboxEntity>> notificationsById = new LinkedHashMap<>();
+        notifications.forEach(notification -> notificationsById
+            .computeIfAbsent(notification.getNotificationId(), id -> new ArrayList<>()).add(notification));
+        List<List<NotificationOutboxEntity>> batches = new ArrayList<>();
+        notificationsById.values().forEach(sameNotification -> {
+            for (int from = 0; from < sameNotification.size(); from += batchSize) {
+                batches.add(sameNotification.subList(from, Math.min(from + batchSize, sameNotification.size())));
+            }
+        });
+        return batches;
+    }
+
+    private int deliver(String tenantId, List<NotificationOutboxEntity> batch, Semaphore concurrency) {
+        try {
+            concurrency.acquire();
+        } catch (InterruptedException e) {
+            // The claim expires and the notifications are picked up again by a later cycle.
+            Thread.currentThread().interrupt();
+            return 0;
+        }
+        try {
+            TenantContext.setCurrentTenant(tenantId);
+            boolean sent;
+            try {
+                sent = send(batch);
+            } catch (Exception e) {
+                batch.forEach(notification -> notificationOutboxService.markFailed(notification, e));
+                return 0;
+            }
+            if (!sent) {
+                Exception notSent = new IllegalStateException("Notification was not sent to any channel");
+                batch.forEach(notification -> notificationOutboxService.markFailed(notification, notSent));
+                return 0;
+            }
+            batch.forEach(notificationOutboxService::markSent);
+            return batch.size();
+        } catch (Exception e) {
+            LOGGER.error("Error updating the delivery state of notification {} with ids {}",
+                batch.get(0).getNotificationId(), batch.stream().map(NotificationOutboxEntity::getId).toList(), e);
+            return 0;
+        } finally {
+            TenantContext.clear();
+            concurrency.release();
+        }
+    }
+
+    private boolean send(List<NotificationOutboxEntity> batch) {
+        if (batch.size() == 1) {
+            NotificationOutboxEntity notification = batch.get(0);
+            return emailNotificationService.sendNow(notification.getRecipientEmail(),
+                notification.getNotificationId(), notification.getData());
+        }
+        List<NonRegisteredUserData> recipients = batch.stream().map(notification -> {
+            NonRegisteredUserData recipient = new NonRegisteredUserData();
+            recipient.setEmail(notification.getRecipientEmail());
+            recipient.setData(notification.getData());
+            return recipient;
+        }).toList();
+        return emailNotificationService.sendNow(batch.get(0).getNotificationId(), recipients);
+    }
+
+    /**
+     * Token bucket holding up to capacity permits, refilled continuously at the given rate.
+     */
+    private static final class TokenBucket {
+        private final double permitsPerNano;
+        private final double capacity;
+        private double permits;
+        private long refilledAt;
+
+        TokenBucket(double permitsPerSecond, int capacity) {
+            this.permitsPerNano = Math.max(0, permitsPerSecond) / TimeUnit.SECONDS.toNanos(1);
+            this.capacity = Math.max(1, capacity);
+            this.permits = this.capacity;
+            this.refilledAt = System.nanoTime();
+        }
+
+        synchronized int tryAcquire(int requested) {
+            long now = System.nanoTime();
+            permits = Math.min(capacity, permits + (now - refilledAt) * permitsPerNano);
+            refilledAt = now;
+            int granted = (int) Math.min(requested, Math.floor(permits));
+            permits -= granted;
+            return granted;
+        }
+
+        synchronized void release(int unused) {
+            permits = Math.min(capacity, permits + unused);
+        }
+    }
+}
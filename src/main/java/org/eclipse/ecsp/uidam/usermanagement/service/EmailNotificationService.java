@@ -22,10 +22,10 @@ import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants;
 import org.eclipse.ecsp.uidam.usermanagement.notification.NotificationManager;
+import org.eclipse.ecsp.uidam.usermanagement.notification.providers.email.EmailNotificationProviderFactory;
 import org.eclipse.ecsp.uidam.usermanagement.user.request.dto.NonRegisteredUserData;
 import org.eclipse.ecsp.uidam.usermanagement.user.request.dto.NotificationNonRegisteredUser;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import java.util.List;
 import java.util.Map;
@@ -42,24 +42,77 @@ public class EmailNotificationService {
     @Autowired
     private NotificationManager notificationManager;
 
+    @Autowired
+    private NotificationOutboxService notificationOutboxService;
+
+    @Autowired
+    private EmailNotificationProviderFactory emailNotificationProviderFactory;
+
     /**
-     * Method to send email notification to the users.
+     * Method to send email notification to the users. When the notification outbox is enabled the notification is
+     * written to the outbox in the transaction of the caller, which is then required, and delivered in the
+     * background. A failed outbox write propagates so that the state change of the caller is rolled back with it.
      *
      * @param userDetails userDetails map with user information as email.
      * @param notificationId notificationId for which the email to be sent
      * @param notificationData the placeholders of the notification payload
      */
-    @Async
     public void sendNotification(Map<String, String> userDetails,
                                  String notificationId,
                                  Map<String, Object> notificationData) {
+        String email = userDetails.get(ApiConstants.EMAIL_ADDRESS);
+        if (notificationOutboxService != null && notificationOutboxService.isEnabled()) {
+            notificationOutboxService.enqueue(notificationId, email, notificationData);
+            return;
+        }
+        sendNow(email, notificationId, notificationData);
+    }
+
+    /**
+     * Method to send email notification to a user on the calling thread.
+     *
+     * @param email email address of the recipient
+     * @param notificationId notificationId for which the email to be sent
+     * @param notificationData the placeholders of the notification payload
+     * @return true if the notification was sent to at least one channel
+     */
+    public boolean sendNow(String email, String notificationId, Map<String, Object> notificationData) {
         NotificationNonRegisteredUser requestData = new NotificationNonRegisteredUser();
         requestData.setNotificationId(notificationId);
         requestData.setVersion(NOTIFICATION_VERSION);
         NonRegisteredUserData recipientInfo = new NonRegisteredUserData();
-        recipientInfo.setEmail(userDetails.get(ApiConstants.EMAIL_ADDRESS));
+        recipientInfo.setEmail(email);
         recipientInfo.setData(notificationData);
         requestData.setRecipients(List.of(recipientInfo));
-        notificationManager.sendNotification(requestData);
+        return notificationManager.sendNotification(requestData);
+    }
+
+    /**
+     * Method to send the same email notification to several users on the calling thread. Providers in batch mode
+     * send the recipients in as few requests as their batch size allows.
+     *
+     * @param notificationId notificationId for which the emails to be sent
+     * @param recipients email address and placeholders of each recipient
+     * @return true if all the notifications were sent to at least one channel
+     */
+    public boolean sendNow(String notificationId, List<NonRegisteredUserData> recipients) {
+        List<NotificationNonRegisteredUser> requests = recipients.stream().map(recipient -> {
+            NotificationNonRegisteredUser requestData = new NotificationNonRegisteredUser();
+            requestData.setNotificationId(notificationId);
+            requestData.setVersion(NOTIFICATION_VERSION);
+            requestData.setRecipients(List.of(recipient));
+            return requestData;
+        }).toList();
+        return notificationManager.sendNotifications(requests);
+    }
+
+    /**
+     * Returns the number of recipients of one notification the email provider of the current tenant sends in one
+     * request.
+     *
+     * @return recipients per request, 1 if the provider does not batch
+     */
+    public int getBatchSize() {
+        return emailNotificationProviderFactory.getProvider().getBatchSize();
     }
 }
@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2023 - 2024 Harman International
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package org.eclipse.ecsp.uidam.usermanagement.service;
+
+import org.eclipse.ecsp.uidam.common.metrics.MetricInfo;
+import org.eclipse.ecsp.uidam.common.metrics.UidamMetrics;
+import org.eclipse.ecsp.uidam.common.metrics.UidamMetricsService;
+import org.eclipse.ecsp.uidam.usermanagement.config.NotificationOutboxProperties;
+import org.eclipse.ecsp.uidam.usermanagement.entity.NotificationOutboxEntity;
+import org.eclipse.ecsp.uidam.usermanagement.enums.NotificationOutboxStatus;
+import org.eclipse.ecsp.uidam.usermanagement.repository.NotificationOutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps track of the notifications in the notification outbox.
+ *
+ * <p>Notifications are enqueued in the transaction of the caller, so that they are only delivered once the change
+ * that triggered them is committed. Due notifications are claimed for a limited time, failed deliveries are retried
+ * with an exponential backoff and given up after the configured number of attempts.</p>
+ */
+@Service
+public class NotificationOutboxService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NotificationOutboxService.class);
+    private static final int MAX_ERROR_LENGTH = 1024;
+    private static final int MAX_BACKOFF_SHIFT = 30;
+    private static final MetricInfo QUEUED_METRIC = MetricInfo.builder()
+        .uidamMetrics(UidamMetrics.NOTIFICATION_OUTBOX_QUEUED).build();
+    private static final MetricInfo SENT_METRIC = MetricInfo.builder()
+        .uidamMetrics(UidamMetrics.NOTIFICATION_OUTBOX_SENT).build();
+    private static final MetricInfo RETRIED_METRIC = MetricInfo.builder()
+        .uidamMetrics(UidamMetrics.NOTIFICATION_OUTBOX_RETRIED).build();
+    private static final MetricInfo FAILED_METRIC = MetricInfo.builder()
+        .uidamMetrics(UidamMetrics.NOTIFICATION_OUTBOX_FAILED).build();
+    private static final MetricInfo DELIVERY_DELAY_METRIC = MetricInfo.builder()
+        .uidamMetrics(UidamMetrics.NOTIFICATION_OUTBOX_DELIVERY_DELAY).build();
+
+    private final NotificationOutboxRepository notificationOutboxRepository;
+    private final NotificationOutboxProperties properties;
+    private final UidamMetricsService uidamMetricsService;
+    private final Clock clock;
+
+    /**
+     * Constructor for NotificationOutboxService.
+     *
+     * @param notificationOutboxRepository repository of the outbox
+     * @param properties                   notification outbox settings
+     * @param uidamMetricsService          service used to publish the delivery state metrics
+     */
+    public NotificationOutboxService(NotificationOutboxRepository notificationOutboxRepository,
+                                     NotificationOutboxProperties properties,
+                                     UidamMetricsService uidamMetricsService) {
+        this(notificationOutboxRepository, properties, uidamMetricsService, Clock.systemUTC());
+    }
+
+    NotificationOutboxService(NotificationOutboxRepository notificationOutboxRepository,
+                              NotificationOutboxProperties properties, UidamMetricsService uidamMetricsService,
+                              Clock clock) {
+        this.notificationOutboxRepository = notificationOutboxRepository;
+        this.properties = properties;
+        this.uidamMetricsService = uidamMetricsService;
+        this.clock = clock;
+    }
+
+    /**
+     * Whether notifications are delivered through the outbox.
+     *
+     * @return true if the outbox is enabled
+     */
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Writes a notification to the outbox of the current tenant in the transaction of the caller, so that the
+     * notification is delivered only if the state change it reports is committed.
+     *
+     * @param notificationId   id of the notification config
+     * @param recipientEmail   email address of the recipient
+     * @param notificationData placeholders of the notification payload
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(String notificationId, String recipientEmail, Map<String, Object> notificationData) {
+        NotificationOutboxEntity notification = notificationOutboxRepository.save(
+            new NotificationOutboxEntity(notificationId, recipientEmail, notificationData, clock.instant()));
+        LOGGER.debug("Notification {} queued with id {}", notificationId, notification.getId());
+        uidamMetricsService.incrementCounter(QUEUED_METRIC);
+    }
+
+    /**
+     * Claims up to the given number of due notifications of the current tenant. Claimed notifications are not due
+     * again before the claim timeout, so that a notification is delivered by a single worker at a time.
+     *
+     * @param limit maximum number of notifications to claim
+     * @return claimed notifications, oldest first
+     */
+    @Transactional
+    public List<NotificationOutboxEntity> claimDue(int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        Instant now = clock.instant();
+        List<NotificationOutboxEntity> notifications = notificationOutboxRepository.findDueForUpdate(
+            NotificationOutboxStatus.PENDING, now, PageRequest.of(0, limit));
+        Instant claimedUntil = now.plus(properties.getClaimTimeout());
+        for (NotificationOutboxEntity notification : notifications) {
+            notification.setNextAttemptAt(claimedUntil);
+            notification.setUpdatedAt(now);
+        }
+        return notificationOutboxRepository.saveAll(notifications);
+    }
+
+    /**
+     * Marks a claimed notification as delivered.
+     *
+     * @param notification delivered notification
+     */
+    @Transactional
+    public void markSent(NotificationOutboxEntity notification) {
+        Instant now = clock.instant();
+        notificationOutboxRepository.findById(notification.getId()).ifPresent(current -> {
+            current.setStatus(NotificationOutboxStatus.SENT);
+            current.setAttempts(current.getAttempts() + 1);
+            current.setLastError(null);
+            current.setUpdatedAt(now);
+            notificationOutboxRepository.save(current);
+        });
+        uidamMetricsService.incrementCounter(SENT_METRIC);
+        uidamMetricsService.recordTime(DELIVERY_DELAY_METRIC, Duration.between(notification.getCreatedAt(), now));
+    }
+
+    /**
+     * Records a failed delivery attempt. The notification is retried after the backoff delay, or marked as failed
+     * once the maximum number of attempts is reached.
+     *
+     * @param notification notification that could not be delivered
+     * @param error        cause of the failure
+     */
+    @Transactional
+    public void markFailed(NotificationOutboxEntity notification, Exception error) {
+        Instant now = clock.instant();
+        notificationOutboxRepository.findById(notification.getId()).ifPresent(current -> {
+            int attempts = current.getAttempts() + 1;
+            current.setAttempts(attempts);
+            current.setLastError(truncate(error.getMessage()));
+            current.setUpdatedAt(now);
+            if (attempts >= properties.getMaxAttempts()) {
+                current.setStatus(NotificationOutboxStatus.FAILED);
+                LOGGER.error("Notification {} with id {} failed after {} attempts", current.getNotificationId(),
+                    current.getId(), attempts, error);
+                uidamMetricsService.incrementCounter(FAILED_METRIC);
+            } else {
+                current.setNextAttemptAt(now.plus(backoff(attempts)));
+                LOGGER.warn("Notification {} with id {} failed on attempt {}, retrying at {}: {}",
+                    current.getNotificationId(), current.getId(), attempts, current.getNextAttemptAt(),
+                    error.getMessage());
+                uidamMetricsService.incrementCounter(RETRIED_METRIC);
+            }
+            notificationOutboxRepository.save(current);
+        });
+    }
+
+    /**
+     * Delay before the next attempt after the given number of failed attempts.
+     *
+     * @param attempts failed attempts so far
+     * @return backoff delay, at most the configured maximum backoff
+     */
+    Duration backoff(int attempts) {
+        int shift = Math.min(Math.max(attempts - 1, 0), MAX_BACKOFF_SHIFT);
+        Duration delay = properties.getInitialBackoff().multipliedBy(1L << shift);
+        return delay.compareTo(properties.getMaxBackoff()) > 0 ? properties.getMaxBackoff() : delay;
+    }
+
+    private static String truncate(String message) {
+        if (message == null || message.length() <= MAX_ERROR_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
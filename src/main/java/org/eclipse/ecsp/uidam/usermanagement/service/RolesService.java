@@ -25,6 +25,7 @@ import org.eclipse.ecsp.uidam.usermanagement.auth.request.dto.RolePatch;
 import org.eclipse.ecsp.uidam.usermanagement.auth.request.dto.RolesCreateRequestDto;
 import org.eclipse.ecsp.uidam.usermanagement.auth.response.dto.RoleCreateResponse;
 import org.eclipse.ecsp.uidam.usermanagement.auth.response.dto.Scope;
+import org.eclipse.ecsp.uidam.usermanagement.cache.RoleScopeCatalogCache;
 import org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants;
 import org.eclipse.ecsp.uidam.usermanagement.constants.LocalizationKey;
 import org.eclipse.ecsp.uidam.usermanagement.constants.LoggerMessages;
@@ -56,6 +57,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.USER;
@@ -79,6 +81,9 @@ public class RolesService {
     @Autowired
     private TenantConfigurationService tenantConfigurationService;
 
+    @Autowired
+    private RoleScopeCatalogCache roleScopeCatalogCache;
+
     /**
      * method for create role.
      *
@@ -128,6 +133,7 @@ public class RolesService {
             throw new RecordAlreadyExistsException(ApiConstants.NAME);
         } else {
             roleCreateResult = rolesRepository.save(roleEntity);
+            roleScopeCatalogCache.invalidate();
         }
         // convert entity result to pojo
         RoleCreateResponse role = RoleMapper.MAPPER.mapToRole(roleCreateResult);
@@ -162,7 +168,10 @@ public class RolesService {
      * @throws EntityNotFoundException thrown when role not found in system
      */
     public RoleListRepresentation getRoleById(Set<BigInteger> roleIds) throws EntityNotFoundException {
-
+        Optional<List<RoleCreateResponse>> cachedRoles = roleScopeCatalogCache.findRolesByIds(roleIds);
+        if (cachedRoles.isPresent()) {
+            return toRepresentation(new HashSet<>(cachedRoles.get()), LocalizationKey.SUCCESS_KEY);
+        }
         List<RolesEntity> roleEntity = rolesRepository.findByIdIn(roleIds);
         if (roleEntity == null || roleEntity.isEmpty()) {
             logger.error(LoggerMessages.ROLE_NOT_EXISTS_ID, roleIds);
@@ -183,7 +192,10 @@ public class RolesService {
                 return role;
             })
             .collect(Collectors.toSet());
+        return toRepresentation(roleSet, message);
+    }
 
+    private RoleListRepresentation toRepresentation(Set<RoleCreateResponse> roleSet, String message) {
         List<ResponseMessage> responseMsgList = Collections.singletonList(new ResponseMessage(message));
 
         RoleListRepresentation response = new RoleListRepresentation();
@@ -203,6 +215,13 @@ public class RolesService {
      */
     public RoleListRepresentation filterRoles(Set<String> roleNames, Integer pageNumber, Integer pageSize,
             boolean deleted) {
+        if (!deleted) {
+            Optional<List<RoleCreateResponse>> cachedRoles = roleScopeCatalogCache.findRolesByNames(roleNames,
+                pageNumber, pageSize);
+            if (cachedRoles.isPresent()) {
+                return toRepresentation(new HashSet<>(cachedRoles.get()), LocalizationKey.SUCCESS_KEY);
+            }
+        }
         Pageable pageable = PageRequest.of(pageNumber, pageSize);
 
         List<RolesEntity> rolesEntities;
@@ -275,6 +294,7 @@ public class RolesService {
         rolesEntity.setRoleScopeMapping(list);
         rolesEntity.setUpdatedBy(userId);
         RolesEntity updateResult = rolesRepository.save(rolesEntity);
+        roleScopeCatalogCache.invalidate();
 
         RoleCreateResponse role = RoleMapper.MAPPER.mapToRole(updateResult);
         return prepareResponse(Arrays.asList(role), LocalizationKey.SUCCESS_KEY);
@@ -317,6 +337,7 @@ public class RolesService {
         rolesEntity.setDeleted(true);
         rolesEntity.setUpdatedBy(userId);
         RolesEntity updateResult = rolesRepository.save(rolesEntity);
+        roleScopeCatalogCache.invalidate();
 
         RoleCreateResponse role = RoleMapper.MAPPER.mapToRole(updateResult);
         logger.debug("## deleteRole - END");
@@ -23,6 +23,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.eclipse.ecsp.uidam.usermanagement.auth.request.dto.ScopeDto;
 import org.eclipse.ecsp.uidam.usermanagement.auth.request.dto.ScopePatch;
 import org.eclipse.ecsp.uidam.usermanagement.auth.response.dto.Scope;
+import org.eclipse.ecsp.uidam.usermanagement.cache.RoleScopeCatalogCache;
 import org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants;
 import org.eclipse.ecsp.uidam.usermanagement.constants.LocalizationKey;
 import org.eclipse.ecsp.uidam.usermanagement.constants.LoggerMessages;
@@ -54,6 +55,8 @@ public class ScopesService {
     private static Logger logger = LoggerFactory.getLogger(ScopesService.class);
     @Autowired
     private ScopesRepository scopesRepository;
+    @Autowired
+    private RoleScopeCatalogCache roleScopeCatalogCache;
 
     public boolean validatePermissions(String scopes) {
         List<String> adminScopes = asList(scopes.split(ApiConstants.COMMA));
@@ -170,6 +173,7 @@ public class ScopesService {
 
         scopeEntity.setUpdateBy(userId);
         ScopesEntity updateResult = scopesRepository.save(scopeEntity);
+        roleScopeCatalogCache.invalidate();
 
         Scope scope = ScopeMapper.MAPPER.mapToScope(updateResult);
         return prepareResponse(Arrays.asList(scope), LocalizationKey.SUCCESS_KEY);
@@ -198,6 +202,7 @@ public class ScopesService {
         }
 
         scopesRepository.delete(scopeEntity);
+        roleScopeCatalogCache.invalidate();
         return prepareResponse(null, LocalizationKey.SUCCESS_KEY);
     }
 
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2023 - 2024 Harman International
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+
+package org.eclipse.ecsp.uidam.usermanagement.service;
+
+import org.eclipse.ecsp.sql.multitenancy.TenantContext;
+import org.eclipse.ecsp.uidam.usermanagement.authorization.dto.BaseResponseFromAuthorization;
+import org.eclipse.ecsp.uidam.usermanagement.exception.ApplicationRuntimeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import static org.springframework.http.HttpStatus.OK;
+
+/**
+ * Revokes the tokens of several users against the authorization server concurrently.
+ *
+ * <p>Each revocation runs on its own virtual thread with the tenant of the caller in context, and the number of
+ * revocations in flight is capped by the configured concurrency.</p>
+ */
+@Component
+public class TokenRevocationDispatcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TokenRevocationDispatcher.class);
+
+    private final AuthorizationServerClient authorizationServerClient;
+    private final int concurrency;
+
+    /**
+     * Constructor for TokenRevocationDispatcher.
+     *
+     * @param authorizationServerClient client used to revoke the tokens of a user
+     * @param concurrency               maximum number of revocations in flight
+     */
+    public TokenRevocationDispatcher(AuthorizationServerClient authorizationServerClient,
+                                     @Value("${token.revocation.concurrency:16}") int concurrency) {
+        this.authorizationServerClient = authorizationServerClient;
+        this.concurrency = Math.max(1, concurrency);
+    }
+
+    /**
+     * Revokes the tokens of the given users.
+     *
+     * @param authorization access token with RevokeToken scope
+     * @param usernames     users whose tokens are revoked
+     * @return result of the revocation per username, in the order of the given usernames
+     */
+    public Map<String, RevocationResult> revokeTokens(String authorization, Collection<String> usernames) {
+        Set<String> distinctUsernames = new LinkedHashSet<>(usernames);
+        Map<String, RevocationResult> results = new LinkedHashMap<>();
+        if (distinctUsernames.size() == 1) {
+            String username = distinctUsernames.iterator().next();
+            results.put(username, revoke(authorization, username));
+            return results;
+        }
+
+        String tenantId = TenantContext.getCurrentTenant();
+        Semaphore permits = new Semaphore(concurrency);
+        Map<String, Future<RevocationResult>> revocations = new LinkedHashMap<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (String username : distinctUsernames) {
+                revocations.put(username, executor.submit(() -> revoke(tenantId, authorization, username, permits)));
+            }
+            revocations.forEach((username, revocation) -> results.put(username, await(username, revocation)));
+        }
+        return results;
+    }
+
+    private RevocationResult revoke(String tenantId, String authorization, String username, Semaphore permits)
+            throws InterruptedException {
+        permits.acquire();
+        try {
+            if (tenantId != null) {
+                TenantContext.setCurrentTenant(tenantId);
+            }
+            return revoke(authorization, username);
+        } finally {
+            TenantContext.clear();
+            permits.release();
+        }
+    }
+
+    private RevocationResult revoke(String authorization, String username) {
+        try {
+            BaseResponseFromAuthorization response = authorizationServerClient.revokeTokenByAdmin(authorization,
+                username);
+            HttpStatus httpStatus = response != null ? response.getHttpStatus() : null;
+            if (OK.equals(httpStatus)) {
+                LOGGER.info("For username :{}, Revoke token process update :{}", username, response.getMessage());
+                return new RevocationResult(username, true, httpStatus, null);
+            }
+            return new RevocationResult(username, false, httpStatus, null);
+        } catch (ApplicationRuntimeException e) {
+            return new RevocationResult(username, false, e.getHttpStatus(), e);
+        } catch (RuntimeException e) {
+            return new RevocationResult(username, false, null, e);
+        }
+    }
+
+    private static RevocationResult await(String username, Future<RevocationResult> revocation) {
+        try {
+            return revocation.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new RevocationResult(username, false, null,
+                new ApplicationRuntimeException("Token revocation interrupted", e));
+        } catch (ExecutionException e) {
+            RuntimeException error = e.getCause() instanceof RuntimeException cause ? cause
+                : new ApplicationRuntimeException("Exception while revoking token", e.getCause());
+            return new RevocationResult(username, false, null, error);
+        }
+    }
+
+    /**
+     * Result of the revocation of the tokens of a user.
+     *
+     * @param username   user whose tokens were revoked
+     * @param revoked    whether the authorization server revoked the tokens
+     * @param httpStatus status returned by the authorization server, if any
+     * @param error      error raised while revoking the tokens, if any
+     */
+    public record RevocationResult(String username, boolean revoked, HttpStatus httpStatus, RuntimeException error) {
+    }
+}
@@ -40,6 +40,9 @@ import org.eclipse.ecsp.uidam.usermanagement.user.response.dto.UserEventResponse
 import org.eclipse.ecsp.uidam.usermanagement.user.response.dto.UserMetaDataResponse;
 import org.eclipse.ecsp.uidam.usermanagement.user.response.dto.UserResponseBase;
 import org.eclipse.ecsp.uidam.usermanagement.user.response.dto.UserResponseV1;
+import org.eclipse.ecsp.uidam.usermanagement.user.response.dto.UsersCursorPage;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
 import java.math.BigInteger;
 import java.net.MalformedURLException;
@@ -72,6 +75,13 @@ public interface UsersService {
             String sortBy, String sortOrder, boolean ignoreCase, SearchType searchType)
             throws ResourceNotFoundException;
 
+    UsersCursorPage getUsersByCursor(UsersGetFilterBase userGetFilter, String cursor, Integer pageSize,
+            String sortBy, String sortOrder, boolean ignoreCase, SearchType searchType)
+            throws ResourceNotFoundException;
+
+    long exportUsers(UsersGetFilterBase userGetFilter, boolean ignoreCase, SearchType searchType,
+            OutputStream outputStream) throws ResourceNotFoundException, IOException;
+
     List<UserMetaDataResponse> getUserMetaData();
 
     UserEventResponseDto addUserEvent(UserEventsDto userEventsDto, String userId);
@@ -190,6 +190,7 @@ public class EmailVerificationServiceImpl implements EmailVerificationService {
      * @throws ResourceNotFoundException exception is thrown when user is not found.
      */
     @Override
+    @Transactional
     public void resendEmailVerification(String userId) throws ResourceNotFoundException {
         if (BooleanUtils.isFalse(tenantConfigurationService.getTenantProperties().getIsEmailVerificationEnabled())) {
             LOGGER.info("Email verification is disabled, skipping user {} verification", userId);
@@ -212,6 +213,7 @@ public class EmailVerificationServiceImpl implements EmailVerificationService {
      *          email sent successfully
      */
     @Override
+    @Transactional
     public Boolean resendEmailVerification(UserResponseBase userResponse) {
         if (BooleanUtils.isFalse(tenantConfigurationService.getTenantProperties().getIsEmailVerificationEnabled())) {
             LOGGER.info("Email verification is disabled, skip sending email verification..");
@@ -20,16 +20,20 @@ package org.eclipse.ecsp.uidam.usermanagement.service.impl;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.github.fge.jsonpatch.JsonPatch;
 import com.github.fge.jsonpatch.JsonPatchException;
 import jakarta.persistence.Column;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
 import lombok.AllArgsConstructor;
-import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.eclipse.ecsp.sql.multitenancy.TenantContext;
 import org.eclipse.ecsp.uidam.accountmanagement.entity.AccountEntity;
 import org.eclipse.ecsp.uidam.accountmanagement.enums.AccountStatus;
 import org.eclipse.ecsp.uidam.accountmanagement.repository.AccountRepository;
@@ -44,11 +48,12 @@ import org.eclipse.ecsp.uidam.security.policy.repo.PasswordPolicy;
 import org.eclipse.ecsp.uidam.security.policy.repo.PasswordPolicyRepository;
 import org.eclipse.ecsp.uidam.usermanagement.auth.request.dto.RegisteredClientDetails;
 import org.eclipse.ecsp.uidam.usermanagement.auth.response.dto.RoleCreateResponse;
-import org.eclipse.ecsp.uidam.usermanagement.authorization.dto.BaseResponseFromAuthorization;
 import org.eclipse.ecsp.uidam.usermanagement.cache.CacheTokenService;
+import org.eclipse.ecsp.uidam.usermanagement.cache.TenantDefaultAccountCache;
+import org.eclipse.ecsp.uidam.usermanagement.cache.UserAttributeMetadataRegistry;
+import org.eclipse.ecsp.uidam.usermanagement.cache.UserColumnMetadataCache;
 import org.eclipse.ecsp.uidam.usermanagement.config.tenantproperties.UserManagementTenantProperties;
 import org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants;
-import org.eclipse.ecsp.uidam.usermanagement.dao.UserManagementDao;
 import org.eclipse.ecsp.uidam.usermanagement.entity.CloudProfileEntity;
 import org.eclipse.ecsp.uidam.usermanagement.entity.PasswordHistoryEntity;
 import org.eclipse.ecsp.uidam.usermanagement.entity.RolesEntity;
@@ -58,6 +63,7 @@ import org.eclipse.ecsp.uidam.usermanagement.entity.UserAttributeEntity;
 import org.eclipse.ecsp.uidam.usermanagement.entity.UserAttributeValueEntity;
 import org.eclipse.ecsp.uidam.usermanagement.entity.UserEntity;
 import org.eclipse.ecsp.uidam.usermanagement.entity.UserEvents;
+import org.eclipse.ecsp.uidam.usermanagement.entity.UserLoginStateEntity;
 import org.eclipse.ecsp.uidam.usermanagement.entity.UserRecoverySecret;
 import org.eclipse.ecsp.uidam.usermanagement.enums.ClientStatus;
 import org.eclipse.ecsp.uidam.usermanagement.enums.OperationPriority;
@@ -83,13 +89,15 @@ import org.eclipse.ecsp.uidam.usermanagement.repository.RolesRepository;
 import org.eclipse.ecsp.uidam.usermanagement.repository.UserAttributeRepository;
 import org.eclipse.ecsp.uidam.usermanagement.repository.UserAttributeValueRepository;
 import org.eclipse.ecsp.uidam.usermanagement.repository.UserEventRepository;
+import org.eclipse.ecsp.uidam.usermanagement.repository.UserLoginStateRepository;
 import org.eclipse.ecsp.uidam.usermanagement.repository.UserRecoverySecretRepository;
 import org.eclipse.ecsp.uidam.usermanagement.repository.UsersRepository;
-import org.eclipse.ecsp.uidam.usermanagement.service.AuthorizationServerClient;
 import org.eclipse.ecsp.uidam.usermanagement.service.ClientRegistration;
 import org.eclipse.ecsp.uidam.usermanagement.service.EmailNotificationService;
 import org.eclipse.ecsp.uidam.usermanagement.service.RolesService;
 import org.eclipse.ecsp.uidam.usermanagement.service.TenantConfigurationService;
+import org.eclipse.ecsp.uidam.usermanagement.service.TokenRevocationDispatcher;
+import org.eclipse.ecsp.uidam.usermanagement.service.TokenRevocationDispatcher.RevocationResult;
 import org.eclipse.ecsp.uidam.usermanagement.service.UsersService;
 import org.eclipse.ecsp.uidam.usermanagement.user.request.dto.AssociateAccountAndRolesDto;
 import org.eclipse.ecsp.uidam.usermanagement.user.request.dto.FederatedUserDto;
@@ -114,17 +122,23 @@ import org.eclipse.ecsp.uidam.usermanagement.user.response.dto.UserMetaDataRespo
 import org.eclipse.ecsp.uidam.usermanagement.user.response.dto.UserResponseBase;
 import org.eclipse.ecsp.uidam.usermanagement.user.response.dto.UserResponseV1;
 import org.eclipse.ecsp.uidam.usermanagement.user.response.dto.UserResponseV2;
+import org.eclipse.ecsp.uidam.usermanagement.user.response.dto.UsersCursorPage;
 import org.eclipse.ecsp.uidam.usermanagement.utilities.ObjectConverter;
 import org.eclipse.ecsp.uidam.usermanagement.utilities.PasswordUtils;
 import org.eclipse.ecsp.uidam.usermanagement.utilities.SearchCriteria;
 import org.eclipse.ecsp.uidam.usermanagement.utilities.UserAccountRoleAssociationValidator;
 import org.eclipse.ecsp.uidam.usermanagement.utilities.UserAttributeSpecification;
 import org.eclipse.ecsp.uidam.usermanagement.utilities.UserAuditHelper;
+import org.eclipse.ecsp.uidam.usermanagement.utilities.UserKeysetCursor;
 import org.eclipse.ecsp.uidam.usermanagement.utilities.UserManagementUtils;
 import org.eclipse.ecsp.uidam.usermanagement.utilities.UserSpecification;
+import org.eclipse.ecsp.uidam.usermanagement.utilities.hashing.PasswordHashers;
+import org.hibernate.jpa.HibernateHints;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -136,17 +150,16 @@ import org.springframework.util.CollectionUtils;
 import org.springframework.util.ObjectUtils;
 import org.springframework.util.ReflectionUtils;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.lang.reflect.Field;
-import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
-import java.sql.Date;
-import java.sql.Time;
 import java.sql.Timestamp;
 import java.text.FieldPosition;
 import java.text.MessageFormat;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
@@ -165,11 +178,11 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import static java.lang.Boolean.TRUE;
 import static org.eclipse.ecsp.uidam.accountmanagement.constants.AccountApiConstants.ACCOUNT_DOES_NOT_EXIST;
+import static org.eclipse.ecsp.uidam.usermanagement.cache.UserAttributeMetadataRegistry.DATA_TYPE_MAP;
 import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.ACCOUNT_AND_ROLE_ASSOCIATION_ERROR_MSG;
 import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.ACCOUNT_ID_IN_ACCOUNT_ROLE_MAPPING_MESSAGE;
 import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.ACCOUNT_NAME;
@@ -206,10 +219,7 @@ import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.USERN
 import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.USERNAME_REGEXP;
 import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.USERS;
 import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.USER_ACCOUNT_ROLE_ASSOCIATION_CODE;
-import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.USER_ACCOUNT_ROLE_MAPPING_TABLE_NAME;
-import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.USER_ADDRESS_ENTITY_TABLE_NAME;
 import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.USER_DISASSOCIATE_ERROR_MSG;
-import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.USER_ENTITY_TABLE_NAME;
 import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.USER_ID_NOT_FOUND_MESSAGE;
 import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.USER_ID_NOT_PRESENT_IN_THE_DB;
 import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.USER_ID_VARIABLE;
@@ -222,6 +232,8 @@ import static org.eclipse.ecsp.uidam.usermanagement.constants.LocalizationKey.FI
 import static org.eclipse.ecsp.uidam.usermanagement.constants.LocalizationKey.FIELD_NOT_FOUND;
 import static org.eclipse.ecsp.uidam.usermanagement.constants.LocalizationKey.IGNITE_SYSTEM_SCOPE;
 import static org.eclipse.ecsp.uidam.usermanagement.constants.LocalizationKey.INVALID_API_VERSION;
+import static org.eclipse.ecsp.uidam.usermanagement.constants.LocalizationKey.INVALID_CURSOR;
+import static org.eclipse.ecsp.uidam.usermanagement.constants.LocalizationKey.INVALID_PAGE_SIZE;
 import static org.eclipse.ecsp.uidam.usermanagement.constants.LocalizationKey.INVALID_INPUT_PASS_CANNOT_CONTAIN_USERNAME;
 import static org.eclipse.ecsp.uidam.usermanagement.constants.LocalizationKey.INVALID_INPUT_USERNAME_CANNOT_START_WITH;
 import static org.eclipse.ecsp.uidam.usermanagement.constants.LocalizationKey.INVALID_INPUT_USERNAME_PATTERN;
@@ -255,7 +267,6 @@ import static org.eclipse.ecsp.uidam.usermanagement.utilities.SearchCriteria.Roo
 import static org.eclipse.ecsp.uidam.usermanagement.utilities.SearchCriteria.RootParam.USER_ADDRESS_ROOT;
 import static org.eclipse.ecsp.uidam.usermanagement.utilities.SearchCriteria.RootParam.USER_ROOT;
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
-import static org.springframework.http.HttpStatus.OK;
 
 /**
  * Service class containing business logic for CRUD operations on user.
@@ -270,31 +281,31 @@ public class UsersServiceImpl implements UsersService {
     @Autowired
     public CacheTokenService cacheTokenService;
 
-    private static final Map<String, Class<?>> DATA_TYPE_MAP = Map.ofEntries(Map.entry("varchar", String.class),
-        Map.entry("bool", Boolean.class), Map.entry("bit", Boolean.class), Map.entry("int8", Long.class),
-        Map.entry("bigserial", Long.class), Map.entry("oid", Long.class), Map.entry("bytea", Byte.class),
-        Map.entry("char", String.class), Map.entry("bpchar", String.class), Map.entry("numeric", BigDecimal.class),
-        Map.entry("int4", Integer.class), Map.entry("serial", Integer.class), Map.entry("int2", Short.class),
-        Map.entry("float4", Float.class), Map.entry("float8", Double.class), Map.entry("money", Double.class),
-        Map.entry("name", String.class), Map.entry("text", String.class), Map.entry("date", Date.class),
-        Map.entry("time", Time.class), Map.entry("timetz", Time.class), Map.entry("timestamp", Timestamp.class),
-        Map.entry("_abc", List.class), Map.entry("uuid", UUID.class), Map.entry("json", String.class),
-        Map.entry("jsonb", JsonNode.class));
     
     private static final int DEFAULT_MAX_LOCK_ATTEMPTS = 5;
     private static final int MAX_LOG_LENGTH = 100;
     private static final int LOG_TRUNCATE_LENGTH = 97;
+    private static final int EXPORT_FETCH_SIZE = 500;
+    private static final int NDJSON_SEPARATOR = '\n';
+    private static final String PBKDF2_ENABLED_PROPERTY = "password.hashing.pbkdf2.enabled";
     
     @Autowired
     private TenantConfigurationService tenantConfigurationService;
     private UsersRepository userRepository;
     private UserAttributeRepository userAttributeRepository;
+    @Autowired
+    private UserAttributeMetadataRegistry userAttributeMetadataRegistry;
     private UserAttributeValueRepository userAttributeValueRepository;
     private UserEventRepository userEventRepository;
+    @Autowired
+    private UserLoginStateRepository userLoginStateRepository;
+    @Autowired
+    private Environment environment;
     private UserRecoverySecretRepository userRecoverySecretRepository;
-    private UserManagementDao userManagementDao;
     @Autowired
-    private AuthorizationServerClient authorizationServerClient;
+    private UserColumnMetadataCache userColumnMetadataCache;
+    @Autowired
+    private TokenRevocationDispatcher tokenRevocationDispatcher;
     @PersistenceContext
     private EntityManager entityManager;
     private EmailNotificationService emailNotificationService;
@@ -311,6 +322,8 @@ public class UsersServiceImpl implements UsersService {
     private PasswordHistoryRepository passwordHistoryRepository;
     public static final String POLICY_VALIDATION_FAILED = "um.password.policy.validation.failed";
     private static final String METRIC_TAG_USER_TYPE = "userType";
+    private static final MetricInfo LOGIN_CONTEXT_LATENCY_METRIC = MetricInfo.builder()
+        .uidamMetrics(UidamMetrics.USER_LOGIN_CONTEXT_LATENCY).build();
     private static final Logger LOGGER = LoggerFactory.getLogger(UsersServiceImpl.class);
     @Autowired
     private PasswordValidationService passwordValidationService;
@@ -318,6 +331,9 @@ public class UsersServiceImpl implements UsersService {
     @Autowired
     private AccountRepository accountRepository;
 
+    @Autowired
+    private TenantDefaultAccountCache tenantDefaultAccountCache;
+
     //Adding these to support the switch case down the line
     private static final String VERSION_1 = "v1";
     private static final String VERSION_2 = "v2";
@@ -407,7 +423,7 @@ public class UsersServiceImpl implements UsersService {
         UserEntity userEntity = UserMapper.USER_MAPPER.mapToUser(userDto);
         String passwordSalt = PasswordUtils.getSalt();
         String hashPassword = PasswordUtils.getSecurePassword(userDto.getPassword(), passwordSalt,
-            getTenantProperties().getPasswordEncoder());
+            getHashingPasswordEncoder());
         userEntity.setUserPassword(hashPassword);
         userEntity.setPasswordSalt(passwordSalt);
         userEntity.setAccountRoleMapping(mapToAccountsAndRoles(userDto, loggedInUserId));
@@ -605,9 +621,9 @@ public class UsersServiceImpl implements UsersService {
      * @return Saved additional attribute data map.
      */
     public Map<BigInteger, Map<String, Object>> persistAdditionalAttributes(UserDtoBase userDto, UserEntity savedUser) {
-        List<UserAttributeEntity> userAttributeEntities = userAttributeRepository.findAll();
-        Map<String, UserAttributeEntity> userAttributeEntityByNameMap = groupUserAttributeEntityByName(
-            userAttributeEntities);
+        List<UserAttributeEntity> userAttributeEntities = userAttributeMetadataRegistry.getAttributes();
+        Map<String, UserAttributeEntity> userAttributeEntityByNameMap = userAttributeMetadataRegistry
+            .getAttributesByName();
         List<UserAttributeValueEntity> userAttributeValueEntities = userDto.getAdditionalAttributes().keySet().stream()
             .map(additionalAttribute -> {
                 UserAttributeValueEntity userAttributeEntity = new UserAttributeValueEntity();
@@ -680,10 +696,7 @@ public class UsersServiceImpl implements UsersService {
      * @return value of correct datatype as defined in attribute metadata.
      */
     public Object parseAttributeValueToCorrectDataType(UserAttributeEntity userAttributeEntity, String value) {
-        if (userAttributeEntity.getTypes().equalsIgnoreCase("bit")) {
-            return Integer.valueOf(value);
-        }
-        return ObjectConverter.convert(value, DATA_TYPE_MAP.get(userAttributeEntity.getTypes()));
+        return userAttributeMetadataRegistry.convert(userAttributeEntity, value);
     }
 
     /**
@@ -889,6 +902,46 @@ public class UsersServiceImpl implements UsersService {
      */
     @Override
     public UserDetailsResponse getUserByUserName(String userName)
+        throws ResourceNotFoundException, InActiveUserException {
+        long startTime = System.nanoTime();
+        try {
+            return getLoginContext(userName);
+        } finally {
+            uidamMetricsService.recordTime(LOGIN_CONTEXT_LATENCY_METRIC,
+                Duration.ofNanos(System.nanoTime() - startTime));
+        }
+    }
+
+    /**
+     * Returns the password encoder for new password hashes. The authorization server verifies logins with the
+     * encoder of the login context and knows digest algorithms only, so a PBKDF2 tenant encoder falls back to the
+     * legacy digest unless password.hashing.pbkdf2.enabled is set.
+     *
+     * @return password encoder for new hashes
+     */
+    private String getHashingPasswordEncoder() {
+        String passwordEncoder = getTenantProperties().getPasswordEncoder();
+        if (!isPbkdf2Enabled() && PasswordHashers.isPbkdf2(passwordEncoder)) {
+            LOGGER.warn("PBKDF2 password encoder {} is not enabled, hashing with {}", passwordEncoder,
+                PasswordHashers.LEGACY_DIGEST_ALGORITHM);
+            return PasswordHashers.LEGACY_DIGEST_ALGORITHM;
+        }
+        return passwordEncoder;
+    }
+
+    private boolean isPbkdf2Enabled() {
+        return environment.getProperty(PBKDF2_ENABLED_PROPERTY, Boolean.class, Boolean.FALSE);
+    }
+
+    /**
+     * Method to read everything the authorization server needs on login. The user and its account role mappings
+     * are read in one statement, roles and scopes come from the role catalog, the default account id is cached
+     * per tenant, the captcha flag is read in one statement and the login attempts come from the login state.
+     *
+     * @param userName userName for which user details needs to be fetched.
+     * @return user details for the provided username.
+     */
+    private UserDetailsResponse getLoginContext(String userName)
         throws ResourceNotFoundException, InActiveUserException {
         UserEntity userEntity = userRepository.findByUserNameIgnoreCaseAndStatusNot(userName, UserStatus.DELETED);
         verifyUserStatus(userEntity, userName);
@@ -897,49 +950,73 @@ public class UsersServiceImpl implements UsersService {
         RoleListRepresentation roleListDto = rolesService.getRoleById(roleIds);
         UserDetailsResponse userDetailsResponse = UserMapper.USER_MAPPER.mapToUserDetailsResponse(userEntity);
         userDetailsResponse.setScopes(RoleManagementUtils.getScopesFromRoles(roleListDto));
-        userDetailsResponse.setPasswordEncoder(getTenantProperties().getPasswordEncoder());
+        // The authorization server verifies PBKDF2 hashes only once enabled, until then it gets the digest encoder
+        userDetailsResponse.setPasswordEncoder(isPbkdf2Enabled()
+            ? PasswordHashers.encoderOf(userEntity.getUserPassword(), getTenantProperties().getPasswordEncoder())
+            : getHashingPasswordEncoder());
         userDetailsResponse.setEmail(userEntity.getEmail());
         // Use account name lookup for tenant account ID to maintain compatibility with external systems
-        String tenantAccountName = getTenantProperties().getUserDefaultAccountName();
-        if (tenantAccountName != null) {
-            Optional<AccountEntity> tenantAccount = accountRepository.findByAccountName(tenantAccountName);
-            if (tenantAccount.isPresent()) {
-                userDetailsResponse.setAccountId(tenantAccount.get().getId().toString());
-            }
+        BigInteger tenantAccountId = getTenantDefaultAccountId();
+        if (tenantAccountId != null) {
+            userDetailsResponse.setAccountId(tenantAccountId.toString());
         }
         populateAdditionalAttributes(userDetailsResponse, userEntity);
         Map<String, Object> captcha = userDetailsResponse.getCaptcha();
-        UserAttributeEntity userAttributeEntity = userAttributeRepository.findByName(CAPTCHA_REQUIRED_ATTRIBUTE);
-        if (Objects.nonNull(userAttributeEntity)) {
-            UserAttributeValueEntity userAttributeValueEntity = userAttributeValueRepository
-                .findByUserIdAndAttributeId(userEntity.getId(), userAttributeEntity.getId());
-            captcha.put(CAPTCHA_REQUIRED,
-                Objects.nonNull(userAttributeValueEntity) ? Boolean.valueOf(userAttributeValueEntity.getValue())
-                    : null);
-        } else {
-            captcha.put(CAPTCHA_REQUIRED, null);
-        }
+        // Attribute metadata and value are resolved in one statement, a missing attribute or value both map to null
+        Optional<String> captchaRequired = userAttributeValueRepository
+            .findValueByUserIdAndAttributeName(userEntity.getId(), CAPTCHA_REQUIRED_ATTRIBUTE);
+        captcha.put(CAPTCHA_REQUIRED, captchaRequired.map(Boolean::valueOf).orElse(null));
         captcha.put(CAPTCHA_ENFORCE_AFTER_NO_OF_FAILURES, getTenantProperties().getCaptchaEnforceAfterNoOfFailures());
-        
-        // Calculate consecutive failed login attempts since last unlock/success
+
+        populateLoginAttempts(userDetailsResponse, userEntity.getId());
+        return userDetailsResponse;
+    }
+
+    /**
+     * Method to populate the failed login attempts and the last successful login time. Both are read from the
+     * login state of the user, users without a login state yet fall back to one scan of the login events.
+     *
+     * @param userDetailsResponse user details to be returned as response.
+     * @param userId              user id.
+     */
+    private void populateLoginAttempts(UserDetailsResponse userDetailsResponse, BigInteger userId) {
         int allowedLoginAttempts = Integer.parseInt(getTenantProperties().getMaxAllowedLoginAttempts());
-        int failedLoginAttempts = calculateConsecutiveFailedLoginAttempts(userEntity.getId(), allowedLoginAttempts);
+        int failedLoginAttempts;
+        Optional<UserLoginStateEntity> loginState = userLoginStateRepository.findById(userId);
+        if (loginState.isPresent()) {
+            failedLoginAttempts = getFailuresTowardsLock(loginState.get().getConsecutiveFailures(),
+                allowedLoginAttempts);
+            Optional.ofNullable(loginState.get().getLastSuccessAt())
+                .ifPresent(at -> userDetailsResponse.setLastSuccessfulLoginTime(at.toString()));
+        } else {
+            // One scan of the login events serves both the failure count and the last successful login
+            int eventWindow = getLoginEventWindow(allowedLoginAttempts);
+            List<UserEvents> loginEvents = userEventRepository.findUserEventsByUserIdAndEventType(userId,
+                UserEventType.LOGIN_ATTEMPT.getValue(), Math.max(eventWindow, allowedLoginAttempts));
+            failedLoginAttempts = countConsecutiveFailedLoginAttempts(
+                loginEvents.subList(0, Math.min(eventWindow, loginEvents.size())), allowedLoginAttempts);
+            loginEvents.stream().limit(allowedLoginAttempts)
+                .filter(e -> UserEventStatus.SUCCESS.getValue().equals(e.getEventStatus()))
+                .findFirst()
+                .ifPresent(e -> userDetailsResponse.setLastSuccessfulLoginTime(e.getEventGeneratedAt().toString()));
+        }
         if (failedLoginAttempts == allowedLoginAttempts) {
             failedLoginAttempts = 0; // Reset to 0 if user is currently locked
         }
-        
-        // Get last successful login time
-        List<UserEvents> userEventList = userEventRepository.findUserEventsByUserIdAndEventType(userEntity.getId(),
-            UserEventType.LOGIN_ATTEMPT.getValue(), allowedLoginAttempts);
-        for (UserEvents e : userEventList) {
-            if (UserEventStatus.SUCCESS.getValue().equals(e.getEventStatus())) {
-                userDetailsResponse.setLastSuccessfulLoginTime(e.getEventGeneratedAt().toString());
-                break;
-            }
-        }
-        
         userDetailsResponse.setFailureLoginAttempts(failedLoginAttempts);
-        return userDetailsResponse;
+    }
+
+    /**
+     * Method to get the id of the tenant default account.
+     *
+     * @return id of the tenant default account, null if it is not configured or not present.
+     */
+    private BigInteger getTenantDefaultAccountId() {
+        String tenantAccountName = getTenantProperties().getUserDefaultAccountName();
+        if (tenantAccountName == null) {
+            return null;
+        }
+        return tenantDefaultAccountCache.getAccountId(tenantAccountName);
     }
 
     /**
@@ -1191,6 +1268,9 @@ public class UsersServiceImpl implements UsersService {
                 
                 // Send unlock notification
                 sendUserLockNotification(user, false, 0, false, false);
+            } catch (DataAccessException e) {
+                // The transaction can no longer commit, the batch is picked up again by the next run
+                throw e;
             } catch (Exception e) {
                 LOGGER.error("Failed to unlock user: {}. Continuing with next user.",
                     user.getUserName(), e);
@@ -1216,7 +1296,7 @@ public class UsersServiceImpl implements UsersService {
         if (!CollectionUtils.isEmpty(userAttributeValueEntities)) {
             List<BigInteger> attributeIds = userAttributeValueEntities.stream()
                 .map(UserAttributeValueEntity::getAttributeId).toList();
-            List<UserAttributeEntity> userAttributeEntities = userAttributeRepository.findAllById(attributeIds);
+            List<UserAttributeEntity> userAttributeEntities = userAttributeMetadataRegistry.findAllById(attributeIds);
             if (CollectionUtils.isEmpty(userAttributeEntities)) {
                 throw new ApplicationRuntimeException(ATTRIBUTE_METADATA_IS_MISSING, BAD_REQUEST);
             }
@@ -1248,11 +1328,10 @@ public class UsersServiceImpl implements UsersService {
         }
         Set<String> userRoleNames = getUserRoleNames(user);
         try {
-            List<UserAttributeEntity> userAttributeEntities = userAttributeRepository.findAll();
             List<BigInteger> attributeIds = new ArrayList<>();
             Map<String, Object> additionalAttributes = new HashMap<>();
-            Map<String, UserAttributeEntity> userAttributeEntitiesMap = groupUserAttributeEntityByName(
-                userAttributeEntities);
+            Map<String, UserAttributeEntity> userAttributeEntitiesMap = userAttributeMetadataRegistry
+                .getAttributesByName();
             JsonNode jsonNodeList = objectMapper.convertValue(jsonPatch, JsonNode.class);
             List<JsonNode> operations = new ArrayList<>();
             jsonNodeList.forEach(operations::add);
@@ -1580,11 +1659,11 @@ public class UsersServiceImpl implements UsersService {
         if (!invalidIds.isEmpty()) {
             throw new ResourceNotFoundException(USERS, "userIds", String.valueOf(invalidIds));
         }
+        revokeUserTokens(savedUserEntities.stream().map(UserEntity::getUserName).toList());
         savedUserEntities.forEach(savedUserEntity -> {
             savedUserEntity.setStatus(UserStatus.DELETED);
             savedUserEntity.setUpdateDate(Timestamp.valueOf(LocalDateTime.now()));
             savedUserEntity.setUpdatedBy(SYSTEM);
-            revokeUserTokens(savedUserEntity.getUserName());
             LOGGER.debug("deleting email verification data for user id {}", savedUserEntity.getId());
             emailVerificationRepository.deleteEmailVerification(savedUserEntity.getId());
             LOGGER.debug("fetching cloud profiles data for user id {}", savedUserEntity.getId());
@@ -1606,11 +1685,12 @@ public class UsersServiceImpl implements UsersService {
         updatedUserEntities.forEach(entity -> userAuditHelper.logUserDeletedAudit(entity, null,
             accountIdToNameMapping, roleIdToNameMapping));
         
-        Optional.of(updatedUserEntities).ifPresent(entities ->
-                entities.forEach(entity -> uidamMetricsService.incrementCounter(MetricInfo.builder()
-                        .uidamMetrics(UidamMetrics.TOTAL_DELETED_USERS)
-                        .build()))
-        );
+        uidamMetricsService.incrementCounter(MetricInfo.builder()
+                .uidamMetrics(UidamMetrics.TOTAL_DELETED_USERS)
+                .build(), updatedUserEntities.size());
+        uidamMetricsService.recordAmount(MetricInfo.builder()
+                .uidamMetrics(UidamMetrics.DELETED_USERS_PER_REQUEST)
+                .build(), updatedUserEntities.size());
         Map<BigInteger, Map<String, Object>> additionalAttributes = findAdditionalAttributeData(
             updatedUserEntities.stream().map(UserEntity::getId).toList());
         return updatedUserEntities.stream().map(updatedUserEntity -> {
@@ -1679,6 +1759,98 @@ public class UsersServiceImpl implements UsersService {
         }
     }
 
+    /**
+     * Method to map a page of user entities to responses. Role ids and account ids of all the users on the page
+     * are collected first and resolved with one set based lookup each, so the number of queries does not grow
+     * with the page size.
+     *
+     * @param userEntities users fetched for the page
+     * @param version api version of the response
+     * @return user responses in the same order as the entities
+     */
+    private List<UserResponseBase> mapToUserResponses(List<UserEntity> userEntities, String version) {
+        if (!VERSION_1.equals(version) && !VERSION_2.equals(version)) {
+            throw new ApplicationRuntimeException(INVALID_API_VERSION, BAD_REQUEST);
+        }
+        Set<BigInteger> roleIds = new HashSet<>();
+        Set<BigInteger> accountIds = new HashSet<>();
+        userEntities.forEach(userEntity -> userEntity.getAccountRoleMapping().forEach(mapping -> {
+            roleIds.add(mapping.getRoleId());
+            accountIds.add(mapping.getAccountId());
+        }));
+        LOGGER.debug("Resolving {} roles and {} accounts for {} users", roleIds.size(), accountIds.size(),
+            userEntities.size());
+        Map<BigInteger, String> roleNames = resolveRoleNames(roleIds);
+        if (VERSION_1.equals(version)) {
+            return userEntities.stream().map(userEntity -> {
+                UserResponseV1 userRespV1 = UserMapper.USER_MAPPER.mapToUserResponseV1(userEntity);
+                userRespV1.setRoles(userEntity.getAccountRoleMapping().stream()
+                    .map(mapping -> roleNames.get(mapping.getRoleId()))
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet()));
+                return (UserResponseBase) userRespV1;
+            }).toList();
+        }
+        Map<BigInteger, String> accountNames = resolveAccountNames(accountIds);
+        return userEntities.stream().map(userEntity -> {
+            Map<BigInteger, Set<String>> acRoleMap = userEntity.getAccountRoleMapping().stream()
+                .collect(Collectors.groupingBy(UserAccountRoleMappingEntity::getAccountId,
+                    Collectors.mapping(mapping -> roleNames.get(mapping.getRoleId()),
+                        Collectors.filtering(Objects::nonNull, Collectors.toSet()))));
+            Set<UserAccountsAndRoles> accounts = new HashSet<>();
+            acRoleMap.forEach((accountId, roles) -> {
+                UserAccountsAndRoles ac = new UserDtoV2.UserAccountsAndRoles();
+                ac.setAccount(accountNames.getOrDefault(accountId, "Unknown Account"));
+                ac.setRoles(roles);
+                accounts.add(ac);
+            });
+            UserResponseV2 userRespV2 = UserMapper.USER_MAPPER.mapToUserResponseV2(userEntity);
+            userRespV2.setAccounts(accounts);
+            return (UserResponseBase) userRespV2;
+        }).toList();
+    }
+
+    /**
+     * Method to resolve role names for the given role ids with a single lookup.
+     *
+     * @param roleIds role ids to be resolved
+     * @return map of role id to role name
+     */
+    private Map<BigInteger, String> resolveRoleNames(Set<BigInteger> roleIds) {
+        if (roleIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        RoleListRepresentation roleListRepresentation = rolesService.getRoleById(roleIds);
+        return roleListRepresentation.getRoles().stream()
+            .collect(Collectors.toMap(RoleCreateResponse::getId, RoleCreateResponse::getName,
+                (first, second) -> first));
+    }
+
+    /**
+     * Method to resolve account names for the given account ids. Names already known to the service are reused
+     * and the remaining ones are loaded with a single lookup.
+     *
+     * @param accountIds account ids to be resolved
+     * @return map of account id to account name
+     */
+    private Map<BigInteger, String> resolveAccountNames(Set<BigInteger> accountIds) {
+        Map<BigInteger, String> accountNames = new HashMap<>();
+        Set<BigInteger> missingAccountIds = new HashSet<>();
+        accountIds.forEach(accountId -> {
+            String accountName = accountIdToNameMapping.get(accountId);
+            if (accountName != null) {
+                accountNames.put(accountId, accountName);
+            } else {
+                missingAccountIds.add(accountId);
+            }
+        });
+        if (!missingAccountIds.isEmpty()) {
+            accountRepository.findAllById(missingAccountIds)
+                .forEach(account -> accountNames.put(account.getId(), account.getAccountName()));
+        }
+        return accountNames;
+    }
+
     /**
      * Method get user data based on criteria and filter query provided by user.
      *
@@ -1705,6 +1877,127 @@ public class UsersServiceImpl implements UsersService {
         Pageable pageable = sortBy != null
             ? PageRequest.of(pageNumber, pageSize, Sort.by(Sort.Direction.fromString(sortOrder), sortBy))
             : PageRequest.of(pageNumber, pageSize, Sort.by(Sort.Direction.fromString(sortOrder), IDS.getField()));
+        Specification<UserEntity> specification = createUserSearchQuery(userGetFilter, ignoreCase, searchType);
+        List<UserEntity> userEntities = userRepository.findAll(specification, pageable).getContent();
+        return mapToUserSearchResponses(userGetFilter, userEntities);
+    }
+
+    /**
+     * Method get a page of user data based on criteria and filter query provided by user, continuing after the
+     * position encoded in the cursor instead of skipping an offset.
+     *
+     * @param userGetFilter params and values by which user data needs to be filtered.
+     * @param cursor        token returned with the previous page, blank for the first page.
+     * @param pageSize      total number of records which are present as part of a page.
+     * @param sortBy        user attribute by which records are to be sorted, one of id, userName or email.
+     * @param sortOrder     order in which records are to be sorted
+     * @param ignoreCase    while fetching records we need to check if filter needs to be applied data having
+     *                      case-sensitive records.
+     * @param searchType    filtering data for each attribute based on the provided search type.
+     * @return page of user details matching provided filter criteria and the token of the next page.
+     * @throws ResourceNotFoundException throws exception if user details not found.
+     */
+    @Override
+    public UsersCursorPage getUsersByCursor(UsersGetFilterBase userGetFilter, String cursor, Integer pageSize,
+                                            String sortBy, String sortOrder, boolean ignoreCase,
+                                            SearchType searchType) throws ResourceNotFoundException {
+        String sortField = sortBy != null ? sortBy : IDS.getField();
+        Sort.Direction direction = Sort.Direction.fromString(sortOrder);
+        if (!UserKeysetCursor.isSupported(sortField)) {
+            throw new ApplicationRuntimeException(INVALID_CURSOR, BAD_REQUEST, sortField);
+        }
+        if (pageSize == null || pageSize < 1) {
+            throw new ApplicationRuntimeException(INVALID_PAGE_SIZE, BAD_REQUEST, String.valueOf(pageSize));
+        }
+        Specification<UserEntity> specification = createUserSearchQuery(userGetFilter, ignoreCase, searchType);
+        if (StringUtils.isNotBlank(cursor)) {
+            UserKeysetCursor position = UserKeysetCursor.decode(cursor);
+            if (!position.matches(sortField, direction)) {
+                throw new ApplicationRuntimeException(INVALID_CURSOR, BAD_REQUEST, cursor);
+            }
+            specification = specification.and(position.toSpecification());
+        }
+        // One extra row tells whether a next page exists without a count query.
+        List<UserEntity> userEntities = userRepository.findBy(specification, query -> query
+            .sortBy(UserKeysetCursor.sort(sortField, direction)).limit(pageSize + 1).all());
+        String nextCursor = null;
+        if (userEntities.size() > pageSize) {
+            userEntities = userEntities.subList(0, pageSize);
+            nextCursor = UserKeysetCursor.after(sortField, direction, userEntities.get(pageSize - 1)).encode();
+        }
+        return new UsersCursorPage(mapToUserSearchResponses(userGetFilter, userEntities), nextCursor);
+    }
+
+    /**
+     * Method to write all users matching the filter query as newline delimited json, one user per line.
+     *
+     * <p>The users are read with a forward only cursor and mapped in chunks of the fetch size. Each chunk is
+     * written and detached before the next one is read, so memory does not grow with the number of users and a
+     * slow reader holds back the query through the blocking output stream.</p>
+     *
+     * @param userGetFilter params and values by which user data needs to be filtered.
+     * @param ignoreCase    while fetching records we need to check if filter needs to be applied data having
+     *                      case-sensitive records.
+     * @param searchType    filtering data for each attribute based on the provided search type.
+     * @param outputStream  stream the users are written to.
+     * @return number of exported users.
+     * @throws ResourceNotFoundException throws exception if no user matches the additional attributes.
+     * @throws IOException               throws exception if the users can not be written.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long exportUsers(UsersGetFilterBase userGetFilter, boolean ignoreCase, SearchType searchType,
+                            OutputStream outputStream) throws ResourceNotFoundException, IOException {
+        Specification<UserEntity> specification = createUserSearchQuery(userGetFilter, ignoreCase, searchType);
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<UserEntity> query = builder.createQuery(UserEntity.class);
+        Root<UserEntity> root = query.from(UserEntity.class);
+        query.where(specification.toPredicate(root, query, builder)).orderBy(builder.asc(root.get(IDS.getField())));
+        ObjectWriter writer = objectMapper.writerFor(userGetFilter instanceof UsersGetFilterV1
+            ? UserResponseV1.class : UserResponseV2.class);
+        long exported = 0;
+        BigInteger lastId = null;
+        List<UserEntity> chunk = new ArrayList<>(EXPORT_FETCH_SIZE);
+        try (Stream<UserEntity> users = entityManager.createQuery(query)
+            .setHint(HibernateHints.HINT_FETCH_SIZE, EXPORT_FETCH_SIZE)
+            .setHint(HibernateHints.HINT_READ_ONLY, true)
+            .getResultStream()) {
+            Iterator<UserEntity> iterator = users.iterator();
+            while (iterator.hasNext()) {
+                UserEntity user = iterator.next();
+                // Joined filters repeat a user once per matching row; rows are ordered by id so repeats are adjacent.
+                if (user.getId().equals(lastId)) {
+                    continue;
+                }
+                lastId = user.getId();
+                chunk.add(user);
+                if (chunk.size() == EXPORT_FETCH_SIZE) {
+                    exported += writeExportChunk(userGetFilter, chunk, writer, outputStream);
+                }
+            }
+            exported += writeExportChunk(userGetFilter, chunk, writer, outputStream);
+        }
+        return exported;
+    }
+
+    private int writeExportChunk(UsersGetFilterBase userGetFilter, List<UserEntity> chunk, ObjectWriter writer,
+                                 OutputStream outputStream) throws IOException {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        for (UserResponseBase userResponse : mapToUserSearchResponses(userGetFilter, chunk)) {
+            outputStream.write(writer.writeValueAsBytes(userResponse));
+            outputStream.write(NDJSON_SEPARATOR);
+        }
+        outputStream.flush();
+        int written = chunk.size();
+        chunk.clear();
+        entityManager.clear();
+        return written;
+    }
+
+    private Specification<UserEntity> createUserSearchQuery(UsersGetFilterBase userGetFilter, boolean ignoreCase,
+                                                            SearchType searchType) throws ResourceNotFoundException {
         if (!ObjectUtils.isEmpty(userGetFilter.getAdditionalAttributes())) {
             List<BigInteger> userIds = filterQueryByAdditionalAttributes(userGetFilter.getAdditionalAttributes(),
                 ignoreCase, searchType);
@@ -1717,16 +2010,18 @@ public class UsersServiceImpl implements UsersService {
             }
             userGetFilter.setIds(new HashSet<>(userIds));
         }
-        Specification<UserEntity> specification = createFilterQuery(userGetFilter, ignoreCase, searchType);
-        List<UserEntity> userEntities = userRepository.findAll(specification, pageable).getContent();
+        return createFilterQuery(userGetFilter, ignoreCase, searchType);
+    }
+
+    private List<UserResponseBase> mapToUserSearchResponses(UsersGetFilterBase userGetFilter,
+                                                            List<UserEntity> userEntities) {
         if (userEntities.isEmpty()) {
             return Collections.emptyList();
         }
         Map<BigInteger, Map<String, Object>> additionalAttributes = findAdditionalAttributeData(
             userEntities.stream().map(UserEntity::getId).toList());
         String version = (userGetFilter instanceof UsersGetFilterV1) ? VERSION_1 : VERSION_2;
-        return userEntities.stream().map(userEntity -> {
-            UserResponseBase userResponse = addRoleNamesAndMapToUserResponse(userEntity, version);
+        return mapToUserResponses(userEntities, version).stream().map(userResponse -> {
             if (!ObjectUtils.isEmpty(additionalAttributes)) {
                 userResponse.setAdditionalAttributes(additionalAttributes.get(userResponse.getId()));
             }
@@ -1741,11 +2036,11 @@ public class UsersServiceImpl implements UsersService {
      */
     @Override
     public List<UserMetaDataResponse> getUserMetaData() {
-        List<Field> fieldList = getUserFieldList();
-        Map<String, String> colDataTypes = getColumnDataTypes();
+        List<Field> fieldList = userColumnMetadataCache.getUserFields();
+        Map<String, String> colDataTypes = userColumnMetadataCache.getColumnDataTypes();
         List<UserMetaDataResponse> userMetaDataResponses = fieldList.stream()
             .map(field -> mapToAttributeMetaData(field, colDataTypes)).filter(Objects::nonNull).toList();
-        List<UserAttributeEntity> userAttributeEntities = userAttributeRepository.findAll();
+        List<UserAttributeEntity> userAttributeEntities = userAttributeMetadataRegistry.getAttributes();
         if (!ObjectUtils.isEmpty(userAttributeEntities)) {
             List<UserMetaDataResponse> additionalAttributeMetaData = userAttributeEntities.stream()
                 .map(UserMapper.USER_MAPPER::mapToMetaDataResponse).toList();
@@ -1756,33 +2051,6 @@ public class UsersServiceImpl implements UsersService {
             .toList();
     }
 
-    /**
-     * Method to get non-dynamic user fields.
-     *
-     * @return List of non-dynamic user fields.
-     */
-    private List<Field> getUserFieldList() {
-        Field[] userFields = UserEntity.class.getDeclaredFields();
-        Field[] addressFields = UserAddressEntity.class.getDeclaredFields();
-        Field[] accountRoleMappingFields = UserAccountRoleMappingEntity.class.getDeclaredFields();
-        Field[] userAndAddress = ArrayUtils.addAll(userFields, addressFields);
-        return Arrays.asList(ArrayUtils.addAll(userAndAddress, accountRoleMappingFields));
-    }
-
-    /**
-     * Method to get data type for each user attribute.
-     *
-     * @return Map of user attribute names and their respective data types.
-     */
-    private Map<String, String> getColumnDataTypes() {
-        Map<String, String> columnDataTypes = new ConcurrentHashMap<>();
-        columnDataTypes.putAll(userManagementDao.getColumnDataType(entityManager, USER_ENTITY_TABLE_NAME));
-        columnDataTypes.putAll(userManagementDao.getColumnDataType(entityManager, USER_ADDRESS_ENTITY_TABLE_NAME));
-        columnDataTypes
-            .putAll(userManagementDao.getColumnDataType(entityManager, USER_ACCOUNT_ROLE_MAPPING_TABLE_NAME));
-        return columnDataTypes;
-    }
-
     /**
      * Method to update/created list of user attribute metadata.
      *
@@ -1811,6 +2079,7 @@ public class UsersServiceImpl implements UsersService {
             }
         });
         List<UserAttributeEntity> savedAttributes = userAttributeRepository.saveAll(attributesToAddInDataBase);
+        userAttributeMetadataRegistry.invalidate();
         return savedAttributes.stream().map(UserMapper.USER_MAPPER::mapToMetaDataResponse).toList();
     }
 
@@ -1847,7 +2116,7 @@ public class UsersServiceImpl implements UsersService {
      */
     public List<BigInteger> filterQueryByAdditionalAttributes(Map<String, Set<String>> additionalAttributes,
                                                               boolean ignoreCase, SearchType searchType) {
-        List<UserAttributeEntity> userAttributeEntities = userAttributeRepository.findAll();
+        List<UserAttributeEntity> userAttributeEntities = userAttributeMetadataRegistry.getAttributes();
         Set<String> badDtoAttributes = findBadDtoAttributes(userAttributeEntities, additionalAttributes.keySet());
         if (!ObjectUtils.isEmpty(badDtoAttributes)) {
             throw new ApplicationRuntimeException(FIELD_NOT_FOUND, BAD_REQUEST, String.valueOf(badDtoAttributes));
@@ -2267,6 +2536,7 @@ public class UsersServiceImpl implements UsersService {
      * @return UserEventResponseDto containing user status and lock duration
      */
     @Override
+    @Transactional
     public UserEventResponseDto addUserEvent(UserEventsDto userEventsDto, String userId) {
         int allowedLoginAttempts = Integer.parseInt(getTenantProperties().getMaxAllowedLoginAttempts());
         if (Optional.ofNullable(userEventsDto).isPresent()
@@ -2284,7 +2554,9 @@ public class UsersServiceImpl implements UsersService {
             }
             
             UserEntity currentUser = userEntityOpt.get();
-            return processUserStatusAndLockDuration(currentUser, allowedLoginAttempts);
+            UserLoginStateEntity loginState = updateLoginState(userEventsDto, currentUser.getId(),
+                allowedLoginAttempts);
+            return processUserStatusAndLockDuration(currentUser, loginState, allowedLoginAttempts);
 
         } else {
             LOGGER.error("events data missing for userId {}!", userId);
@@ -2321,21 +2593,85 @@ public class UsersServiceImpl implements UsersService {
         userEventRepository.save(userEvents);
     }
     
+    /**
+     * Applies a login attempt to the login state of the user. The state is changed with a single update
+     * statement, users without a login state get one seeded from their recent login events.
+     *
+     * @param userEventsDto the user events DTO
+     * @param userId the user ID
+     * @param allowedLoginAttempts the allowed login attempts
+     * @return login state after the event, null for a user without login state and a non login event
+     */
+    private UserLoginStateEntity updateLoginState(UserEventsDto userEventsDto, BigInteger userId,
+                                                  int allowedLoginAttempts) {
+        boolean success = UserEventStatus.SUCCESS.getValue().equals(userEventsDto.getEventStatus());
+        boolean failure = UserEventStatus.FAILURE.getValue().equals(userEventsDto.getEventStatus());
+        if (!UserEventType.LOGIN_ATTEMPT.getValue().equals(userEventsDto.getEventType()) || (!success && !failure)) {
+            return userLoginStateRepository.findById(userId).orElse(null);
+        }
+        Instant now = Instant.now();
+        if (applyLoginAttempt(userId, success, now) == 0) {
+            UserLoginStateEntity seed = seedLoginState(userId, allowedLoginAttempts, success, now);
+            if (userLoginStateRepository.insertIfAbsent(userId, seed.getConsecutiveFailures(),
+                    seed.getLastSuccessAt(), seed.getLastFailureAt()) == 0) {
+                // Seeded concurrently by another login attempt of the same user
+                LOGGER.debug("Login state already present for user {}, applying the attempt", userId);
+                applyLoginAttempt(userId, success, now);
+            }
+        }
+        return userLoginStateRepository.findById(userId).orElse(null);
+    }
+
+    private int applyLoginAttempt(BigInteger userId, boolean success, Instant attemptedAt) {
+        return success ? userLoginStateRepository.recordLoginSuccess(userId, attemptedAt)
+            : userLoginStateRepository.recordLoginFailure(userId, attemptedAt);
+    }
+
+    /**
+     * Builds the login state of a user from the recent login events, the event being added is already saved
+     * and is part of the scanned events.
+     *
+     * @param userId the user ID
+     * @param allowedLoginAttempts the allowed login attempts
+     * @param success whether the event being added is a successful login
+     * @param attemptedAt time of the event being added
+     * @return login state to be saved
+     */
+    private UserLoginStateEntity seedLoginState(BigInteger userId, int allowedLoginAttempts, boolean success,
+                                                Instant attemptedAt) {
+        if (success) {
+            return new UserLoginStateEntity(userId, 0, attemptedAt, null);
+        }
+        List<UserEvents> recentEvents = userEventRepository.findUserEventsByUserIdAndEventType(
+            userId, UserEventType.LOGIN_ATTEMPT.getValue(), getLoginEventWindow(allowedLoginAttempts));
+        Instant lastSuccessAt = recentEvents.stream()
+            .filter(e -> UserEventStatus.SUCCESS.getValue().equals(e.getEventStatus()))
+            .map(UserEvents::getEventGeneratedAt)
+            .findFirst()
+            .orElse(null);
+        // The event being added is a failure, so it is counted even if a concurrent success got saved after it
+        int consecutiveFailures = Math.max(countConsecutiveFailures(recentEvents), 1);
+        return new UserLoginStateEntity(userId, consecutiveFailures, lastSuccessAt, attemptedAt);
+    }
+
     /**
      * Processes user status and calculates lock duration.
      *
      * @param currentUser the current user entity
+     * @param loginState the login state of the user, null when not available
      * @param allowedLoginAttempts the allowed login attempts
      * @return UserEventResponseDto with status and lock duration
      */
-    private UserEventResponseDto processUserStatusAndLockDuration(UserEntity currentUser, 
+    private UserEventResponseDto processUserStatusAndLockDuration(UserEntity currentUser,
+                                                                  UserLoginStateEntity loginState,
                                                                   int allowedLoginAttempts) {
         String currentStatus = currentUser.getStatus().name();
         long lockDurationMinutes = 0;
         
-        // Calculate consecutive failed login attempts since last unlock/success
-        int consecutiveFailedAttempts = calculateConsecutiveFailedLoginAttempts(
-            currentUser.getId(), allowedLoginAttempts);
+        // Consecutive failed login attempts since last unlock/success, from the login state when available
+        int consecutiveFailedAttempts = loginState != null
+            ? getFailuresTowardsLock(loginState.getConsecutiveFailures(), allowedLoginAttempts)
+            : calculateConsecutiveFailedLoginAttempts(currentUser.getId(), allowedLoginAttempts);
         
         LOGGER.debug("Consecutive failed login attempts for user {}: {}/{}", 
             currentUser.getId(), consecutiveFailedAttempts, allowedLoginAttempts);
@@ -2368,7 +2704,11 @@ public class UsersServiceImpl implements UsersService {
      */
     private long lockUserAccount(UserEntity currentUser, int allowedLoginAttempts) {
         long lockDurationMinutes;
-        int lockCount = calculateLockCount(currentUser.getId(), allowedLoginAttempts);
+        Optional<UserLoginStateEntity> loginState = userLoginStateRepository.findById(currentUser.getId());
+        // Every completed block of allowed consecutive failures since the last success is one lock
+        int lockCount = loginState.isPresent()
+            ? loginState.get().getConsecutiveFailures() / allowedLoginAttempts
+            : calculateLockCount(currentUser.getId(), allowedLoginAttempts);
         
         // Check if max lock attempts reached
         UserManagementTenantProperties tenantProperties = getTenantProperties();
@@ -2496,7 +2836,7 @@ public class UsersServiceImpl implements UsersService {
         if (result.isValid()) {
             String passwordSalt = PasswordUtils.getSalt();
             String hashPassword = PasswordUtils.getSecurePassword(userUpdatePasswordDto.getPassword(),
-                    passwordSalt, getTenantProperties().getPasswordEncoder());
+                    passwordSalt, getHashingPasswordEncoder());
             userEntity.setUserPassword(hashPassword);
             userEntity.setPasswordSalt(passwordSalt);
             userEntity.setPwdChangedtime(Timestamp.from(Instant.now()));
@@ -2545,6 +2885,7 @@ public class UsersServiceImpl implements UsersService {
      *                                   incorrect.
      */
     @Override
+    @Transactional
     public void sendUserRecoveryNotification(String user, boolean isUserId)
             throws ResourceNotFoundException, MalformedURLException {
         UserEntity userEntity = null;
@@ -2678,17 +3019,20 @@ public class UsersServiceImpl implements UsersService {
         List<UserResponseV1> userResponses = new ArrayList<>();
 
         if (!CollectionUtils.isEmpty(users)) {
+            if (BooleanUtils.isTrue(getTenantProperties().getIsUserStatusLifeCycleEnabled())
+                && !userChangeStatusRequest.isApproved()) {
+                List<String> revokedUserNames = users.stream()
+                    .filter(user -> !user.getStatus().equals(decideNewStatus(user.getStatus(), false)))
+                    .map(UserEntity::getUserName).toList();
+                LOGGER.debug("Revoke user token process initiated for users :{}", revokedUserNames);
+                revokeUserTokens(revokedUserNames);
+            }
             users.stream().forEach(user -> {
                 UserStatus currentStatus = user.getStatus();
                 UserStatus newStatus = decideNewStatus(currentStatus, userChangeStatusRequest.isApproved());
                 LOGGER.debug("For user id :{}, status will update to {} from {}", user.getId(), newStatus,
                     currentStatus);
 
-                if (BooleanUtils.isTrue(getTenantProperties().getIsUserStatusLifeCycleEnabled())
-                    && !userChangeStatusRequest.isApproved() && !currentStatus.equals(newStatus)) {
-                    LOGGER.debug("Revoke user token process initiated for user :{}", user.getUserName());
-                    revokeUserTokens(user.getUserName());
-                }
                 user.setStatus(newStatus);
                 user.setUpdateDate(Timestamp.valueOf(LocalDateTime.now()));
                 user.setUpdatedBy(String.valueOf(loggedInUserId));
@@ -2722,29 +3066,43 @@ public class UsersServiceImpl implements UsersService {
      * @param username provided to revoke token
      */
     private void revokeUserTokens(String username) {
-        LOGGER.debug("revokeUserTokens START");
-        String requestBody = "username=" + username;
+        revokeUserTokens(List.of(username));
+    }
 
-        if (!requestBody.matches(USERNAME_REGEXP)) {
-            LOGGER.error("User Name format is invalid '{}'!", requestBody);
-            throw new ApplicationRuntimeException(INVALID_INPUT_USERNAME_PATTERN, BAD_REQUEST);
+    /**
+     * Method to revoke tokens for given usernames. The tokens are revoked concurrently and the method fails if
+     * the tokens of any of the users could not be revoked.
+     *
+     * @param usernames provided to revoke tokens
+     */
+    private void revokeUserTokens(List<String> usernames) {
+        LOGGER.debug("revokeUserTokens START");
+        if (usernames.isEmpty()) {
+            return;
+        }
+        for (String username : usernames) {
+            String requestBody = "username=" + username;
+            if (!requestBody.matches(USERNAME_REGEXP)) {
+                LOGGER.error("User Name format is invalid '{}'!", requestBody);
+                throw new ApplicationRuntimeException(INVALID_INPUT_USERNAME_PATTERN, BAD_REQUEST);
+            }
         }
 
         String uidamAuthToken = cacheTokenService.getAccessToken();
-        if (StringUtils.isNotEmpty(uidamAuthToken)) {
-            BaseResponseFromAuthorization response = authorizationServerClient.revokeTokenByAdmin(uidamAuthToken,
-                username);
-
-            if (response.getHttpStatus().equals(OK)) {
-                LOGGER.info("For username :{}, Revoke token process update :{}", username, response.getMessage());
-            } else {
-                LOGGER.error("Unable to revoke token for user :{}", username);
-                throw new ApplicationRuntimeException("Token has not been revoked", response.getHttpStatus());
-            }
-        } else {
-            LOGGER.error("UIDAM auth token is inappropriate for user :{}", username);
+        if (StringUtils.isEmpty(uidamAuthToken)) {
+            LOGGER.error("UIDAM auth token is inappropriate for users :{}", usernames);
             throw new ApplicationRuntimeException("Invalid UIDAM auth token", BAD_REQUEST);
         }
+        List<RevocationResult> failures = tokenRevocationDispatcher.revokeTokens(uidamAuthToken, usernames)
+            .values().stream().filter(result -> !result.revoked()).toList();
+        if (!failures.isEmpty()) {
+            failures.forEach(failure -> LOGGER.error("Unable to revoke token for user :{}", failure.username()));
+            RevocationResult failure = failures.get(0);
+            if (failure.error() != null) {
+                throw failure.error();
+            }
+            throw new ApplicationRuntimeException("Token has not been revoked", failure.httpStatus());
+        }
         LOGGER.debug("revokeUserTokens END");
     }
 
@@ -3135,7 +3493,7 @@ public class UsersServiceImpl implements UsersService {
     }
 
     private List<UserAttributeEntity> validateMissingMandatoryAttributes(Map<String, Object> additionalAttributes) {
-        List<UserAttributeEntity> userAttributeEntities = userAttributeRepository.findAll();
+        List<UserAttributeEntity> userAttributeEntities = userAttributeMetadataRegistry.getAttributes();
         Set<String> missingMandatoryAttributes = findMissingDtoAttributes(userAttributeEntities,
             additionalAttributes.keySet());
         if (!ObjectUtils.isEmpty(missingMandatoryAttributes)) {
@@ -3212,7 +3570,7 @@ public class UsersServiceImpl implements UsersService {
     // Removed audit helper methods - moved to UserAuditHelper utility class
 
     /**
-     * Calculate the lock count based on user event history.
+     * Calculate the lock count based on user event history, used for users without a login state.
      * Lock count is determined by counting consecutive failed login blocks.
      *
      * @param userId the user ID
@@ -3299,21 +3657,46 @@ public class UsersServiceImpl implements UsersService {
      * @return the count of consecutive failed login attempts (remainder after last lock)
      */
     private int calculateConsecutiveFailedLoginAttempts(BigInteger userId, int allowedLoginAttempts) {
-        UserManagementTenantProperties tenantProperties = getTenantProperties();
-        Integer maxLockAttempts = tenantProperties.getTemporaryLockMaxAttempts();
+        List<UserEvents> recentEvents = userEventRepository.findUserEventsByUserIdAndEventType(
+            userId, UserEventType.LOGIN_ATTEMPT.getValue(), getLoginEventWindow(allowedLoginAttempts));
+        int remainderFailures = countConsecutiveFailedLoginAttempts(recentEvents, allowedLoginAttempts);
+        LOGGER.debug("Calculated consecutive failed login attempts for user {}: {}", userId, remainderFailures);
+        return remainderFailures;
+    }
+
+    /**
+     * Method to get the number of login events to be scanned, maxLockAttempts * allowedLoginAttempts to cover
+     * multiple lock cycles.
+     *
+     * @param allowedLoginAttempts allowed login attempts before lock
+     * @return number of most recent login events to be scanned
+     */
+    private int getLoginEventWindow(int allowedLoginAttempts) {
+        Integer maxLockAttempts = getTenantProperties().getTemporaryLockMaxAttempts();
         if (maxLockAttempts == null) {
             maxLockAttempts = DEFAULT_MAX_LOCK_ATTEMPTS; // default
         }
-        
-        // Fetch events: maxLockAttempts * allowedLoginAttempts to cover multiple lock cycles
-        int limit = maxLockAttempts * allowedLoginAttempts;
-        List<UserEvents> recentEvents = userEventRepository.findUserEventsByUserIdAndEventType(
-            userId, UserEventType.LOGIN_ATTEMPT.getValue(), limit);
-        
-        if (recentEvents.isEmpty()) {
-            return 0;
-        }
-        
+        return maxLockAttempts * allowedLoginAttempts;
+    }
+
+    /**
+     * Method to count consecutive failed login attempts from the given login events, most recent first.
+     *
+     * @param recentEvents login events ordered by most recent first
+     * @param allowedLoginAttempts allowed login attempts before lock
+     * @return failed attempts after the last unlock/lock
+     */
+    private int countConsecutiveFailedLoginAttempts(List<UserEvents> recentEvents, int allowedLoginAttempts) {
+        return getFailuresTowardsLock(countConsecutiveFailures(recentEvents), allowedLoginAttempts);
+    }
+
+    /**
+     * Method to count the failed login attempts before the first successful login.
+     *
+     * @param recentEvents login events ordered by most recent first
+     * @return consecutive failed login attempts
+     */
+    private int countConsecutiveFailures(List<UserEvents> recentEvents) {
         int consecutiveFailures = 0;
         
         // Iterate through events (most recent first) and count consecutive failures
@@ -3325,15 +3708,23 @@ public class UsersServiceImpl implements UsersService {
                 break;
             }
         }
-        
+        return consecutiveFailures;
+    }
+
+    /**
+     * Method to get the failed attempts after the last lock, allowedLoginAttempts when the consecutive failures
+     * just completed a lock.
+     *
+     * @param consecutiveFailures failed login attempts since the last successful login
+     * @param allowedLoginAttempts allowed login attempts before lock
+     * @return failed attempts after the last unlock/lock
+     */
+    private int getFailuresTowardsLock(int consecutiveFailures, int allowedLoginAttempts) {
         // Return the remainder to get current failed attempts after last unlock/lock
         int remainderFailures = consecutiveFailures % allowedLoginAttempts;
         if (consecutiveFailures > 0 && remainderFailures == 0) {
             remainderFailures = allowedLoginAttempts;
         }
-        LOGGER.debug("Calculated consecutive failed login attempts for user {}: total={}, remainder={}", 
-            userId, consecutiveFailures, remainderFailures);
-        
         return remainderFailures;
     }
 
@@ -3371,6 +3762,9 @@ public class UsersServiceImpl implements UsersService {
             
             emailNotificationService.sendNotification(userDetailsMap, notificationId, notificationData);
             
+        } catch (DataAccessException e) {
+            // The outbox row is written in the transaction of the lock/unlock, a failed write rolls both back
+            throw e;
         } catch (Exception e) {
             LOGGER.error("Failed to send lock/unlock notification for user {}. Error: {}", 
                 userEntity.getId(), e.getMessage(), e);
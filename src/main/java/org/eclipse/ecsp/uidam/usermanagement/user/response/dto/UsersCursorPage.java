@@ -16,20 +16,23 @@
  *
  */
 
-package org.eclipse.ecsp.uidam.usermanagement.cache;
+package org.eclipse.ecsp.uidam.usermanagement.user.response.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Getter;
-import lombok.Setter;
-import java.time.Instant;
+import java.util.List;
 
 /**
- * The TokenCacheDetails class represents the details of a token stored in the cache.
+ * Page of a keyset paged user search.
  */
-@Setter
+@AllArgsConstructor
 @Getter
-public class TokenCacheDetails {
+public class UsersCursorPage {
 
-    private String accessToken;
-    private Instant expiresAt;
+    private List<UserResponseBase> users;
 
+    /**
+     * Token of the next page, null when this is the last page.
+     */
+    private String nextCursor;
 }
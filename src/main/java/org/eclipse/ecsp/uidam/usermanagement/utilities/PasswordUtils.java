@@ -22,13 +22,24 @@ import org.apache.axiom.util.base64.Base64Utils;
 import org.eclipse.ecsp.uidam.usermanagement.entity.PasswordHistoryEntity;
 import org.eclipse.ecsp.uidam.usermanagement.entity.UserEntity;
 import org.eclipse.ecsp.uidam.usermanagement.exception.ApplicationRuntimeException;
+import org.eclipse.ecsp.uidam.usermanagement.utilities.hashing.PasswordHasher;
+import org.eclipse.ecsp.uidam.usermanagement.utilities.hashing.PasswordHashers;
 import org.springframework.http.HttpStatus;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  *  Password Encryption Utility.
@@ -41,6 +52,10 @@ public class PasswordUtils {
 
     private static final int SALT_SIZE = 16;
     private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+    private static final int HISTORY_CHECK_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());
+    private static final int HISTORY_CHECK_QUEUE_SIZE = 256;
+    private static final long HISTORY_CHECK_KEEP_ALIVE_SECONDS = 60;
+    private static final ThreadPoolExecutor HISTORY_CHECK_EXECUTOR = createHistoryCheckExecutor();
 
     /**
      * Get encrypted password hash.
@@ -49,18 +64,10 @@ public class PasswordUtils {
      * @param salt salt
      * @param passwordEncoder passwordEncoder
      * @return hash
+     * @see PasswordHashers#forEncoder(String)
      */
     public static String getSecurePassword(String password, String salt, String passwordEncoder) {
-        String generatedPassword;
-        try {
-            MessageDigest md = MessageDigest.getInstance(passwordEncoder);
-            String input = password + salt;
-            byte[] bytes = md.digest(input.getBytes());
-            generatedPassword = Base64Utils.encode(bytes);
-        } catch (NoSuchAlgorithmException e) {
-            throw new ApplicationRuntimeException(e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
-        }
-        return generatedPassword;
+        return PasswordHashers.forEncoder(passwordEncoder).hash(password, salt);
     }
 
     /**
@@ -77,19 +84,91 @@ public class PasswordUtils {
     /**
      * Method to validate user's new password against old passwords.
      *
+     * <p>The new password is hashed with every salt of the history, each time with the scheme of the matching old
+     * password, and looked up in the set of old passwords. For iterated hashes the candidates are computed in
+     * parallel on a bounded pool, and the remaining work is cancelled as soon as one of them is found.</p>
+     *
      * @param passwordEncoder   password encoder.
      * @param newPassword       user's new password.
      * @param userSalts         user salt history.
-     * @param userOldPasswords  user old password history.
+     * @param userOldPasswords  user old password history, in the order of the salts.
      * @return true if the new password is not in the history, false otherwise.
      */
     public static boolean isPasswordValid(String passwordEncoder, String newPassword, List<String> userSalts,
                                           List<String> userOldPasswords) {
-        return userSalts.stream()
-                        .map(salt -> PasswordUtils.getSecurePassword(newPassword, salt, passwordEncoder))
-                        .noneMatch(userOldPasswords::contains);
+        Set<String> oldPasswords = new HashSet<>(userOldPasswords);
+        int historySize = Math.min(userSalts.size(), userOldPasswords.size());
+        List<HistoryCandidate> candidates = new ArrayList<>(historySize);
+        boolean expensive = false;
+        for (int i = 0; i < historySize; i++) {
+            String oldPassword = userOldPasswords.get(i);
+            if (oldPassword != null) {
+                PasswordHasher hasher = PasswordHashers.forStoredHash(oldPassword, passwordEncoder);
+                expensive |= hasher.isExpensive();
+                candidates.add(new HistoryCandidate(hasher, userSalts.get(i)));
+            }
+        }
+        if (!expensive || candidates.size() < 2) {
+            return candidates.stream().noneMatch(candidate -> candidate.isReused(newPassword, oldPasswords));
+        }
+        return !isAnyReusedInParallel(candidates, newPassword, oldPasswords);
+    }
+
+    private static boolean isAnyReusedInParallel(List<HistoryCandidate> candidates, String newPassword,
+                                                 Set<String> oldPasswords) {
+        CompletionService<Boolean> completionService = new ExecutorCompletionService<>(HISTORY_CHECK_EXECUTOR);
+        List<Future<Boolean>> futures = new ArrayList<>(candidates.size());
+        try {
+            for (HistoryCandidate candidate : candidates) {
+                futures.add(completionService.submit(() -> candidate.isReused(newPassword, oldPasswords)));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                if (Boolean.TRUE.equals(completionService.take().get())) {
+                    return true;
+                }
+            }
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApplicationRuntimeException("Password history check interrupted",
+                HttpStatus.INTERNAL_SERVER_ERROR);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new ApplicationRuntimeException(e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        } finally {
+            // Hashes still queued are dropped and running ones stop at their next interrupt check
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    /**
+     * Bounded pool for the history check. When the queue is full the calling thread computes the hash itself, which
+     * throttles concurrent password changes instead of failing them.
+     */
+    private static ThreadPoolExecutor createHistoryCheckExecutor() {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(HISTORY_CHECK_THREADS, HISTORY_CHECK_THREADS,
+            HISTORY_CHECK_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new ArrayBlockingQueue<>(HISTORY_CHECK_QUEUE_SIZE),
+            runnable -> {
+                Thread thread = new Thread(runnable, "uidam-password-history-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
     }
 
+    /**
+     * Salt of a history entry with the hasher of its stored password.
+     */
+    private record HistoryCandidate(PasswordHasher hasher, String salt) {
+
+        boolean isReused(String newPassword, Set<String> oldPasswords) {
+            return oldPasswords.contains(hasher.hash(newPassword, salt));
+        }
+    }
 
     /**
      * Method to generate user's password history.
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2023 - 2024 Harman International
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package org.eclipse.ecsp.uidam.usermanagement.utilities;
+
+import jakarta.persistence.criteria.Path;
+import org.eclipse.ecsp.uidam.usermanagement.entity.UserEntity;
+import org.eclipse.ecsp.uidam.usermanagement.exception.ApplicationRuntimeException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.function.Function;
+import static org.eclipse.ecsp.uidam.usermanagement.constants.LocalizationKey.INVALID_CURSOR;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
+/**
+ * Position of the last user returned by a keyset (seek) paged user search.
+ *
+ * <p>The next page continues after {@code (sortKey, id)} instead of skipping an offset, so the cost of a page does
+ * not grow with its position. Only non null user columns can be used as sort key, since rows with a null key can
+ * not be compared with the last position. The cursor is handed to the client as an opaque url safe token.</p>
+ *
+ * @param sortBy    user attribute the search is sorted by
+ * @param direction sort direction of the search
+ * @param lastId    id of the last user of the previous page
+ * @param lastValue sort key of the last user of the previous page, null when sorted by id
+ */
+public record UserKeysetCursor(String sortBy, Sort.Direction direction, BigInteger lastId, String lastValue) {
+
+    private static final String ID = "id";
+    private static final String SEPARATOR = ":";
+    private static final int TOKEN_PARTS = 4;
+    private static final Map<String, Function<UserEntity, String>> SORT_KEYS = Map.of(
+        ID, user -> null,
+        "userName", UserEntity::getUserName,
+        "email", UserEntity::getEmail);
+
+    /**
+     * Checks if keyset paging can be used for the given sort attribute.
+     *
+     * @param sortBy user attribute the search is sorted by
+     * @return true when the attribute is a supported sort key
+     */
+    public static boolean isSupported(String sortBy) {
+        return sortBy != null && SORT_KEYS.containsKey(sortBy);
+    }
+
+    /**
+     * Creates the cursor pointing after the given user.
+     *
+     * @param sortBy    user attribute the search is sorted by
+     * @param direction sort direction of the search
+     * @param last      last user of the current page
+     * @return cursor of the next page
+     */
+    public static UserKeysetCursor after(String sortBy, Sort.Direction direction, UserEntity last) {
+        return new UserKeysetCursor(sortBy, direction, last.getId(), SORT_KEYS.get(sortBy).apply(last));
+    }
+
+    /**
+     * Returns the sort of a keyset paged search, with the id as tie breaker.
+     *
+     * @param sortBy    user attribute the search is sorted by
+     * @param direction sort direction of the search
+     * @return sort by the given attribute and the user id
+     */
+    public static Sort sort(String sortBy, Sort.Direction direction) {
+        return ID.equals(sortBy) ? Sort.by(direction, ID) : Sort.by(direction, sortBy, ID);
+    }
+
+    /**
+     * Decodes a token returned by {@link #encode()}.
+     *
+     * @param token opaque cursor token
+     * @return decoded cursor
+     * @throws ApplicationRuntimeException when the token is malformed
+     */
+    public static UserKeysetCursor decode(String token) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8)
+                .split(SEPARATOR, TOKEN_PARTS);
+            if (parts.length != TOKEN_PARTS || !isSupported(parts[0])) {
+                throw new ApplicationRuntimeException(INVALID_CURSOR, BAD_REQUEST, token);
+            }
+            String lastValue = ID.equals(parts[0]) ? null : parts[TOKEN_PARTS - 1];
+            return new UserKeysetCursor(parts[0], Sort.Direction.fromString(parts[1]), new BigInteger(parts[2]),
+                lastValue);
+        } catch (IllegalArgumentException e) {
+            throw new ApplicationRuntimeException(INVALID_CURSOR, BAD_REQUEST, token);
+        }
+    }
+
+    /**
+     * Encodes the cursor as an opaque url safe token.
+     *
+     * @return cursor token
+     */
+    public String encode() {
+        String payload = String.join(SEPARATOR, sortBy, direction.name(), lastId.toString(),
+            lastValue == null ? "" : lastValue);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Checks if the cursor was created for a search with the given sort.
+     *
+     * @param sortBy    user attribute the search is sorted by
+     * @param direction sort direction of the search
+     * @return true when the cursor can continue the search
+     */
+    public boolean matches(String sortBy, Sort.Direction direction) {
+        return this.sortBy.equals(sortBy) && this.direction == direction;
+    }
+
+    /**
+     * Returns the condition selecting the users after this cursor, i.e. {@code (sortKey, id) > (lastValue, lastId)}
+     * for ascending order. It is expanded to {@code sortKey >= lastValue AND (sortKey > lastValue OR id > lastId)}
+     * so that the leading range condition can be served by the index on the sort key.
+     *
+     * @return specification for the users after this cursor
+     */
+    public Specification<UserEntity> toSpecification() {
+        boolean ascending = direction.isAscending();
+        return (root, query, builder) -> {
+            Path<BigInteger> id = root.get(ID);
+            if (lastValue == null) {
+                return ascending ? builder.greaterThan(id, lastId) : builder.lessThan(id, lastId);
+            }
+            Path<String> key = root.get(sortBy);
+            return ascending
+                ? builder.and(builder.greaterThanOrEqualTo(key, lastValue),
+                    builder.or(builder.greaterThan(key, lastValue), builder.greaterThan(id, lastId)))
+                : builder.and(builder.lessThanOrEqualTo(key, lastValue),
+                    builder.or(builder.lessThan(key, lastValue), builder.lessThan(id, lastId)));
+        };
+    }
+}
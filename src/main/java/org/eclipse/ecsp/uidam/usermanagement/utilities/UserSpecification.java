@@ -20,6 +20,7 @@ package org.eclipse.ecsp.uidam.usermanagement.utilities;
 
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
 import jakarta.persistence.criteria.From;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
@@ -62,23 +63,24 @@ public class UserSpecification implements Specification<UserEntity> {
      * @return updated string as per criteria value.
      */
     private static String updateCriteriaValue(String str, SearchCriteria searchCriteria) {
-        return handleSearchType(handleCaseSensitive(str, searchCriteria.getIgnoreCase()),
-            searchCriteria.getSearchType());
+        return handleSearchType(str, searchCriteria.getSearchType());
     }
 
     /**
-     * Method to update string value to uppercase if ignore-case is true.
+     * Method to build the pattern match of a string field. Both sides are lower cased in the database so that the
+     * match is served by the trigram index on lower(column). A case-sensitive search keeps that match for the index
+     * and rechecks the pattern against the column as is.
      *
-     * @param str input string.
+     * @param builder criteria builder.
+     * @param column string field to be matched.
+     * @param pattern like pattern as per search type.
      * @param ignoreCase flag to determine if ignore case is true or false.
-     * @return updated string.
+     * @return predicate.
      */
-    private static String handleCaseSensitive(String str, boolean ignoreCase) {
-        if (!ignoreCase) {
-            return str;
-        }
-
-        return str.toUpperCase();
+    private static Predicate buildLikePredicate(CriteriaBuilder builder, Expression<String> column, String pattern,
+                                                boolean ignoreCase) {
+        Predicate lowerCaseMatch = builder.like(builder.lower(column), builder.lower(builder.literal(pattern)));
+        return ignoreCase ? lowerCaseMatch : builder.and(lowerCaseMatch, builder.like(column, pattern));
     }
 
     /**
@@ -136,12 +138,9 @@ public class UserSpecification implements Specification<UserEntity> {
         };
         if (from.get(field).getJavaType() == String.class) {
             predicateList = criteria.getValue().stream()
-                .map(value -> builder.like(
-                    Boolean.TRUE.equals(criteria.getIgnoreCase())
-                        ? builder.upper(from.<String>get(field))
-                        : from.<String>get(field), updateCriteriaValue(
-                            (String) value, criteria)
-                )).toList();
+                .map(value -> buildLikePredicate(builder, from.<String>get(field),
+                    updateCriteriaValue((String) value, criteria), Boolean.TRUE.equals(criteria.getIgnoreCase())))
+                .toList();
             predicates = new Predicate[predicateList.size()];
             predicateList.toArray(predicates);
         } else if (field.equals(ROLEIDS.getField()) || field.equals(ACCOUNTIDS.getField())) {
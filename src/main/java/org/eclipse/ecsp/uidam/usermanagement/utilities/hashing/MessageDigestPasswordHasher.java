@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2023 - 2024 Harman International
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package org.eclipse.ecsp.uidam.usermanagement.utilities.hashing;
+
+import org.apache.axiom.util.base64.Base64Utils;
+import org.eclipse.ecsp.uidam.usermanagement.exception.ApplicationRuntimeException;
+import org.springframework.http.HttpStatus;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Single pass digest over {@code password + salt}, stored as plain Base64. This is the original password format,
+ * which carries no prefix so that existing hashes and the consumers of the login context keep working; the
+ * algorithm is the password encoder of the tenant.
+ */
+public class MessageDigestPasswordHasher implements PasswordHasher {
+
+    private final String algorithm;
+    private final ThreadLocal<MessageDigest> digests;
+
+    /**
+     * Constructor for MessageDigestPasswordHasher.
+     *
+     * @param algorithm digest algorithm, for example SHA-256
+     * @throws ApplicationRuntimeException if the algorithm is not supported
+     */
+    public MessageDigestPasswordHasher(String algorithm) {
+        this.algorithm = algorithm;
+        // Resolve once up front so that an unknown algorithm fails here instead of on every thread
+        newDigest(algorithm);
+        this.digests = ThreadLocal.withInitial(() -> newDigest(algorithm));
+    }
+
+    @Override
+    public String encoder() {
+        return algorithm;
+    }
+
+    @Override
+    public String hash(String password, String salt) {
+        MessageDigest md = digests.get();
+        md.reset();
+        return Base64Utils.encode(md.digest((password + salt).getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Override
+    public boolean matches(String password, String salt, String storedHash) {
+        return storedHash != null && MessageDigest.isEqual(hash(password, salt).getBytes(StandardCharsets.UTF_8),
+            storedHash.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public boolean needsRehash(String storedHash) {
+        return PasswordHashers.isSelfDescribing(storedHash);
+    }
+
+    private static MessageDigest newDigest(String algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new ApplicationRuntimeException(e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+}
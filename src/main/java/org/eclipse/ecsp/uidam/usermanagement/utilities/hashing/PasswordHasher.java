@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2023 - 2024 Harman International
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package org.eclipse.ecsp.uidam.usermanagement.utilities.hashing;
+
+/**
+ * Password hashing scheme. Implementations are thread safe and are resolved through {@link PasswordHashers} from
+ * the password encoder of a tenant or from the format of a stored hash.
+ */
+public interface PasswordHasher {
+
+    /**
+     * Returns the password encoder that selects this hasher with its parameters, for example {@code SHA-256} or
+     * {@code PBKDF2WithHmacSHA256:600000}.
+     *
+     * @return password encoder
+     */
+    String encoder();
+
+    /**
+     * Hashes the password with the given salt.
+     *
+     * @param password password
+     * @param salt     salt
+     * @return hash in the storage format of this hasher
+     */
+    String hash(String password, String salt);
+
+    /**
+     * Checks the password against a hash stored by this hasher.
+     *
+     * @param password   password
+     * @param salt       salt the stored hash was created with
+     * @param storedHash stored hash
+     * @return true if the password matches the stored hash
+     */
+    boolean matches(String password, String salt, String storedHash);
+
+    /**
+     * Tells whether a stored hash was created by another scheme or with weaker parameters than this hasher uses,
+     * so that it should be replaced the next time the password is available.
+     *
+     * @param storedHash stored hash
+     * @return true if the stored hash should be replaced
+     */
+    boolean needsRehash(String storedHash);
+
+    /**
+     * Tells whether a single hash is costly enough that several hashes are worth computing in parallel.
+     *
+     * @return true for iterated or otherwise deliberately slow schemes
+     */
+    default boolean isExpensive() {
+        return false;
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2023 - 2024 Harman International
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package org.eclipse.ecsp.uidam.usermanagement.utilities.hashing;
+
+import org.eclipse.ecsp.uidam.usermanagement.exception.ApplicationRuntimeException;
+import org.springframework.http.HttpStatus;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves the {@link PasswordHasher} for a password encoder or for a stored hash.
+ *
+ * <p>The password encoder of a tenant is either a {@link java.security.MessageDigest} algorithm such as
+ * {@code SHA-256}, which keeps the original unprefixed format, or a PBKDF2 encoder such as
+ * {@code PBKDF2WithHmacSHA256} with an optional iteration count, for example {@code PBKDF2WithHmacSHA256:310000}.
+ * PBKDF2 hashes describe their own algorithm and parameters, while unprefixed hashes are digests made with the
+ * tenant's digest algorithm, or with {@link #LEGACY_DIGEST_ALGORITHM} once the tenant has moved to PBKDF2. This
+ * lets both formats be verified side by side while the stored hashes are migrated.</p>
+ */
+public final class PasswordHashers {
+
+    /**
+     * Digest algorithm assumed for unprefixed hashes when the tenant encoder is not a digest.
+     */
+    public static final String LEGACY_DIGEST_ALGORITHM = "SHA-256";
+
+    static final char COST_SEPARATOR = ':';
+
+    private static final Map<String, PasswordHasher> HASHERS = new ConcurrentHashMap<>();
+
+    private PasswordHashers() {
+        throw new ApplicationRuntimeException("PasswordHashers cannot be instantiated!!");
+    }
+
+    /**
+     * Returns the hasher used for new hashes of the given password encoder.
+     *
+     * @param passwordEncoder password encoder of the tenant
+     * @return hasher
+     * @throws ApplicationRuntimeException if the encoder is not supported
+     */
+    public static PasswordHasher forEncoder(String passwordEncoder) {
+        if (passwordEncoder == null) {
+            throw new ApplicationRuntimeException("Password encoder is not configured",
+                HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+        return HASHERS.computeIfAbsent(passwordEncoder, PasswordHashers::create);
+    }
+
+    /**
+     * Returns the hasher that created the given stored hash.
+     *
+     * @param storedHash      stored hash
+     * @param passwordEncoder password encoder of the tenant
+     * @return hasher that verifies the stored hash
+     */
+    public static PasswordHasher forStoredHash(String storedHash, String passwordEncoder) {
+        Optional<Pbkdf2PasswordHasher.StoredHash> parsed = Pbkdf2PasswordHasher.parse(storedHash);
+        if (parsed.isPresent()) {
+            return forEncoder(parsed.get().variant().getEncoder() + COST_SEPARATOR + parsed.get().iterations());
+        }
+        PasswordHasher tenantHasher = forEncoder(passwordEncoder);
+        return tenantHasher instanceof MessageDigestPasswordHasher ? tenantHasher
+            : forEncoder(LEGACY_DIGEST_ALGORITHM);
+    }
+
+    /**
+     * Returns the password encoder a consumer has to use to verify the given stored hash.
+     *
+     * @param storedHash      stored hash, may be null
+     * @param passwordEncoder password encoder of the tenant, may be null
+     * @return password encoder of the stored hash, or the tenant encoder if the hash does not tell
+     */
+    public static String encoderOf(String storedHash, String passwordEncoder) {
+        if (storedHash == null || passwordEncoder == null && !isSelfDescribing(storedHash)) {
+            return passwordEncoder;
+        }
+        return forStoredHash(storedHash, passwordEncoder).encoder();
+    }
+
+    /**
+     * Whether the given password encoder creates PBKDF2 hashes.
+     *
+     * @param passwordEncoder password encoder, may be null
+     * @return true for a PBKDF2 encoder with or without iteration count
+     */
+    public static boolean isPbkdf2(String passwordEncoder) {
+        return passwordEncoder != null && forEncoder(passwordEncoder) instanceof Pbkdf2PasswordHasher;
+    }
+
+    /**
+     * Checks a password against a stored hash of any supported format.
+     *
+     * @param password        password
+     * @param salt            salt the stored hash was created with
+     * @param storedHash      stored hash
+     * @param passwordEncoder password encoder of the tenant
+     * @return true if the password matches the stored hash
+     */
+    public static boolean matches(String password, String salt, String storedHash, String passwordEncoder) {
+        return storedHash != null && forStoredHash(storedHash, passwordEncoder).matches(password, salt, storedHash);
+    }
+
+    static boolean isSelfDescribing(String storedHash) {
+        return Pbkdf2PasswordHasher.parse(storedHash).isPresent();
+    }
+
+    private static PasswordHasher create(String passwordEncoder) {
+        int separator = passwordEncoder.indexOf(COST_SEPARATOR);
+        String name = separator < 0 ? passwordEncoder : passwordEncoder.substring(0, separator);
+        Optional<Pbkdf2PasswordHasher.Variant> variant = Pbkdf2PasswordHasher.Variant.fromEncoder(name);
+        if (variant.isEmpty()) {
+            return new MessageDigestPasswordHasher(passwordEncoder);
+        }
+        try {
+            int iterations = separator < 0 ? variant.get().getDefaultIterations()
+                : Integer.parseInt(passwordEncoder.substring(separator + 1).trim());
+            return new Pbkdf2PasswordHasher(variant.get(), iterations);
+        } catch (IllegalArgumentException e) {
+            throw new ApplicationRuntimeException("Invalid password encoder " + passwordEncoder,
+                HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+}
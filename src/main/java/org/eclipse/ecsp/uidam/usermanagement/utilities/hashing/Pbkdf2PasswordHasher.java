@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2023 - 2024 Harman International
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package org.eclipse.ecsp.uidam.usermanagement.utilities.hashing;
+
+import org.eclipse.ecsp.uidam.usermanagement.exception.ApplicationRuntimeException;
+import org.springframework.http.HttpStatus;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+
+/**
+ * PBKDF2 (RFC 8018) with an HMAC-SHA2 pseudo random function and a tunable iteration count.
+ *
+ * <p>Hashes are stored as {@code $pbkdf2-sha256$i=<iterations>$<base64 hash>}, so that a hash can be verified
+ * with the parameters it was created with after the configured iteration count has been raised. The salt stays in
+ * its own column. The derived key is one block of the underlying hash function long.</p>
+ */
+public class Pbkdf2PasswordHasher implements PasswordHasher {
+
+    private static final String ITERATIONS_PREFIX = "i=";
+    private static final char SEPARATOR = '$';
+    private static final byte[] FIRST_BLOCK_INDEX = {0, 0, 0, 1};
+    private static final int INTERRUPT_CHECK_MASK = 0xFFF;
+
+    /**
+     * Upper bound of the iteration count, well above the recommended counts, so that a corrupt or crafted stored
+     * hash cannot pin a CPU for minutes.
+     */
+    public static final int MAX_ITERATIONS = 10_000_000;
+
+    private final Variant variant;
+    private final int iterations;
+    private final ThreadLocal<Mac> macs;
+
+    /**
+     * Constructor for Pbkdf2PasswordHasher.
+     *
+     * @param variant    pseudo random function
+     * @param iterations iteration count, between 1 and {@link #MAX_ITERATIONS}
+     */
+    public Pbkdf2PasswordHasher(Variant variant, int iterations) {
+        if (iterations < 1 || iterations > MAX_ITERATIONS) {
+            throw new IllegalArgumentException("PBKDF2 iterations must be between 1 and " + MAX_ITERATIONS + ": "
+                + iterations);
+        }
+        this.variant = variant;
+        this.iterations = iterations;
+        this.macs = ThreadLocal.withInitial(() -> newMac(variant.macAlgorithm));
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    @Override
+    public String encoder() {
+        return variant.encoder + PasswordHashers.COST_SEPARATOR + iterations;
+    }
+
+    @Override
+    public String hash(String password, String salt) {
+        return SEPARATOR + variant.scheme + SEPARATOR + ITERATIONS_PREFIX + iterations + SEPARATOR
+            + Base64.getEncoder().encodeToString(derive(password, salt, iterations));
+    }
+
+    @Override
+    public boolean matches(String password, String salt, String storedHash) {
+        Optional<StoredHash> parsed = parse(storedHash);
+        return parsed.isPresent() && parsed.get().variant() == variant
+            && MessageDigest.isEqual(derive(password, salt, parsed.get().iterations()), parsed.get().hash());
+    }
+
+    @Override
+    public boolean needsRehash(String storedHash) {
+        Optional<StoredHash> parsed = parse(storedHash);
+        return parsed.isEmpty() || parsed.get().variant() != variant || parsed.get().iterations() < iterations;
+    }
+
+    @Override
+    public boolean isExpensive() {
+        return true;
+    }
+
+    /**
+     * Computes the first block of the derived key. The per thread Mac is rekeyed with the password and every
+     * iteration writes into the same buffer, so the loop does not allocate. An interrupted thread stops early with
+     * a {@link CancellationException}, which lets a cancelled password history check release its threads.
+     */
+    private byte[] derive(String password, String salt, int iterationCount) {
+        Mac mac = macs.get();
+        try {
+            byte[] key = password.getBytes(StandardCharsets.UTF_8);
+            // HMAC pads the key with zeros, so an empty password is the same key as a single zero byte
+            mac.init(new SecretKeySpec(key.length == 0 ? new byte[1] : key, variant.macAlgorithm));
+            mac.update(salt.getBytes(StandardCharsets.UTF_8));
+            mac.update(FIRST_BLOCK_INDEX);
+            byte[] block = mac.doFinal();
+            byte[] result = block.clone();
+            for (int i = 1; i < iterationCount; i++) {
+                if ((i & INTERRUPT_CHECK_MASK) == 0 && Thread.currentThread().isInterrupted()) {
+                    throw new CancellationException("Password hashing interrupted");
+                }
+                mac.update(block);
+                mac.doFinal(block, 0);
+                for (int j = 0; j < result.length; j++) {
+                    result[j] ^= block[j];
+                }
+            }
+            Arrays.fill(key, (byte) 0);
+            return result;
+        } catch (GeneralSecurityException e) {
+            throw new ApplicationRuntimeException(e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Parses a stored hash of any PBKDF2 variant.
+     *
+     * @param storedHash stored hash
+     * @return parsed hash, or empty if the value is not a PBKDF2 hash or its iteration count is out of range
+     */
+    static Optional<StoredHash> parse(String storedHash) {
+        if (storedHash == null || storedHash.isEmpty() || storedHash.charAt(0) != SEPARATOR) {
+            return Optional.empty();
+        }
+        String[] parts = storedHash.split("\\$", -1);
+        // "", scheme, i=<iterations>, hash
+        if (parts.length != 4 || !parts[2].startsWith(ITERATIONS_PREFIX)) {
+            return Optional.empty();
+        }
+        Optional<Variant> variant = Variant.fromScheme(parts[1]);
+        if (variant.isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            int iterationCount = Integer.parseInt(parts[2].substring(ITERATIONS_PREFIX.length()));
+            return iterationCount < 1 || iterationCount > MAX_ITERATIONS ? Optional.empty()
+                : Optional.of(new StoredHash(variant.get(), iterationCount, Base64.getDecoder().decode(parts[3])));
+        } catch (RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static Mac newMac(String algorithm) {
+        try {
+            return Mac.getInstance(algorithm);
+        } catch (GeneralSecurityException e) {
+            throw new ApplicationRuntimeException(e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Parsed stored hash.
+     */
+    record StoredHash(Variant variant, int iterations, byte[] hash) {
+    }
+
+    /**
+     * Supported pseudo random functions. Default iteration counts follow the current OWASP recommendation and
+     * should be calibrated for the deployment hardware.
+     */
+    public enum Variant {
+        SHA256("PBKDF2WithHmacSHA256", "pbkdf2-sha256", "HmacSHA256", 600_000),
+        SHA512("PBKDF2WithHmacSHA512", "pbkdf2-sha512", "HmacSHA512", 210_000);
+
+        private final String encoder;
+        private final String scheme;
+        private final String macAlgorithm;
+        private final int defaultIterations;
+
+        Variant(String encoder, String scheme, String macAlgorithm, int defaultIterations) {
+            this.encoder = encoder;
+            this.scheme = scheme;
+            this.macAlgorithm = macAlgorithm;
+            this.defaultIterations = defaultIterations;
+        }
+
+        public String getEncoder() {
+            return encoder;
+        }
+
+        public int getDefaultIterations() {
+            return defaultIterations;
+        }
+
+        static Optional<Variant> fromEncoder(String encoder) {
+            return Arrays.stream(values()).filter(value -> value.encoder.equalsIgnoreCase(encoder)).findFirst();
+        }
+
+        static Optional<Variant> fromScheme(String scheme) {
+            return Arrays.stream(values()).filter(value -> value.scheme.equals(scheme)).findFirst();
+        }
+    }
+}
@@ -0,0 +1,217 @@
+/********************************************************************************
+ * Copyright (c) 2024-25 Harman International 
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at 
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0  
+ *  
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * <p>SPDX-License-Identifier: Apache-2.0
+ ********************************************************************************/
+
+package org.eclipse.ecsp.audit.logger;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.eclipse.ecsp.audit.config.AsyncAuditProperties;
+import org.eclipse.ecsp.audit.entity.AuditEvent;
+import org.eclipse.ecsp.audit.enums.AuditOverflowPolicy;
+import org.eclipse.ecsp.sql.multitenancy.TenantContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for AsyncAuditEventWriter.
+ */
+class AsyncAuditEventWriterTest {
+
+    private static final long TIMEOUT_SECONDS = 5;
+
+    @TempDir
+    Path tempDir;
+
+    private JdbcTemplate jdbcTemplate;
+    private MeterRegistry meterRegistry;
+    private AsyncAuditProperties properties;
+    private final Map<String, Integer> writtenByTenant = new ConcurrentHashMap<>();
+    private CountDownLatch writing;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new AsyncAuditProperties();
+        properties.setQueueCapacity(1);
+        properties.setSpillFile(tempDir.resolve("audit-spill.ndjson").toString());
+        when(batchUpdate())
+            .thenAnswer(invocation -> {
+                Collection<?> batch = invocation.getArgument(1);
+                writtenByTenant.merge(String.valueOf(TenantContext.getCurrentTenant()), batch.size(), Integer::sum);
+                return new int[0][0];
+            });
+    }
+
+    @AfterEach
+    void cleanup() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void pendingEventsAreWrittenPerTenantAndFlushedOnStop() {
+        properties.setQueueCapacity(10);
+        AsyncAuditEventWriter writer = createWriter();
+        writer.start();
+
+        TenantContext.setCurrentTenant("ecsp");
+        writer.submit(createEvent("USER_CREATED"));
+        writer.submit(createEvent("USER_UPDATED"));
+        TenantContext.setCurrentTenant("sdp");
+        writer.submit(createEvent("USER_DELETED"));
+        writer.stop();
+
+        assertThat(writtenByTenant).containsEntry("ecsp", 2).containsEntry("sdp", 1);
+        assertThat(meterRegistry.summary(AsyncAuditEventWriter.BATCH_SIZE_METRIC).totalAmount()).isEqualTo(3.0);
+        assertThat(meterRegistry.timer(AsyncAuditEventWriter.BATCH_LATENCY_METRIC).count()).isPositive();
+        assertThat(TenantContext.getCurrentTenant()).isEqualTo("sdp");
+    }
+
+    @Test
+    void eventIsDroppedAndCountedWhenQueueIsFull() throws InterruptedException {
+        properties.setOverflowPolicy(AuditOverflowPolicy.DROP);
+        CountDownLatch release = blockWrites();
+        AsyncAuditEventWriter writer = createWriter();
+        writer.start();
+
+        fillQueue(writer);
+        writer.submit(createEvent("USER_DELETED"));
+        release.countDown();
+        writer.stop();
+
+        assertThat(dropped("overflow")).isEqualTo(1.0);
+        assertThat(writtenByTenant.values().stream().mapToInt(Integer::intValue).sum()).isEqualTo(2);
+    }
+
+    @Test
+    void spilledEventIsWrittenOnNextStart() throws Exception {
+        properties.setOverflowPolicy(AuditOverflowPolicy.SPILL);
+        CountDownLatch release = blockWrites();
+        AsyncAuditEventWriter writer = createWriter();
+        writer.start();
+
+        fillQueue(writer);
+        writer.submit(createEvent("USER_DELETED"));
+        release.countDown();
+        writer.stop();
+
+        Path spillFile = Path.of(properties.getSpillFile());
+        assertThat(meterRegistry.counter(AsyncAuditEventWriter.SPILLED_METRIC).count()).isEqualTo(1.0);
+        assertThat(Files.readAllLines(spillFile)).hasSize(1);
+        assertThat(Files.readString(spillFile)).contains("USER_DELETED");
+
+        AsyncAuditEventWriter restarted = createWriter();
+        restarted.start();
+        restarted.stop();
+
+        assertThat(writtenByTenant).containsEntry("ecsp", 3);
+        assertThat(spillFile).doesNotExist();
+    }
+
+    @Test
+    void failedBatchIsDroppedAndCounted() {
+        properties.setOverflowPolicy(AuditOverflowPolicy.DROP);
+        when(batchUpdate())
+            .thenThrow(new IllegalStateException("database unavailable"));
+        AsyncAuditEventWriter writer = createWriter();
+
+        TenantContext.setCurrentTenant("ecsp");
+        writer.submit(createEvent("USER_CREATED"));
+
+        assertThat(dropped("write_failure")).isEqualTo(1.0);
+        assertThat(Path.of(properties.getSpillFile())).doesNotExist();
+    }
+
+    @Test
+    void eventIsWrittenOnCallerThreadWhenWriterIsNotRunning() {
+        AsyncAuditEventWriter writer = createWriter();
+
+        TenantContext.setCurrentTenant("ecsp");
+        writer.submit(createEvent("USER_CREATED"));
+
+        assertThat(writtenByTenant).containsEntry("ecsp", 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private int[][] batchUpdate() {
+        return jdbcTemplate.batchUpdate(anyString(), anyList(), anyInt(),
+            any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    private AsyncAuditEventWriter createWriter() {
+        return new AsyncAuditEventWriter(jdbcTemplate, "uidam", properties, meterRegistry);
+    }
+
+    /**
+     * Makes the first write wait for the returned latch, so that the queue can be filled meanwhile.
+     */
+    private CountDownLatch blockWrites() {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch writing = new CountDownLatch(1);
+        when(batchUpdate())
+            .thenAnswer(invocation -> {
+                writing.countDown();
+                release.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                Collection<?> batch = invocation.getArgument(1);
+                writtenByTenant.merge(String.valueOf(TenantContext.getCurrentTenant()), batch.size(), Integer::sum);
+                return new int[0][0];
+            });
+        this.writing = writing;
+        return release;
+    }
+
+    /**
+     * Submits one event that the writer takes and blocks on, then one event that fills the queue.
+     */
+    private void fillQueue(AsyncAuditEventWriter writer) throws InterruptedException {
+        TenantContext.setCurrentTenant("ecsp");
+        writer.submit(createEvent("USER_CREATED"));
+        assertThat(writing.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+        writer.submit(createEvent("USER_UPDATED"));
+    }
+
+    private double dropped(String reason) {
+        return meterRegistry.counter(AsyncAuditEventWriter.DROPPED_METRIC, "reason", reason).count();
+    }
+
+    private static AuditEvent createEvent(String eventType) {
+        return AuditEvent.builder()
+            .eventType(eventType)
+            .component("test-component")
+            .actorId("user123")
+            .build();
+    }
+}
@@ -0,0 +1,83 @@
+/********************************************************************************
+ * Copyright (c) 2024-25 Harman International 
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at 
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0  
+ *  
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * <p>SPDX-License-Identifier: Apache-2.0
+ ********************************************************************************/
+
+
+package org.eclipse.ecsp.audit.util;
+
+import org.eclipse.ecsp.audit.util.PiiFieldClassifier.FieldType;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import java.util.stream.Stream;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for PiiFieldClassifier.
+ */
+class PiiFieldClassifierTest {
+
+    private static final List<String> FULL_MASK_FIELDS = Stream.concat(PiiMasker.FULL_MASK_FIELDS.stream(),
+        PiiMasker.SENSITIVE_PERSONAL_FIELDS.stream()).toList();
+
+    @Test
+    void classifyShouldMatchSubstringsOfFieldNames() {
+        PiiFieldClassifier classifier = new PiiFieldClassifier(FULL_MASK_FIELDS, PiiMasker.PARTIAL_MASK_FIELDS, 16);
+
+        assertThat(classifier.classify("userPassword")).isEqualTo(FieldType.FULL);
+        assertThat(classifier.classify("X-Authorization")).isEqualTo(FieldType.FULL);
+        assertThat(classifier.classify("emailAddress")).isEqualTo(FieldType.FULL);
+        assertThat(classifier.classify("primaryEmail")).isEqualTo(FieldType.EMAIL);
+        assertThat(classifier.classify("mobileNumber")).isEqualTo(FieldType.PHONE);
+        assertThat(classifier.classify("targetUserName")).isEqualTo(FieldType.USERNAME);
+        assertThat(classifier.classify("vehicleIdentificationNumber")).isEqualTo(FieldType.VIN);
+        assertThat(classifier.classify("ssn")).isEqualTo(FieldType.PARTIAL);
+        assertThat(classifier.classify("userId")).isEqualTo(FieldType.NONE);
+        assertThat(classifier.classify("émail")).isEqualTo(FieldType.NONE);
+        assertThat(classifier.classify(null)).isEqualTo(FieldType.NONE);
+    }
+
+    @Test
+    void classifyShouldMatchNaiveSubstringSearch() {
+        PiiFieldClassifier classifier = new PiiFieldClassifier(FULL_MASK_FIELDS, PiiMasker.PARTIAL_MASK_FIELDS, 16);
+        List<String> fieldNames = Stream.of(FULL_MASK_FIELDS, PiiMasker.PARTIAL_MASK_FIELDS,
+                List.of("userId", "tenantId", "devices", "vinNumber", "passportNumber", "keyId", "accountType",
+                    "sessionIdentifier", "driverLicenseNumber", "contactPhone", "zip", "dobYear"))
+            .flatMap(List::stream).toList();
+
+        for (String fieldName : fieldNames) {
+            String lowerFieldName = fieldName.toLowerCase();
+            boolean fullMask = FULL_MASK_FIELDS.stream()
+                .anyMatch(field -> lowerFieldName.contains(field.toLowerCase()));
+            boolean partialMask = PiiMasker.PARTIAL_MASK_FIELDS.stream()
+                .anyMatch(field -> lowerFieldName.contains(field.toLowerCase()));
+            FieldType fieldType = classifier.classify(fieldName);
+
+            assertThat(fieldType == FieldType.FULL).as(fieldName).isEqualTo(fullMask);
+            assertThat(fieldType.isPartial()).as(fieldName).isEqualTo(!fullMask && partialMask);
+        }
+    }
+
+    @Test
+    void classifyShouldGiveSameResultWhenCacheIsFull() {
+        PiiFieldClassifier classifier = new PiiFieldClassifier(FULL_MASK_FIELDS, PiiMasker.PARTIAL_MASK_FIELDS, 1);
+
+        assertThat(classifier.classify("userId")).isEqualTo(FieldType.NONE);
+        assertThat(classifier.classify("username")).isEqualTo(FieldType.USERNAME);
+        assertThat(classifier.classify("username")).isEqualTo(FieldType.USERNAME);
+        assertThat(classifier.classifyUncached("username")).isEqualTo(FieldType.USERNAME);
+    }
+}
@@ -0,0 +1,147 @@
+/********************************************************************************
+ * Copyright (c) 2024-25 Harman International 
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at 
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0  
+ *  
+ * <p>Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ * <p>SPDX-License-Identifier: Apache-2.0
+ ********************************************************************************/
+
+
+package org.eclipse.ecsp.audit.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.eclipse.ecsp.audit.util.PiiFieldClassifier.FieldType;
+import org.eclipse.ecsp.uidam.audit.context.UserActorContext;
+import org.eclipse.ecsp.uidam.audit.context.UserTargetContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Benchmarks for PiiMasker comparing the tree based and the streaming masking of audit contexts, the masking of
+ * serialized audit contexts, and the substring search per needle against the precompiled field classifier.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PiiMaskerBenchmark {
+
+    private static final List<String> FULL_MASK_FIELDS = Stream.concat(PiiMasker.FULL_MASK_FIELDS.stream(),
+        PiiMasker.SENSITIVE_PERSONAL_FIELDS.stream()).toList();
+
+    private Map<String, Object> actorContext;
+    private Map<String, Object> targetContext;
+    private String targetContextJson;
+    private PiiFieldClassifier classifier;
+
+    /**
+     * Builds the audit contexts of a user update event.
+     *
+     * @throws JsonProcessingException if the target context can not be serialized
+     */
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        actorContext = UserActorContext.builder()
+            .userId("10001")
+            .username("admin.user@example.com")
+            .accountId("20001")
+            .accountName("userAccount")
+            .failedAttempts(0)
+            .build()
+            .toMap();
+        targetContext = UserTargetContext.builder()
+            .userId("10002")
+            .username("john.smith@example.com")
+            .email("john.smith@example.com")
+            .firstName("John")
+            .lastName("Smith")
+            .accountId("20001")
+            .accountName("userAccount")
+            .status("ACTIVE")
+            .build()
+            .toMap();
+        targetContextJson = new ObjectMapper().writeValueAsString(targetContext);
+        classifier = new PiiFieldClassifier(FULL_MASK_FIELDS, PiiMasker.PARTIAL_MASK_FIELDS, 0);
+    }
+
+    @Benchmark
+    public String maskActorContextTree() {
+        return PiiMasker.maskAndSerializeTree(actorContext);
+    }
+
+    @Benchmark
+    public String maskActorContextStreaming() {
+        return PiiMasker.maskAndSerialize(actorContext);
+    }
+
+    @Benchmark
+    public String maskTargetContextTree() {
+        return PiiMasker.maskAndSerializeTree(targetContext);
+    }
+
+    @Benchmark
+    public String maskTargetContextStreaming() {
+        return PiiMasker.maskAndSerialize(targetContext);
+    }
+
+    @Benchmark
+    public String maskTargetContextJson() {
+        return PiiMasker.maskJson(targetContextJson);
+    }
+
+    /**
+     * Classifies the target context fields the way the masker did before the classifier, with one substring
+     * search per needle.
+     *
+     * @param blackhole sink for the results
+     */
+    @Benchmark
+    public void classifyTargetFieldsSubstringSearch(Blackhole blackhole) {
+        for (String fieldName : targetContext.keySet()) {
+            String lowerFieldName = fieldName.toLowerCase();
+            blackhole.consume(FULL_MASK_FIELDS.stream()
+                .anyMatch(field -> lowerFieldName.contains(field.toLowerCase())));
+            blackhole.consume(PiiMasker.PARTIAL_MASK_FIELDS.stream()
+                .anyMatch(field -> lowerFieldName.contains(field.toLowerCase())));
+        }
+    }
+
+    /**
+     * Classifies the target context fields with the automaton, without the memo cache.
+     *
+     * @param blackhole sink for the results
+     */
+    @Benchmark
+    public void classifyTargetFieldsAutomaton(Blackhole blackhole) {
+        for (String fieldName : targetContext.keySet()) {
+            FieldType fieldType = classifier.classifyUncached(fieldName);
+            blackhole.consume(fieldType);
+        }
+    }
+}
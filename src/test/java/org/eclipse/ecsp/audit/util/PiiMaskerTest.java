@@ -20,6 +20,8 @@ package org.eclipse.ecsp.audit.util;
 
 import org.junit.jupiter.api.Test;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -345,4 +347,53 @@ class PiiMaskerTest {
         assertThat(masked).doesNotContain("johndoe");
         assertThat(masked).doesNotContain("ABC123456789012345");
     }
+
+    @Test
+    void maskAndSerializeShouldMatchTreeMasking() {
+        // Given - nested maps, lists, scalars and values that are not maps or collections
+        Map<String, Object> device = new LinkedHashMap<>();
+        device.put("vin", "ABC123456789012345");
+        device.put("model", "sedan");
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("userId", 42);
+        map.put("email", "jane.doe@example.com");
+        map.put("mobileNumber", "(123) 456-7890");
+        map.put("apiKey", List.of("k1", "k2"));
+        map.put("nationalId", 'X');
+        map.put("username", TestStatus.ACTIVE);
+        map.put("firstName", null);
+        map.put("score", 12.5);
+        map.put("verified", true);
+        map.put("devices", List.of(device, "plain", List.of(device)));
+        map.put("accountName", new String[] {"johnsmith"});
+        map.put("owner", new TestOwner("johnsmith", "owner@example.com"));
+
+        // When
+        String streamed = PiiMasker.maskAndSerialize(map);
+
+        // Then - streaming output is identical to masking the whole tree
+        assertThat(streamed).isEqualTo(PiiMasker.maskAndSerializeTree(map));
+        assertThat(streamed).contains("jan***@example.com");
+        assertThat(streamed).contains("******7890");
+        assertThat(streamed).contains("******2345");
+        assertThat(streamed).contains("AC***VE");
+        assertThat(streamed).contains("ow***@example.com");
+        assertThat(streamed).doesNotContain("k1");
+    }
+
+    /**
+     * Enum value used to check masking of values serialized as text.
+     */
+    enum TestStatus {
+        ACTIVE
+    }
+
+    /**
+     * Bean value used to check masking of values converted to a tree.
+     *
+     * @param username username of the owner
+     * @param email email of the owner
+     */
+    record TestOwner(String username, String email) {
+    }
 }
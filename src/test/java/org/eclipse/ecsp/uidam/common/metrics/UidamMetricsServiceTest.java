@@ -1,14 +1,20 @@
 package org.eclipse.ecsp.uidam.common.metrics;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.eclipse.ecsp.sql.multitenancy.TenantContext;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -57,6 +63,18 @@ public class UidamMetricsServiceTest {
         assertEquals(1.0, count);
     }
 
+    @Test
+    public void recordTime_validate_count() {
+        MetricInfo metricInfo = MetricInfo.builder().uidamMetrics(UidamMetrics.USER_LOGIN_CONTEXT_LATENCY).build();
+        uidamMetricsService.recordTime(metricInfo, Duration.ofMillis(5));
+        uidamMetricsService.recordTime(metricInfo, Duration.ofMillis(15));
+        Timer timer = meterRegistry.find(UidamMetrics.USER_LOGIN_CONTEXT_LATENCY.getMetricName())
+                .tags("tenantId", "ecsp").timer();
+        assertNotNull(timer);
+        assertEquals(2, timer.count());
+        assertEquals(20.0, timer.totalTime(TimeUnit.MILLISECONDS));
+    }
+
     @Test
     public void incrementCounter_with_metric_info_as_null() {
         assertThrows(NullPointerException.class, () -> uidamMetricsService.incrementCounter(null));
@@ -74,4 +92,54 @@ public class UidamMetricsServiceTest {
         when(metricInfo.getUidamMetrics()).thenReturn(null);
         assertThrows(NullPointerException.class, () -> uidamMetricsService.incrementCounter(metricInfo));
     }
+
+    @Test
+    public void incrementCounter_by_amount_per_tenant() {
+        MetricInfo metricInfo = MetricInfo.builder().uidamMetrics(UidamMetrics.TOTAL_DELETED_USERS).build();
+        uidamMetricsService.incrementCounter(metricInfo, 3);
+        TenantContext.setCurrentTenant("sdp");
+        uidamMetricsService.incrementCounter(metricInfo);
+        assertEquals(3.0, meterRegistry.find(UidamMetrics.TOTAL_DELETED_USERS.getMetricName())
+                .tags("tenantId", "ecsp").counter().count());
+        assertEquals(1.0, meterRegistry.find(UidamMetrics.TOTAL_DELETED_USERS.getMetricName())
+                .tags("tenantId", "sdp").counter().count());
+    }
+
+    @Test
+    public void incrementCounter_reuses_registered_counter() {
+        MetricInfo metricInfo = MetricInfo.builder().uidamMetrics(UidamMetrics.TOTAL_UPDATED_USERS).build();
+        uidamMetricsService.incrementCounter(metricInfo);
+        Counter counter = meterRegistry.find(UidamMetrics.TOTAL_UPDATED_USERS.getMetricName()).counter();
+        assertNotNull(counter);
+        // The handle resolved on the first increment is used again, without registering the counter again.
+        meterRegistry.remove(counter);
+        uidamMetricsService.incrementCounter(metricInfo);
+        assertEquals(2.0, counter.count());
+        assertNull(meterRegistry.find(UidamMetrics.TOTAL_UPDATED_USERS.getMetricName()).counter());
+    }
+
+    @Test
+    public void recordTime_of_action_validate_count() {
+        MetricInfo metricInfo = MetricInfo.builder().uidamMetrics(UidamMetrics.USER_LOGIN_CONTEXT_LATENCY).build();
+        assertEquals("result", uidamMetricsService.recordTime(metricInfo, () -> "result"));
+        assertThrows(IllegalStateException.class, () -> uidamMetricsService.recordTime(metricInfo, () -> {
+            throw new IllegalStateException("failed");
+        }));
+        Timer timer = meterRegistry.find(UidamMetrics.USER_LOGIN_CONTEXT_LATENCY.getMetricName())
+                .tags("tenantId", "ecsp").timer();
+        assertNotNull(timer);
+        assertEquals(2, timer.count());
+    }
+
+    @Test
+    public void recordAmount_validate_summary() {
+        MetricInfo metricInfo = MetricInfo.builder().uidamMetrics(UidamMetrics.DELETED_USERS_PER_REQUEST).build();
+        uidamMetricsService.recordAmount(metricInfo, 2);
+        uidamMetricsService.recordAmount(metricInfo, 8);
+        DistributionSummary summary = meterRegistry.find(UidamMetrics.DELETED_USERS_PER_REQUEST.getMetricName())
+                .tags("tenantId", "ecsp").summary();
+        assertNotNull(summary);
+        assertEquals(2, summary.count());
+        assertEquals(10.0, summary.totalAmount());
+    }
 }
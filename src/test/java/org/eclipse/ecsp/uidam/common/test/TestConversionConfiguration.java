@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2023 - 2024 Harman International
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package org.eclipse.ecsp.uidam.common.test;
+
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.convert.ConversionService;
+
+/**
+ * Test configuration for contexts built without Spring Boot auto-configuration.
+ * Registers the Spring Boot conversion service so that values such as "60s" bind to Duration parameters.
+ */
+@TestConfiguration
+public class TestConversionConfiguration {
+
+    /**
+     * The application context picks up the bean named conversionService before creating the other singletons.
+     */
+    @Bean
+    public static ConversionService conversionService() {
+        return new ApplicationConversionService();
+    }
+}
@@ -32,8 +32,12 @@ package org.eclipse.ecsp.uidam.config;
 
 import org.eclipse.ecsp.sql.multitenancy.TenantAwareDataSource;
 import org.eclipse.ecsp.sql.multitenancy.TenantDatabaseProperties;
+import org.eclipse.ecsp.uidam.usermanagement.cache.TenantDefaultAccountCache;
+import org.eclipse.ecsp.uidam.usermanagement.cache.UserColumnMetadataCache;
 import org.eclipse.ecsp.uidam.usermanagement.config.LiquibaseConfig;
+import org.eclipse.ecsp.uidam.usermanagement.config.TenantAwareJavaMailSenderFactory;
 import org.eclipse.ecsp.uidam.usermanagement.config.TenantDefaultPropertiesProcessor;
+import org.eclipse.ecsp.uidam.usermanagement.notification.parser.impl.MustacheTemplateParserImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -81,6 +85,18 @@ class ConfigRefreshListenerTest {
     @Mock
     private LiquibaseConfig liquibaseConfig;
 
+    @Mock
+    private MustacheTemplateParserImpl mustacheTemplateParser;
+
+    @Mock
+    private TenantAwareJavaMailSenderFactory mailSenderFactory;
+
+    @Mock
+    private UserColumnMetadataCache userColumnMetadataCache;
+
+    @Mock
+    private TenantDefaultAccountCache tenantDefaultAccountCache;
+
     @Mock
     private EnvironmentChangeEvent event;
 
@@ -213,6 +229,8 @@ class ConfigRefreshListenerTest {
 
         // Assert
         verify(tenantAwareDataSource).addOrUpdateTenantDataSource(eq("tenant3"), any(TenantDatabaseProperties.class));
+        verify(liquibaseConfig).initializeTenantSchema("tenant3");
+        verify(userColumnMetadataCache).clearCache("tenant3");
     }
 
     @Test
@@ -229,6 +247,10 @@ class ConfigRefreshListenerTest {
 
         // Assert
         verify(tenantAwareDataSource).removeTenantDataSource("tenant2");
+        verify(mustacheTemplateParser).clearCache("tenant2");
+        verify(mailSenderFactory).clearCache("tenant2");
+        verify(userColumnMetadataCache).clearCache("tenant2");
+        verify(tenantDefaultAccountCache).clearCache("tenant2");
     }
 
     @Test
@@ -424,6 +446,10 @@ class ConfigRefreshListenerTest {
         // Assert - Should update data source for tenant with changed properties
         verify(tenantAwareDataSource).addOrUpdateTenantDataSource(eq("tenant1"), 
             any(TenantDatabaseProperties.class));
+        verify(mustacheTemplateParser).clearCache("tenant1");
+        verify(mailSenderFactory).clearCache("tenant1");
+        verify(userColumnMetadataCache).clearCache("tenant1");
+        verify(tenantDefaultAccountCache).clearCache("tenant1");
     }
 
     @Test
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2023 - 2024 Harman International
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package org.eclipse.ecsp.uidam.security.policy.handler;
+
+import org.eclipse.ecsp.uidam.security.policy.handler.PasswordValidationService.ValidationResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the CompiledPasswordPolicy class.
+ */
+class CompiledPasswordPolicyTest {
+
+    private static final int INT_2 = 2;
+    private static final int INT_8 = 8;
+    private static final int INT_16 = 16;
+    private static final int THREADS = 4;
+    private static final int ITERATIONS = 500;
+
+    private SizePolicyHandler sizeHandler;
+    private ComplexityPolicyHandler complexityHandler;
+    private SpecialCharacterPolicyHandler specialCharacterHandler;
+
+    @BeforeEach
+    void setUp() {
+        Map<String, Object> sizeRules = new HashMap<>();
+        sizeRules.put("minLength", INT_8);
+        sizeRules.put("maxLength", INT_16);
+        sizeHandler = new SizePolicyHandler(sizeRules);
+
+        Map<String, Object> complexityRules = new HashMap<>();
+        complexityRules.put("minUppercase", 1);
+        complexityRules.put("minLowercase", 1);
+        complexityRules.put("minDigits", 1);
+        complexityHandler = new ComplexityPolicyHandler(complexityRules);
+
+        Map<String, Object> specialRules = new HashMap<>();
+        specialRules.put("minSpecialChars", INT_2);
+        specialRules.put("allowedSpecialChars", "!@#$%^&*");
+        specialRules.put("excludedSpecialChars", "#");
+        specialCharacterHandler = new SpecialCharacterPolicyHandler(specialRules);
+    }
+
+    @Test
+    void testValidPasswordHasNoViolations() {
+        ValidationResult result = compile().validateNewUser("Passw0rd!@", "username");
+
+        assertTrue(result.isValid());
+        assertNull(result.errorMessage());
+        assertTrue(result.violations().isEmpty());
+    }
+
+    @Test
+    void testAllViolationsAreReportedInPriorityOrder() {
+        ValidationResult result = compile().validateNewUser("short#", "username");
+
+        assertFalse(result.isValid());
+        assertEquals(List.of(sizeHandler.getErrorMessage(), complexityHandler.getErrorMessage(),
+            specialCharacterHandler.getErrorMessage()), result.violations());
+        assertEquals(String.join(" ", result.violations()), result.errorMessage());
+    }
+
+    @Test
+    void testSizeIsCountedInCodePoints() {
+        // Seven code points, but eight chars since the emoji is a surrogate pair.
+        String password = "Pa1!@\uD83D\uDE00x";
+
+        ValidationResult result = compile().validateNewUser(password, "username");
+        assertEquals(List.of(sizeHandler.getErrorMessage()), result.violations());
+    }
+
+    @Test
+    void testOtherHandlersAreInvoked() {
+        PasswordPolicyHandler lastUpdateHandler = mock(LastUpdateValidationPolicyHandler.class);
+        when(lastUpdateHandler.handle(any())).thenReturn(false);
+        when(lastUpdateHandler.getErrorMessage()).thenReturn("Password changed too recently");
+        CompiledPasswordPolicy policy = CompiledPasswordPolicy.compile(List.of(sizeHandler, lastUpdateHandler),
+            Instant.now().plusSeconds(60));
+
+        assertTrue(policy.validateNewUser("Passw0rd!@", "username").isValid());
+        verify(lastUpdateHandler, never()).handle(any());
+        ValidationResult result = policy.validateExistingUser("Passw0rd!@", "username", null);
+        assertEquals(List.of("Password changed too recently"), result.violations());
+    }
+
+    @Test
+    void testConcurrentValidations() throws Exception {
+        CompiledPasswordPolicy policy = compile();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                boolean valid = thread % INT_2 == 0;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < ITERATIONS; i++) {
+                        ValidationResult result = policy.validateNewUser(valid ? "Passw0rd!@" : "short", "username");
+                        if (result.isValid() != valid) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> future : futures) {
+                assertTrue(future.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testExpiry() {
+        CompiledPasswordPolicy policy = CompiledPasswordPolicy.compile(List.of(sizeHandler), Instant.now());
+
+        assertTrue(policy.isExpired(Instant.now().plusMillis(1)));
+        assertEquals(1, policy.getHandlerCount());
+    }
+
+    private CompiledPasswordPolicy compile() {
+        return CompiledPasswordPolicy.compile(List.of(sizeHandler, complexityHandler, specialCharacterHandler),
+            Instant.now().plusSeconds(60));
+    }
+}
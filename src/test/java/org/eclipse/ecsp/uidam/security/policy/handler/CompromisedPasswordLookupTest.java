@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2023 - 2024 Harman International
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package org.eclipse.ecsp.uidam.security.policy.handler;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the CompromisedPasswordLookup class.
+ */
+class CompromisedPasswordLookupTest {
+
+    private static final int PREFIX_LENGTH = 5;
+    private static final int CACHE_SIZE = 10;
+    private static final String PASSWORD_HASH = "5BAA61E4C9B93F3F0682250B6CF8331B7EE68FD8";
+    private static final String OTHER_HASH = "5BAA60000000000000000000000000000000000A";
+    private static final String OTHER_PREFIX_HASH = "7C4A8D09CA3762AF61E59520943DC26494F8941B";
+    private static final String RANGE = "1E4C9B93F3F0682250B6CF8331B7EE68FD8:9545824\r\n"
+        + "00000000000000000000000000000000000:0";
+
+    @Test
+    void testRangeIsCachedPerPrefix() {
+        StubLookup lookup = new StubLookup(true, CACHE_SIZE, Duration.ofHours(1), null);
+
+        assertTrue(lookup.isCompromised(PASSWORD_HASH, PREFIX_LENGTH));
+        assertFalse(lookup.isCompromised(OTHER_HASH, PREFIX_LENGTH));
+        assertTrue(lookup.isCompromised(PASSWORD_HASH, PREFIX_LENGTH));
+
+        assertEquals(List.of("5BAA6"), lookup.requestedPrefixes);
+    }
+
+    @Test
+    void testExpiredRangeIsRequestedAgain() {
+        StubLookup lookup = new StubLookup(true, CACHE_SIZE, Duration.ZERO, null);
+
+        lookup.isCompromised(PASSWORD_HASH, PREFIX_LENGTH);
+        lookup.isCompromised(PASSWORD_HASH, PREFIX_LENGTH);
+
+        assertEquals(List.of("5BAA6", "5BAA6"), lookup.requestedPrefixes);
+    }
+
+    @Test
+    void testLeastRecentlyUsedRangeIsEvicted() {
+        StubLookup lookup = new StubLookup(true, 1, Duration.ofHours(1), null);
+
+        lookup.isCompromised(PASSWORD_HASH, PREFIX_LENGTH);
+        lookup.isCompromised(OTHER_PREFIX_HASH, PREFIX_LENGTH);
+        lookup.isCompromised(PASSWORD_HASH, PREFIX_LENGTH);
+
+        assertEquals(List.of("5BAA6", "7C4A8", "5BAA6"), lookup.requestedPrefixes);
+    }
+
+    @Test
+    void testFailedRequestIsNotCached() {
+        StubLookup lookup = new StubLookup(true, CACHE_SIZE, Duration.ofHours(1), null);
+        lookup.available = false;
+
+        assertFalse(lookup.isCompromised(PASSWORD_HASH, PREFIX_LENGTH));
+        lookup.available = true;
+        assertTrue(lookup.isCompromised(PASSWORD_HASH, PREFIX_LENGTH));
+
+        assertEquals(List.of("5BAA6", "5BAA6"), lookup.requestedPrefixes);
+    }
+
+    @Test
+    void testCorpusIsCheckedWithoutRemoteLookup(@TempDir Path directory) throws IOException {
+        Path file = Files.write(directory.resolve("corpus.bin"), HexFormat.of().parseHex(PASSWORD_HASH));
+        StubLookup lookup = new StubLookup(false, CACHE_SIZE, Duration.ofHours(1), Sha1DigestSet.map(file));
+
+        assertTrue(lookup.isCompromised(PASSWORD_HASH, PREFIX_LENGTH));
+        assertFalse(lookup.isCompromised(OTHER_HASH, PREFIX_LENGTH));
+
+        assertTrue(lookup.requestedPrefixes.isEmpty());
+    }
+
+    /**
+     * Lookup answering range requests from a fixed response.
+     */
+    private static final class StubLookup extends CompromisedPasswordLookup {
+
+        private final List<String> requestedPrefixes = new ArrayList<>();
+        private boolean available = true;
+
+        StubLookup(boolean remoteEnabled, int cacheMaxSize, Duration cacheTtl, Sha1DigestSet corpus) {
+            super(null, remoteEnabled, Duration.ofSeconds(1), cacheMaxSize, cacheTtl, corpus);
+        }
+
+        @Override
+        protected String fetchRange(String prefix) {
+            requestedPrefixes.add(prefix);
+            return available ? RANGE : null;
+        }
+    }
+}
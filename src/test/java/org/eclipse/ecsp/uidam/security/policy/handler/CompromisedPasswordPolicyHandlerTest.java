@@ -28,9 +28,11 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -43,13 +45,15 @@ class CompromisedPasswordPolicyHandlerTest {
     private static final int INT_5 = 5;
     private static final int INT_40 = 40;
     private CompromisedPasswordPolicyHandler handler;
+    private CompromisedPasswordLookup compromisedPasswordLookup;
     private Map<String, Object> rules;
 
     @BeforeEach
     void setUp() {
         rules = new HashMap<>();
         rules.put("passwordHashSubStringLength", INT_5);
-        handler = new CompromisedPasswordPolicyHandler(rules);
+        compromisedPasswordLookup = mock(CompromisedPasswordLookup.class);
+        handler = new CompromisedPasswordPolicyHandler(rules, compromisedPasswordLookup);
     }
 
     @Test
@@ -104,4 +108,18 @@ class CompromisedPasswordPolicyHandlerTest {
     void testGetMessageDigest() throws NoSuchAlgorithmException {
         assertNotNull(handler.getMessageDigest());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testIsPasswordCompromisedLooksUpHash() throws NoSuchAlgorithmException {
+        String hash = handler.toHash("password");
+        when(compromisedPasswordLookup.isCompromised(hash, INT_5)).thenReturn(true);
+
+        assertTrue(handler.isPasswordCompromised("password"));
+    }
+
+    @Test
+    void testIsPasswordCompromisedNullPassword() throws NoSuchAlgorithmException {
+        assertFalse(handler.isPasswordCompromised(null));
+        verify(compromisedPasswordLookup, never()).isCompromised(anyString(), anyInt());
+    }
+}
@@ -48,13 +48,17 @@ class PasswordPolicyHandlerFactoryTest {
     @Mock
     private UserManagementTenantProperties tenantProperties;
 
+    @Mock
+    private CompromisedPasswordLookup compromisedPasswordLookup;
+
     private PasswordPolicyHandlerFactory factory;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
         when(tenantConfigurationService.getTenantProperties()).thenReturn(tenantProperties);
-        factory = new PasswordPolicyHandlerFactory(passwordHistoryRepository, tenantConfigurationService);
+        factory = new PasswordPolicyHandlerFactory(passwordHistoryRepository, tenantConfigurationService,
+                compromisedPasswordLookup);
     }
 
     @Test
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2023 - 2024 Harman International
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+
+package org.eclipse.ecsp.uidam.security.policy.handler;
+
+import org.eclipse.ecsp.uidam.security.policy.handler.PasswordValidationService.ValidationResult;
+import org.eclipse.ecsp.uidam.security.policy.repo.PasswordPolicy;
+import org.eclipse.ecsp.uidam.security.policy.repo.PasswordPolicyRepository;
+import org.eclipse.ecsp.uidam.usermanagement.repository.PasswordHistoryRepository;
+import org.eclipse.ecsp.uidam.usermanagement.service.TenantConfigurationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Benchmarks for the PasswordValidationService handler chain built by the PasswordPolicyHandlerFactory from the
+ * size, special character, complexity and username exclusion policies.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PasswordValidationServiceBenchmark {
+
+    private static final String USERNAME = "john.smith@example.com";
+    private static final String VALID_PASSWORD = "Zq7#Vw9!Kd2$";
+    private static final String USERNAME_SEQUENCE_PASSWORD = "Smith#2024Ab";
+
+    private PasswordValidationService passwordValidationService;
+
+    /**
+     * Loads the policies through a mocked repository into a service with real handlers.
+     */
+    @Setup
+    public void setUp() {
+        PasswordPolicyRepository passwordPolicyRepository = mock(PasswordPolicyRepository.class);
+        when(passwordPolicyRepository.findAllByRequiredTrueOrderByPriorityAsc()).thenReturn(Optional.of(List.of(
+            createPolicy("size", 1, Map.of("minLength", 8, "maxLength", 16)),
+            createPolicy("specialChars", 2, Map.of("minSpecialChars", 1, "excludedSpecialChars", "")),
+            createPolicy("complexity", 3, Map.of("minUppercase", 1, "minLowercase", 1, "minDigits", 1)),
+            createPolicy("usernameSequenceExclusion", 4, Map.of("noOfCharsSeqinUserField", 3)))));
+        PasswordPolicyHandlerFactory handlerFactory = new PasswordPolicyHandlerFactory(
+            mock(PasswordHistoryRepository.class), mock(TenantConfigurationService.class),
+            mock(CompromisedPasswordLookup.class));
+        passwordValidationService = new PasswordValidationService(passwordPolicyRepository, handlerFactory,
+            Duration.ofMinutes(1));
+        passwordValidationService.refreshPolicies();
+    }
+
+    @Benchmark
+    public ValidationResult validateValidPassword() {
+        return passwordValidationService.validatePassword(VALID_PASSWORD, USERNAME);
+    }
+
+    @Benchmark
+    public ValidationResult validatePasswordRejectedByLastHandler() {
+        return passwordValidationService.validatePassword(USERNAME_SEQUENCE_PASSWORD, USERNAME);
+    }
+
+    private static PasswordPolicy createPolicy(String key, int priority, Map<String, Object> rules) {
+        PasswordPolicy policy = new PasswordPolicy();
+        policy.setKey(key);
+        policy.setName(key);
+        policy.setPriority(priority);
+        policy.setRequired(true);
+        policy.setValidationRules(rules);
+        return policy;
+    }
+}
@@ -19,12 +19,15 @@
 package org.eclipse.ecsp.uidam.security.policy.handler;
 
 
+import org.eclipse.ecsp.sql.multitenancy.TenantContext;
 import org.eclipse.ecsp.uidam.security.policy.handler.PasswordValidationService.ValidationResult;
 import org.eclipse.ecsp.uidam.security.policy.repo.PasswordPolicy;
 import org.eclipse.ecsp.uidam.security.policy.repo.PasswordPolicyRepository;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import java.sql.Timestamp;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -33,6 +36,7 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -46,7 +50,13 @@ class PasswordValidationServiceTest {
     void setUp() {
         passwordPolicyRepository = mock(PasswordPolicyRepository.class);
         handlerFactory = mock(PasswordPolicyHandlerFactory.class);
-        passwordValidationService = new PasswordValidationService(passwordPolicyRepository, handlerFactory);
+        passwordValidationService = new PasswordValidationService(passwordPolicyRepository, handlerFactory,
+            Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void cleanup() {
+        TenantContext.clear();
     }
 
     @Test
@@ -165,4 +175,21 @@ class PasswordValidationServiceTest {
         assertFalse(result.isValid());
         assertEquals("Password expired", result.errorMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testPoliciesAreCompiledOncePerTenantUntilInvalidated() {
+        when(passwordPolicyRepository.findAllByRequiredTrueOrderByPriorityAsc()).thenReturn(Optional.of(List.of()));
+
+        TenantContext.setCurrentTenant("ecsp");
+        passwordValidationService.validatePassword("validPassword", "username");
+        passwordValidationService.validatePassword("validPassword", "username");
+        TenantContext.setCurrentTenant("sdp");
+        passwordValidationService.validatePassword("validPassword", "username");
+        passwordValidationService.invalidate();
+        passwordValidationService.validatePassword("validPassword", "username");
+        TenantContext.setCurrentTenant("ecsp");
+        passwordValidationService.validatePassword("validPassword", "username");
+
+        verify(passwordPolicyRepository, times(3)).findAllByRequiredTrueOrderByPriorityAsc();
+    }
+}
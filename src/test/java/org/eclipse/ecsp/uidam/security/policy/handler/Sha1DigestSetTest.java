@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2023 - 2024 Harman International
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package org.eclipse.ecsp.uidam.security.policy.handler;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HexFormat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the Sha1DigestSet class.
+ */
+class Sha1DigestSetTest {
+
+    private static final String PASSWORD_HASH = "5BAA61E4C9B93F3F0682250B6CF8331B7EE68FD8";
+    private static final String LOWER_HASH = "0000000000000000000000000000000000000001";
+    private static final String UPPER_HASH = "FFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFF";
+    private static final int INT_3 = 3;
+
+    @Test
+    void testParseRangeSkipsPaddingAndInvalidLines() {
+        String body = "1E4C9B93F3F0682250B6CF8331B7EE68FD8:9545824\r\n"
+            + "00000000000000000000000000000000000:0\r\n"
+            + "not a suffix:1\r\n"
+            + "011053FD0102E94D6AE2F8B83D76FAF94F6:1";
+        Sha1DigestSet range = Sha1DigestSet.parseRange("5BAA6", body);
+
+        assertEquals(2, range.size());
+        assertTrue(range.contains(digest(PASSWORD_HASH)));
+        assertTrue(range.contains(digest("5BAA6011053FD0102E94D6AE2F8B83D76FAF94F6")));
+        assertFalse(range.contains(digest("5BAA600000000000000000000000000000000000")));
+    }
+
+    @Test
+    void testMappedCorpus(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("corpus.bin");
+        Files.write(file, concat(digest(LOWER_HASH), digest(PASSWORD_HASH), digest(UPPER_HASH)));
+
+        Sha1DigestSet corpus = Sha1DigestSet.map(file);
+
+        assertEquals(INT_3, corpus.size());
+        assertTrue(corpus.contains(digest(LOWER_HASH)));
+        assertTrue(corpus.contains(digest(PASSWORD_HASH)));
+        assertTrue(corpus.contains(digest(UPPER_HASH)));
+        assertFalse(corpus.contains(digest("5BAA61E4C9B93F3F0682250B6CF8331B7EE68FD9")));
+    }
+
+    @Test
+    void testEmptyCorpus(@TempDir Path directory) throws IOException {
+        Path file = Files.write(directory.resolve("corpus.bin"), new byte[0]);
+
+        assertFalse(Sha1DigestSet.map(file).contains(digest(PASSWORD_HASH)));
+    }
+
+    @Test
+    void testTruncatedCorpusIsRejected(@TempDir Path directory) throws IOException {
+        Path file = Files.write(directory.resolve("corpus.bin"), new byte[Sha1DigestSet.DIGEST_LENGTH + 1]);
+
+        assertThrows(IllegalArgumentException.class, () -> Sha1DigestSet.map(file));
+    }
+
+    private static byte[] digest(String hash) {
+        return HexFormat.of().parseHex(hash);
+    }
+
+    private static byte[] concat(byte[]... digests) {
+        byte[] result = new byte[digests.length * Sha1DigestSet.DIGEST_LENGTH];
+        for (int i = 0; i < digests.length; i++) {
+            System.arraycopy(digests[i], 0, result, i * Sha1DigestSet.DIGEST_LENGTH, Sha1DigestSet.DIGEST_LENGTH);
+        }
+        return result;
+    }
+}
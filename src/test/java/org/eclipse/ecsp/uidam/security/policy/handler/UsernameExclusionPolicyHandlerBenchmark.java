@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2023 - 2024 Harman International
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package org.eclipse.ecsp.uidam.security.policy.handler;
+
+import org.eclipse.ecsp.uidam.security.policy.handler.PasswordValidationService.PasswordValidationInput;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the UsernameExclusionPolicyHandler against the previous check, which allocated a substring of every
+ * username sequence and lowercased the whole password for each of them. The password shares no sequence with the
+ * username, so that every sequence is checked.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UsernameExclusionPolicyHandlerBenchmark {
+
+    private static final int SEQUENCE_LENGTH = 3;
+
+    @Param({"john.smith@example.com",
+        "firstname.lastname.department@subsidiary.enterprise-federation.example.com",
+        "urn:federation:idp.partner-enterprise.example.org:employees:firstname.lastname.department@example.org"})
+    private String username;
+
+    @Param({"Zq7#Vw9!Kd2$", "Zq7#Vw9!Kd2$Jh4%Bt6^Xy8&Wu1*Gv5("})
+    private String password;
+
+    private UsernameExclusionPolicyHandler handler;
+    private PasswordValidationInput input;
+
+    /**
+     * Creates the handler and its input.
+     */
+    @Setup
+    public void setUp() {
+        handler = new UsernameExclusionPolicyHandler(Map.of("noOfCharsSeqinUserField", SEQUENCE_LENGTH));
+        input = new PasswordValidationInput(username, password, null);
+    }
+
+    @Benchmark
+    public boolean rollingHash() {
+        return handler.doHandle(input);
+    }
+
+    @Benchmark
+    public boolean substringPerSequence() {
+        for (int i = 0; i <= username.length() - SEQUENCE_LENGTH; i++) {
+            String sequence = username.substring(i, i + SEQUENCE_LENGTH);
+            if (password.toLowerCase().contains(sequence.toLowerCase())) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
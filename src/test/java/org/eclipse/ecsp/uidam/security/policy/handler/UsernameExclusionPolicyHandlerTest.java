@@ -67,4 +67,18 @@ class UsernameExclusionPolicyHandlerTest {
     void testPasswordValidationCaseInsensitive() {
         assertFalse(handler.doHandle(getHandlerInput("AbC", "mypasswordabc123", null)));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testPasswordInvalidWhenContainsSequenceOfLongUsername() {
+        String username = "firstname.lastname.department@subsidiary.enterprise-federation.example.com";
+        assertFalse(handler.doHandle(getHandlerInput(username, "Xcom9#Qz", null)));
+        assertFalse(handler.doHandle(getHandlerInput(username, "9#QzFIR", null)));
+        assertTrue(handler.doHandle(getHandlerInput(username, "Zq7#Vw9!Kd2$", null)));
+    }
+
+    @Test
+    void testPasswordValidWhenShorterThanSequence() {
+        assertTrue(handler.doHandle(getHandlerInput("abc", "ab", null)));
+        assertTrue(handler.doHandle(getHandlerInput("abc", null, null)));
+    }
+}
@@ -7,6 +7,7 @@ import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.github.fge.jsonpatch.JsonPatch;
 import com.github.fge.jsonpatch.JsonPatchException;
 import org.eclipse.ecsp.uidam.security.policy.exception.PasswordPolicyException;
+import org.eclipse.ecsp.uidam.security.policy.handler.PasswordValidationService;
 import org.eclipse.ecsp.uidam.security.policy.repo.PasswordPolicy;
 import org.eclipse.ecsp.uidam.security.policy.repo.PasswordPolicyRepository;
 import org.eclipse.ecsp.uidam.usermanagement.service.UsersService;
@@ -34,6 +35,7 @@ import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anySet;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class PasswordPolicyServiceTest {
@@ -54,6 +56,9 @@ class PasswordPolicyServiceTest {
     @Mock
     private ObjectMapper objectMapper;
 
+    @Mock
+    private PasswordValidationService passwordValidationService;
+
     @InjectMocks
     private PasswordPolicyService passwordPolicyService;
 
@@ -151,6 +156,7 @@ class PasswordPolicyServiceTest {
         assertNotNull(updatedPolicies);
         assertEquals(1, updatedPolicies.size());
         assertEquals(INT_10, updatedPolicies.get(0).getValidationRules().get("minLength"));
+        verify(passwordValidationService).invalidate();
     }
 
     @Test
@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2023 - 2024 Harman International
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package org.eclipse.ecsp.uidam.usermanagement.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.eclipse.ecsp.sql.multitenancy.TenantContext;
+import org.eclipse.ecsp.uidam.common.metrics.UidamMetrics;
+import org.eclipse.ecsp.uidam.common.metrics.UidamMetricsService;
+import org.eclipse.ecsp.uidam.usermanagement.auth.response.dto.RoleCreateResponse;
+import org.eclipse.ecsp.uidam.usermanagement.entity.RoleScopeMappingEntity;
+import org.eclipse.ecsp.uidam.usermanagement.entity.RolesEntity;
+import org.eclipse.ecsp.uidam.usermanagement.entity.ScopesEntity;
+import org.eclipse.ecsp.uidam.usermanagement.repository.RolesRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test case for validating the tenant scoped role catalog cache.
+ */
+class RoleScopeCatalogCacheTest {
+
+    private static final BigInteger ROLE_ID_1 = BigInteger.valueOf(1);
+    private static final BigInteger ROLE_ID_2 = BigInteger.valueOf(2);
+    private static final BigInteger UNKNOWN_ROLE_ID = BigInteger.valueOf(99);
+    private static final long LOAD_TIMEOUT_SECONDS = 5;
+
+    private RolesRepository rolesRepository;
+    private MeterRegistry meterRegistry;
+    private RoleScopeCatalogCache roleScopeCatalogCache;
+
+    @BeforeEach
+    void setUp() {
+        TenantContext.setCurrentTenant("ecsp");
+        rolesRepository = mock(RolesRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        when(rolesRepository.findAllByIsDeleted(false))
+            .thenReturn(List.of(createRole(ROLE_ID_1, "VEHICLE_OWNER", "SelfManage"),
+                createRole(ROLE_ID_2, "TENANT_ADMIN", "ManageUsers")));
+        roleScopeCatalogCache = new RoleScopeCatalogCache(rolesRepository, new UidamMetricsService(meterRegistry),
+            Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void cleanup() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void findRolesByIdsLoadsCatalogOnce() {
+        Optional<List<RoleCreateResponse>> first = roleScopeCatalogCache.findRolesByIds(Set.of(ROLE_ID_1));
+        Optional<List<RoleCreateResponse>> second = roleScopeCatalogCache.findRolesByIds(Set.of(ROLE_ID_1, ROLE_ID_2));
+
+        assertTrue(first.isPresent());
+        assertEquals("VEHICLE_OWNER", first.get().get(0).getName());
+        assertEquals("SelfManage", first.get().get(0).getScopes().get(0).getName());
+        assertEquals(2, second.get().size());
+        verify(rolesRepository, times(1)).findAllByIsDeleted(false);
+        assertEquals(2.0, count(UidamMetrics.ROLE_CATALOG_CACHE_HIT));
+    }
+
+    @Test
+    void findRolesByIdsMissesForUnknownRole() {
+        assertTrue(roleScopeCatalogCache.findRolesByIds(Set.of(ROLE_ID_1, UNKNOWN_ROLE_ID)).isEmpty());
+        assertEquals(1.0, count(UidamMetrics.ROLE_CATALOG_CACHE_MISS));
+    }
+
+    @Test
+    void findRolesByNamesAppliesPaging() {
+        List<RoleCreateResponse> roles = roleScopeCatalogCache
+            .findRolesByNames(Set.of("VEHICLE_OWNER", "TENANT_ADMIN", "UNKNOWN"), 0, 1).get();
+
+        assertEquals(1, roles.size());
+        assertEquals(ROLE_ID_1, roles.get(0).getId());
+        assertEquals(2, roleScopeCatalogCache.findRolesByNames(null, 0, 20).get().size());
+    }
+
+    @Test
+    void invalidateReloadsCatalog() {
+        roleScopeCatalogCache.findRolesByIds(Set.of(ROLE_ID_1));
+        roleScopeCatalogCache.invalidate();
+        roleScopeCatalogCache.findRolesByIds(Set.of(ROLE_ID_1));
+
+        verify(rolesRepository, times(2)).findAllByIsDeleted(false);
+    }
+
+    @Test
+    void catalogIsScopedPerTenant() {
+        roleScopeCatalogCache.findRolesByIds(Set.of(ROLE_ID_1));
+        TenantContext.setCurrentTenant("sdp");
+        roleScopeCatalogCache.findRolesByIds(Set.of(ROLE_ID_1));
+        roleScopeCatalogCache.invalidate();
+        TenantContext.setCurrentTenant("ecsp");
+        roleScopeCatalogCache.findRolesByIds(Set.of(ROLE_ID_1));
+
+        verify(rolesRepository, times(2)).findAllByIsDeleted(false);
+    }
+
+    @Test
+    void expiredCatalogIsReloaded() {
+        roleScopeCatalogCache = new RoleScopeCatalogCache(rolesRepository, new UidamMetricsService(meterRegistry),
+            Duration.ZERO);
+        roleScopeCatalogCache.findRolesByIds(Set.of(ROLE_ID_1));
+        roleScopeCatalogCache.findRolesByIds(Set.of(ROLE_ID_1));
+
+        verify(rolesRepository, times(2)).findAllByIsDeleted(false);
+    }
+
+    @Test
+    void concurrentLoadsOfTenantAreCoalesced() throws Exception {
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoad = new CountDownLatch(1);
+        when(rolesRepository.findAllByIsDeleted(false)).thenAnswer(invocation -> {
+            loadStarted.countDown();
+            releaseLoad.await(LOAD_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            return List.of(createRole(ROLE_ID_1, "VEHICLE_OWNER", "SelfManage"));
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Callable<Optional<List<RoleCreateResponse>>> lookup = () -> {
+                TenantContext.setCurrentTenant("ecsp");
+                try {
+                    return roleScopeCatalogCache.findRolesByIds(Set.of(ROLE_ID_1));
+                } finally {
+                    TenantContext.clear();
+                }
+            };
+            Future<Optional<List<RoleCreateResponse>>> first = executor.submit(lookup);
+            assertTrue(loadStarted.await(LOAD_TIMEOUT_SECONDS, TimeUnit.SECONDS));
+            Future<Optional<List<RoleCreateResponse>>> second = executor.submit(lookup);
+            releaseLoad.countDown();
+
+            assertTrue(first.get(LOAD_TIMEOUT_SECONDS, TimeUnit.SECONDS).isPresent());
+            assertTrue(second.get(LOAD_TIMEOUT_SECONDS, TimeUnit.SECONDS).isPresent());
+            verify(rolesRepository, times(1)).findAllByIsDeleted(false);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void failedLoadIsRetried() {
+        when(rolesRepository.findAllByIsDeleted(false)).thenThrow(new IllegalStateException("database down"))
+            .thenReturn(List.of(createRole(ROLE_ID_1, "VEHICLE_OWNER", "SelfManage")));
+
+        assertThrows(IllegalStateException.class, () -> roleScopeCatalogCache.findRolesByIds(Set.of(ROLE_ID_1)));
+        assertTrue(roleScopeCatalogCache.findRolesByIds(Set.of(ROLE_ID_1)).isPresent());
+    }
+
+    private double count(UidamMetrics metric) {
+        return meterRegistry.counter(metric.getMetricName(), "application", "uidam-user-management",
+            "tenantId", "ecsp", "apiVersion", "v1").count();
+    }
+
+    private static RolesEntity createRole(BigInteger id, String name, String scopeName) {
+        List<RoleScopeMappingEntity> mappings = new ArrayList<>();
+        RolesEntity role = new RolesEntity(id, name, name + " description", mappings, "dummyUser", new Date(),
+            null, null, false);
+        ScopesEntity scope = new ScopesEntity(id, scopeName, scopeName + " description", false, false,
+            new ArrayList<>(), "dummyUser", new Date(), null, null);
+        mappings.add(new RoleScopeMappingEntity(role, scope, "dummyUser", null));
+        return role;
+    }
+}
@@ -0,0 +1,305 @@
+/*
+ * Copyright (c) 2023 - 2024 Harman International
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package org.eclipse.ecsp.uidam.usermanagement.cache;
+
+import com.sun.net.httpserver.HttpServer;
+import io.prometheus.client.CollectorRegistry;
+import org.eclipse.ecsp.sql.multitenancy.TenantContext;
+import org.eclipse.ecsp.uidam.common.test.TestConversionConfiguration;
+import org.eclipse.ecsp.uidam.usermanagement.authorization.dto.AccessTokenDetails;
+import org.eclipse.ecsp.uidam.usermanagement.cache.impl.TenantAwareCacheTokenImpl;
+import org.eclipse.ecsp.uidam.usermanagement.config.tenantproperties.AuthServerProperties;
+import org.eclipse.ecsp.uidam.usermanagement.config.tenantproperties.UserManagementTenantProperties;
+import org.eclipse.ecsp.uidam.usermanagement.exception.ApplicationRuntimeException;
+import org.eclipse.ecsp.uidam.usermanagement.service.TenantConfigurationService;
+import org.eclipse.ecsp.uidam.usermanagement.service.UidamAuthTokenGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.mapping.JpaMetamodelMappingContext;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * This class tests the functionality of accessing and caching tokens under various conditions.
+ */
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = {TenantAwareCacheTokenImpl.class, TestConversionConfiguration.class})
+@MockitoBean(types = JpaMetamodelMappingContext.class)
+class TenantAwareCacheTokenTest {
+
+    private static final int CALLERS = 8;
+
+    @Autowired
+    private CacheTokenService cacheTokenService;
+
+    @MockitoBean
+    UidamAuthTokenGenerator uidamAuthTokenGenerator;
+
+    private HttpServer tokenServer;
+    private final AtomicInteger tokenRequests = new AtomicInteger();
+    private volatile int tokenStatus = 200;
+    private volatile long tokenExpiresIn = 3600;
+    private volatile long tokenDelayMillis;
+    private TenantAwareCacheTokenImpl stubbedTokenService;
+
+    @BeforeEach
+    @AfterEach
+    public void cleanup() {
+        CollectorRegistry.defaultRegistry.clear();
+        TenantContext.clear();
+    }
+
+    @AfterEach
+    void stopTokenServer() {
+        if (stubbedTokenService != null) {
+            stubbedTokenService.shutdown();
+        }
+        if (tokenServer != null) {
+            tokenServer.stop(0);
+        }
+    }
+
+    /**
+     * Tests the retrieval and caching of an access token when the token generator returns null.
+     * Verifies that the service returns null when no token is fetched.
+     */
+    @Test
+    void getAccessTokenNullResponse() {
+        TenantContext.setCurrentTenant("nullTenant");
+        doReturn(null).when(uidamAuthTokenGenerator).fetchUidamAuthToken();
+        assertNull(cacheTokenService.getAccessToken());
+    }
+
+    /**
+     * Tests the retrieval and caching of an access token with immediate expiration.
+     * Verifies that a token is fetched and cached correctly.
+     */
+    @Test
+    void getAccessTokenAndPutInCache() {
+        TenantContext.setCurrentTenant("expiredTenant");
+        doReturn(accessTokenDetails("token", "0")).when(uidamAuthTokenGenerator).fetchUidamAuthToken();
+        String accessToken = cacheTokenService.getAccessToken();
+        assertEquals("token", accessToken);
+    }
+
+    /**
+     * Tests the retrieval of a new access token when the cached token has expired.
+     * Ensures that a new token is fetched, cached, and returned when the existing token in the cache is expired.
+     */
+    @Test
+    void getAccessTokenWhenExpired() {
+        TenantContext.setCurrentTenant("renewedTenant");
+        doReturn(accessTokenDetails("token", "0")).when(uidamAuthTokenGenerator).fetchUidamAuthToken();
+        assertEquals("token", cacheTokenService.getAccessToken());
+        doReturn(accessTokenDetails("new_token", "3599")).when(uidamAuthTokenGenerator).fetchUidamAuthToken();
+        String accessToken = cacheTokenService.getAccessToken();
+        assertEquals("new_token", accessToken);
+    }
+
+    /**
+     * Tests the retrieval of an access token from the cache.
+     * Verifies that the cached token is returned while it is valid.
+     */
+    @Test
+    void getAccessTokenFromCache() {
+        TenantContext.setCurrentTenant("cachedTenant");
+        doReturn(accessTokenDetails("new_token", "3599")).when(uidamAuthTokenGenerator).fetchUidamAuthToken();
+        assertEquals("new_token", cacheTokenService.getAccessToken());
+        doReturn(accessTokenDetails("other_token", "3599")).when(uidamAuthTokenGenerator).fetchUidamAuthToken();
+        String accessToken = cacheTokenService.getAccessToken();
+        assertEquals("new_token", accessToken);
+    }
+
+    /**
+     * Tests that each tenant gets the token fetched with its own client credentials.
+     */
+    @Test
+    void getAccessTokenIsCachedPerTenant() throws IOException {
+        startTokenServer();
+
+        TenantContext.setCurrentTenant("ecsp");
+        String ecspToken = stubbedTokenService.getAccessToken();
+        TenantContext.setCurrentTenant("sdp");
+        String sdpToken = stubbedTokenService.getAccessToken();
+        TenantContext.setCurrentTenant("ecsp");
+
+        assertEquals("token-ecsp-1", ecspToken);
+        assertEquals("token-sdp-2", sdpToken);
+        assertEquals(ecspToken, stubbedTokenService.getAccessToken());
+        assertEquals(2, tokenRequests.get());
+    }
+
+    /**
+     * Tests that concurrent callers of a tenant without a token share a single fetch.
+     */
+    @Test
+    void getAccessTokenCoalescesConcurrentFetches() throws Exception {
+        startTokenServer();
+        tokenDelayMillis = 300;
+        ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(callers.submit(() -> {
+                    TenantContext.setCurrentTenant("ecsp");
+                    try {
+                        return stubbedTokenService.getAccessToken();
+                    } finally {
+                        TenantContext.clear();
+                    }
+                }));
+            }
+            for (Future<String> result : results) {
+                assertEquals("token-ecsp-1", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+        assertEquals(1, tokenRequests.get());
+    }
+
+    /**
+     * Tests that a token in use is refreshed in the background before it stops being used.
+     */
+    @Test
+    void getAccessTokenIsRefreshedInBackground() throws Exception {
+        startTokenServer();
+        // Usable for 5 seconds and refreshed 4 seconds before that
+        tokenExpiresIn = 65;
+        TenantContext.setCurrentTenant("ecsp");
+        long start = System.nanoTime();
+
+        assertEquals("token-ecsp-1", stubbedTokenService.getAccessToken());
+        tokenExpiresIn = 3600;
+        String accessToken = stubbedTokenService.getAccessToken();
+        while ("token-ecsp-1".equals(accessToken) && System.nanoTime() - start < TimeUnit.SECONDS.toNanos(4)) {
+            Thread.sleep(50);
+            accessToken = stubbedTokenService.getAccessToken();
+        }
+
+        assertEquals("token-ecsp-2", accessToken);
+        assertEquals(2, tokenRequests.get());
+    }
+
+    /**
+     * Tests that a failed fetch is not retried until the backoff has elapsed.
+     */
+    @Test
+    void getAccessTokenBacksOffAfterFailure() throws IOException {
+        startTokenServer();
+        tokenStatus = 500;
+        TenantContext.setCurrentTenant("ecsp");
+
+        assertThrows(ApplicationRuntimeException.class, () -> stubbedTokenService.getAccessToken());
+        tokenStatus = 200;
+
+        assertNull(stubbedTokenService.getAccessToken());
+        assertEquals(1, tokenRequests.get());
+    }
+
+    private void startTokenServer() throws IOException {
+        tokenServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        tokenServer.setExecutor(Executors.newCachedThreadPool());
+        tokenServer.createContext("/oauth2/token", exchange -> {
+            Map<String, String> form = parseForm(new String(exchange.getRequestBody().readAllBytes(),
+                StandardCharsets.UTF_8));
+            int request = tokenRequests.incrementAndGet();
+            sleep(tokenDelayMillis);
+            byte[] body = tokenStatus == 200
+                ? ("{\"access_token\":\"token-" + form.get("client_id") + "-" + request + "\",\"expires_in\":\""
+                    + tokenExpiresIn + "\",\"token_type\":\"Bearer\"}").getBytes(StandardCharsets.UTF_8)
+                : "{}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(tokenStatus, body.length);
+            try (OutputStream responseBody = exchange.getResponseBody()) {
+                responseBody.write(body);
+            }
+        });
+        tokenServer.start();
+
+        TenantConfigurationService tenantConfigurationService = mock(TenantConfigurationService.class);
+        when(tenantConfigurationService.getTenantProperties()).thenAnswer(invocation ->
+            tenantProperties(TenantContext.getCurrentTenant()));
+        UidamAuthTokenGenerator tokenGenerator = new UidamAuthTokenGenerator();
+        ReflectionTestUtils.setField(tokenGenerator, "tenantConfigurationService", tenantConfigurationService);
+        ReflectionTestUtils.setField(tokenGenerator, "webClient", WebClient.create());
+        stubbedTokenService = new TenantAwareCacheTokenImpl(Duration.ofSeconds(4), Duration.ofMinutes(1),
+            Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(stubbedTokenService, "uidamAuthTokenGenerator", tokenGenerator);
+    }
+
+    private UserManagementTenantProperties tenantProperties(String tenantId) {
+        AuthServerProperties authServerProperties = new AuthServerProperties();
+        authServerProperties.setHostName("http://localhost:" + tokenServer.getAddress().getPort());
+        authServerProperties.setClientId(tenantId);
+        authServerProperties.setClientSecret("secret");
+        UserManagementTenantProperties tenantProperties = new UserManagementTenantProperties();
+        tenantProperties.setAuthServer(authServerProperties);
+        return tenantProperties;
+    }
+
+    private static Map<String, String> parseForm(String body) {
+        return Arrays.stream(body.split("&")).map(pair -> pair.split("=", 2))
+            .collect(Collectors.toMap(pair -> URLDecoder.decode(pair[0], StandardCharsets.UTF_8),
+                pair -> pair.length > 1 ? URLDecoder.decode(pair[1], StandardCharsets.UTF_8) : ""));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static AccessTokenDetails accessTokenDetails(String accessToken, String expiresIn) {
+        AccessTokenDetails accessTokenDetails = new AccessTokenDetails();
+        accessTokenDetails.setAccessToken(accessToken);
+        accessTokenDetails.setExpiresIn(expiresIn);
+        return accessTokenDetails;
+    }
+}
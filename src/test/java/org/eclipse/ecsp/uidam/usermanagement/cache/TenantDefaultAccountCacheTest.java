@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2023 - 2024 Harman International
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package org.eclipse.ecsp.uidam.usermanagement.cache;
+
+import org.eclipse.ecsp.sql.multitenancy.TenantContext;
+import org.eclipse.ecsp.uidam.accountmanagement.entity.AccountEntity;
+import org.eclipse.ecsp.uidam.accountmanagement.repository.AccountRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.math.BigInteger;
+import java.util.Optional;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test case for validating the tenant scoped default account cache.
+ */
+class TenantDefaultAccountCacheTest {
+
+    private static final String ACCOUNT_NAME = "userdefaultaccount";
+
+    private AccountRepository accountRepository;
+    private TenantDefaultAccountCache tenantDefaultAccountCache;
+
+    @BeforeEach
+    void setUp() {
+        TenantContext.setCurrentTenant("ecsp");
+        accountRepository = mock(AccountRepository.class);
+        AccountEntity account = new AccountEntity();
+        account.setId(BigInteger.TEN);
+        when(accountRepository.findByAccountName(ACCOUNT_NAME)).thenReturn(Optional.of(account));
+        tenantDefaultAccountCache = new TenantDefaultAccountCache(accountRepository);
+    }
+
+    @AfterEach
+    void cleanup() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void accountIdIsLoadedOncePerTenant() {
+        assertEquals(BigInteger.TEN, tenantDefaultAccountCache.getAccountId(ACCOUNT_NAME));
+        assertEquals(BigInteger.TEN, tenantDefaultAccountCache.getAccountId(ACCOUNT_NAME));
+        verify(accountRepository, times(1)).findByAccountName(ACCOUNT_NAME);
+
+        TenantContext.setCurrentTenant("sdp");
+        tenantDefaultAccountCache.getAccountId(ACCOUNT_NAME);
+        verify(accountRepository, times(2)).findByAccountName(ACCOUNT_NAME);
+    }
+
+    @Test
+    void clearCacheReloadsAccountId() {
+        tenantDefaultAccountCache.getAccountId(ACCOUNT_NAME);
+        tenantDefaultAccountCache.clearCache("sdp");
+        tenantDefaultAccountCache.getAccountId(ACCOUNT_NAME);
+        verify(accountRepository, times(1)).findByAccountName(ACCOUNT_NAME);
+
+        tenantDefaultAccountCache.clearCache("ecsp");
+        tenantDefaultAccountCache.getAccountId(ACCOUNT_NAME);
+        verify(accountRepository, times(2)).findByAccountName(ACCOUNT_NAME);
+    }
+
+    @Test
+    void missingAccountIsNotCached() {
+        assertNull(tenantDefaultAccountCache.getAccountId("unknown"));
+        tenantDefaultAccountCache.getAccountId("unknown");
+        verify(accountRepository, times(2)).findByAccountName("unknown");
+    }
+}
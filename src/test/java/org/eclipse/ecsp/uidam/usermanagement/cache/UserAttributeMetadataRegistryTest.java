@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2023 - 2024 Harman International
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package org.eclipse.ecsp.uidam.usermanagement.cache;
+
+import org.eclipse.ecsp.sql.multitenancy.TenantContext;
+import org.eclipse.ecsp.uidam.usermanagement.entity.UserAttributeEntity;
+import org.eclipse.ecsp.uidam.usermanagement.repository.UserAttributeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test case for validating the tenant scoped user attribute metadata registry.
+ */
+class UserAttributeMetadataRegistryTest {
+
+    private static final BigInteger ATTRIBUTE_ID_1 = BigInteger.valueOf(1);
+    private static final BigInteger ATTRIBUTE_ID_2 = BigInteger.valueOf(2);
+    private static final BigInteger UNKNOWN_ATTRIBUTE_ID = BigInteger.valueOf(99);
+    private static final int AGE = 42;
+
+    private UserAttributeRepository userAttributeRepository;
+    private UserAttributeMetadataRegistry userAttributeMetadataRegistry;
+
+    @BeforeEach
+    void setUp() {
+        TenantContext.setCurrentTenant("ecsp");
+        userAttributeRepository = mock(UserAttributeRepository.class);
+        when(userAttributeRepository.findAll()).thenReturn(List.of(createAttribute(ATTRIBUTE_ID_1, "Nickname",
+            "varchar"), createAttribute(ATTRIBUTE_ID_2, "age", "int4")));
+        userAttributeMetadataRegistry = new UserAttributeMetadataRegistry(userAttributeRepository,
+            Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void cleanup() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void metadataIsLoadedOnce() {
+        assertEquals(2, userAttributeMetadataRegistry.getAttributes().size());
+        assertEquals(ATTRIBUTE_ID_1, userAttributeMetadataRegistry.getAttributesByName().get("nickname").getId());
+        assertEquals(List.of(ATTRIBUTE_ID_2), userAttributeMetadataRegistry
+            .findAllById(List.of(ATTRIBUTE_ID_2, ATTRIBUTE_ID_2)).stream().map(UserAttributeEntity::getId).toList());
+
+        verify(userAttributeRepository, times(1)).findAll();
+    }
+
+    @Test
+    void convertUsesTheAttributeDataType() {
+        UserAttributeEntity age = userAttributeMetadataRegistry.getAttributesByName().get("age");
+
+        assertEquals(AGE, userAttributeMetadataRegistry.convert(age, String.valueOf(AGE)));
+        assertEquals(1, userAttributeMetadataRegistry.convert(createAttribute(UNKNOWN_ATTRIBUTE_ID, "flag", "bit"),
+            "1"));
+    }
+
+    @Test
+    void unknownIdReloadsMetadata() {
+        assertTrue(userAttributeMetadataRegistry.findAllById(List.of(UNKNOWN_ATTRIBUTE_ID)).isEmpty());
+
+        verify(userAttributeRepository, times(2)).findAll();
+    }
+
+    @Test
+    void invalidateReloadsMetadata() {
+        userAttributeMetadataRegistry.getAttributes();
+        userAttributeMetadataRegistry.invalidate();
+        userAttributeMetadataRegistry.getAttributes();
+
+        verify(userAttributeRepository, times(2)).findAll();
+    }
+
+    @Test
+    void metadataIsScopedPerTenant() {
+        userAttributeMetadataRegistry.getAttributes();
+        TenantContext.setCurrentTenant("sdp");
+        userAttributeMetadataRegistry.getAttributes();
+        userAttributeMetadataRegistry.invalidate();
+        TenantContext.setCurrentTenant("ecsp");
+        userAttributeMetadataRegistry.getAttributes();
+
+        verify(userAttributeRepository, times(2)).findAll();
+    }
+
+    @Test
+    void expiredMetadataIsReloaded() {
+        userAttributeMetadataRegistry = new UserAttributeMetadataRegistry(userAttributeRepository, Duration.ZERO);
+        userAttributeMetadataRegistry.getAttributes();
+        userAttributeMetadataRegistry.getAttributes();
+
+        verify(userAttributeRepository, times(2)).findAll();
+    }
+
+    private static UserAttributeEntity createAttribute(BigInteger id, String name, String type) {
+        return new UserAttributeEntity(id, name, false, false, false, true, true, type, ".*", "system", null,
+            null, null);
+    }
+}
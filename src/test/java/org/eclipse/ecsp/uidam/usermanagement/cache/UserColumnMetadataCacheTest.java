@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2023 - 2024 Harman International
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package org.eclipse.ecsp.uidam.usermanagement.cache;
+
+import org.eclipse.ecsp.sql.multitenancy.TenantContext;
+import org.eclipse.ecsp.uidam.usermanagement.dao.UserManagementDao;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.util.Map;
+import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.USER_ACCOUNT_ROLE_MAPPING_TABLE_NAME;
+import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.USER_ADDRESS_ENTITY_TABLE_NAME;
+import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.USER_ENTITY_TABLE_NAME;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test case for validating the tenant scoped user column metadata cache.
+ */
+class UserColumnMetadataCacheTest {
+
+    private static final int TABLE_COUNT = 3;
+
+    private UserManagementDao userManagementDao;
+    private UserColumnMetadataCache userColumnMetadataCache;
+
+    @BeforeEach
+    void setUp() {
+        TenantContext.setCurrentTenant("ecsp");
+        userManagementDao = mock(UserManagementDao.class);
+        when(userManagementDao.getColumnDataType(any(), eq(USER_ENTITY_TABLE_NAME)))
+            .thenReturn(Map.of("user_name", "varchar"));
+        when(userManagementDao.getColumnDataType(any(), eq(USER_ADDRESS_ENTITY_TABLE_NAME)))
+            .thenReturn(Map.of("city", "varchar"));
+        when(userManagementDao.getColumnDataType(any(), eq(USER_ACCOUNT_ROLE_MAPPING_TABLE_NAME)))
+            .thenReturn(Map.of("role_id", "numeric"));
+        userColumnMetadataCache = new UserColumnMetadataCache(userManagementDao);
+    }
+
+    @AfterEach
+    void cleanup() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void columnTypesAreLoadedOncePerTenant() {
+        Map<String, String> columnTypes = userColumnMetadataCache.getColumnDataTypes();
+        userColumnMetadataCache.getColumnDataTypes();
+
+        assertEquals(Map.of("user_name", "varchar", "city", "varchar", "role_id", "numeric"), columnTypes);
+        verify(userManagementDao, times(TABLE_COUNT)).getColumnDataType(any(), anyString());
+
+        TenantContext.setCurrentTenant("sdp");
+        userColumnMetadataCache.getColumnDataTypes();
+        verify(userManagementDao, times(2 * TABLE_COUNT)).getColumnDataType(any(), anyString());
+    }
+
+    @Test
+    void clearCacheReloadsColumnTypes() {
+        userColumnMetadataCache.getColumnDataTypes();
+        userColumnMetadataCache.clearCache("sdp");
+        userColumnMetadataCache.getColumnDataTypes();
+        verify(userManagementDao, times(TABLE_COUNT)).getColumnDataType(any(), anyString());
+
+        userColumnMetadataCache.clearCache("ecsp");
+        userColumnMetadataCache.getColumnDataTypes();
+        verify(userManagementDao, times(2 * TABLE_COUNT)).getColumnDataType(any(), anyString());
+    }
+
+    @Test
+    void userFieldsAreReflectedOnce() {
+        assertFalse(userColumnMetadataCache.getUserFields().isEmpty());
+        assertEquals(userColumnMetadataCache.getUserFields(), userColumnMetadataCache.getUserFields());
+    }
+}
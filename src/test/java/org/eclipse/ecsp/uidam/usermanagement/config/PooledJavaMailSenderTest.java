@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2023 - 2024 Harman International
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package org.eclipse.ecsp.uidam.usermanagement.config;
+
+import jakarta.mail.Address;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.MailSendException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Properties;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for PooledJavaMailSender.
+ */
+class PooledJavaMailSenderTest {
+
+    private static final int MAX_CONNECTIONS = 2;
+
+    private final Deque<Transport> transports = new ArrayDeque<>();
+    private int connects;
+    private PooledJavaMailSender mailSender;
+
+    @BeforeEach
+    void setUp() {
+        mailSender = createMailSender(Duration.ofMinutes(1));
+    }
+
+    @Test
+    void sendReusesConnectedTransport() throws MessagingException {
+        Transport transport = addTransport();
+
+        mailSender.send(createMessage("john.doe@example.com"));
+        mailSender.send(createMessage("jane.doe@example.com"));
+
+        assertEquals(1, connects);
+        verify(transport, times(2)).sendMessage(any(Message.class), any(Address[].class));
+        verify(transport, never()).close();
+    }
+
+    @Test
+    void batchIsSentOverOneConnection() throws MessagingException {
+        Transport transport = addTransport();
+
+        mailSender.send(createMessage("john.doe@example.com"), createMessage("jane.doe@example.com"),
+            createMessage("max.doe@example.com"));
+
+        assertEquals(1, connects);
+        verify(transport, times(3)).sendMessage(any(Message.class), any(Address[].class));
+    }
+
+    @Test
+    void disconnectedTransportIsReplaced() throws MessagingException {
+        Transport stale = addTransport();
+        Transport fresh = addTransport();
+        mailSender.send(createMessage("john.doe@example.com"));
+        when(stale.isConnected()).thenReturn(false);
+
+        mailSender.send(createMessage("jane.doe@example.com"));
+
+        assertEquals(2, connects);
+        verify(stale).close();
+        verify(fresh).sendMessage(any(Message.class), any(Address[].class));
+    }
+
+    @Test
+    void failedMessageIsReportedAndRemainingMessagesAreSent() throws MessagingException {
+        Transport transport = addTransport();
+        MimeMessage rejected = createMessage("rejected@example.com");
+        doThrow(new MessagingException("Recipient rejected")).when(transport).sendMessage(any(Message.class),
+            any(Address[].class));
+
+        MailSendException exception = assertThrows(MailSendException.class,
+            () -> mailSender.send(rejected, createMessage("jane.doe@example.com")));
+
+        assertEquals(2, exception.getFailedMessages().size());
+        assertEquals(1, connects);
+    }
+
+    @Test
+    void idleTransportsAreClosed() throws MessagingException {
+        mailSender = createMailSender(Duration.ZERO);
+        Transport transport = addTransport();
+        mailSender.send(createMessage("john.doe@example.com"));
+
+        assertEquals(1, mailSender.closeIdleTransports());
+
+        verify(transport).close();
+    }
+
+    @Test
+    void closeClosesPooledTransports() throws MessagingException {
+        Transport transport = addTransport();
+        mailSender.send(createMessage("john.doe@example.com"));
+
+        mailSender.close();
+
+        verify(transport).close();
+    }
+
+    @Test
+    void transportReturnedAfterCloseIsClosed() throws MessagingException {
+        Transport transport = addTransport();
+        doAnswer(invocation -> {
+            mailSender.close();
+            return null;
+        }).when(transport).sendMessage(any(Message.class), any(Address[].class));
+
+        mailSender.send(createMessage("john.doe@example.com"));
+
+        verify(transport).close();
+        assertEquals(0, mailSender.closeIdleTransports());
+    }
+
+    private PooledJavaMailSender createMailSender(Duration idleTimeout) {
+        return new PooledJavaMailSender(MAX_CONNECTIONS, idleTimeout, Duration.ofSeconds(1)) {
+            @Override
+            protected Transport connectTransport() {
+                connects++;
+                return transports.removeFirst();
+            }
+        };
+    }
+
+    private Transport addTransport() {
+        Transport transport = mock(Transport.class);
+        when(transport.isConnected()).thenReturn(true);
+        transports.addLast(transport);
+        return transport;
+    }
+
+    private static MimeMessage createMessage(String to) throws MessagingException {
+        MimeMessage message = new MimeMessage(Session.getInstance(new Properties()));
+        message.setFrom(new InternetAddress("noreply@example.com"));
+        message.setRecipient(Message.RecipientType.TO, new InternetAddress(to));
+        message.setSubject("Account locked");
+        message.setText("Your account has been locked");
+        return message;
+    }
+}
@@ -29,9 +29,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mail.javamail.JavaMailSender;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -53,6 +55,7 @@ class TenantAwareJavaMailSenderFactoryTest {
 
     private static final String TENANT_ECSP = "ecsp";
     private static final String TENANT_SDP = "sdp";
+    private static final int MAX_CONNECTIONS = 2;
 
     @BeforeEach
     void setUp() {
@@ -62,7 +65,8 @@ class TenantAwareJavaMailSenderFactoryTest {
         } catch (Exception e) {
             // Ignore any exceptions during setup
         }
-        factory = new TenantAwareJavaMailSenderFactory(tenantConfigurationService);
+        factory = new TenantAwareJavaMailSenderFactory(tenantConfigurationService, MAX_CONNECTIONS,
+                Duration.ofSeconds(60), Duration.ofSeconds(30));
     }
 
     @AfterEach
@@ -87,6 +91,7 @@ class TenantAwareJavaMailSenderFactoryTest {
 
         assertNotNull(mailSender1);
         assertSame(mailSender1, mailSender2, "Should return cached instance");
+        assertInstanceOf(PooledJavaMailSender.class, mailSender1);
         //CHECKSTYLE.OFF: MagicNumber - Test verification count
         verify(tenantConfigurationService, times(2)).getTenantProperties();
         //CHECKSTYLE.ON: MagicNumber
@@ -631,7 +631,6 @@ class UserEventTest {
                 .thenReturn(attributeValueList);
         List<UserAttributeEntity> userAttributeEntityList = getUserAttributeDetails();
         when(userAttributeRepository.findAll()).thenReturn(userAttributeEntityList);
-        when(userAttributeRepository.findAllById(any())).thenReturn(userAttributeEntityList);
         when(usersRepository.save(Mockito.any())).thenReturn(userEntity);
         ObjectMapper objectMapper = new ObjectMapper();
         String decryptValue = "[{\"op\":\"replace\",\"path\":\"/firstName\",\"value\":\"JohnSEorro\"},"
@@ -702,7 +701,6 @@ class UserEventTest {
                 .thenReturn(attributeValueList);
         List<UserAttributeEntity> userAttributeEntityList = getUserAttributeDetails();
         when(userAttributeRepository.findAll()).thenReturn(userAttributeEntityList);
-        when(userAttributeRepository.findAllById(any())).thenReturn(userAttributeEntityList);
         when(usersRepository.save(Mockito.any())).thenReturn(userEntity);
         ObjectMapper objectMapper = new ObjectMapper();
         String decryptValue = "[{\"op\":\"replace\",\"path\":\"/firstName\",\"value\":\"JohnSEorro\"},"
@@ -758,7 +756,6 @@ class UserEventTest {
         List<UserAttributeEntity> userAttributeEntityList = getUserAttributeDetails();
         userAttributeEntityList.get(0).setReadOnly(true);
         when(userAttributeRepository.findAll()).thenReturn(userAttributeEntityList);
-        when(userAttributeRepository.findAllById(List.of(ATTR_ID_VALUE_1))).thenReturn(userAttributeEntityList);
         when(usersRepository.save(Mockito.any())).thenReturn(userEntity);
         ObjectMapper objectMapper = new ObjectMapper();
         String decryptValue = "[{\"op\":\"replace\",\"path\":\"/firstName\",\"value\":\"JohnSEorro\"},"
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2023 - 2024 Harman International
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package org.eclipse.ecsp.uidam.usermanagement.controller;
+
+import io.prometheus.client.CollectorRegistry;
+import org.eclipse.ecsp.sql.multitenancy.TenantContext;
+import org.eclipse.ecsp.uidam.usermanagement.exception.ResourceNotFoundException;
+import org.eclipse.ecsp.uidam.usermanagement.service.EmailVerificationService;
+import org.eclipse.ecsp.uidam.usermanagement.service.TenantConfigurationService;
+import org.eclipse.ecsp.uidam.usermanagement.service.UsersService;
+import org.eclipse.ecsp.uidam.usermanagement.user.request.dto.UsersGetFilterV2;
+import org.eclipse.ecsp.uidam.usermanagement.utilities.UserAuditHelper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.data.jpa.mapping.JpaMetamodelMappingContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.PATH_EXPORT;
+import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.USER_RESOURCE_PATH;
+import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.VERSION_V2;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests for the user export API of UsersControllerV2.
+ */
+@WebMvcTest({UsersControllerV2.class})
+@AutoConfigureMockMvc(addFilters = false)
+@MockitoBean(types = JpaMetamodelMappingContext.class)
+class UsersControllerV2ExportTest {
+
+    private static final String EXPORT_PATH = VERSION_V2 + USER_RESOURCE_PATH + PATH_EXPORT;
+    private static final String TENANT = "ecsp";
+    private static final String EXPORTED_LINES = "{\"userName\":\"john\"}\n{\"userName\":\"jane\"}\n";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @MockitoBean
+    private UsersService usersService;
+    @MockitoBean
+    private EmailVerificationService emailVerificationService;
+    @MockitoBean
+    private TenantConfigurationService tenantConfigurationService;
+    @MockitoBean
+    private UserAuditHelper userAuditHelper;
+
+    @BeforeEach
+    void setUp() {
+        CollectorRegistry.defaultRegistry.clear();
+        TenantContext.setCurrentTenant(TENANT);
+    }
+
+    @AfterEach
+    void cleanup() {
+        TenantContext.clear();
+        CollectorRegistry.defaultRegistry.clear();
+    }
+
+    @Test
+    void exportUsersStreamsNdjsonWithTenantOfRequest() throws Exception {
+        AtomicReference<String> exportTenant = new AtomicReference<>();
+        AtomicReference<Thread> exportThread = new AtomicReference<>();
+        when(usersService.exportUsers(any(UsersGetFilterV2.class), anyBoolean(), any(), any(OutputStream.class)))
+            .thenAnswer(invocation -> {
+                exportTenant.set(TenantContext.getCurrentTenant());
+                exportThread.set(Thread.currentThread());
+                OutputStream outputStream = invocation.getArgument(3);
+                outputStream.write(EXPORTED_LINES.getBytes(StandardCharsets.UTF_8));
+                return 2L;
+            });
+
+        MvcResult mvcResult = mockMvc.perform(post(EXPORT_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .content("{}"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        mockMvc.perform(asyncDispatch(mvcResult))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+            .andExpect(content().string(EXPORTED_LINES));
+
+        // The body is written on an async thread that got the tenant of the request
+        assertNotEquals(Thread.currentThread(), exportThread.get());
+        assertEquals(TENANT, exportTenant.get());
+    }
+
+    @Test
+    void exportUsersWithoutMatchesReturnsEmptyBody() throws Exception {
+        when(usersService.exportUsers(any(UsersGetFilterV2.class), anyBoolean(), any(), any(OutputStream.class)))
+            .thenThrow(new ResourceNotFoundException("user", "filter", "{}"));
+
+        MvcResult mvcResult = mockMvc.perform(post(EXPORT_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        mockMvc.perform(asyncDispatch(mvcResult))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+            .andExpect(content().string(""));
+    }
+}
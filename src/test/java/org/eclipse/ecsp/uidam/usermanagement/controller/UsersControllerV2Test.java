@@ -88,6 +88,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.DESCENDING;
+import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.NEXT_CURSOR_HEADER;
 import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.PAGE_NUMBER;
 import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.PAGE_NUMBER_DEFAULT;
 import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.PAGE_SIZE;
@@ -125,6 +126,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anySet;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -707,6 +709,28 @@ class UsersControllerV2Test {
                 .getResponseBody();
     }
 
+    @Test
+    void getUsersByCursor() throws Exception {
+        UserEntity userEntity = mockUserEntity();
+        AccountEntity actEntity = addAccountIntoDb("TestAccount", AccountStatus.ACTIVE, ROLE_ID_1,
+                userEntity.getAccountRoleMapping().get(0).getAccountId(), null);
+        userEntity.getAccountRoleMapping().get(0).setAccountId(actEntity.getId());
+        when(userRepository.findBy(any(Specification.class), any())).thenReturn(List.of(userEntity));
+        when(accountRepository.findById(any())).thenReturn(Optional.of(actEntity));
+        RoleCreateResponse role = new RoleCreateResponse();
+        role.setName("VEHICLE_OWNER");
+        role.setId(ROLE_ID_1);
+        when(rolesService.getRoleById(any(HashSet.class))).thenReturn(new RoleListRepresentation(Set.of(role)));
+        webTestClient.post().uri("/v2/users/filter?cursor=&sortBy=USER_NAMES").headers(http -> {
+            http.add("Content-Type", "application/json");
+            http.add(TENANT_ID, "tenant1");
+            http.add(ApiConstants.CORRELATION_ID, UUID.randomUUID().toString());
+            http.add(ApiConstants.LOGGED_IN_USER_ID, "1234567890");
+        }).bodyValue(createUsersGetFilterV2("TestAccount", null)).exchange().expectStatus().isEqualTo(HttpStatus.OK)
+                .expectHeader().doesNotExist(NEXT_CURSOR_HEADER);
+        verify(userRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+    }
+
     @Test
     void editUserSuccess() throws Exception {
         List<RolesEntity> commonRolesEntities = List.of(
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2023 - 2024 Harman International
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+
+package org.eclipse.ecsp.uidam.usermanagement.mapper;
+
+import org.eclipse.ecsp.uidam.usermanagement.entity.UserEntity;
+import org.eclipse.ecsp.uidam.usermanagement.enums.Gender;
+import org.eclipse.ecsp.uidam.usermanagement.enums.UserStatus;
+import org.eclipse.ecsp.uidam.usermanagement.user.request.dto.UserDtoV1;
+import org.eclipse.ecsp.uidam.usermanagement.user.response.dto.UserDetailsResponse;
+import org.eclipse.ecsp.uidam.usermanagement.user.response.dto.UserResponseV1;
+import org.eclipse.ecsp.uidam.usermanagement.user.response.dto.UserResponseV2;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.math.BigInteger;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import static org.eclipse.ecsp.uidam.usermanagement.utilities.Constants.ADDRESS1_VALUE;
+import static org.eclipse.ecsp.uidam.usermanagement.utilities.Constants.ADDRESS2_VALUE;
+import static org.eclipse.ecsp.uidam.usermanagement.utilities.Constants.BIRTH_DATE_VALUE;
+import static org.eclipse.ecsp.uidam.usermanagement.utilities.Constants.CITY_VALUE;
+import static org.eclipse.ecsp.uidam.usermanagement.utilities.Constants.COUNTRY_VALUE;
+import static org.eclipse.ecsp.uidam.usermanagement.utilities.Constants.EMAIL_VALUE;
+import static org.eclipse.ecsp.uidam.usermanagement.utilities.Constants.FIRST_NAME_VALUE;
+import static org.eclipse.ecsp.uidam.usermanagement.utilities.Constants.LAST_NAME_VALUE;
+import static org.eclipse.ecsp.uidam.usermanagement.utilities.Constants.LOCALE_VALUE;
+import static org.eclipse.ecsp.uidam.usermanagement.utilities.Constants.PASSWORD_VALUE;
+import static org.eclipse.ecsp.uidam.usermanagement.utilities.Constants.PHONE_NUMBER_VALUE;
+import static org.eclipse.ecsp.uidam.usermanagement.utilities.Constants.POSTAL_CODE_VALUE;
+import static org.eclipse.ecsp.uidam.usermanagement.utilities.Constants.ROLE_VALUE;
+import static org.eclipse.ecsp.uidam.usermanagement.utilities.Constants.STATE_VALUE;
+import static org.eclipse.ecsp.uidam.usermanagement.utilities.Constants.USER_NAME_VALUE;
+
+/**
+ * Benchmarks for the UserMapper mappings between user requests, user entities and user responses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserMapperBenchmark {
+
+    private UserDtoV1 userDto;
+    private UserEntity userEntity;
+    private Map<String, String> userPatch;
+
+    /**
+     * Builds the user request, the user entity and the patch of a user update.
+     */
+    @Setup
+    public void setUp() {
+        userDto = new UserDtoV1();
+        userDto.setFirstName(FIRST_NAME_VALUE);
+        userDto.setLastName(LAST_NAME_VALUE);
+        userDto.setCountry(COUNTRY_VALUE);
+        userDto.setState(STATE_VALUE);
+        userDto.setCity(CITY_VALUE);
+        userDto.setAddress1(ADDRESS1_VALUE);
+        userDto.setAddress2(ADDRESS2_VALUE);
+        userDto.setPostalCode(POSTAL_CODE_VALUE);
+        userDto.setPhoneNumber(PHONE_NUMBER_VALUE);
+        userDto.setEmail(EMAIL_VALUE);
+        userDto.setGender(Gender.MALE);
+        userDto.setBirthDate(BIRTH_DATE_VALUE);
+        userDto.setLocale(LOCALE_VALUE);
+        userDto.setPassword(PASSWORD_VALUE);
+        userDto.setUserName(USER_NAME_VALUE);
+        userDto.setRoles(Set.of(ROLE_VALUE));
+        userDto.setStatus(UserStatus.ACTIVE);
+        userEntity = UserMapper.USER_MAPPER.mapToUser(userDto);
+        userEntity.setId(BigInteger.valueOf(10001));
+        userPatch = Map.of("firstName", "John", "lastName", "Smith", "phoneNumber", "+17535011234");
+    }
+
+    @Benchmark
+    public UserEntity mapToUser() {
+        return UserMapper.USER_MAPPER.mapToUser(userDto);
+    }
+
+    @Benchmark
+    public UserResponseV1 mapToUserResponseV1() {
+        return UserMapper.USER_MAPPER.mapToUserResponseV1(userEntity);
+    }
+
+    @Benchmark
+    public UserResponseV2 mapToUserResponseV2() {
+        return UserMapper.USER_MAPPER.mapToUserResponseV2(userEntity);
+    }
+
+    @Benchmark
+    public UserDetailsResponse mapToUserDetailsResponse() {
+        return UserMapper.USER_MAPPER.mapToUserDetailsResponse(userEntity);
+    }
+
+    @Benchmark
+    public UserEntity updateUserEntityData() {
+        UserMapper.USER_MAPPER.updateUserEntityData(userPatch, userEntity);
+        return userEntity;
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2023 - 2024 Harman International
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package org.eclipse.ecsp.uidam.usermanagement.notification.providers.email.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import org.eclipse.ecsp.uidam.usermanagement.config.tenantproperties.NotificationProperties;
+import org.eclipse.ecsp.uidam.usermanagement.config.tenantproperties.UserManagementTenantProperties;
+import org.eclipse.ecsp.uidam.usermanagement.service.TenantConfigurationService;
+import org.eclipse.ecsp.uidam.usermanagement.user.request.dto.NonRegisteredUserData;
+import org.eclipse.ecsp.uidam.usermanagement.user.request.dto.NotificationNonRegisteredUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ReactorClientHttpRequestFactory;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.jsonPath;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+
+/**
+ * Unit tests for IgniteEmailNotificationProvider.
+ */
+class IgniteEmailNotificationProviderTest {
+
+    private static final String NOTIFICATION_API_URL =
+        "http://notification-api:8080/v1/notifications/nonRegisteredUsers";
+    private static final String SUCCESS_RESPONSE = "{\"message\": \"success\"}";
+    private static final int BATCH_SIZE = 2;
+
+    private TenantConfigurationService tenantConfigurationService;
+    private IgniteEmailNotificationProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        tenantConfigurationService = mock(TenantConfigurationService.class);
+        NotificationProperties notificationProperties = new NotificationProperties();
+        notificationProperties.setNotificationApiUrl(NOTIFICATION_API_URL);
+        notificationProperties.setNotificationId("UIDAM_NOTIFICATION");
+        UserManagementTenantProperties tenantProperties = new UserManagementTenantProperties();
+        tenantProperties.setNotification(notificationProperties);
+        when(tenantConfigurationService.getTenantProperties()).thenReturn(tenantProperties);
+    }
+
+    @AfterEach
+    void cleanup() {
+        provider.close();
+    }
+
+    @Test
+    void sendEmailNotificationPostsRequestWithApplicationObjectMapper() {
+        ObjectMapper objectMapper = new ObjectMapper().setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE);
+        provider = createProvider(objectMapper);
+        MockRestServiceServer server = MockRestServiceServer.bindTo(provider.getRestTemplate()).build();
+        server.expect(ExpectedCount.once(), requestTo(NOTIFICATION_API_URL))
+            .andExpect(method(HttpMethod.POST))
+            .andExpect(jsonPath("$.notification_id").value("UIDAM_NOTIFICATION"))
+            .andExpect(jsonPath("$.recipients[0].email").value("john.doe@example.com"))
+            .andRespond(withStatus(HttpStatus.OK).body(SUCCESS_RESPONSE));
+
+        assertTrue(provider.sendEmailNotification(createRequest("john.doe@example.com")));
+
+        server.verify();
+    }
+
+    @Test
+    void batchModeSendsRecipientsOfOneNotificationInOneRequest() {
+        provider = createProvider(new ObjectMapper(), true);
+        MockRestServiceServer server = MockRestServiceServer.bindTo(provider.getRestTemplate()).build();
+        server.expect(ExpectedCount.once(), requestTo(NOTIFICATION_API_URL))
+            .andExpect(method(HttpMethod.POST))
+            .andExpect(jsonPath("$.recipients.length()").value(BATCH_SIZE))
+            .andExpect(jsonPath("$.recipients[0].email").value("john.doe@example.com"))
+            .andExpect(jsonPath("$.recipients[1].email").value("jane.doe@example.com"))
+            .andRespond(withStatus(HttpStatus.OK).body(SUCCESS_RESPONSE));
+
+        assertTrue(provider.sendEmailNotifications(List.of(createRequest("john.doe@example.com"),
+            createRequest("jane.doe@example.com"))));
+
+        server.verify();
+    }
+
+    @Test
+    void batchModeSplitsRecipientsByBatchSize() {
+        provider = createProvider(new ObjectMapper(), true);
+        MockRestServiceServer server = MockRestServiceServer.bindTo(provider.getRestTemplate()).build();
+        server.expect(ExpectedCount.once(), requestTo(NOTIFICATION_API_URL))
+            .andExpect(jsonPath("$.recipients.length()").value(BATCH_SIZE))
+            .andRespond(withStatus(HttpStatus.OK).body(SUCCESS_RESPONSE));
+        server.expect(ExpectedCount.once(), requestTo(NOTIFICATION_API_URL))
+            .andExpect(jsonPath("$.recipients.length()").value(1))
+            .andExpect(jsonPath("$.recipients[0].email").value("max.doe@example.com"))
+            .andRespond(withStatus(HttpStatus.OK).body(SUCCESS_RESPONSE));
+
+        assertTrue(provider.sendEmailNotifications(List.of(createRequest("john.doe@example.com"),
+            createRequest("jane.doe@example.com"), createRequest("max.doe@example.com"))));
+
+        assertEquals(BATCH_SIZE, provider.getBatchSize());
+        server.verify();
+    }
+
+    @Test
+    void withoutBatchModeEachNotificationIsSentInItsOwnRequest() {
+        provider = createProvider(new ObjectMapper(), false);
+        MockRestServiceServer server = MockRestServiceServer.bindTo(provider.getRestTemplate()).build();
+        server.expect(ExpectedCount.times(2), requestTo(NOTIFICATION_API_URL))
+            .andExpect(jsonPath("$.recipients.length()").value(1))
+            .andRespond(withStatus(HttpStatus.OK).body(SUCCESS_RESPONSE));
+
+        assertTrue(provider.sendEmailNotifications(List.of(createRequest("john.doe@example.com"),
+            createRequest("jane.doe@example.com"))));
+
+        assertEquals(1, provider.getBatchSize());
+        server.verify();
+    }
+
+    @Test
+    void providerBuildsItsOwnPooledRestTemplate() {
+        provider = createProvider(new ObjectMapper());
+
+        assertInstanceOf(ReactorClientHttpRequestFactory.class, provider.getRestTemplate().getRequestFactory());
+    }
+
+    private IgniteEmailNotificationProvider createProvider(ObjectMapper objectMapper) {
+        return createProvider(objectMapper, false);
+    }
+
+    private IgniteEmailNotificationProvider createProvider(ObjectMapper objectMapper, boolean batchEnabled) {
+        return new IgniteEmailNotificationProvider(tenantConfigurationService, objectMapper, 2,
+            Duration.ofSeconds(30), 1000, Duration.ofSeconds(30), batchEnabled, BATCH_SIZE);
+    }
+
+    private static NotificationNonRegisteredUser createRequest(String email) {
+        NonRegisteredUserData recipient = new NonRegisteredUserData();
+        recipient.setEmail(email);
+        recipient.setData(Map.of("name", "John"));
+        NotificationNonRegisteredUser request = new NotificationNonRegisteredUser();
+        request.setNotificationId("UIDAM_USER_LOCKED");
+        request.setVersion("1.0");
+        request.setRecipients(List.of(recipient));
+        return request;
+    }
+}
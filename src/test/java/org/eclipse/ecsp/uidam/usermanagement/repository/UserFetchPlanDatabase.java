@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2023 - 2024 Harman International
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package org.eclipse.ecsp.uidam.usermanagement.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.eclipse.ecsp.uidam.usermanagement.entity.UserAccountRoleMappingEntity;
+import org.eclipse.ecsp.uidam.usermanagement.entity.UserAddressEntity;
+import org.eclipse.ecsp.uidam.usermanagement.entity.UserEntity;
+import org.eclipse.ecsp.uidam.usermanagement.enums.UserStatus;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * In-memory H2 database with the user tables and Hibernate statistics, used to count the SQL statements of the user
+ * fetch plans.
+ *
+ * <p>It holds {@value #USER_COUNT} users with {@value #CHILDREN_PER_USER} addresses and account role mappings each.
+ * The last user is temporarily locked, the others are active.</p>
+ */
+public final class UserFetchPlanDatabase implements AutoCloseable {
+
+    public static final int USER_COUNT = 3;
+    public static final int CHILDREN_PER_USER = 2;
+    private static final int CHILD_ID_FACTOR = 20;
+    private static final long LOCK_AGE_SECONDS = 20;
+
+    private final LocalContainerEntityManagerFactoryBean factoryBean;
+    private final EntityManagerFactory entityManagerFactory;
+    private final Statistics statistics;
+
+    /**
+     * Creates and fills the database.
+     *
+     * @param name name of the in-memory database, unique per test class
+     */
+    public UserFetchPlanDatabase(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE", "sa", "");
+        createTables(new JdbcTemplate(dataSource));
+
+        factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setPersistenceUnitName(name);
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setManagedTypes(PersistenceManagedTypes.of(UserEntity.class.getName(),
+            UserAddressEntity.class.getName(), UserAccountRoleMappingEntity.class.getName()));
+        factoryBean.setJpaPropertyMap(Map.of(
+            "hibernate.dialect", "org.hibernate.dialect.H2Dialect",
+            "hibernate.physical_naming_strategy",
+            "org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy",
+            "hibernate.globally_quoted_identifiers", "true",
+            "hibernate.hbm2ddl.auto", "none",
+            "hibernate.generate_statistics", "true"));
+        factoryBean.afterPropertiesSet();
+        entityManagerFactory = factoryBean.getObject();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    public EntityManagerFactory getEntityManagerFactory() {
+        return entityManagerFactory;
+    }
+
+    /**
+     * Creates a users repository on the shared entity manager of this database.
+     *
+     * @return users repository
+     */
+    public UsersRepository createUsersRepository() {
+        return new JpaRepositoryFactory(SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory))
+            .getRepository(UsersRepository.class);
+    }
+
+    /**
+     * Runs the given call the way a web request runs with spring.jpa.open-in-view: one entity manager is bound to
+     * the thread for the whole call, without a transaction, so lazy collections can be loaded after the repository
+     * call returned.
+     *
+     * @param call call to be counted
+     * @return number of statements the call prepared
+     * @throws Exception exception thrown by the call
+     */
+    public long countStatementsInView(Callable<?> call) throws Exception {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        try {
+            statistics.clear();
+            call.call();
+            return statistics.getPrepareStatementCount();
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            entityManager.close();
+        }
+    }
+
+    public Statistics getStatistics() {
+        return statistics;
+    }
+
+    @Override
+    public void close() {
+        factoryBean.destroy();
+    }
+
+    private static void createTables(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.execute("CREATE TABLE \"user\" (id NUMERIC(38) PRIMARY KEY, user_name VARCHAR(254) NOT NULL, "
+            + "tenant_id NUMERIC(38), first_name VARCHAR(49), last_name VARCHAR(49), "
+            + "user_password VARCHAR(256) NOT NULL, password_salt VARCHAR(256), pwd_require_change BOOLEAN, "
+            + "enabled BOOLEAN NOT NULL, is_external_user BOOLEAN, account_no_locked BOOLEAN NOT NULL, "
+            + "account_no_expired BOOLEAN NOT NULL, pwd_changedtime TIMESTAMP NOT NULL, gender VARCHAR(16), "
+            + "email VARCHAR(128) NOT NULL, locale VARCHAR(35), birth_date DATE, phone_no VARCHAR(16), "
+            + "device_ids JSON NOT NULL, notification_consent BOOLEAN, status VARCHAR(32), "
+            + "identity_provider_name VARCHAR(254), created_by VARCHAR(254), create_date TIMESTAMP, "
+            + "updated_by VARCHAR(254), update_date TIMESTAMP, temporary_lock_timestamp TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE user_address (id NUMERIC(38) PRIMARY KEY, country VARCHAR(50), "
+            + "city VARCHAR(50), state VARCHAR(50), address1 VARCHAR(50), address2 VARCHAR(100), "
+            + "time_zone VARCHAR(50), postal_code VARCHAR(11), created_by VARCHAR(254), "
+            + "user_id NUMERIC(38) NOT NULL, create_date TIMESTAMP, updated_by VARCHAR(254), update_date TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE user_account_role_mapping (id NUMERIC(38) PRIMARY KEY, "
+            + "role_id NUMERIC(38) NOT NULL, user_id NUMERIC(38), account_id NUMERIC(38) NOT NULL, "
+            + "created_by VARCHAR(254), create_date TIMESTAMP, updated_by VARCHAR(254), update_date TIMESTAMP)");
+        for (int userId = 1; userId <= USER_COUNT; userId++) {
+            // The last user is temporarily locked, the others are active
+            boolean blocked = userId == USER_COUNT;
+            jdbcTemplate.update("INSERT INTO \"user\" (id, user_name, user_password, enabled, account_no_locked, "
+                + "account_no_expired, pwd_changedtime, email, device_ids, status, temporary_lock_timestamp) "
+                + "VALUES (?, ?, 'secret', TRUE, TRUE, TRUE, CURRENT_TIMESTAMP, ?, JSON '[]', ?, ?)",
+                userId, "user" + userId, "user" + userId + "@example.com",
+                blocked ? UserStatus.BLOCKED.name() : UserStatus.ACTIVE.name(),
+                blocked ? Timestamp.from(Instant.now().minusSeconds(LOCK_AGE_SECONDS)) : null);
+            for (int child = 1; child <= CHILDREN_PER_USER; child++) {
+                int childId = userId * CHILD_ID_FACTOR + child;
+                jdbcTemplate.update("INSERT INTO user_address (id, city, user_id) VALUES (?, ?, ?)", childId,
+                    "City" + childId, userId);
+                jdbcTemplate.update("INSERT INTO user_account_role_mapping (id, role_id, user_id, account_id) "
+                    + "VALUES (?, ?, ?, ?)", childId, child, userId, 1);
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2023 - 2024 Harman International
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package org.eclipse.ecsp.uidam.usermanagement.repository;
+
+import org.eclipse.ecsp.uidam.usermanagement.entity.UserEntity;
+import org.eclipse.ecsp.uidam.usermanagement.enums.UserStatus;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.math.BigInteger;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Asserts the number of SQL statements each user fetch plan issues, so that a change of the fetch plans or of the
+ * repository methods behind the user APIs can not silently bring back eager loading or N+1 selects.
+ */
+class UsersRepositoryFetchPlanTest {
+
+    private static final int USER_COUNT = UserFetchPlanDatabase.USER_COUNT;
+    private static final int CHILDREN_PER_USER = UserFetchPlanDatabase.CHILDREN_PER_USER;
+    private static final BigInteger USER_ID_1 = BigInteger.ONE;
+    private static final int PAGE_SIZE = 20;
+
+    private static UserFetchPlanDatabase database;
+    private static TransactionTemplate transactionTemplate;
+    private static UsersRepository usersRepository;
+
+    @BeforeAll
+    static void setUp() {
+        database = new UserFetchPlanDatabase("fetchplan");
+        transactionTemplate = new TransactionTemplate(new JpaTransactionManager(database.getEntityManagerFactory()));
+        usersRepository = database.createUsersRepository();
+    }
+
+    @AfterAll
+    static void cleanup() {
+        database.close();
+    }
+
+    @Test
+    void fullProfileLoadsAddressesWithUserAndMappingsInOneMoreStatement() {
+        long statements = countStatements(() -> {
+            UserEntity user = usersRepository.findByIdAndStatusNot(USER_ID_1, UserStatus.DELETED);
+            return user.getUserAddresses().size() + user.getAccountRoleMapping().size();
+        }, 2 * CHILDREN_PER_USER);
+
+        assertEquals(2, statements);
+    }
+
+    @Test
+    void loginContextLoadsMappingsWithUser() {
+        long statements = countStatements(() -> usersRepository
+            .findByUserNameIgnoreCaseAndStatusNot("USER1", UserStatus.DELETED).getAccountRoleMapping().size(),
+            CHILDREN_PER_USER);
+
+        assertEquals(1, statements);
+    }
+
+    @Test
+    void statusOnlyLoadsNoCollection() {
+        long statements = countStatements(() -> {
+            List<UserEntity> users = usersRepository.findByStatusAndTemporaryLockTimestampBefore(UserStatus.BLOCKED,
+                Timestamp.from(Instant.now()));
+            assertFalse(Hibernate.isInitialized(users.get(0).getUserAddresses()));
+            assertFalse(Hibernate.isInitialized(users.get(0).getAccountRoleMapping()));
+            return users.size();
+        }, 1);
+
+        assertEquals(1, statements);
+    }
+
+    @Test
+    void userListLoadsCollectionsInBatches() {
+        long statements = countStatements(() -> usersRepository.findAll(PageRequest.of(0, PAGE_SIZE)).getContent()
+            .stream().mapToInt(user -> user.getUserAddresses().size() + user.getAccountRoleMapping().size()).sum(),
+            USER_COUNT * 2 * CHILDREN_PER_USER);
+
+        assertEquals(1 + 2, statements);
+    }
+
+    @Test
+    void usersByIdsLoadMappingsInOneBatch() {
+        long statements = countStatements(() -> usersRepository
+            .findAllByIdInAndStatusNot(Set.of(USER_ID_1, BigInteger.TWO), UserStatus.DELETED).stream()
+            .mapToInt(user -> user.getUserAddresses().size() + user.getAccountRoleMapping().size()).sum(),
+            2 * 2 * CHILDREN_PER_USER);
+
+        assertEquals(2, statements);
+    }
+
+    /**
+     * Runs the given lookup in a transaction, checks the number of loaded rows it reports and returns the number of
+     * statements it prepared.
+     */
+    private static long countStatements(Supplier<Integer> lookup, int expectedResult) {
+        return transactionTemplate.execute(status -> {
+            database.getStatistics().clear();
+            assertEquals(expectedResult, lookup.get(), "unexpected lookup result");
+            return database.getStatistics().getPrepareStatementCount();
+        });
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2023 - 2024 Harman International
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package org.eclipse.ecsp.uidam.usermanagement.scheduler;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.eclipse.ecsp.sql.multitenancy.TenantContext;
+import org.eclipse.ecsp.uidam.common.metrics.UidamMetrics;
+import org.eclipse.ecsp.uidam.common.metrics.UidamMetricsService;
+import org.eclipse.ecsp.uidam.usermanagement.config.NotificationOutboxProperties;
+import org.eclipse.ecsp.uidam.usermanagement.entity.NotificationOutboxEntity;
+import org.eclipse.ecsp.uidam.usermanagement.service.EmailNotificationService;
+import org.eclipse.ecsp.uidam.usermanagement.service.NotificationOutboxService;
+import org.eclipse.ecsp.uidam.usermanagement.user.request.dto.NonRegisteredUserData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for NotificationOutboxWorker.
+ */
+@ExtendWith(MockitoExtension.class)
+class NotificationOutboxWorkerTest {
+
+    private static final int BATCH_SIZE = 2;
+    private static final double SLOW_RATE_PER_SECOND = 0.001;
+    private static final int PROVIDER_BATCH_SIZE = 100;
+
+    @Mock
+    private NotificationOutboxService notificationOutboxService;
+
+    @Mock
+    private EmailNotificationService emailNotificationService;
+
+    @Mock
+    private ConfigurableEnvironment environment;
+
+    private NotificationOutboxProperties properties;
+    private MeterRegistry meterRegistry;
+    private NotificationOutboxWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        properties = new NotificationOutboxProperties();
+        properties.setEnabled(true);
+        properties.setBatchSize(BATCH_SIZE);
+        meterRegistry = new SimpleMeterRegistry();
+        worker = new NotificationOutboxWorker(notificationOutboxService, emailNotificationService, properties,
+            new UidamMetricsService(meterRegistry), environment);
+        ReflectionTestUtils.setField(worker, "multiTenantEnabled", false);
+        ReflectionTestUtils.setField(worker, "defaultTenant", "ecsp");
+    }
+
+    @AfterEach
+    void cleanup() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void deliverDueNotificationsMarksSentNotifications() {
+        NotificationOutboxEntity notification = createNotification(1);
+        when(notificationOutboxService.claimDue(BATCH_SIZE)).thenReturn(List.of(notification));
+        when(emailNotificationService.sendNow("john.doe@example.com", "UIDAM_USER_LOCKED", Map.of("name", "John")))
+            .thenReturn(true);
+
+        worker.deliverDueNotifications();
+
+        verify(notificationOutboxService).markSent(notification);
+        verify(notificationOutboxService, never()).markFailed(any(), any());
+    }
+
+    @Test
+    void deliverDueNotificationsMarksFailedDeliveries() {
+        NotificationOutboxEntity failing = createNotification(1);
+        NotificationOutboxEntity notSent = createNotification(2);
+        notSent.setRecipientEmail("jane.doe@example.com");
+        when(notificationOutboxService.claimDue(BATCH_SIZE)).thenReturn(List.of(failing, notSent));
+        when(emailNotificationService.sendNow(eq("john.doe@example.com"), any(), any()))
+            .thenThrow(new IllegalStateException("Mail relay unavailable"));
+        when(emailNotificationService.sendNow(eq("jane.doe@example.com"), any(), any())).thenReturn(false);
+
+        assertEquals(0, worker.deliverTenantNotifications("ecsp"));
+
+        verify(notificationOutboxService).markFailed(eq(failing), any(IllegalStateException.class));
+        verify(notificationOutboxService).markFailed(eq(notSent), any(IllegalStateException.class));
+        verify(notificationOutboxService, never()).markSent(any());
+    }
+
+    @Test
+    void deliverTenantNotificationsSendsBatchOfSameNotificationTogether() {
+        NotificationOutboxEntity first = createNotification(1);
+        NotificationOutboxEntity second = createNotification(2);
+        second.setRecipientEmail("jane.doe@example.com");
+        when(notificationOutboxService.claimDue(BATCH_SIZE)).thenReturn(List.of(first, second));
+        when(emailNotificationService.getBatchSize()).thenReturn(PROVIDER_BATCH_SIZE);
+        when(emailNotificationService.sendNow(eq("UIDAM_USER_LOCKED"), anyList())).thenReturn(true);
+
+        assertEquals(BATCH_SIZE, worker.deliverTenantNotifications("ecsp"));
+
+        ArgumentCaptor<List<NonRegisteredUserData>> recipients = ArgumentCaptor.captor();
+        verify(emailNotificationService).sendNow(eq("UIDAM_USER_LOCKED"), recipients.capture());
+        assertEquals(List.of("john.doe@example.com", "jane.doe@example.com"),
+            recipients.getValue().stream().map(NonRegisteredUserData::getEmail).toList());
+        verify(emailNotificationService, never()).sendNow(any(), any(), any());
+        verify(notificationOutboxService).markSent(first);
+        verify(notificationOutboxService).markSent(second);
+    }
+
+    @Test
+    void deliverTenantNotificationsMarksWholeBatchFailed() {
+        NotificationOutboxEntity first = createNotification(1);
+        NotificationOutboxEntity second = createNotification(2);
+        when(notificationOutboxService.claimDue(BATCH_SIZE)).thenReturn(List.of(first, second));
+        when(emailNotificationService.getBatchSize()).thenReturn(PROVIDER_BATCH_SIZE);
+        when(emailNotificationService.sendNow(eq("UIDAM_USER_LOCKED"), anyList()))
+            .thenThrow(new IllegalStateException("Notification API unavailable"));
+
+        assertEquals(0, worker.deliverTenantNotifications("ecsp"));
+
+        verify(notificationOutboxService).markFailed(eq(first), any(IllegalStateException.class));
+        verify(notificationOutboxService).markFailed(eq(second), any(IllegalStateException.class));
+        verify(notificationOutboxService, never()).markSent(any());
+    }
+
+    @Test
+    void deliverTenantNotificationsRespectsRateLimit() {
+        properties.setRatePerSecond(SLOW_RATE_PER_SECOND);
+        TenantContext.setCurrentTenant("ecsp");
+        when(notificationOutboxService.claimDue(BATCH_SIZE))
+            .thenReturn(List.of(createNotification(1), createNotification(2)));
+        when(emailNotificationService.sendNow(any(), any(), any())).thenReturn(true);
+
+        assertEquals(BATCH_SIZE, worker.deliverTenantNotifications("ecsp"));
+        assertEquals(0, worker.deliverTenantNotifications("ecsp"));
+
+        verify(notificationOutboxService, times(1)).claimDue(anyInt());
+        assertEquals(1.0, meterRegistry.counter(UidamMetrics.NOTIFICATION_OUTBOX_RATE_LIMITED.getMetricName(),
+            "application", "uidam-user-management", "tenantId", "ecsp", "apiVersion", "v1").count());
+    }
+
+    @Test
+    void deliverTenantNotificationsReturnsUnusedPermits() {
+        properties.setRatePerSecond(SLOW_RATE_PER_SECOND);
+        when(notificationOutboxService.claimDue(anyInt())).thenReturn(List.of());
+
+        worker.deliverTenantNotifications("ecsp");
+        worker.deliverTenantNotifications("ecsp");
+
+        verify(notificationOutboxService, times(2)).claimDue(BATCH_SIZE);
+    }
+
+    private static NotificationOutboxEntity createNotification(long id) {
+        NotificationOutboxEntity notification = new NotificationOutboxEntity("UIDAM_USER_LOCKED",
+            "john.doe@example.com", Map.of("name", "John"), Instant.now());
+        notification.setId(BigInteger.valueOf(id));
+        return notification;
+    }
+}
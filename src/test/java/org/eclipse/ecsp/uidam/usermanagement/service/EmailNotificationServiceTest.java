@@ -47,6 +47,9 @@ class EmailNotificationServiceTest {
     @Mock
     private NotificationManager notificationManager;
 
+    @Mock
+    private NotificationOutboxService notificationOutboxService;
+
     private EmailNotificationService emailNotificationServiceSpy;
 
     @BeforeEach
@@ -92,4 +95,17 @@ class EmailNotificationServiceTest {
         Assertions.assertThrows(TemplateNotFoundException.class, () ->
                 emailNotificationServiceSpy.sendNotification(userDetails, uidamNotificationId, data));
     }
+
+    @Test
+    void sendNotificationWritesToOutboxWhenEnabled() {
+        Mockito.when(notificationOutboxService.isEnabled()).thenReturn(true);
+        Map<String, String> userDetails = new HashMap<>();
+        userDetails.put(ApiConstants.EMAIL_ADDRESS, "dummyEmail@domain.com");
+        Map<String, Object> data = new HashMap<>();
+        data.put("name", "Abhishek");
+        String notificationId = "UIDAM_USER_VERIFY_ACCOUNT";
+        emailNotificationServiceSpy.sendNotification(userDetails, notificationId, data);
+        Mockito.verify(notificationOutboxService).enqueue(notificationId, "dummyEmail@domain.com", data);
+        Mockito.verify(notificationManager, Mockito.never()).sendNotification(Mockito.any());
+    }
 }
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2023 - 2024 Harman International
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package org.eclipse.ecsp.uidam.usermanagement.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.eclipse.ecsp.sql.multitenancy.TenantContext;
+import org.eclipse.ecsp.uidam.common.metrics.UidamMetrics;
+import org.eclipse.ecsp.uidam.common.metrics.UidamMetricsService;
+import org.eclipse.ecsp.uidam.usermanagement.config.NotificationOutboxProperties;
+import org.eclipse.ecsp.uidam.usermanagement.entity.NotificationOutboxEntity;
+import org.eclipse.ecsp.uidam.usermanagement.enums.NotificationOutboxStatus;
+import org.eclipse.ecsp.uidam.usermanagement.repository.NotificationOutboxRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.PageRequest;
+import java.math.BigInteger;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test case for validating the delivery state kept by the notification outbox.
+ */
+class NotificationOutboxServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-15T10:00:00Z");
+    private static final BigInteger NOTIFICATION_ID = BigInteger.valueOf(42);
+    private static final int MAX_ATTEMPTS = 3;
+    private static final int CLAIM_LIMIT = 10;
+
+    private NotificationOutboxRepository notificationOutboxRepository;
+    private MeterRegistry meterRegistry;
+    private NotificationOutboxService notificationOutboxService;
+
+    @BeforeEach
+    void setUp() {
+        TenantContext.setCurrentTenant("ecsp");
+        notificationOutboxRepository = mock(NotificationOutboxRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        NotificationOutboxProperties properties = new NotificationOutboxProperties();
+        properties.setEnabled(true);
+        properties.setMaxAttempts(MAX_ATTEMPTS);
+        properties.setInitialBackoff(Duration.ofSeconds(30));
+        properties.setMaxBackoff(Duration.ofMinutes(5));
+        properties.setClaimTimeout(Duration.ofMinutes(2));
+        notificationOutboxService = new NotificationOutboxService(notificationOutboxRepository, properties,
+            new UidamMetricsService(meterRegistry), Clock.fixed(NOW, ZoneOffset.UTC));
+        when(notificationOutboxRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(notificationOutboxRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @AfterEach
+    void cleanup() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void enqueueWritesPendingNotification() {
+        notificationOutboxService.enqueue("UIDAM_USER_LOCKED", "john.doe@example.com", Map.of("name", "John"));
+
+        ArgumentCaptor<NotificationOutboxEntity> captor = ArgumentCaptor.forClass(NotificationOutboxEntity.class);
+        verify(notificationOutboxRepository).save(captor.capture());
+        assertEquals(NotificationOutboxStatus.PENDING, captor.getValue().getStatus());
+        assertEquals(NOW, captor.getValue().getNextAttemptAt());
+        assertEquals("john.doe@example.com", captor.getValue().getRecipientEmail());
+        assertEquals(1.0, count(UidamMetrics.NOTIFICATION_OUTBOX_QUEUED));
+    }
+
+    @Test
+    void claimDueDefersClaimedNotifications() {
+        NotificationOutboxEntity notification = createNotification(0);
+        when(notificationOutboxRepository.findDueForUpdate(NotificationOutboxStatus.PENDING, NOW,
+            PageRequest.of(0, CLAIM_LIMIT))).thenReturn(List.of(notification));
+
+        List<NotificationOutboxEntity> claimed = notificationOutboxService.claimDue(CLAIM_LIMIT);
+
+        assertEquals(List.of(notification), claimed);
+        assertEquals(NOW.plus(Duration.ofMinutes(2)), notification.getNextAttemptAt());
+    }
+
+    @Test
+    void markSentRecordsDelivery() {
+        NotificationOutboxEntity notification = createNotification(1);
+        notification.setLastError("Mail relay unavailable");
+        when(notificationOutboxRepository.findById(NOTIFICATION_ID)).thenReturn(Optional.of(notification));
+
+        notificationOutboxService.markSent(notification);
+
+        assertEquals(NotificationOutboxStatus.SENT, notification.getStatus());
+        assertEquals(2, notification.getAttempts());
+        assertNull(notification.getLastError());
+        assertEquals(1.0, count(UidamMetrics.NOTIFICATION_OUTBOX_SENT));
+    }
+
+    @Test
+    void markFailedSchedulesRetryWithExponentialBackoff() {
+        NotificationOutboxEntity notification = createNotification(1);
+        when(notificationOutboxRepository.findById(NOTIFICATION_ID)).thenReturn(Optional.of(notification));
+
+        notificationOutboxService.markFailed(notification, new IllegalStateException("Mail relay unavailable"));
+
+        assertEquals(NotificationOutboxStatus.PENDING, notification.getStatus());
+        assertEquals(2, notification.getAttempts());
+        assertEquals(NOW.plus(Duration.ofSeconds(60)), notification.getNextAttemptAt());
+        assertEquals("Mail relay unavailable", notification.getLastError());
+        assertEquals(1.0, count(UidamMetrics.NOTIFICATION_OUTBOX_RETRIED));
+    }
+
+    @Test
+    void markFailedGivesUpAfterMaxAttempts() {
+        NotificationOutboxEntity notification = createNotification(MAX_ATTEMPTS - 1);
+        when(notificationOutboxRepository.findById(NOTIFICATION_ID)).thenReturn(Optional.of(notification));
+
+        notificationOutboxService.markFailed(notification, new IllegalStateException("Mail relay unavailable"));
+
+        assertEquals(NotificationOutboxStatus.FAILED, notification.getStatus());
+        assertEquals(MAX_ATTEMPTS, notification.getAttempts());
+        assertEquals(1.0, count(UidamMetrics.NOTIFICATION_OUTBOX_FAILED));
+    }
+
+    @Test
+    void backoffIsCappedAtMaxBackoff() {
+        assertEquals(Duration.ofSeconds(30), notificationOutboxService.backoff(1));
+        assertEquals(Duration.ofSeconds(120), notificationOutboxService.backoff(3));
+        assertEquals(Duration.ofMinutes(5), notificationOutboxService.backoff(10));
+        assertEquals(Duration.ofMinutes(5), notificationOutboxService.backoff(Integer.MAX_VALUE));
+    }
+
+    private double count(UidamMetrics metric) {
+        return meterRegistry.counter(metric.getMetricName(), "application", "uidam-user-management",
+            "tenantId", "ecsp", "apiVersion", "v1").count();
+    }
+
+    private static NotificationOutboxEntity createNotification(int attempts) {
+        NotificationOutboxEntity notification = new NotificationOutboxEntity("UIDAM_USER_LOCKED",
+            "john.doe@example.com", Map.of("name", "John"), NOW.minusSeconds(10));
+        notification.setId(NOTIFICATION_ID);
+        notification.setAttempts(attempts);
+        return notification;
+    }
+}
@@ -23,6 +23,7 @@ import jakarta.persistence.EntityNotFoundException;
 import org.eclipse.ecsp.uidam.usermanagement.auth.request.dto.RolePatch;
 import org.eclipse.ecsp.uidam.usermanagement.auth.request.dto.RolesCreateRequestDto;
 import org.eclipse.ecsp.uidam.usermanagement.auth.response.dto.RoleCreateResponse;
+import org.eclipse.ecsp.uidam.usermanagement.cache.RoleScopeCatalogCache;
 import org.eclipse.ecsp.uidam.usermanagement.config.tenantproperties.AuthProperties;
 import org.eclipse.ecsp.uidam.usermanagement.config.tenantproperties.UserManagementTenantProperties;
 import org.eclipse.ecsp.uidam.usermanagement.constants.LocalizationKey;
@@ -60,6 +61,7 @@ import java.util.Arrays;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 import static org.eclipse.ecsp.uidam.usermanagement.utilities.Constants.ACCOUNT_ID_VALUE;
@@ -73,6 +75,8 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @SpringBootTest(classes = RolesServiceTest.class)
@@ -90,6 +94,8 @@ class RolesServiceTest {
     private ScopesService scopesService;
     @Mock
     private TenantConfigurationService tenantConfigurationService;
+    @Mock
+    private RoleScopeCatalogCache roleScopeCatalogCache;
 
     @InjectMocks
     private RolesService rolesService;
@@ -203,7 +209,7 @@ class RolesServiceTest {
         for (RoleCreateResponse obj : response.getRoles()) {
             assertEquals("dummyRole", obj.getName());
         }
-
+        verify(roleScopeCatalogCache).invalidate();
     }
 
     @Test
@@ -268,6 +274,22 @@ class RolesServiceTest {
         }
     }
 
+    @Test
+    void getRoleByIdFromCatalogTest() {
+        Set<BigInteger> roleId = new HashSet<>();
+        roleId.add(ROLE_ID_2);
+        RoleCreateResponse cachedRole = new RoleCreateResponse(ROLE_ID_2, "DummyRole", "dummy role description",
+            null, new ArrayList<>());
+        when(roleScopeCatalogCache.findRolesByIds(roleId)).thenReturn(Optional.of(List.of(cachedRole)));
+
+        RoleListRepresentation response = rolesService.getRoleById(roleId);
+
+        assertEquals(LocalizationKey.SUCCESS_KEY, response.getMessages().get(0).getKey());
+        assertEquals(1, response.getRoles().size());
+        assertEquals("DummyRole", response.getRoles().iterator().next().getName());
+        verify(rolesRepository, never()).findByIdIn(Mockito.anySet());
+    }
+
     @Test
     void filterRolesTest() {
         Set<String> roleNames = new HashSet<>();
@@ -637,6 +659,7 @@ class RolesServiceTest {
         RoleListRepresentation roleListRepresentation1 = rolesService.deleteRole(roleName,
             String.valueOf(USER_ID_VALUE), userScopes);
         assertEquals("success.key", roleListRepresentation1.getMessages().get(0).getKey());
+        verify(roleScopeCatalogCache).invalidate();
     }
 
     @Test
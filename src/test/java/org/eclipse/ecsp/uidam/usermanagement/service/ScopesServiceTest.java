@@ -23,6 +23,7 @@ import jakarta.persistence.EntityNotFoundException;
 import org.eclipse.ecsp.uidam.usermanagement.auth.request.dto.ScopeDto;
 import org.eclipse.ecsp.uidam.usermanagement.auth.request.dto.ScopePatch;
 import org.eclipse.ecsp.uidam.usermanagement.auth.response.dto.Scope;
+import org.eclipse.ecsp.uidam.usermanagement.cache.RoleScopeCatalogCache;
 import org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants;
 import org.eclipse.ecsp.uidam.usermanagement.constants.LocalizationKey;
 import org.eclipse.ecsp.uidam.usermanagement.entity.RoleScopeMappingEntity;
@@ -70,6 +71,8 @@ class ScopesServiceTest {
     private static final BigInteger SCOPE_ID_3 = new BigInteger("145911385690649019822702644100150");
     @Mock
     private ScopesRepository scopesRepository;
+    @Mock
+    private RoleScopeCatalogCache roleScopeCatalogCache;
     @InjectMocks
     ScopesService scopeService;
 
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2023 - 2024 Harman International
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+
+package org.eclipse.ecsp.uidam.usermanagement.service;
+
+import org.eclipse.ecsp.sql.multitenancy.TenantContext;
+import org.eclipse.ecsp.uidam.usermanagement.authorization.dto.BaseResponseFromAuthorization;
+import org.eclipse.ecsp.uidam.usermanagement.exception.ApplicationRuntimeException;
+import org.eclipse.ecsp.uidam.usermanagement.service.TokenRevocationDispatcher.RevocationResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for TokenRevocationDispatcher.
+ */
+class TokenRevocationDispatcherTest {
+
+    private static final int CONCURRENCY = 4;
+    private static final int USERS = 40;
+    private static final long REVOKE_MILLIS = 20;
+
+    private AuthorizationServerClient authorizationServerClient;
+    private TokenRevocationDispatcher tokenRevocationDispatcher;
+
+    @BeforeEach
+    void setUp() {
+        TenantContext.setCurrentTenant("ecsp");
+        authorizationServerClient = mock(AuthorizationServerClient.class);
+        tokenRevocationDispatcher = new TokenRevocationDispatcher(authorizationServerClient, CONCURRENCY);
+    }
+
+    @AfterEach
+    void cleanup() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void revokeTokensConcurrentlyWithinConcurrencyCap() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        Set<String> tenants = ConcurrentHashMap.newKeySet();
+        when(authorizationServerClient.revokeTokenByAdmin(eq("dummyToken"), anyString())).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            tenants.add(TenantContext.getCurrentTenant());
+            Thread.sleep(REVOKE_MILLIS);
+            inFlight.decrementAndGet();
+            return response(HttpStatus.OK);
+        });
+        List<String> usernames = IntStream.range(0, USERS).mapToObj(i -> "user" + i).toList();
+
+        Map<String, RevocationResult> results = tokenRevocationDispatcher.revokeTokens("dummyToken", usernames);
+
+        assertEquals(usernames, List.copyOf(results.keySet()));
+        assertTrue(results.values().stream().allMatch(RevocationResult::revoked));
+        assertTrue(maxInFlight.get() > 1);
+        assertTrue(maxInFlight.get() <= CONCURRENCY);
+        assertEquals(Set.of("ecsp"), tenants);
+    }
+
+    @Test
+    void revokeTokensKeepsResultPerUser() {
+        ApplicationRuntimeException error = new ApplicationRuntimeException("Exception while revoking token");
+        when(authorizationServerClient.revokeTokenByAdmin("dummyToken", "john")).thenReturn(response(HttpStatus.OK));
+        when(authorizationServerClient.revokeTokenByAdmin("dummyToken", "jane"))
+            .thenReturn(response(HttpStatus.INTERNAL_SERVER_ERROR));
+        when(authorizationServerClient.revokeTokenByAdmin("dummyToken", "bob")).thenThrow(error);
+
+        Map<String, RevocationResult> results = tokenRevocationDispatcher.revokeTokens("dummyToken",
+            List.of("john", "jane", "bob"));
+
+        assertTrue(results.get("john").revoked());
+        assertFalse(results.get("jane").revoked());
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, results.get("jane").httpStatus());
+        assertNull(results.get("jane").error());
+        assertFalse(results.get("bob").revoked());
+        assertSame(error, results.get("bob").error());
+    }
+
+    @Test
+    void revokeTokensForSingleUserOnCallerThread() {
+        Thread caller = Thread.currentThread();
+        when(authorizationServerClient.revokeTokenByAdmin("dummyToken", "john")).thenAnswer(invocation -> {
+            assertSame(caller, Thread.currentThread());
+            return response(HttpStatus.OK);
+        });
+
+        Map<String, RevocationResult> results = tokenRevocationDispatcher.revokeTokens("dummyToken",
+            List.of("john", "john"));
+
+        assertEquals(1, results.size());
+        assertTrue(results.get("john").revoked());
+        assertEquals("ecsp", TenantContext.getCurrentTenant());
+    }
+
+    private static BaseResponseFromAuthorization response(HttpStatus httpStatus) {
+        BaseResponseFromAuthorization response = new BaseResponseFromAuthorization();
+        response.setHttpStatus(httpStatus);
+        return response;
+    }
+}
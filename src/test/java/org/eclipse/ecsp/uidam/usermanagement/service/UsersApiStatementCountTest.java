@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2023 - 2024 Harman International
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package org.eclipse.ecsp.uidam.usermanagement.service;
+
+import io.prometheus.client.CollectorRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.eclipse.ecsp.uidam.accountmanagement.repository.AccountRepository;
+import org.eclipse.ecsp.uidam.common.metrics.UidamMetricsService;
+import org.eclipse.ecsp.uidam.common.test.TestConversionConfiguration;
+import org.eclipse.ecsp.uidam.security.policy.handler.PasswordValidationService;
+import org.eclipse.ecsp.uidam.security.policy.repo.PasswordPolicyRepository;
+import org.eclipse.ecsp.uidam.usermanagement.auth.response.dto.RoleCreateResponse;
+import org.eclipse.ecsp.uidam.usermanagement.cache.CacheTokenService;
+import org.eclipse.ecsp.uidam.usermanagement.cache.TenantDefaultAccountCache;
+import org.eclipse.ecsp.uidam.usermanagement.cache.UserAttributeMetadataRegistry;
+import org.eclipse.ecsp.uidam.usermanagement.cache.UserColumnMetadataCache;
+import org.eclipse.ecsp.uidam.usermanagement.config.tenantproperties.UserManagementTenantProperties;
+import org.eclipse.ecsp.uidam.usermanagement.dao.UserManagementDao;
+import org.eclipse.ecsp.uidam.usermanagement.repository.CloudProfilesRepository;
+import org.eclipse.ecsp.uidam.usermanagement.repository.EmailVerificationRepository;
+import org.eclipse.ecsp.uidam.usermanagement.repository.PasswordHistoryRepository;
+import org.eclipse.ecsp.uidam.usermanagement.repository.RolesRepository;
+import org.eclipse.ecsp.uidam.usermanagement.repository.UserAttributeRepository;
+import org.eclipse.ecsp.uidam.usermanagement.repository.UserAttributeValueRepository;
+import org.eclipse.ecsp.uidam.usermanagement.repository.UserEventRepository;
+import org.eclipse.ecsp.uidam.usermanagement.repository.UserFetchPlanDatabase;
+import org.eclipse.ecsp.uidam.usermanagement.repository.UserLoginStateRepository;
+import org.eclipse.ecsp.uidam.usermanagement.repository.UserRecoverySecretRepository;
+import org.eclipse.ecsp.uidam.usermanagement.repository.UsersRepository;
+import org.eclipse.ecsp.uidam.usermanagement.service.impl.UsersServiceImpl;
+import org.eclipse.ecsp.uidam.usermanagement.user.request.dto.UsersGetFilterV1;
+import org.eclipse.ecsp.uidam.usermanagement.user.request.dto.UsersGetFilterV2;
+import org.eclipse.ecsp.uidam.usermanagement.user.response.dto.RoleListRepresentation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jackson2.autoconfigure.Jackson2AutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.mapping.JpaMetamodelMappingContext;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.web.client.RestTemplate;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Set;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.Mockito.when;
+
+/**
+ * Asserts the number of SQL statements the user APIs issue against the user tables, per API and including the
+ * collections read while the response is mapped after the repository call returned.
+ *
+ * <p>The service runs on a users repository of an in-memory H2 database, roles, accounts and attributes are
+ * mocked. Each call runs with one entity manager bound to the thread and no transaction, as a web request does with
+ * spring.jpa.open-in-view.</p>
+ */
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = {UsersServiceImpl.class, TokenRevocationDispatcher.class,
+    UserAttributeMetadataRegistry.class, UserColumnMetadataCache.class, TenantDefaultAccountCache.class,
+    Jackson2AutoConfiguration.class, UsersApiStatementCountTest.UsersRepositoryConfig.class,
+    TestConversionConfiguration.class})
+@MockitoBean(types = JpaMetamodelMappingContext.class)
+class UsersApiStatementCountTest {
+
+    private static final BigInteger USER_ID_1 = BigInteger.ONE;
+    private static final String API_VERSION_1 = "v1";
+    private static final String API_VERSION_2 = "v2";
+    private static final int PAGE_SIZE = 20;
+    private static final String MAX_ALLOWED_LOGIN_ATTEMPTS = "3";
+
+    @Autowired
+    private UsersService usersService;
+    @Autowired
+    private UserFetchPlanDatabase database;
+    @MockitoBean
+    private AccountRepository accountRepository;
+    @MockitoBean
+    private UserAttributeRepository userAttributeRepository;
+    @MockitoBean
+    private UserAttributeValueRepository userAttributeValueRepository;
+    @MockitoBean
+    private UserEventRepository userEventRepository;
+    @MockitoBean
+    private UserLoginStateRepository userLoginStateRepository;
+    @MockitoBean
+    private TenantConfigurationService tenantConfigurationService;
+    @MockitoBean
+    private UserManagementTenantProperties tenantProperties;
+    @MockitoBean
+    private EntityManagerFactory entityManagerFactory;
+    @MockitoBean
+    private UserManagementDao userManagementDao;
+    @MockitoBean
+    private EntityManager entityManager;
+    @MockitoBean
+    private UserRecoverySecretRepository userRecoverySecretRepository;
+    @MockitoBean
+    private EmailNotificationService emailNotificationService;
+    @MockitoBean
+    private CacheTokenService cacheTokenService;
+    @MockitoBean
+    private AuthorizationServerClient authorizationServerClient;
+    @MockitoBean
+    private RestTemplate restTemplate;
+    @MockitoBean
+    private RolesRepository rolesRepository;
+    @MockitoBean
+    private RolesService rolesService;
+    @MockitoBean
+    private ClientRegistration clientRegistrationService;
+    @MockitoBean
+    private CloudProfilesRepository cloudProfilesRepository;
+    @MockitoBean
+    private EmailVerificationRepository emailVerificationRepository;
+    @MockitoBean
+    private PasswordHistoryRepository passwordHistoryRepository;
+    @MockitoBean
+    private PasswordValidationService passwordValidationService;
+    @MockitoBean
+    private PasswordPolicyRepository passwordPolicyRepository;
+    @MockitoBean
+    private UidamMetricsService uidamMetricsService;
+    @MockitoBean
+    private org.eclipse.ecsp.uidam.usermanagement.utilities.UserAuditHelper userAuditHelper;
+
+    /**
+     * Serves the users repository from the in-memory database instead of a mock.
+     */
+    @Configuration
+    static class UsersRepositoryConfig {
+
+        @Bean(destroyMethod = "close")
+        UserFetchPlanDatabase userFetchPlanDatabase() {
+            return new UserFetchPlanDatabase("usersapi");
+        }
+
+        @Bean
+        UsersRepository usersRepository(UserFetchPlanDatabase userFetchPlanDatabase) {
+            return userFetchPlanDatabase.createUsersRepository();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        CollectorRegistry.defaultRegistry.clear();
+        when(tenantConfigurationService.getTenantProperties()).thenReturn(tenantProperties);
+        when(tenantProperties.getMaxAllowedLoginAttempts()).thenReturn(MAX_ALLOWED_LOGIN_ATTEMPTS);
+        RoleCreateResponse role1 = new RoleCreateResponse();
+        role1.setId(BigInteger.ONE);
+        role1.setName("VEHICLE_OWNER");
+        role1.setScopes(List.of());
+        RoleCreateResponse role2 = new RoleCreateResponse();
+        role2.setId(BigInteger.TWO);
+        role2.setName("GUEST");
+        role2.setScopes(List.of());
+        RoleListRepresentation roles = new RoleListRepresentation();
+        roles.setRoles(Set.of(role1, role2));
+        when(rolesService.getRoleById(anySet())).thenReturn(roles);
+    }
+
+    @AfterEach
+    void cleanup() {
+        CollectorRegistry.defaultRegistry.clear();
+    }
+
+    @Test
+    void getUserV1ReadsUserWithAddressesAndMappingsInOneMoreStatement() throws Exception {
+        assertEquals(2, database.countStatementsInView(() -> usersService.getUser(USER_ID_1, API_VERSION_1)));
+    }
+
+    @Test
+    void getUserV2ReadsUserWithAddressesAndMappingsInOneMoreStatement() throws Exception {
+        assertEquals(2, database.countStatementsInView(() -> usersService.getUser(USER_ID_1, API_VERSION_2)));
+    }
+
+    @Test
+    void filterUsersV1ReadsCollectionsOfThePageInOneStatementEach() throws Exception {
+        assertEquals(1 + 2, database.countStatementsInView(() -> usersService.getUsers(new UsersGetFilterV1(), 0,
+            PAGE_SIZE, null, "ASC", false, null)));
+    }
+
+    @Test
+    void filterUsersV2ReadsCollectionsOfThePageInOneStatementEach() throws Exception {
+        assertEquals(1 + 2, database.countStatementsInView(() -> usersService.getUsers(new UsersGetFilterV2(), 0,
+            PAGE_SIZE, null, "ASC", false, null)));
+    }
+
+    @Test
+    void loginContextReadsUserWithMappingsInOneStatement() throws Exception {
+        assertEquals(1, database.countStatementsInView(() -> usersService.getUserByUserName("USER1")));
+    }
+}
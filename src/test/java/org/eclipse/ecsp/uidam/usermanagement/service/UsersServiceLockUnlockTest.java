@@ -21,18 +21,27 @@ package org.eclipse.ecsp.uidam.usermanagement.service;
 import io.prometheus.client.CollectorRegistry;
 import org.eclipse.ecsp.uidam.common.metrics.MetricInfo;
 import org.eclipse.ecsp.uidam.common.metrics.UidamMetricsService;
+import org.eclipse.ecsp.uidam.common.test.TestConversionConfiguration;
+import org.eclipse.ecsp.uidam.usermanagement.cache.TenantDefaultAccountCache;
+import org.eclipse.ecsp.uidam.usermanagement.cache.UserAttributeMetadataRegistry;
+import org.eclipse.ecsp.uidam.usermanagement.cache.UserColumnMetadataCache;
 import org.eclipse.ecsp.uidam.usermanagement.config.tenantproperties.UserManagementTenantProperties;
 import org.eclipse.ecsp.uidam.usermanagement.entity.UserAddressEntity;
 import org.eclipse.ecsp.uidam.usermanagement.entity.UserAttributeValueEntity;
 import org.eclipse.ecsp.uidam.usermanagement.entity.UserEntity;
 import org.eclipse.ecsp.uidam.usermanagement.entity.UserEvents;
+import org.eclipse.ecsp.uidam.usermanagement.entity.UserLoginStateEntity;
 import org.eclipse.ecsp.uidam.usermanagement.enums.UserEventStatus;
+import org.eclipse.ecsp.uidam.usermanagement.enums.UserEventType;
 import org.eclipse.ecsp.uidam.usermanagement.enums.UserStatus;
 import org.eclipse.ecsp.uidam.usermanagement.exception.InActiveUserException;
 import org.eclipse.ecsp.uidam.usermanagement.exception.ResourceNotFoundException;
 import org.eclipse.ecsp.uidam.usermanagement.repository.UserEventRepository;
+import org.eclipse.ecsp.uidam.usermanagement.repository.UserLoginStateRepository;
 import org.eclipse.ecsp.uidam.usermanagement.repository.UsersRepository;
 import org.eclipse.ecsp.uidam.usermanagement.service.impl.UsersServiceImpl;
+import org.eclipse.ecsp.uidam.usermanagement.user.request.dto.UserEventsDto;
+import org.eclipse.ecsp.uidam.usermanagement.user.response.dto.UserEventResponseDto;
 import org.eclipse.ecsp.uidam.usermanagement.utilities.UserAuditHelper;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -48,10 +57,12 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
 import java.lang.reflect.Method;
 import java.math.BigInteger;
 import java.sql.Timestamp;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -61,6 +72,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -72,7 +84,9 @@ import static org.mockito.Mockito.when;
  * mapUserAttributeValueEntityByAttributeId, calculateRemainingLockDuration
  */
 @ExtendWith(SpringExtension.class)
-@ContextConfiguration(classes = {UsersServiceImpl.class, JacksonAutoConfiguration.class})
+@ContextConfiguration(classes = {UsersServiceImpl.class, TokenRevocationDispatcher.class,
+    UserAttributeMetadataRegistry.class, UserColumnMetadataCache.class, TenantDefaultAccountCache.class,
+    JacksonAutoConfiguration.class, TestConversionConfiguration.class})
 @MockitoBean(types = JpaMetamodelMappingContext.class)
 class UsersServiceLockUnlockTest {
 
@@ -85,6 +99,9 @@ class UsersServiceLockUnlockTest {
     @MockitoBean
     private UserEventRepository userEventRepository;
 
+    @MockitoBean
+    private UserLoginStateRepository userLoginStateRepository;
+
     @MockitoBean
     private TenantConfigurationService tenantConfigurationService;
 
@@ -167,6 +184,8 @@ class UsersServiceLockUnlockTest {
     private static final int MIN_REMAINING_TIME = 29;
     private static final int BLOCKED_USERS_COUNT = 3;
     private static final int ATTRIBUTE_MAP_SIZE = 2;
+    private static final int SECOND_LOCK_FAILURES = 6;
+    private static final int SECOND_LOCK_DURATION_MINUTES = 120;
 
     @BeforeEach
     @AfterEach
@@ -280,6 +299,122 @@ class UsersServiceLockUnlockTest {
         verify(userRepository, times(1)).save(user);
     }
 
+    @Test
+    void testLockUserAccount_LoginStatePresent_UsesStoredFailures() throws Exception {
+        // Given
+        final UserEntity user = createTestUser(BigInteger.ONE, "testuser", UserStatus.ACTIVE);
+
+        when(tenantProperties.getTemporaryLockMaxAttempts()).thenReturn(TEMPORARY_LOCK_MAX_ATTEMPTS);
+        when(tenantProperties.getTemporaryLockEnabled()).thenReturn(true);
+        when(tenantProperties.getTemporaryLockPeriodMinutes()).thenReturn(TEMPORARY_LOCK_PERIOD_MINUTES);
+        when(tenantProperties.getTemporaryLockExponentialFactor()).thenReturn(EXPONENTIAL_FACTOR);
+        when(userLoginStateRepository.findById(BigInteger.ONE)).thenReturn(Optional.of(
+            new UserLoginStateEntity(BigInteger.ONE, SECOND_LOCK_FAILURES, null, Instant.now())));
+        when(userRepository.save(any(UserEntity.class))).thenReturn(user);
+
+        Method method = UsersServiceImpl.class.getDeclaredMethod("lockUserAccount",
+            UserEntity.class, int.class);
+        method.setAccessible(true);
+
+        // When
+        long lockDuration = (long) method.invoke(usersServiceSpy, user, ALLOWED_LOGIN_ATTEMPTS);
+
+        // Then - second lock doubles the base period
+        assertEquals(UserStatus.BLOCKED, user.getStatus());
+        assertEquals(SECOND_LOCK_DURATION_MINUTES, lockDuration);
+        verify(userEventRepository, never()).findUserEventsByUserIdAndEventType(any(), any(), anyInt());
+    }
+
+    // ==================== Tests for addUserEvent ====================
+
+    @Test
+    void testAddUserEvent_FailureReachesLimit_LocksFromLoginState() {
+        // Given
+        final UserEntity user = createTestUser(BigInteger.ONE, "testuser", UserStatus.ACTIVE);
+
+        when(tenantProperties.getMaxAllowedLoginAttempts()).thenReturn(String.valueOf(ALLOWED_LOGIN_ATTEMPTS));
+        when(tenantProperties.getTemporaryLockMaxAttempts()).thenReturn(TEMPORARY_LOCK_MAX_ATTEMPTS);
+        when(tenantProperties.getTemporaryLockEnabled()).thenReturn(true);
+        when(tenantProperties.getTemporaryLockPeriodMinutes()).thenReturn(TEMPORARY_LOCK_PERIOD_MINUTES);
+        when(tenantProperties.getTemporaryLockExponentialFactor()).thenReturn(EXPONENTIAL_FACTOR);
+        when(userRepository.findById(BigInteger.ONE)).thenReturn(Optional.of(user));
+        when(userRepository.save(any(UserEntity.class))).thenReturn(user);
+        when(userLoginStateRepository.recordLoginFailure(eq(BigInteger.ONE), any(Instant.class))).thenReturn(1);
+        when(userLoginStateRepository.findById(BigInteger.ONE)).thenReturn(Optional.of(
+            new UserLoginStateEntity(BigInteger.ONE, ALLOWED_LOGIN_ATTEMPTS, null, Instant.now())));
+
+        // When
+        UserEventResponseDto response = usersService.addUserEvent(
+            createLoginEvent(UserEventStatus.FAILURE), BigInteger.ONE.toString());
+
+        // Then
+        assertEquals(UserStatus.BLOCKED.name(), response.getUserStatus());
+        assertEquals(TEMPORARY_LOCK_PERIOD_MINUTES, response.getLockDurationMinutes());
+        verify(userEventRepository, never()).findUserEventsByUserIdAndEventType(any(), any(), anyInt());
+    }
+
+    @Test
+    void testAddUserEvent_NoLoginState_SeedsFromEvents() {
+        // Given
+        final UserEntity user = createTestUser(BigInteger.ONE, "testuser", UserStatus.ACTIVE);
+        final List<UserEvents> events = new ArrayList<>();
+        for (int i = 0; i < ALLOWED_LOGIN_ATTEMPTS - 1; i++) {
+            UserEvents event = new UserEvents();
+            event.setEventStatus(UserEventStatus.FAILURE.getValue());
+            events.add(event);
+        }
+
+        when(tenantProperties.getMaxAllowedLoginAttempts()).thenReturn(String.valueOf(ALLOWED_LOGIN_ATTEMPTS));
+        when(tenantProperties.getTemporaryLockMaxAttempts()).thenReturn(TEMPORARY_LOCK_MAX_ATTEMPTS);
+        when(userRepository.findById(BigInteger.ONE)).thenReturn(Optional.of(user));
+        when(userEventRepository.findUserEventsByUserIdAndEventType(BigInteger.ONE,
+            UserEventType.LOGIN_ATTEMPT.getValue(), ALLOWED_LOGIN_ATTEMPTS * TEMPORARY_LOCK_MAX_ATTEMPTS))
+            .thenReturn(events);
+        when(userLoginStateRepository.insertIfAbsent(eq(BigInteger.ONE), anyInt(), any(), any(Instant.class)))
+            .thenReturn(1);
+
+        // When
+        UserEventResponseDto response = usersService.addUserEvent(
+            createLoginEvent(UserEventStatus.FAILURE), BigInteger.ONE.toString());
+
+        // Then
+        assertEquals(UserStatus.ACTIVE.name(), response.getUserStatus());
+        verify(userLoginStateRepository, times(1)).insertIfAbsent(eq(BigInteger.ONE),
+            eq(ALLOWED_LOGIN_ATTEMPTS - 1), any(), any(Instant.class));
+        verify(userLoginStateRepository, times(1)).recordLoginFailure(eq(BigInteger.ONE), any(Instant.class));
+    }
+
+    @Test
+    void testAddUserEvent_ConcurrentSeed_AppliesAttemptToExistingState() {
+        // Given
+        final UserEntity user = createTestUser(BigInteger.ONE, "testuser", UserStatus.ACTIVE);
+
+        when(tenantProperties.getMaxAllowedLoginAttempts()).thenReturn(String.valueOf(ALLOWED_LOGIN_ATTEMPTS));
+        when(tenantProperties.getTemporaryLockMaxAttempts()).thenReturn(TEMPORARY_LOCK_MAX_ATTEMPTS);
+        when(userRepository.findById(BigInteger.ONE)).thenReturn(Optional.of(user));
+        when(userEventRepository.findUserEventsByUserIdAndEventType(any(), any(), anyInt()))
+            .thenReturn(new ArrayList<>());
+        when(userLoginStateRepository.recordLoginFailure(eq(BigInteger.ONE), any(Instant.class)))
+            .thenReturn(0, 1);
+        when(userLoginStateRepository.insertIfAbsent(eq(BigInteger.ONE), anyInt(), any(), any(Instant.class)))
+            .thenReturn(0);
+
+        // When
+        usersService.addUserEvent(createLoginEvent(UserEventStatus.FAILURE), BigInteger.ONE.toString());
+
+        // Then - the row seeded by the other attempt is updated, not overwritten
+        verify(userLoginStateRepository, times(2)).recordLoginFailure(eq(BigInteger.ONE), any(Instant.class));
+        verify(userLoginStateRepository, never()).save(any(UserLoginStateEntity.class));
+    }
+
+    private UserEventsDto createLoginEvent(UserEventStatus status) {
+        UserEventsDto userEventsDto = new UserEventsDto();
+        userEventsDto.setEventType(UserEventType.LOGIN_ATTEMPT.getValue());
+        userEventsDto.setEventStatus(status.getValue());
+        userEventsDto.setEventMessage("login attempt");
+        return userEventsDto;
+    }
+
     // ==================== Tests for calculateRemainingLockDuration ====================
 
     @Test
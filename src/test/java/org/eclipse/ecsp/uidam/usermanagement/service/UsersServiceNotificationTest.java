@@ -30,12 +30,14 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.test.util.ReflectionTestUtils;
 import java.math.BigInteger;
 import java.util.Map;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -394,6 +396,18 @@ class UsersServiceNotificationTest {
         verify(emailNotificationService, times(1)).sendNotification(anyMap(), anyString(), anyMap());
     }
 
+    @Test
+    @DisplayName("Should propagate a failed outbox write so that the lock is rolled back with it")
+    void testOutboxWriteFailurePropagates() {
+        // Given
+        doThrow(new DataIntegrityViolationException("outbox insert failed"))
+            .when(emailNotificationService).sendNotification(anyMap(), anyString(), anyMap());
+
+        // When & Then
+        assertThrows(DataIntegrityViolationException.class, () -> ReflectionTestUtils.invokeMethod(usersService,
+            "sendUserLockNotification", userEntity, true, 0L, false, false));
+    }
+
     @Test
     @DisplayName("Should include email in notification data")
     void testEmailInNotificationData() {
@@ -24,11 +24,15 @@ import com.github.fge.jsonpatch.JsonPatch;
 import io.prometheus.client.CollectorRegistry;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
 import org.apache.commons.lang3.StringUtils;
 import org.eclipse.ecsp.uidam.accountmanagement.entity.AccountEntity;
 import org.eclipse.ecsp.uidam.accountmanagement.enums.AccountStatus;
 import org.eclipse.ecsp.uidam.accountmanagement.repository.AccountRepository;
 import org.eclipse.ecsp.uidam.common.metrics.UidamMetricsService;
+import org.eclipse.ecsp.uidam.common.test.TestConversionConfiguration;
 import org.eclipse.ecsp.uidam.common.utils.RoleManagementUtils;
 import org.eclipse.ecsp.uidam.security.policy.handler.PasswordValidationService;
 import org.eclipse.ecsp.uidam.security.policy.handler.PasswordValidationService.ValidationResult;
@@ -38,6 +42,9 @@ import org.eclipse.ecsp.uidam.usermanagement.auth.response.dto.RoleCreateRespons
 import org.eclipse.ecsp.uidam.usermanagement.auth.response.dto.Scope;
 import org.eclipse.ecsp.uidam.usermanagement.authorization.dto.BaseResponseFromAuthorization;
 import org.eclipse.ecsp.uidam.usermanagement.cache.CacheTokenService;
+import org.eclipse.ecsp.uidam.usermanagement.cache.TenantDefaultAccountCache;
+import org.eclipse.ecsp.uidam.usermanagement.cache.UserAttributeMetadataRegistry;
+import org.eclipse.ecsp.uidam.usermanagement.cache.UserColumnMetadataCache;
 import org.eclipse.ecsp.uidam.usermanagement.config.tenantproperties.UserManagementTenantProperties;
 import org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants;
 import org.eclipse.ecsp.uidam.usermanagement.constants.LocalizationKey;
@@ -50,7 +57,9 @@ import org.eclipse.ecsp.uidam.usermanagement.entity.UserAttributeEntity;
 import org.eclipse.ecsp.uidam.usermanagement.entity.UserAttributeValueEntity;
 import org.eclipse.ecsp.uidam.usermanagement.entity.UserEntity;
 import org.eclipse.ecsp.uidam.usermanagement.entity.UserEvents;
+import org.eclipse.ecsp.uidam.usermanagement.entity.UserLoginStateEntity;
 import org.eclipse.ecsp.uidam.usermanagement.enums.SearchType;
+import org.eclipse.ecsp.uidam.usermanagement.enums.UserEventStatus;
 import org.eclipse.ecsp.uidam.usermanagement.enums.UserStatus;
 import org.eclipse.ecsp.uidam.usermanagement.exception.ApplicationRuntimeException;
 import org.eclipse.ecsp.uidam.usermanagement.exception.InActiveUserException;
@@ -65,6 +74,7 @@ import org.eclipse.ecsp.uidam.usermanagement.repository.RolesRepository;
 import org.eclipse.ecsp.uidam.usermanagement.repository.UserAttributeRepository;
 import org.eclipse.ecsp.uidam.usermanagement.repository.UserAttributeValueRepository;
 import org.eclipse.ecsp.uidam.usermanagement.repository.UserEventRepository;
+import org.eclipse.ecsp.uidam.usermanagement.repository.UserLoginStateRepository;
 import org.eclipse.ecsp.uidam.usermanagement.repository.UserRecoverySecretRepository;
 import org.eclipse.ecsp.uidam.usermanagement.repository.UsersRepository;
 import org.eclipse.ecsp.uidam.usermanagement.service.impl.UsersServiceImpl;
@@ -76,13 +86,16 @@ import org.eclipse.ecsp.uidam.usermanagement.user.request.dto.UserRequest;
 import org.eclipse.ecsp.uidam.usermanagement.user.request.dto.UsersDeleteFilter;
 import org.eclipse.ecsp.uidam.usermanagement.user.request.dto.UsersGetFilterBase;
 import org.eclipse.ecsp.uidam.usermanagement.user.request.dto.UsersGetFilterV1;
+import org.eclipse.ecsp.uidam.usermanagement.user.request.dto.UsersGetFilterV2;
 import org.eclipse.ecsp.uidam.usermanagement.user.response.dto.ResponseMessage;
 import org.eclipse.ecsp.uidam.usermanagement.user.response.dto.RoleListRepresentation;
 import org.eclipse.ecsp.uidam.usermanagement.user.response.dto.UserDetailsResponse;
 import org.eclipse.ecsp.uidam.usermanagement.user.response.dto.UserMetaDataResponse;
 import org.eclipse.ecsp.uidam.usermanagement.user.response.dto.UserResponseV1;
+import org.eclipse.ecsp.uidam.usermanagement.user.response.dto.UsersCursorPage;
 import org.eclipse.ecsp.uidam.usermanagement.utilities.PatchMap;
 import org.eclipse.ecsp.uidam.usermanagement.utilities.RoleAssociationUtilities;
+import org.eclipse.ecsp.uidam.usermanagement.utilities.UserKeysetCursor;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -91,9 +104,12 @@ import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.jackson2.autoconfigure.Jackson2AutoConfiguration;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.mapping.JpaMetamodelMappingContext;
 import org.springframework.http.HttpStatus;
@@ -102,8 +118,10 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.util.CollectionUtils;
 import org.springframework.web.client.RestTemplate;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
 import java.security.NoSuchAlgorithmException;
 import java.sql.Timestamp;
 import java.time.Instant;
@@ -117,6 +135,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
 import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.ASCENDING;
 import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.CAPTCHA_ENFORCE_AFTER_NO_OF_FAILURES;
 import static org.eclipse.ecsp.uidam.usermanagement.constants.ApiConstants.CAPTCHA_REQUIRED;
@@ -196,12 +215,16 @@ import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
 import static org.springframework.http.HttpStatus.OK;
 
 @ExtendWith(SpringExtension.class)
-@ContextConfiguration(classes = {UsersServiceImpl.class, Jackson2AutoConfiguration.class})
+@ContextConfiguration(classes = {UsersServiceImpl.class, TokenRevocationDispatcher.class,
+    UserAttributeMetadataRegistry.class, UserColumnMetadataCache.class, TenantDefaultAccountCache.class,
+    Jackson2AutoConfiguration.class, TestConversionConfiguration.class})
 @MockitoBean(types = JpaMetamodelMappingContext.class)
 class UsersServiceTest {
 
     @Autowired
     private UsersService usersService;
+    @Autowired
+    private ConfigurableEnvironment environment;
     @MockitoBean
     private UsersRepository userRepository;
     @MockitoBean
@@ -213,6 +236,8 @@ class UsersServiceTest {
     @MockitoBean
     private UserEventRepository userEventRepository;
     @MockitoBean
+    private UserLoginStateRepository userLoginStateRepository;
+    @MockitoBean
     private TenantConfigurationService tenantConfigurationService;
     @MockitoBean
     private UserManagementTenantProperties tenantProperties;
@@ -1080,25 +1105,19 @@ class UsersServiceTest {
 
         UserEvents userEvent = new UserEvents();
         userEvent.setEventGeneratedAt(Instant.now());
-        userEvent.setEventStatus("Failure");
+        userEvent.setEventStatus(UserEventStatus.FAILURE.getValue());
         userEvent.setEventType("Login_Attempt");
         userEvent.setEventMessage("Bad Credentials");
         UserEvents userEventSuccess = new UserEvents();
         userEventSuccess.setEventGeneratedAt(Instant.now());
-        userEventSuccess.setEventStatus("Success");
+        userEventSuccess.setEventStatus(UserEventStatus.SUCCESS.getValue());
         userEventSuccess.setEventType("Login_Attempt");
         userEventSuccess.setEventMessage("Login Success");
         List<UserEvents> userEventEntity = new ArrayList<>();
         userEventEntity.add(userEvent);
         userEventEntity.add(userEventSuccess);
-        UserAttributeEntity userAttributeEntity = Mockito.mock(UserAttributeEntity.class);
-        UserAttributeValueEntity userAttributeValueEntity = Mockito.mock(UserAttributeValueEntity.class);
-        when(userAttributeRepository.findByName(anyString())).thenReturn(userAttributeEntity);
-        when(userAttributeEntity.getId()).thenReturn(ATTR_ID_VALUE_2);
-        when(userAttributeValueRepository.findByUserIdAndAttributeId(any(BigInteger.class),
-            BigInteger.valueOf(anyInt())))
-            .thenReturn(userAttributeValueEntity);
-        when(userAttributeValueEntity.getValue()).thenReturn("true");
+        when(userAttributeValueRepository.findValueByUserIdAndAttributeName(any(BigInteger.class), anyString()))
+            .thenReturn(Optional.of("true"));
         when(tenantProperties.getMaxAllowedLoginAttempts()).thenReturn("3");
         when(userEventRepository.findUserEventsByUserIdAndEventType(any(BigInteger.class), any(String.class),
             any(Integer.class))).thenReturn(userEventEntity);
@@ -1110,6 +1129,55 @@ class UsersServiceTest {
         assertEquals(String.valueOf(userEntity.getId()), result.getId());
         assertEquals(CAPTCHA_ENFORCE_AFTER_NO_OF_FAILURES_VALUE,
             result.getCaptcha().get(CAPTCHA_ENFORCE_AFTER_NO_OF_FAILURES));
+        assertEquals(Boolean.TRUE, result.getCaptcha().get(CAPTCHA_REQUIRED));
+        assertEquals(Integer.valueOf(1), result.getFailureLoginAttempts());
+        assertEquals(userEventSuccess.getEventGeneratedAt().toString(), result.getLastSuccessfulLoginTime());
+        verify(userEventRepository, times(1)).findUserEventsByUserIdAndEventType(any(BigInteger.class),
+            any(String.class), any(Integer.class));
+    }
+
+    @Test
+    void getUserByUserNameFromLoginState() throws ResourceNotFoundException, InActiveUserException {
+        UserEntity userEntity = createUserEntity(UserStatus.ACTIVE);
+        userEntity.setId(USER_ID_VALUE);
+        when(userRepository.findByUserNameIgnoreCaseAndStatusNot(any(String.class), any(UserStatus.class)))
+            .thenReturn(userEntity);
+        Instant lastSuccessAt = Instant.now();
+        when(userLoginStateRepository.findById(USER_ID_VALUE))
+            .thenReturn(Optional.of(new UserLoginStateEntity(USER_ID_VALUE, INDEX_2, lastSuccessAt, Instant.now())));
+        when(tenantProperties.getMaxAllowedLoginAttempts()).thenReturn("3");
+        when(rolesService.getRoleById(anySet())).thenReturn(createRoleListDtoRepresentation());
+
+        UserDetailsResponse result = usersService.getUserByUserName(USER_NAME_VALUE);
+
+        assertEquals(Integer.valueOf(INDEX_2), result.getFailureLoginAttempts());
+        assertEquals(lastSuccessAt.toString(), result.getLastSuccessfulLoginTime());
+        verify(userEventRepository, never()).findUserEventsByUserIdAndEventType(any(BigInteger.class),
+            any(String.class), any(Integer.class));
+    }
+
+    @Test
+    void getUserByUserNameReportsDigestEncoderWhilePbkdf2IsDisabled()
+        throws ResourceNotFoundException, InActiveUserException {
+        UserEntity userEntity = createUserEntity(UserStatus.ACTIVE);
+        userEntity.setId(USER_ID_VALUE);
+        userEntity.setUserPassword("$pbkdf2-sha256$i=1000$AAAA");
+        when(userRepository.findByUserNameIgnoreCaseAndStatusNot(any(String.class), any(UserStatus.class)))
+            .thenReturn(userEntity);
+        when(tenantProperties.getPasswordEncoder()).thenReturn("PBKDF2WithHmacSHA256");
+        when(tenantProperties.getMaxAllowedLoginAttempts()).thenReturn("3");
+        when(rolesService.getRoleById(anySet())).thenReturn(createRoleListDtoRepresentation());
+
+        assertEquals("SHA-256", usersService.getUserByUserName(USER_NAME_VALUE).getPasswordEncoder());
+
+        environment.getPropertySources().addFirst(new MapPropertySource("pbkdf2",
+            Map.of("password.hashing.pbkdf2.enabled", "true")));
+        try {
+            assertEquals("PBKDF2WithHmacSHA256:1000",
+                usersService.getUserByUserName(USER_NAME_VALUE).getPasswordEncoder());
+        } finally {
+            environment.getPropertySources().remove("pbkdf2");
+        }
     }
 
     @Test
@@ -1133,12 +1201,8 @@ class UsersServiceTest {
         List<UserEvents> userEventEntity = new ArrayList<>();
         userEventEntity.add(userEvent);
         userEventEntity.add(userEventSuccess);
-        UserAttributeEntity userAttributeEntity = Mockito.mock(UserAttributeEntity.class);
-        when(userAttributeRepository.findByName(anyString())).thenReturn(userAttributeEntity);
-        when(userAttributeEntity.getId()).thenReturn(ATTR_ID_VALUE_2);
-        when(userAttributeValueRepository.findByUserIdAndAttributeId(any(BigInteger.class),
-            BigInteger.valueOf(anyInt())))
-            .thenReturn(null);
+        when(userAttributeValueRepository.findValueByUserIdAndAttributeName(any(BigInteger.class), anyString()))
+            .thenReturn(Optional.empty());
         when(tenantProperties.getMaxAllowedLoginAttempts()).thenReturn("3");
         when(userEventRepository.findUserEventsByUserIdAndEventType(any(BigInteger.class), any(String.class),
             any(Integer.class))).thenReturn(userEventEntity);
@@ -1173,10 +1237,8 @@ class UsersServiceTest {
         List<UserEvents> userEventEntity = new ArrayList<>();
         userEventEntity.add(userEvent);
         userEventEntity.add(userEventSuccess);
-        when(userAttributeRepository.findByName(anyString())).thenReturn(null);
-        when(userAttributeValueRepository.findByUserIdAndAttributeId(any(BigInteger.class),
-            BigInteger.valueOf(anyInt())))
-            .thenReturn(null);
+        when(userAttributeValueRepository.findValueByUserIdAndAttributeName(any(BigInteger.class), anyString()))
+            .thenReturn(Optional.empty());
         when(tenantProperties.getMaxAllowedLoginAttempts()).thenReturn("3");
         when(userEventRepository.findUserEventsByUserIdAndEventType(any(BigInteger.class), any(String.class),
             any(Integer.class))).thenReturn(userEventEntity);
@@ -1234,7 +1296,7 @@ class UsersServiceTest {
         when(rolesService.getRoleById(anySet())).thenReturn(createRoleListDtoRepresentation());
         when(userAttributeValueRepository.findAllByUserIdIn(Collections.singletonList(USER_ID_VALUE))).thenReturn(
             createUserAttributeValueData());
-        when(userAttributeRepository.findAllById(anyList())).thenReturn(createUserAttributeMetaData());
+        when(userAttributeRepository.findAll()).thenReturn(createUserAttributeMetaData());
         UserResponseV1 result = (UserResponseV1) usersService.getUser(USER_ID_VALUE, API_VERSION_1);
         assertEquals(result.getUserName(), userEntity.getUserName());
         assertEquals(result.getEmail(), userEntity.getEmail());
@@ -1264,6 +1326,28 @@ class UsersServiceTest {
         assertEquals(STATE_VALUE, userResponses.get(INDEX_0).getState());
     }
 
+    @Test
+    void getUsersResolvesRolesOncePerPage() throws ResourceNotFoundException {
+        List<UserEntity> userEntities = new ArrayList<>();
+        for (int i = 0; i < DEFAULT_PAGE_SIZE; i++) {
+            UserEntity userEntity = createUserEntity(UserStatus.ACTIVE);
+            userEntity.setId(BigInteger.valueOf(i));
+            userEntities.add(userEntity);
+        }
+        Page page = Mockito.mock(Page.class);
+        when(rolesService.getRoleById(anySet())).thenReturn(createRoleListDtoRepresentation());
+        when(userRepository.findAll(any(Specification.class), any(Pageable.class)))
+            .thenReturn(page);
+        when(page.getContent()).thenReturn(userEntities);
+
+        List<UserResponseV1> userResponses = usersService.getUsers(new UsersGetFilterV1(), 0, DEFAULT_PAGE_SIZE,
+                null, ASCENDING, false, null).stream()
+            .map(UserResponseV1.class::cast).toList();
+        assertEquals(DEFAULT_PAGE_SIZE, userResponses.size());
+        userResponses.forEach(userResponse -> assertEquals(Set.of(ROLE_VALUE, ROLE_2), userResponse.getRoles()));
+        verify(rolesService, times(1)).getRoleById(anySet());
+    }
+
     @Test
     void getUsersSuccessWithIgnoreCase() throws ResourceNotFoundException {
         UsersGetFilterV1 usersGetFilter = createUsersGetFilter();
@@ -1401,6 +1485,75 @@ class UsersServiceTest {
         assertEquals(STATE_VALUE, userResponses.get(INDEX_0).getState());
     }
 
+    @Test
+    void getUsersByCursorReturnsNextCursorWhenMoreUsersExist() throws ResourceNotFoundException {
+        UserEntity firstUser = createUserEntity(UserStatus.ACTIVE);
+        firstUser.setId(USER_ID_VALUE);
+        UserEntity secondUser = createUserEntity(UserStatus.ACTIVE);
+        secondUser.setId(USER_ID_VALUE_2);
+        when(rolesService.getRoleById(anySet())).thenReturn(createRoleListDtoRepresentation());
+        when(userRepository.findBy(any(Specification.class), any())).thenReturn(List.of(firstUser, secondUser));
+
+        UsersCursorPage page = usersService.getUsersByCursor(new UsersGetFilterV1(), "", 1, "userName",
+            ASCENDING, false, SearchType.CONTAINS);
+
+        assertEquals(1, page.getUsers().size());
+        UserKeysetCursor nextCursor = UserKeysetCursor.decode(page.getNextCursor());
+        assertEquals(USER_ID_VALUE, nextCursor.lastId());
+        assertEquals(USER_NAME_VALUE, nextCursor.lastValue());
+        assertTrue(nextCursor.matches("userName", Sort.Direction.ASC));
+    }
+
+    @Test
+    void getUsersByCursorRejectsUnsupportedSortAndMismatchedCursor() {
+        UsersGetFilterV1 usersGetFilter = new UsersGetFilterV1();
+        assertThrows(ApplicationRuntimeException.class, () -> usersService.getUsersByCursor(usersGetFilter, "",
+            DEFAULT_PAGE_SIZE, "firstName", ASCENDING, false, SearchType.CONTAINS));
+        String cursor = new UserKeysetCursor("id", Sort.Direction.DESC, USER_ID_VALUE, null).encode();
+        assertThrows(ApplicationRuntimeException.class, () -> usersService.getUsersByCursor(usersGetFilter, cursor,
+            DEFAULT_PAGE_SIZE, null, ASCENDING, false, SearchType.CONTAINS));
+        verify(userRepository, never()).findBy(any(Specification.class), any());
+    }
+
+    @Test
+    void getUsersByCursorRejectsPageSizeBelowOne() {
+        UsersGetFilterV1 usersGetFilter = new UsersGetFilterV1();
+        ApplicationRuntimeException exception = assertThrows(ApplicationRuntimeException.class,
+            () -> usersService.getUsersByCursor(usersGetFilter, "", 0, null, ASCENDING, false, SearchType.CONTAINS));
+        assertEquals(BAD_REQUEST, exception.getHttpStatus());
+        assertThrows(ApplicationRuntimeException.class, () -> usersService.getUsersByCursor(usersGetFilter, "",
+            -1, null, ASCENDING, false, SearchType.CONTAINS));
+        verify(userRepository, never()).findBy(any(Specification.class), any());
+    }
+
+    @Test
+    void exportUsersWritesOneLinePerUser() throws ResourceNotFoundException, IOException {
+        UserEntity firstUser = createUserEntity(UserStatus.ACTIVE);
+        firstUser.setId(USER_ID_VALUE);
+        UserEntity secondUser = createUserEntity(UserStatus.ACTIVE);
+        secondUser.setId(USER_ID_VALUE_2);
+        CriteriaBuilder builder = Mockito.mock(CriteriaBuilder.class, Mockito.RETURNS_DEEP_STUBS);
+        CriteriaQuery<UserEntity> criteriaQuery = Mockito.mock(CriteriaQuery.class, Mockito.RETURNS_DEEP_STUBS);
+        TypedQuery<UserEntity> typedQuery = Mockito.mock(TypedQuery.class);
+        when(entityManagerFactory.createEntityManager()).thenReturn(entityManager);
+        when(entityManagerFactory.getCriteriaBuilder()).thenReturn(builder);
+        when(entityManager.getCriteriaBuilder()).thenReturn(builder);
+        when(builder.createQuery(UserEntity.class)).thenReturn(criteriaQuery);
+        when(entityManager.createQuery(criteriaQuery)).thenReturn(typedQuery);
+        when(typedQuery.setHint(anyString(), any())).thenReturn(typedQuery);
+        // A user matching several joined rows is returned once per row
+        when(typedQuery.getResultStream()).thenReturn(Stream.of(firstUser, firstUser, secondUser));
+        when(rolesService.getRoleById(anySet())).thenReturn(createRoleListDtoRepresentation());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        long exported = usersService.exportUsers(new UsersGetFilterV2(), false, SearchType.CONTAINS, outputStream);
+
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, exported);
+        assertEquals(2, lines.length);
+        assertEquals(USER_NAME_VALUE, new ObjectMapper().readTree(lines[INDEX_0]).get("userName").asText());
+    }
+
     @Test
     void getUsersSuccessByAdditionalAttribute() throws ResourceNotFoundException {
         UserEntity userEntity = createUserEntity(UserStatus.ACTIVE);
@@ -1419,8 +1572,6 @@ class UsersServiceTest {
         when(userAttributeValueRepository.findAll(any(Specification.class))).thenReturn(userAttributeValueEntities);
         when(page.getContent()).thenReturn(Collections.singletonList(userEntity));
         when(userAttributeValueRepository.findAllByUserIdIn(anyList())).thenReturn(userAttributeValueEntities);
-        List<UserAttributeEntity> userAttributeEntities = createUserAttributeMetaData();
-        when(userAttributeRepository.findAllById(anyList())).thenReturn(userAttributeEntities);
 
         List<UserResponseV1> userResponses = usersService
             .getUsers(usersGetFilter, 0, DEFAULT_PAGE_SIZE, null, ASCENDING, false, SearchType.CONTAINS).stream()
@@ -1452,8 +1603,6 @@ class UsersServiceTest {
         when(userAttributeValueRepository.findAll(any(Specification.class))).thenReturn(userAttributeValueEntities);
         when(page.getContent()).thenReturn(Collections.singletonList(userEntity));
         when(userAttributeValueRepository.findAllByUserIdIn(anyList())).thenReturn(userAttributeValueEntities);
-        List<UserAttributeEntity> userAttributeEntities = createUserAttributeMetaData();
-        when(userAttributeRepository.findAllById(anyList())).thenReturn(userAttributeEntities);
 
         List<UserResponseV1> userResponses = usersService
             .getUsers(usersGetFilter, 0, DEFAULT_PAGE_SIZE, null, ASCENDING, true, null).stream()
@@ -1485,8 +1634,6 @@ class UsersServiceTest {
         when(userAttributeValueRepository.findAll(any(Specification.class))).thenReturn(userAttributeValueEntities);
         when(page.getContent()).thenReturn(Collections.singletonList(userEntity));
         when(userAttributeValueRepository.findAllByUserIdIn(anyList())).thenReturn(userAttributeValueEntities);
-        List<UserAttributeEntity> userAttributeEntities = createUserAttributeMetaData();
-        when(userAttributeRepository.findAllById(anyList())).thenReturn(userAttributeEntities);
 
         List<UserResponseV1> userResponses = usersService
             .getUsers(usersGetFilter, 0, DEFAULT_PAGE_SIZE, null, ASCENDING, false, SearchType.PREFIX).stream()
@@ -1518,8 +1665,6 @@ class UsersServiceTest {
         when(userAttributeValueRepository.findAll(any(Specification.class))).thenReturn(userAttributeValueEntities);
         when(page.getContent()).thenReturn(Collections.singletonList(userEntity));
         when(userAttributeValueRepository.findAllByUserIdIn(anyList())).thenReturn(userAttributeValueEntities);
-        List<UserAttributeEntity> userAttributeEntities = createUserAttributeMetaData();
-        when(userAttributeRepository.findAllById(anyList())).thenReturn(userAttributeEntities);
 
         List<UserResponseV1> userResponses = usersService
             .getUsers(usersGetFilter, 0, DEFAULT_PAGE_SIZE, null, ASCENDING, false, SearchType.SUFFIX).stream()
@@ -1551,8 +1696,6 @@ class UsersServiceTest {
         when(userAttributeValueRepository.findAll(any(Specification.class))).thenReturn(userAttributeValueEntities);
         when(page.getContent()).thenReturn(Collections.singletonList(userEntity));
         when(userAttributeValueRepository.findAllByUserIdIn(anyList())).thenReturn(userAttributeValueEntities);
-        List<UserAttributeEntity> userAttributeEntities = createUserAttributeMetaData();
-        when(userAttributeRepository.findAllById(anyList())).thenReturn(userAttributeEntities);
 
         List<UserResponseV1> userResponses = usersService
             .getUsers(usersGetFilter, 0, DEFAULT_PAGE_SIZE, null, ASCENDING, false, SearchType.CONTAINS).stream()
@@ -1584,8 +1727,6 @@ class UsersServiceTest {
         when(userAttributeValueRepository.findAll(any(Specification.class))).thenReturn(userAttributeValueEntities);
         when(page.getContent()).thenReturn(Collections.singletonList(userEntity));
         when(userAttributeValueRepository.findAllByUserIdIn(anyList())).thenReturn(userAttributeValueEntities);
-        List<UserAttributeEntity> userAttributeEntities = createUserAttributeMetaData();
-        when(userAttributeRepository.findAllById(anyList())).thenReturn(userAttributeEntities);
 
         List<UserResponseV1> userResponses = usersService
             .getUsers(usersGetFilter, 0, DEFAULT_PAGE_SIZE,
@@ -1675,6 +1816,59 @@ class UsersServiceTest {
             () -> usersService.deleteUsers(usersDeleteFilter));
     }
 
+    @Test
+    void deleteUsersRevokesTokensOfAllUsersBeforeDeleting() throws ResourceNotFoundException {
+
+        UserEntity userEntity = createUserEntity(UserStatus.ACTIVE);
+        userEntity.setId(USER_ID_VALUE);
+        UserEntity secondUserEntity = createUserEntity(UserStatus.ACTIVE);
+        secondUserEntity.setId(USER_ID_VALUE_2);
+        secondUserEntity.setUserName("secondUser");
+        UsersDeleteFilter usersDeleteFilter = new UsersDeleteFilter(Set.of(USER_ID_VALUE, USER_ID_VALUE_2));
+        when(userRepository.findAllByIdInAndStatusNot(anySet(), any(UserStatus.class)))
+            .thenReturn(List.of(userEntity, secondUserEntity));
+        when(userRepository.saveAll(anyList())).thenReturn(List.of(userEntity, secondUserEntity));
+        when(rolesService.getRoleById(anySet())).thenReturn(createRoleListDtoRepresentation());
+        when(cacheTokenService.getAccessToken()).thenReturn("dummyToken");
+        BaseResponseFromAuthorization baseResponseFromAuthorization = new BaseResponseFromAuthorization();
+        baseResponseFromAuthorization.setHttpStatus(OK);
+        when(authorizationServerClient.revokeTokenByAdmin(anyString(), anyString()))
+            .thenReturn(baseResponseFromAuthorization);
+
+        List<UserResponseV1> userResponses = usersService.deleteUsers(usersDeleteFilter);
+
+        assertEquals(2, userResponses.size());
+        verify(authorizationServerClient, times(1)).revokeTokenByAdmin("dummyToken", userEntity.getUserName());
+        verify(authorizationServerClient, times(1)).revokeTokenByAdmin("dummyToken", "secondUser");
+    }
+
+    @Test
+    void deleteUsersFailsWhenTokenOfAnyUserIsNotRevoked() {
+
+        UserEntity userEntity = createUserEntity(UserStatus.ACTIVE);
+        userEntity.setId(USER_ID_VALUE);
+        UserEntity secondUserEntity = createUserEntity(UserStatus.ACTIVE);
+        secondUserEntity.setId(USER_ID_VALUE_2);
+        secondUserEntity.setUserName("secondUser");
+        UsersDeleteFilter usersDeleteFilter = new UsersDeleteFilter(Set.of(USER_ID_VALUE, USER_ID_VALUE_2));
+        when(userRepository.findAllByIdInAndStatusNot(anySet(), any(UserStatus.class)))
+            .thenReturn(List.of(userEntity, secondUserEntity));
+        when(cacheTokenService.getAccessToken()).thenReturn("dummyToken");
+        BaseResponseFromAuthorization revoked = new BaseResponseFromAuthorization();
+        revoked.setHttpStatus(OK);
+        BaseResponseFromAuthorization notRevoked = new BaseResponseFromAuthorization();
+        notRevoked.setHttpStatus(INTERNAL_SERVER_ERROR);
+        when(authorizationServerClient.revokeTokenByAdmin("dummyToken", userEntity.getUserName()))
+            .thenReturn(revoked);
+        when(authorizationServerClient.revokeTokenByAdmin("dummyToken", "secondUser")).thenReturn(notRevoked);
+
+        ApplicationRuntimeException exception = assertThrows(ApplicationRuntimeException.class,
+            () -> usersService.deleteUsers(usersDeleteFilter));
+
+        assertEquals(INTERNAL_SERVER_ERROR, exception.getHttpStatus());
+        verify(userRepository, never()).saveAll(anyList());
+    }
+
     @Test
     void getUserMetaDataSuccess() {
         when(entityManagerFactory.createEntityManager()).thenReturn(entityManager);
@@ -2883,7 +3077,6 @@ class UsersServiceTest {
         when(tenantProperties.getUserDefaultAccountName()).thenReturn("userdefaultaccount");
         List<UserAttributeEntity> userAttributeEntityList = getUserAttributeDetails();
         when(userAttributeRepository.findAll()).thenReturn(userAttributeEntityList);
-        when(userAttributeRepository.findAllById(any())).thenReturn(userAttributeEntityList);
         UserEntity updatedUserEntity = userEntity;
         updatedUserEntity.setFirstName("JohnSEorro");
         when(userRepository.save(Mockito.any())).thenReturn(updatedUserEntity);
@@ -2947,7 +3140,6 @@ class UsersServiceTest {
         List<UserAttributeEntity> userAttributeEntityList = getUserAttributeDetails();
         userAttributeEntityList.get(0).setReadOnly(true);
         when(userAttributeRepository.findAll()).thenReturn(userAttributeEntityList);
-        when(userAttributeRepository.findAllById(any())).thenReturn(userAttributeEntityList);
         ObjectMapper objectMapper = new ObjectMapper();
         String decryptValue = "[{\"op\":\"replace\",\"path\":\"/firstName\",\"value\":\"JohnSEorro\"},"
 
@@ -24,6 +24,7 @@ import org.eclipse.ecsp.uidam.accountmanagement.entity.AccountEntity;
 import org.eclipse.ecsp.uidam.accountmanagement.enums.AccountStatus;
 import org.eclipse.ecsp.uidam.accountmanagement.repository.AccountRepository;
 import org.eclipse.ecsp.uidam.common.metrics.UidamMetricsService;
+import org.eclipse.ecsp.uidam.common.test.TestConversionConfiguration;
 import org.eclipse.ecsp.uidam.security.policy.handler.PasswordValidationService;
 import org.eclipse.ecsp.uidam.security.policy.handler.PasswordValidationService.ValidationResult;
 import org.eclipse.ecsp.uidam.security.policy.repo.PasswordPolicyRepository;
@@ -31,6 +32,9 @@ import org.eclipse.ecsp.uidam.usermanagement.auth.request.dto.RegisteredClientDe
 import org.eclipse.ecsp.uidam.usermanagement.auth.response.dto.RoleCreateResponse;
 import org.eclipse.ecsp.uidam.usermanagement.auth.response.dto.Scope;
 import org.eclipse.ecsp.uidam.usermanagement.cache.CacheTokenService;
+import org.eclipse.ecsp.uidam.usermanagement.cache.TenantDefaultAccountCache;
+import org.eclipse.ecsp.uidam.usermanagement.cache.UserAttributeMetadataRegistry;
+import org.eclipse.ecsp.uidam.usermanagement.cache.UserColumnMetadataCache;
 import org.eclipse.ecsp.uidam.usermanagement.config.tenantproperties.UserManagementTenantProperties;
 import org.eclipse.ecsp.uidam.usermanagement.constants.LocalizationKey;
 import org.eclipse.ecsp.uidam.usermanagement.dao.UserManagementDao;
@@ -47,6 +51,7 @@ import org.eclipse.ecsp.uidam.usermanagement.repository.RolesRepository;
 import org.eclipse.ecsp.uidam.usermanagement.repository.UserAttributeRepository;
 import org.eclipse.ecsp.uidam.usermanagement.repository.UserAttributeValueRepository;
 import org.eclipse.ecsp.uidam.usermanagement.repository.UserEventRepository;
+import org.eclipse.ecsp.uidam.usermanagement.repository.UserLoginStateRepository;
 import org.eclipse.ecsp.uidam.usermanagement.repository.UserRecoverySecretRepository;
 import org.eclipse.ecsp.uidam.usermanagement.repository.UsersRepository;
 import org.eclipse.ecsp.uidam.usermanagement.service.impl.UsersServiceImpl;
@@ -118,10 +123,15 @@ import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anySet;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(SpringExtension.class)
-@ContextConfiguration(classes = {UsersServiceImpl.class, Jackson2AutoConfiguration.class})
+@ContextConfiguration(classes = {UsersServiceImpl.class, TokenRevocationDispatcher.class,
+    UserAttributeMetadataRegistry.class, UserColumnMetadataCache.class, TenantDefaultAccountCache.class,
+    Jackson2AutoConfiguration.class, TestConversionConfiguration.class})
 @MockitoBean(types = JpaMetamodelMappingContext.class)
 class UsersServiceV2Test {
     @Autowired
@@ -149,6 +159,8 @@ class UsersServiceV2Test {
     @MockitoBean
     private UserEventRepository userEventRepository;
     @MockitoBean
+    private UserLoginStateRepository userLoginStateRepository;
+    @MockitoBean
     private EntityManager entityManager;
     @MockitoBean
     UserRecoverySecretRepository userRecoverySecretRepository;
@@ -406,7 +418,7 @@ class UsersServiceV2Test {
 
         when(accountRepository.findAllByStatusAndAccountNameIn(any(AccountStatus.class), any(HashSet.class)))
                 .thenReturn(activeAccounts);
-        when(accountRepository.findById(any(BigInteger.class))).thenReturn(Optional.of(a1)).thenReturn(Optional.of(a2));
+        when(accountRepository.findAllById(anySet())).thenReturn(activeAccounts);
         UsersGetFilterV2 usersGetFilter = createUsersGetFilter();
         List<UserResponseV2> userResponses = usersService.getUsers(usersGetFilter, 0, DEFAULT_PAGE_SIZE,
                 UsersGetFilterBase.UserGetFilterEnum.ROLES.getField(), ASCENDING, false, null).stream()
@@ -426,6 +438,40 @@ class UsersServiceV2Test {
                 .anyMatch(role -> ROLE_2.equals(role)));
     }
 
+    @Test
+    void getUsersResolvesRolesAndAccountsOncePerPage() throws ResourceNotFoundException {
+        List<UserEntity> userEntities = new ArrayList<>();
+        for (int i = 0; i < DEFAULT_PAGE_SIZE; i++) {
+            UserEntity userEntity = createUserEntity(UserStatus.ACTIVE);
+            userEntity.setId(BigInteger.valueOf(i));
+            userEntities.add(userEntity);
+        }
+        Page page = Mockito.mock(Page.class);
+        when(rolesService.getRoleById(anySet())).thenReturn(createRoleListDtoRepresentation());
+        when(userRepository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(page);
+        when(page.getContent()).thenReturn(userEntities);
+        AccountEntity a1 = new AccountEntity();
+        a1.setAccountName("TestAccount1");
+        a1.setId(ACCOUNT_ID_VALUE);
+        AccountEntity a2 = new AccountEntity();
+        a2.setAccountName("TestAccount2");
+        a2.setId(ACCOUNT_ID_VALUE_1);
+        when(accountRepository.findAllById(anySet())).thenReturn(List.of(a1, a2));
+
+        List<UserResponseV2> userResponses = usersService.getUsers(new UsersGetFilterV2(), 0, DEFAULT_PAGE_SIZE,
+                null, ASCENDING, false, null).stream().map(UserResponseV2.class::cast).toList();
+
+        assertEquals(DEFAULT_PAGE_SIZE, userResponses.size());
+        userResponses.forEach(userResponse -> {
+            assertEquals(2, userResponse.getAccounts().size());
+            assertTrue(userResponse.getAccounts().stream().map(UserAccountsAndRoles::getRoles).flatMap(Set::stream)
+                    .anyMatch(ROLE_VALUE::equals));
+        });
+        verify(rolesService, times(1)).getRoleById(anySet());
+        verify(accountRepository, times(1)).findAllById(anySet());
+        verify(accountRepository, never()).findById(any(BigInteger.class));
+    }
+
     public static UserEntity createUserEntity(UserStatus status) {
         UserDtoV2 userDto = createUserPostV2(status);
         UserEntity userEntity = UserMapper.USER_MAPPER.mapToUser(userDto);
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2023 - 2024 Harman International
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+
+package org.eclipse.ecsp.uidam.usermanagement.template;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.eclipse.ecsp.sql.multitenancy.TenantContext;
+import org.eclipse.ecsp.uidam.common.metrics.UidamMetrics;
+import org.eclipse.ecsp.uidam.common.metrics.UidamMetricsService;
+import org.eclipse.ecsp.uidam.usermanagement.config.tenantproperties.NotificationProperties;
+import org.eclipse.ecsp.uidam.usermanagement.config.tenantproperties.UserManagementTenantProperties;
+import org.eclipse.ecsp.uidam.usermanagement.notification.parser.impl.MustacheTemplateParserImpl;
+import org.eclipse.ecsp.uidam.usermanagement.service.TenantConfigurationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test case for validating the compiled text template cache of the mustache template parser.
+ */
+class MustacheTemplateParserImplCacheTest {
+
+    private static final String GREETING = "Dear {{username}}";
+    private static final String SUBJECT = "Welcome {{username}}";
+    private static final String FAREWELL = "Bye {{username}}";
+
+    private MeterRegistry meterRegistry;
+    private MustacheTemplateParserImpl templateParser;
+
+    @BeforeEach
+    void setUp() {
+        TenantContext.setCurrentTenant("ecsp");
+        NotificationProperties.TemplateEngineProperties templateProps =
+            new NotificationProperties.TemplateEngineProperties();
+        templateProps.setEngine("mustache");
+        templateProps.setResolver("CLASSPATH");
+        templateProps.setPrefix("/templates/");
+        NotificationProperties notificationProps = new NotificationProperties();
+        notificationProps.setTemplate(templateProps);
+        UserManagementTenantProperties tenantProps = new UserManagementTenantProperties();
+        tenantProps.setNotification(notificationProps);
+        TenantConfigurationService tenantConfigurationService = mock(TenantConfigurationService.class);
+        when(tenantConfigurationService.getTenantProperties()).thenReturn(tenantProps);
+        meterRegistry = new SimpleMeterRegistry();
+        templateParser = new MustacheTemplateParserImpl(tenantConfigurationService, new DefaultResourceLoader(),
+            new UidamMetricsService(meterRegistry), 2);
+    }
+
+    @AfterEach
+    void cleanup() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void parseTextCompilesTemplateOnce() {
+        assertEquals("Dear John", templateParser.parseText(GREETING, Map.of("username", "John")));
+        assertEquals("Dear Jane", templateParser.parseText(GREETING, Map.of("username", "Jane")));
+        assertEquals("Dear Joe", templateParser.parseText(GREETING, Map.of("username", "Joe")));
+
+        assertEquals(1.0, count(UidamMetrics.NOTIFICATION_TEMPLATE_COMPILE, "ecsp"));
+        assertEquals(2.0, count(UidamMetrics.NOTIFICATION_TEMPLATE_CACHE_HIT, "ecsp"));
+    }
+
+    @Test
+    void parseTextEvictsLeastRecentlyUsedTemplate() {
+        Map<String, Object> values = Map.of("username", "John");
+        templateParser.parseText(GREETING, values);
+        templateParser.parseText(SUBJECT, values);
+        templateParser.parseText(GREETING, values);
+        templateParser.parseText(FAREWELL, values);
+        templateParser.parseText(GREETING, values);
+        assertEquals(3.0, count(UidamMetrics.NOTIFICATION_TEMPLATE_COMPILE, "ecsp"));
+
+        assertEquals("Welcome John", templateParser.parseText(SUBJECT, values));
+        assertEquals(4.0, count(UidamMetrics.NOTIFICATION_TEMPLATE_COMPILE, "ecsp"));
+    }
+
+    @Test
+    void compiledTemplatesAreScopedPerTenantAndCleared() {
+        Map<String, Object> values = Map.of("username", "John");
+        templateParser.parseText(GREETING, values);
+        TenantContext.setCurrentTenant("sdp");
+        templateParser.parseText(GREETING, values);
+        templateParser.clearCache("ecsp");
+        templateParser.parseText(GREETING, values);
+        TenantContext.setCurrentTenant("ecsp");
+        templateParser.parseText(GREETING, values);
+
+        assertEquals(2.0, count(UidamMetrics.NOTIFICATION_TEMPLATE_COMPILE, "ecsp"));
+        assertEquals(1.0, count(UidamMetrics.NOTIFICATION_TEMPLATE_COMPILE, "sdp"));
+        assertEquals(1.0, count(UidamMetrics.NOTIFICATION_TEMPLATE_CACHE_HIT, "sdp"));
+    }
+
+    private double count(UidamMetrics metric, String tenantId) {
+        return meterRegistry.counter(metric.getMetricName(), "application", "uidam-user-management",
+            "tenantId", tenantId, "apiVersion", "v1").count();
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2023 - 2024 Harman International
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+
+package org.eclipse.ecsp.uidam.usermanagement.utilities;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the ObjectConverter conversions used when user attribute values are read and written.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ObjectConverterBenchmark {
+
+    private static final String JSON_VALUE = "{\"vin\":\"1HGCM82633A004352\",\"model\":\"Accord\",\"year\":2003}";
+
+    private ObjectNode jsonNode;
+
+    /**
+     * Builds the json attribute value.
+     */
+    @Setup
+    public void setUp() {
+        jsonNode = new ObjectMapper().createObjectNode()
+            .put("vin", "1HGCM82633A004352")
+            .put("model", "Accord")
+            .put("year", 2003);
+    }
+
+    @Benchmark
+    public Integer convertToInteger() {
+        return ObjectConverter.convert("2024", Integer.class);
+    }
+
+    @Benchmark
+    public Boolean convertToBoolean() {
+        return ObjectConverter.convert("true", Boolean.class);
+    }
+
+    @Benchmark
+    public BigDecimal convertToBigDecimal() {
+        return ObjectConverter.convert("12345.678", BigDecimal.class);
+    }
+
+    @Benchmark
+    public Timestamp convertToTimestamp() {
+        return ObjectConverter.convert("2024-01-15 10:30:00", Timestamp.class);
+    }
+
+    @Benchmark
+    public String convertToSameType() {
+        return ObjectConverter.convert("unchanged", String.class);
+    }
+
+    @Benchmark
+    public JsonNode convertToJsonNode() {
+        return ObjectConverter.convert(JSON_VALUE, JsonNode.class);
+    }
+
+    @Benchmark
+    public String jsonNodeObjectToString() {
+        return ObjectConverter.jsonNodeObjectToString(jsonNode);
+    }
+
+    @Benchmark
+    public String jsonStringToString() {
+        return ObjectConverter.jsonNodeObjectToString(JSON_VALUE);
+    }
+}
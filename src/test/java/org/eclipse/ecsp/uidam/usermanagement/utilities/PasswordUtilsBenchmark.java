@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2023 - 2024 Harman International
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+
+package org.eclipse.ecsp.uidam.usermanagement.utilities;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for PasswordUtils hashing and the password history check of a user, for the digest format and for an
+ * iterated hash that takes the parallel path of the history check.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PasswordUtilsBenchmark {
+
+    private static final String NEW_PASSWORD = "N3w-Passw0rd!2024";
+
+    @Param({"5", "24", "100"})
+    private int historySize;
+
+    @Param({"SHA-256", "PBKDF2WithHmacSHA256:10000"})
+    private String passwordEncoder;
+
+    private String salt;
+    private List<String> userSalts;
+    private List<String> userOldPasswords;
+    private List<String> reusedOldPasswords;
+
+    /**
+     * Builds a password history of the configured size that does not contain the new password, so that every
+     * salt of the history is hashed, and a copy in which the middle entry is the new password, so that the check
+     * can stop early.
+     */
+    @Setup
+    public void setUp() {
+        salt = PasswordUtils.getSalt();
+        userSalts = new ArrayList<>(historySize);
+        userOldPasswords = new ArrayList<>(historySize);
+        for (int i = 0; i < historySize; i++) {
+            String oldSalt = PasswordUtils.getSalt();
+            userSalts.add(oldSalt);
+            userOldPasswords.add(PasswordUtils.getSecurePassword("Old-Passw0rd!" + i, oldSalt, passwordEncoder));
+        }
+        reusedOldPasswords = new ArrayList<>(userOldPasswords);
+        int reusedIndex = historySize / 2;
+        reusedOldPasswords.set(reusedIndex,
+            PasswordUtils.getSecurePassword(NEW_PASSWORD, userSalts.get(reusedIndex), passwordEncoder));
+    }
+
+    @Benchmark
+    public String getSecurePassword() {
+        return PasswordUtils.getSecurePassword(NEW_PASSWORD, salt, passwordEncoder);
+    }
+
+    @Benchmark
+    public boolean isPasswordValid() {
+        return PasswordUtils.isPasswordValid(passwordEncoder, NEW_PASSWORD, userSalts, userOldPasswords);
+    }
+
+    @Benchmark
+    public boolean isPasswordValidForReusedPassword() {
+        return PasswordUtils.isPasswordValid(passwordEncoder, NEW_PASSWORD, userSalts, reusedOldPasswords);
+    }
+}
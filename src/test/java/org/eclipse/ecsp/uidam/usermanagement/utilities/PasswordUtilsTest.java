@@ -19,7 +19,11 @@
 package org.eclipse.ecsp.uidam.usermanagement.utilities;
 
 import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class PasswordUtilsTest {
 
@@ -30,4 +34,35 @@ class PasswordUtilsTest {
         String hashedPassword = "6x9zLlHCh7cyOr6SIJ6ut+ETAE3FTJZ/FZ0wf/LIekc=";
         assertEquals(hashedPassword, PasswordUtils.getSecurePassword(userpwd, salt, "SHA-256"));
     }
+
+    @Test
+    void isPasswordValidChecksDigestHistory() {
+        List<String> salts = new ArrayList<>();
+        List<String> oldPasswords = new ArrayList<>();
+        addHistory(salts, oldPasswords, "SHA-256", 5);
+
+        assertTrue(PasswordUtils.isPasswordValid("SHA-256", "N3w-Passw0rd", salts, oldPasswords));
+        assertFalse(PasswordUtils.isPasswordValid("SHA-256", "0ld-Passw0rd3", salts, oldPasswords));
+    }
+
+    @Test
+    void isPasswordValidChecksIteratedHistoryInParallel() {
+        String passwordEncoder = "PBKDF2WithHmacSHA256:1000";
+        List<String> salts = new ArrayList<>();
+        List<String> oldPasswords = new ArrayList<>();
+        addHistory(salts, oldPasswords, passwordEncoder, 24);
+
+        assertTrue(PasswordUtils.isPasswordValid(passwordEncoder, "N3w-Passw0rd", salts, oldPasswords));
+        assertFalse(PasswordUtils.isPasswordValid(passwordEncoder, "0ld-Passw0rd0", salts, oldPasswords));
+        assertFalse(PasswordUtils.isPasswordValid(passwordEncoder, "0ld-Passw0rd23", salts, oldPasswords));
+    }
+
+    private static void addHistory(List<String> salts, List<String> oldPasswords, String passwordEncoder,
+                                   int historySize) {
+        for (int i = 0; i < historySize; i++) {
+            String salt = PasswordUtils.getSalt();
+            salts.add(salt);
+            oldPasswords.add(PasswordUtils.getSecurePassword("0ld-Passw0rd" + i, salt, passwordEncoder));
+        }
+    }
 }
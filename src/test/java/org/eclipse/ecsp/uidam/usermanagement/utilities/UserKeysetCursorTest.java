@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2023 - 2024 Harman International
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package org.eclipse.ecsp.uidam.usermanagement.utilities;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.eclipse.ecsp.uidam.usermanagement.entity.UserEntity;
+import org.eclipse.ecsp.uidam.usermanagement.exception.ApplicationRuntimeException;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.domain.Sort;
+import java.math.BigInteger;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserKeysetCursorTest {
+
+    private static final BigInteger LAST_ID = new BigInteger("145911385590649014429011346");
+
+    @Test
+    void encodeAndDecodeRoundTrip() {
+        UserEntity user = new UserEntity();
+        user.setId(LAST_ID);
+        user.setUserName("john:doe");
+        UserKeysetCursor cursor = UserKeysetCursor.after("userName", Sort.Direction.ASC, user);
+
+        UserKeysetCursor decoded = UserKeysetCursor.decode(cursor.encode());
+
+        assertEquals(cursor, decoded);
+        assertEquals("john:doe", decoded.lastValue());
+        assertTrue(decoded.matches("userName", Sort.Direction.ASC));
+        assertFalse(decoded.matches("userName", Sort.Direction.DESC));
+    }
+
+    @Test
+    void decodeIdCursorHasNoSortValue() {
+        UserKeysetCursor cursor = new UserKeysetCursor("id", Sort.Direction.DESC, LAST_ID, null);
+
+        assertNull(UserKeysetCursor.decode(cursor.encode()).lastValue());
+        assertEquals(Sort.by(Sort.Direction.DESC, "id"), UserKeysetCursor.sort("id", Sort.Direction.DESC));
+    }
+
+    @Test
+    void decodeRejectsMalformedToken() {
+        assertThrows(ApplicationRuntimeException.class, () -> UserKeysetCursor.decode("not a cursor"));
+        String unsupported = new UserKeysetCursor("firstName", Sort.Direction.ASC, LAST_ID, "john").encode();
+        assertThrows(ApplicationRuntimeException.class, () -> UserKeysetCursor.decode(unsupported));
+    }
+
+    @Test
+    void unsupportedSortFields() {
+        assertTrue(UserKeysetCursor.isSupported("email"));
+        assertFalse(UserKeysetCursor.isSupported("firstName"));
+        assertFalse(UserKeysetCursor.isSupported(null));
+    }
+
+    @Test
+    void toSpecificationSeeksAfterSortKeyAndId() {
+        Root<UserEntity> root = Mockito.mock(Root.class);
+        CriteriaQuery<?> query = Mockito.mock(CriteriaQuery.class);
+        CriteriaBuilder builder = Mockito.mock(CriteriaBuilder.class);
+        Path<Object> idPath = Mockito.mock(Path.class);
+        Path<Object> keyPath = Mockito.mock(Path.class);
+        Predicate predicate = Mockito.mock(Predicate.class);
+        when(root.get("id")).thenReturn(idPath);
+        when(root.get("email")).thenReturn(keyPath);
+        when(builder.and(Mockito.any(), Mockito.any())).thenReturn(predicate);
+
+        Predicate result = new UserKeysetCursor("email", Sort.Direction.ASC, LAST_ID, "john@example.com")
+            .toSpecification().toPredicate(root, query, builder);
+
+        assertEquals(predicate, result);
+        verify(builder).greaterThanOrEqualTo(Mockito.<Path<String>>any(), Mockito.eq("john@example.com"));
+        verify(builder).greaterThan(Mockito.<Path<String>>any(), Mockito.eq("john@example.com"));
+        verify(builder).greaterThan(Mockito.<Path<BigInteger>>any(), Mockito.eq(LAST_ID));
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2023 - 2024 Harman International
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package org.eclipse.ecsp.uidam.usermanagement.utilities;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import liquibase.integration.spring.SpringLiquibase;
+import org.eclipse.ecsp.uidam.usermanagement.entity.UserEntity;
+import org.eclipse.ecsp.uidam.usermanagement.enums.SearchType;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.query.criteria.ValueHandlingMode;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * EXPLAIN based harness verifying that the user search predicates built by {@link UserSpecification} are served by
+ * the trigram indexes of the 1.5 release changelog.
+ *
+ * <p>The schema is created by the master changelog and the search query is built from the specification by
+ * Hibernate. The select statement Hibernate sends is captured by a {@link StatementInspector} and explained as is,
+ * the planner settings are left at their defaults.</p>
+ *
+ * <p>The harness needs a local PostgreSQL and only runs when the jdbc url is given, for example
+ * {@code mvn verify -Duidam.explain.jdbc.url=jdbc:postgresql://localhost:5432/uidam
+ * -Duidam.explain.jdbc.username=postgres -Duidam.explain.jdbc.password=postgres}. The tables are created in a
+ * throw-away schema which is dropped at the end.</p>
+ */
+@EnabledIfSystemProperty(named = "uidam.explain.jdbc.url", matches = ".+")
+class UserSearchIndexUsageIT {
+
+    private static final String SCHEMA = "uidam_explain_it";
+    private static final String CHANGELOG = "classpath:database.schema/master.xml";
+    private static final int ROWS = 20000;
+    private static final int ID_OFFSET = 1000000;
+    private static final Map<String, String> KEY_BY_COLUMN = Map.of(
+        "user_name", "USER_ROOT.userName", "first_name", "USER_ROOT.firstName",
+        "last_name", "USER_ROOT.lastName", "email", "USER_ROOT.email", "phone_no", "USER_ROOT.phoneNumber",
+        "address1", "USER_ADDRESS_ROOT.address1", "address2", "USER_ADDRESS_ROOT.address2",
+        "city", "USER_ADDRESS_ROOT.city", "postal_code", "USER_ADDRESS_ROOT.postalCode");
+
+    private static final AtomicReference<String> LAST_STATEMENT = new AtomicReference<>();
+
+    private static DriverManagerDataSource dataSource;
+    private static EntityManagerFactory entityManagerFactory;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        dataSource = new DriverManagerDataSource(System.getProperty("uidam.explain.jdbc.url"),
+            System.getProperty("uidam.explain.jdbc.username", "postgres"),
+            System.getProperty("uidam.explain.jdbc.password", ""));
+        Properties connectionProperties = new Properties();
+        connectionProperties.setProperty("currentSchema", SCHEMA + ",public");
+        dataSource.setConnectionProperties(connectionProperties);
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+            statement.execute("CREATE SCHEMA " + SCHEMA);
+            // get_uuid() is provisioned with the database and not part of the changelog.
+            statement.execute("CREATE SEQUENCE " + SCHEMA + ".explain_id_seq");
+            statement.execute("CREATE FUNCTION " + SCHEMA + ".get_uuid() RETURNS numeric LANGUAGE sql AS "
+                + "'SELECT nextval(''" + SCHEMA + ".explain_id_seq'')::numeric'");
+        }
+
+        SpringLiquibase liquibase = new SpringLiquibase();
+        liquibase.setDataSource(dataSource);
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        liquibase.setChangeLog(CHANGELOG);
+        liquibase.setDefaultSchema(SCHEMA);
+        liquibase.setChangeLogParameters(Map.of("schema", SCHEMA, "initial.data.client.secret", "secret",
+            "initial.data.user.salt", "salt", "initial.data.user.pwd", "password"));
+        liquibase.afterPropertiesSet();
+
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO " + SCHEMA + ".\"user\" (id, user_name, first_name, last_name, email, "
+                + "phone_no, enabled, account_no_locked, account_no_expired, pwd_changedtime, device_ids, status) "
+                + "SELECT " + ID_OFFSET + " + i, 'user' || i, 'First' || i, 'Last' || i, "
+                + "'mail' || i || '@example.com', '+4917' || i, true, true, true, now(), '[]'::jsonb, 'ACTIVE' "
+                + "FROM generate_series(1, " + ROWS + ") i");
+            statement.execute("INSERT INTO " + SCHEMA + ".user_address (id, user_id, address1, address2, city, "
+                + "postal_code) SELECT " + ID_OFFSET + " + i, " + ID_OFFSET + " + i, 'Street ' || i, "
+                + "'Block ' || i, 'City' || i, 'P' || i FROM generate_series(1, " + ROWS + ") i");
+            statement.execute("ANALYZE " + SCHEMA + ".\"user\"");
+            statement.execute("ANALYZE " + SCHEMA + ".user_address");
+        }
+
+        LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setPackagesToScan("org.eclipse.ecsp");
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        // Literals are inlined so that the captured statement can be explained without binding parameters.
+        factoryBean.setJpaPropertyMap(Map.of(AvailableSettings.DEFAULT_SCHEMA, SCHEMA,
+            AvailableSettings.CRITERIA_VALUE_HANDLING_MODE, ValueHandlingMode.INLINE,
+            AvailableSettings.STATEMENT_INSPECTOR, (StatementInspector) sql -> {
+                LAST_STATEMENT.set(sql);
+                return sql;
+            }));
+        factoryBean.afterPropertiesSet();
+        entityManagerFactory = factoryBean.getObject();
+    }
+
+    @AfterAll
+    static void cleanup() throws SQLException {
+        if (entityManagerFactory != null) {
+            entityManagerFactory.close();
+        }
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+        }
+    }
+
+    static Stream<Arguments> searches() {
+        return KEY_BY_COLUMN.keySet().stream().flatMap(column -> Stream
+            .concat(Arrays.stream(SearchType.values()), Stream.of((SearchType) null))
+            .flatMap(searchType -> Stream.of(Arguments.of(column, searchType, true),
+                Arguments.of(column, searchType, false))));
+    }
+
+    @ParameterizedTest(name = "{0} {1} ignoreCase={2}")
+    @MethodSource("searches")
+    void searchIsServedByTrigramIndex(String column, SearchType searchType, boolean ignoreCase) throws SQLException {
+        String key = KEY_BY_COLUMN.get(column);
+        String expectedIndex = (key.startsWith("USER_ROOT.") ? "idx_user_" : "idx_user_address_") + column + "_trgm";
+        String sql = generatedSearchSql(key, sampleValue(column), searchType, ignoreCase);
+        assertFalse(sql.contains("?"), () -> "Expected inlined literals in\n" + sql);
+
+        StringBuilder plan = new StringBuilder();
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("EXPLAIN " + sql)) {
+            while (resultSet.next()) {
+                plan.append(resultSet.getString(1)).append('\n');
+            }
+        }
+        assertTrue(plan.toString().contains(expectedIndex),
+            () -> "Expected " + expectedIndex + " in plan of\n" + sql + "\n" + plan);
+    }
+
+    /**
+     * Runs the user search of the service, the existing user specification and the field specification, and
+     * returns the select statement Hibernate generated for it.
+     */
+    private static String generatedSearchSql(String key, String value, SearchType searchType, boolean ignoreCase) {
+        SearchCriteria searchCriteria = new SearchCriteria(key, searchType, ignoreCase);
+        searchCriteria.setValue(Set.of(value));
+        Specification<UserEntity> specification = UserSpecification.getExistingUserSpecification()
+            .and(new UserSpecification(searchCriteria));
+
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+            CriteriaQuery<UserEntity> query = builder.createQuery(UserEntity.class);
+            Root<UserEntity> root = query.from(UserEntity.class);
+            query.select(root).where(specification.toPredicate(root, query, builder));
+            LAST_STATEMENT.set(null);
+            entityManager.createQuery(query).getResultList();
+        } finally {
+            entityManager.close();
+        }
+        String sql = LAST_STATEMENT.get();
+        assertNotNull(sql, "No statement captured for " + key);
+        return sql;
+    }
+
+    private static String sampleValue(String column) {
+        return switch (column) {
+            case "user_name" -> "user1234";
+            case "first_name" -> "First1234";
+            case "last_name" -> "Last1234";
+            case "email" -> "mail1234@example.com";
+            case "phone_no" -> "+49171234";
+            case "address1" -> "Street 1234";
+            case "address2" -> "Block 1234";
+            case "city" -> "City1234";
+            default -> "P1234";
+        };
+    }
+}
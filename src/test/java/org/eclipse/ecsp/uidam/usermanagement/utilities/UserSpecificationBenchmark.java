@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2023 - 2024 Harman International
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+
+package org.eclipse.ecsp.uidam.usermanagement.utilities;
+
+import org.eclipse.ecsp.uidam.usermanagement.entity.UserAttributeValueEntity;
+import org.eclipse.ecsp.uidam.usermanagement.entity.UserEntity;
+import org.eclipse.ecsp.uidam.usermanagement.enums.SearchType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.jpa.domain.Specification;
+import java.math.BigInteger;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import static org.eclipse.ecsp.uidam.usermanagement.user.request.dto.UsersGetFilterBase.UserGetFilterEnum.ACCOUNTIDS;
+import static org.eclipse.ecsp.uidam.usermanagement.user.request.dto.UsersGetFilterBase.UserGetFilterEnum.CITIES;
+import static org.eclipse.ecsp.uidam.usermanagement.user.request.dto.UsersGetFilterBase.UserGetFilterEnum.EMAILS;
+import static org.eclipse.ecsp.uidam.usermanagement.user.request.dto.UsersGetFilterBase.UserGetFilterEnum.IDS;
+import static org.eclipse.ecsp.uidam.usermanagement.user.request.dto.UsersGetFilterBase.UserGetFilterEnum.USER_NAMES;
+import static org.eclipse.ecsp.uidam.usermanagement.utilities.SearchCriteria.RootParam.USER_ACCOUNT_ROLE_ROOT;
+import static org.eclipse.ecsp.uidam.usermanagement.utilities.SearchCriteria.RootParam.USER_ADDRESS_ROOT;
+import static org.eclipse.ecsp.uidam.usermanagement.utilities.SearchCriteria.RootParam.USER_ROOT;
+
+/**
+ * Benchmarks for building the user and user attribute specifications of a user search, the same way the users
+ * service builds them from a filter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserSpecificationBenchmark {
+
+    private Map<String, Set<?>> userFilter;
+    private Map<BigInteger, Set<String>> attributeFilter;
+
+    /**
+     * Builds the user and additional attribute filters of a search.
+     */
+    @Setup
+    public void setUp() {
+        userFilter = new LinkedHashMap<>();
+        userFilter.put(USER_ROOT + "." + IDS.getField(), Set.of(BigInteger.valueOf(10001), BigInteger.valueOf(10002)));
+        userFilter.put(USER_ROOT + "." + USER_NAMES.getField(), Set.of("john.smith", "jane.doe", " "));
+        userFilter.put(USER_ROOT + "." + EMAILS.getField(), Set.of("example.com"));
+        userFilter.put(USER_ADDRESS_ROOT + "." + CITIES.getField(), Set.of("Berlin", "Munich"));
+        userFilter.put(USER_ACCOUNT_ROLE_ROOT + "." + ACCOUNTIDS.getField(), Set.of(BigInteger.valueOf(20001)));
+        attributeFilter = new LinkedHashMap<>();
+        attributeFilter.put(BigInteger.valueOf(1), Set.of("premium", "gold"));
+        attributeFilter.put(BigInteger.valueOf(2), Set.of("1HGCM82633A004352"));
+    }
+
+    @Benchmark
+    public Specification<UserEntity> buildUserSpecification() {
+        Specification<UserEntity> specification = UserSpecification.getExistingUserSpecification();
+        for (Map.Entry<String, Set<?>> entry : userFilter.entrySet()) {
+            SearchCriteria searchCriteria = new SearchCriteria(entry.getKey(), entry.getValue(), SearchType.CONTAINS,
+                true);
+            searchCriteria.setValue(entry.getValue());
+            if (!searchCriteria.getValue().isEmpty()) {
+                specification = specification.and(new UserSpecification(searchCriteria));
+            }
+        }
+        return specification;
+    }
+
+    @Benchmark
+    public Specification<UserAttributeValueEntity> buildUserAttributeSpecification() {
+        Specification<UserAttributeValueEntity> specification = null;
+        for (Map.Entry<BigInteger, Set<String>> entry : attributeFilter.entrySet()) {
+            SearchCriteria searchCriteria = new SearchCriteria(entry.getKey(), SearchType.PREFIX, true);
+            searchCriteria.setStringValue(entry.getValue());
+            if (!searchCriteria.getValue().isEmpty()) {
+                UserAttributeSpecification attributeSpecification = new UserAttributeSpecification(searchCriteria);
+                specification = specification == null ? attributeSpecification
+                    : specification.and(attributeSpecification);
+            }
+        }
+        return specification;
+    }
+}
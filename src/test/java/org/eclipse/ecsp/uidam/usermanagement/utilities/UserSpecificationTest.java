@@ -20,6 +20,7 @@ package org.eclipse.ecsp.uidam.usermanagement.utilities;
 
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
 import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
@@ -73,6 +74,46 @@ class UserSpecificationTest {
         assertEquals(true, Optional.ofNullable(predicate).isPresent());
     }
 
+    @Test
+    void toPredicateMatchesLowerCaseColumnForIgnoreCase() {
+        SearchCriteria searchCriteria = new SearchCriteria(USER_ROOT + "." + FIRST_NAME, Set.of("John"),
+            SearchType.CONTAINS, true);
+        Expression<String> lowerColumn = Mockito.mock(Expression.class);
+        Expression<String> literal = Mockito.mock(Expression.class);
+        Expression<String> lowerLiteral = Mockito.mock(Expression.class);
+        Mockito.when(userEntityRoot.get(anyString())).thenReturn(path);
+        Mockito.when(path.getJavaType()).thenReturn(String.class);
+        Mockito.when(builder.lower(path)).thenReturn(lowerColumn);
+        Mockito.when(builder.literal("%John%")).thenReturn(literal);
+        Mockito.when(builder.lower(literal)).thenReturn(lowerLiteral);
+
+        new UserSpecification(searchCriteria).toPredicate(userEntityRoot, criteriaQuery, builder);
+
+        Mockito.verify(builder).like(lowerColumn, lowerLiteral);
+        Mockito.verify(builder, Mockito.never()).like(Mockito.<Expression<String>>any(), anyString());
+        Mockito.verify(builder, Mockito.never()).upper(Mockito.any());
+    }
+
+    @Test
+    void toPredicateRechecksCaseForCaseSensitiveSearch() {
+        SearchCriteria searchCriteria = new SearchCriteria(USER_ROOT + "." + FIRST_NAME, Set.of("John"),
+            SearchType.SUFFIX, false);
+        Expression<String> lowerColumn = Mockito.mock(Expression.class);
+        Expression<String> literal = Mockito.mock(Expression.class);
+        Expression<String> lowerLiteral = Mockito.mock(Expression.class);
+        Mockito.when(userEntityRoot.get(anyString())).thenReturn(path);
+        Mockito.when(path.getJavaType()).thenReturn(String.class);
+        Mockito.when(builder.lower(path)).thenReturn(lowerColumn);
+        Mockito.when(builder.literal("%John")).thenReturn(literal);
+        Mockito.when(builder.lower(literal)).thenReturn(lowerLiteral);
+
+        new UserSpecification(searchCriteria).toPredicate(userEntityRoot, criteriaQuery, builder);
+
+        Mockito.verify(builder).like(lowerColumn, lowerLiteral);
+        Mockito.verify(builder).like(path, "%John");
+        Mockito.verify(builder).and(Mockito.<Expression<Boolean>>any(), Mockito.<Expression<Boolean>>any());
+    }
+
     @Test
     void toPredicateSearchTypeContainsAndIgnoreCaseTrue() {
         Object key = USER_ROOT + "." + FIRST_NAME;
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2023 - 2024 Harman International
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package org.eclipse.ecsp.uidam.usermanagement.utilities.hashing;
+
+import org.eclipse.ecsp.uidam.usermanagement.utilities.PasswordUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for hashing and verifying a password with each supported password encoder. Also used by
+ * {@link PasswordHasherCalibration} to measure candidate iteration counts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PasswordHasherBenchmark {
+
+    private static final String PASSWORD = "N3w-Passw0rd!2024";
+
+    @Param({"SHA-256", "PBKDF2WithHmacSHA256", "PBKDF2WithHmacSHA512"})
+    private String encoder;
+
+    private PasswordHasher hasher;
+    private String salt;
+    private String storedHash;
+
+    /**
+     * Resolves the hasher of the configured encoder and stores a hash to verify against.
+     */
+    @Setup
+    public void setUp() {
+        hasher = PasswordHashers.forEncoder(encoder);
+        salt = PasswordUtils.getSalt();
+        storedHash = hasher.hash(PASSWORD, salt);
+    }
+
+    @Benchmark
+    public String hash() {
+        return hasher.hash(PASSWORD, salt);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return hasher.matches(PASSWORD, salt, storedHash);
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2023 - 2024 Harman International
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package org.eclipse.ecsp.uidam.usermanagement.utilities.hashing;
+
+import org.eclipse.ecsp.uidam.usermanagement.utilities.hashing.Pbkdf2PasswordHasher.Variant;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Picks the PBKDF2 iteration count that makes one password hash take a target latency on the current hardware.
+ *
+ * <p>Run it on the deployment hardware, with the target latency in milliseconds and optionally the encoders to
+ * calibrate, and configure the printed encoder as the tenant password encoder:</p>
+ * <pre>
+ * mvn -B test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=org.eclipse.ecsp.uidam.usermanagement.utilities.hashing.PasswordHasherCalibration \
+ *     -Dexec.args="250 PBKDF2WithHmacSHA256"
+ * </pre>
+ *
+ * <p>The cost of PBKDF2 is linear in the iteration count, so a probe run is scaled to the target and the estimate is
+ * measured once more to correct for warm up effects.</p>
+ */
+public final class PasswordHasherCalibration {
+
+    private static final double DEFAULT_TARGET_MILLIS = 250;
+    private static final int PROBE_ITERATIONS = 10_000;
+    private static final int ITERATION_ROUNDING = 1000;
+
+    private PasswordHasherCalibration() {
+    }
+
+    /**
+     * Calibrates the given encoders, all PBKDF2 encoders by default.
+     *
+     * @param args target latency in milliseconds, followed by the encoders to calibrate
+     * @throws RunnerException if a benchmark run fails
+     */
+    public static void main(String[] args) throws RunnerException {
+        double targetMillis = args.length > 0 ? Double.parseDouble(args[0]) : DEFAULT_TARGET_MILLIS;
+        String[] encoders = new String[Math.max(args.length - 1, 0)];
+        System.arraycopy(args, Math.min(1, args.length), encoders, 0, encoders.length);
+        if (encoders.length == 0) {
+            encoders = new String[] {Variant.SHA256.getEncoder(), Variant.SHA512.getEncoder()};
+        }
+        for (String encoder : encoders) {
+            int iterations = calibrate(encoder, targetMillis);
+            System.out.printf("%s: %d iterations for %.0f ms, configure password encoder %s%c%d%n", encoder,
+                iterations, targetMillis, encoder, PasswordHashers.COST_SEPARATOR, iterations);
+        }
+    }
+
+    /**
+     * Returns the iteration count of the given encoder that hashes a password in about the target latency.
+     *
+     * @param encoder      PBKDF2 encoder without iteration count
+     * @param targetMillis target latency in milliseconds
+     * @return iteration count, rounded to a multiple of 1000
+     * @throws RunnerException if a benchmark run fails
+     */
+    public static int calibrate(String encoder, double targetMillis) throws RunnerException {
+        double probeMillis = measure(encoder + PasswordHashers.COST_SEPARATOR + PROBE_ITERATIONS);
+        int estimate = round(PROBE_ITERATIONS * targetMillis / probeMillis);
+        double estimateMillis = measure(encoder + PasswordHashers.COST_SEPARATOR + estimate);
+        return round(estimate * targetMillis / estimateMillis);
+    }
+
+    private static double measure(String encoder) throws RunnerException {
+        Options options = new OptionsBuilder()
+            .include("^" + PasswordHasherBenchmark.class.getName() + ".hash$")
+            .param("encoder", encoder)
+            .mode(Mode.AverageTime)
+            .timeUnit(TimeUnit.MILLISECONDS)
+            .warmupIterations(2)
+            .warmupTime(TimeValue.seconds(2))
+            .measurementIterations(3)
+            .measurementTime(TimeValue.seconds(2))
+            .forks(1)
+            .build();
+        Collection<RunResult> results = new Runner(options).run();
+        return results.iterator().next().getPrimaryResult().getScore();
+    }
+
+    private static int round(double iterations) {
+        return (int) Math.max(ITERATION_ROUNDING, Math.round(iterations / ITERATION_ROUNDING) * ITERATION_ROUNDING);
+    }
+}
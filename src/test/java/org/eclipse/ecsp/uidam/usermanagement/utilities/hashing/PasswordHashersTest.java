@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2023 - 2024 Harman International
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package org.eclipse.ecsp.uidam.usermanagement.utilities.hashing;
+
+import org.eclipse.ecsp.uidam.usermanagement.exception.ApplicationRuntimeException;
+import org.eclipse.ecsp.uidam.usermanagement.utilities.PasswordUtils;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test case for resolving password hashers from encoders and stored hashes.
+ */
+class PasswordHashersTest {
+
+    private static final String PASSWORD = "Lakshmi@202";
+    private static final String SALT = "xah7a1kL5FQNQidH1RydXQ==";
+    private static final String SHA_256_HASH = "6x9zLlHCh7cyOr6SIJ6ut+ETAE3FTJZ/FZ0wf/LIekc=";
+    private static final String PBKDF2_ENCODER = "PBKDF2WithHmacSHA256:1000";
+
+    @Test
+    void digestEncoderKeepsUnprefixedFormat() {
+        PasswordHasher hasher = PasswordHashers.forEncoder("SHA-256");
+
+        assertEquals(SHA_256_HASH, hasher.hash(PASSWORD, SALT));
+        assertTrue(hasher.matches(PASSWORD, SALT, SHA_256_HASH));
+        assertFalse(hasher.needsRehash(SHA_256_HASH));
+        assertSame(hasher, PasswordHashers.forEncoder("SHA-256"));
+    }
+
+    @Test
+    void pbkdf2EncoderUsesConfiguredOrDefaultIterations() {
+        Pbkdf2PasswordHasher configured = assertInstanceOf(Pbkdf2PasswordHasher.class,
+            PasswordHashers.forEncoder(PBKDF2_ENCODER));
+        Pbkdf2PasswordHasher defaults = assertInstanceOf(Pbkdf2PasswordHasher.class,
+            PasswordHashers.forEncoder("PBKDF2WithHmacSHA512"));
+
+        assertEquals(1000, configured.getIterations());
+        assertEquals(Pbkdf2PasswordHasher.Variant.SHA512.getDefaultIterations(), defaults.getIterations());
+        assertEquals(PBKDF2_ENCODER, configured.encoder());
+    }
+
+    @Test
+    void storedHashSelectsItsOwnScheme() {
+        String pbkdf2Hash = PasswordHashers.forEncoder(PBKDF2_ENCODER).hash(PASSWORD, SALT);
+
+        assertTrue(PasswordHashers.matches(PASSWORD, SALT, pbkdf2Hash, "SHA-256"));
+        assertTrue(PasswordHashers.matches(PASSWORD, SALT, SHA_256_HASH, "SHA-256"));
+        // Unprefixed hashes stay verifiable after the tenant moved to PBKDF2
+        assertTrue(PasswordHashers.matches(PASSWORD, SALT, SHA_256_HASH, "PBKDF2WithHmacSHA256"));
+        assertFalse(PasswordHashers.matches("Lakshmi@203", SALT, pbkdf2Hash, PBKDF2_ENCODER));
+        assertTrue(PasswordHashers.forEncoder("PBKDF2WithHmacSHA256").needsRehash(SHA_256_HASH));
+        assertTrue(PasswordHashers.forEncoder("SHA-256").needsRehash(pbkdf2Hash));
+    }
+
+    @Test
+    void encoderOfReportsSchemeOfStoredHash() {
+        String pbkdf2Hash = PasswordHashers.forEncoder(PBKDF2_ENCODER).hash(PASSWORD, SALT);
+
+        assertEquals(PBKDF2_ENCODER, PasswordHashers.encoderOf(pbkdf2Hash, "SHA-256"));
+        assertEquals("SHA-512", PasswordHashers.encoderOf(SHA_256_HASH, "SHA-512"));
+        assertEquals(PasswordHashers.LEGACY_DIGEST_ALGORITHM,
+            PasswordHashers.encoderOf(SHA_256_HASH, "PBKDF2WithHmacSHA256"));
+        assertEquals("SHA-256", PasswordHashers.encoderOf(null, "SHA-256"));
+        assertNull(PasswordHashers.encoderOf(SHA_256_HASH, null));
+    }
+
+    @Test
+    void passwordHistoryMatchesMixedSchemes() {
+        String pbkdf2Salt = PasswordUtils.getSalt();
+        List<String> salts = List.of(SALT, pbkdf2Salt);
+        List<String> oldPasswords = List.of(SHA_256_HASH,
+            PasswordHashers.forEncoder(PBKDF2_ENCODER).hash("0ld-Passw0rd", pbkdf2Salt));
+
+        assertFalse(PasswordUtils.isPasswordValid(PBKDF2_ENCODER, PASSWORD, salts, oldPasswords));
+        assertFalse(PasswordUtils.isPasswordValid(PBKDF2_ENCODER, "0ld-Passw0rd", salts, oldPasswords));
+        assertTrue(PasswordUtils.isPasswordValid(PBKDF2_ENCODER, "N3w-Passw0rd", salts, oldPasswords));
+    }
+
+    @Test
+    void unsupportedEncoderIsRejected() {
+        assertThrows(ApplicationRuntimeException.class, () -> PasswordHashers.forEncoder("MD7"));
+        assertThrows(ApplicationRuntimeException.class, () -> PasswordHashers.forEncoder("PBKDF2WithHmacSHA256:x"));
+        assertThrows(ApplicationRuntimeException.class, () -> PasswordHashers.forEncoder(null));
+    }
+}
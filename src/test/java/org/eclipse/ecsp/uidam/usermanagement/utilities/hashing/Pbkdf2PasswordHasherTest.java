@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2023 - 2024 Harman International
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ */
+
+package org.eclipse.ecsp.uidam.usermanagement.utilities.hashing;
+
+import org.eclipse.ecsp.uidam.usermanagement.utilities.hashing.Pbkdf2PasswordHasher.Variant;
+import org.junit.jupiter.api.Test;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test case for the PBKDF2 password hasher.
+ */
+class Pbkdf2PasswordHasherTest {
+
+    private static final String PASSWORD = "Lakshmi@202";
+    private static final String SALT = "xah7a1kL5FQNQidH1RydXQ==";
+    private static final int ITERATIONS = 1000;
+
+    @Test
+    void hashMatchesJdkPbkdf2() throws Exception {
+        for (Variant variant : Variant.values()) {
+            String hash = new Pbkdf2PasswordHasher(variant, ITERATIONS).hash(PASSWORD, SALT);
+
+            assertEquals(expectedHash(variant, PASSWORD, ITERATIONS), hash.substring(hash.lastIndexOf('$') + 1));
+        }
+    }
+
+    @Test
+    void hashDescribesAlgorithmAndIterations() {
+        String hash = new Pbkdf2PasswordHasher(Variant.SHA256, ITERATIONS).hash(PASSWORD, SALT);
+
+        assertTrue(hash.startsWith("$pbkdf2-sha256$i=1000$"));
+    }
+
+    @Test
+    void matchesUsesIterationsOfStoredHash() {
+        String storedHash = new Pbkdf2PasswordHasher(Variant.SHA256, ITERATIONS).hash(PASSWORD, SALT);
+        Pbkdf2PasswordHasher stronger = new Pbkdf2PasswordHasher(Variant.SHA256, 2 * ITERATIONS);
+
+        assertTrue(stronger.matches(PASSWORD, SALT, storedHash));
+        assertFalse(stronger.matches("Lakshmi@203", SALT, storedHash));
+        assertFalse(stronger.matches(PASSWORD, "otherSalt", storedHash));
+        assertTrue(stronger.needsRehash(storedHash));
+        assertFalse(stronger.needsRehash(stronger.hash(PASSWORD, SALT)));
+    }
+
+    @Test
+    void legacyOrForeignHashNeedsRehash() {
+        Pbkdf2PasswordHasher hasher = new Pbkdf2PasswordHasher(Variant.SHA512, ITERATIONS);
+        String sha256Hash = new Pbkdf2PasswordHasher(Variant.SHA256, ITERATIONS).hash(PASSWORD, SALT);
+
+        assertTrue(hasher.needsRehash("6x9zLlHCh7cyOr6SIJ6ut+ETAE3FTJZ/FZ0wf/LIekc="));
+        assertTrue(hasher.needsRehash(sha256Hash));
+        assertFalse(hasher.matches(PASSWORD, SALT, sha256Hash));
+        assertFalse(hasher.matches(PASSWORD, SALT, "$pbkdf2-sha512$i=abc$AAAA"));
+        assertFalse(hasher.matches(PASSWORD, SALT, null));
+    }
+
+    @Test
+    void emptyPasswordIsHashed() throws Exception {
+        String hash = new Pbkdf2PasswordHasher(Variant.SHA256, ITERATIONS).hash("", SALT);
+
+        assertEquals(expectedHash(Variant.SHA256, "", ITERATIONS), hash.substring(hash.lastIndexOf('$') + 1));
+    }
+
+    @Test
+    void nonPositiveIterationsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new Pbkdf2PasswordHasher(Variant.SHA256, 0));
+    }
+
+    @Test
+    void iterationsAboveMaximumAreRejected() {
+        Pbkdf2PasswordHasher hasher = new Pbkdf2PasswordHasher(Variant.SHA256, ITERATIONS);
+
+        assertThrows(IllegalArgumentException.class, () -> new Pbkdf2PasswordHasher(Variant.SHA256,
+            Pbkdf2PasswordHasher.MAX_ITERATIONS + 1));
+        assertFalse(hasher.matches(PASSWORD, SALT, "$pbkdf2-sha256$i=" + Integer.MAX_VALUE + "$AAAA"));
+    }
+
+    private static String expectedHash(Variant variant, String password, int iterations) throws Exception {
+        int keyLength = variant == Variant.SHA256 ? 256 : 512;
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), SALT.getBytes(StandardCharsets.UTF_8), iterations,
+            keyLength);
+        return Base64.getEncoder().encodeToString(SecretKeyFactory.getInstance(variant.getEncoder())
+            .generateSecret(spec).getEncoded());
+    }
+}